@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.bench;
+
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+
+/**
+ * Creates in-memory or file-backed HSQLDB databases for the benchmarks.
+ */
+public class BenchDb
+{
+	/**
+	 * Opens a new in-memory database.
+	 * @param name the database name
+	 * @return the connection
+	 */
+	public static Connection open(String name) throws SQLException
+	{
+		return open("mem", name);
+	}
+
+
+	/**
+	 * Opens a database.
+	 * @param mode "mem" for an in-memory database or "file" for a file-backed database in target/bench-db
+	 * 		which syncs the log on every commit
+	 * @param name the database name
+	 * @return the connection
+	 */
+	public static Connection open(String mode, String name) throws SQLException
+	{
+		return DriverManager.getConnection(url(mode, name), "SA", "");
+	}
+
+
+	/**
+	 * Returns the JDBC url of a database. Connect as user "SA" with an empty password.
+	 * @param mode "mem" or "file", see {@link #open(String, String)}
+	 * @param name the database name
+	 * @return the url
+	 */
+	public static String url(String mode, String name)
+	{
+		switch (mode)
+		{
+			case "mem":		return "jdbc:hsqldb:mem:" + name + ";hsqldb.tx=mvcc";
+			case "file":	return "jdbc:hsqldb:file:target/bench-db/" + name + ";hsqldb.tx=mvcc;hsqldb.write_delay=false";
+			default:		throw new IllegalArgumentException("unknown mode " + mode);
+		}
+	}
+
+
+	/**
+	 * Drops the database.
+	 * @param con a connection to the database
+	 */
+	public static void close(Connection con) throws SQLException
+	{
+		try (Statement stmt = con.createStatement())
+		{
+			stmt.execute("SHUTDOWN");
+		}
+		finally
+		{
+			con.close();
+		}
+	}
+
+
+	/**
+	 * Creates the table <code>wbench (id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name VARCHAR(40), amount BIGINT)</code>
+	 * which is used by write benchmarks, or clears it if it exists.
+	 * @param con a connection
+	 */
+	public static void createWriteTable(Connection con) throws SQLException
+	{
+		try (Statement stmt = con.createStatement())
+		{
+			stmt.execute("DROP TABLE wbench IF EXISTS");
+			stmt.execute("CREATE TABLE wbench (id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name VARCHAR(40), amount BIGINT)");
+		}
+		if (!con.getAutoCommit())
+			con.commit();
+	}
+
+
+	/**
+	 * Deletes all rows of the table <code>wbench</code>.
+	 * @param con a connection
+	 */
+	public static void clearWriteTable(Connection con) throws SQLException
+	{
+		try (Statement stmt = con.createStatement())
+		{
+			stmt.execute("TRUNCATE TABLE wbench RESTART IDENTITY");
+		}
+		if (!con.getAutoCommit())
+			con.commit();
+	}
+
+
+	/**
+	 * Creates and fills the table <code>bench (id INTEGER PRIMARY KEY, c2 VARCHAR, ..., c[cols] VARCHAR)</code>.
+	 * @param con a connection
+	 * @param rows the number of rows
+	 * @param cols the number of columns, &gt;= 1
+	 */
+	public static void createTable(Connection con, int rows, int cols) throws SQLException
+	{
+		StringBuilder create = new StringBuilder("CREATE TABLE bench (id INTEGER PRIMARY KEY");
+		StringBuilder insert = new StringBuilder("INSERT INTO bench VALUES (?");
+		for (int c=2; c<=cols; c++)
+		{
+			create.append(", c").append(c).append(" VARCHAR(40)");
+			insert.append(", ?");
+		}
+		try (Statement stmt = con.createStatement())
+		{
+			stmt.execute(create.append(')').toString());
+		}
+		try (PreparedStatement pstmt = con.prepareStatement(insert.append(')').toString()))
+		{
+			for (int r=1; r<=rows; r++)
+			{
+				pstmt.setInt(1, r);
+				for (int c=2; c<=cols; c++)
+					pstmt.setString(c, "value " + r + '/' + c);
+				pstmt.addBatch();
+			}
+			pstmt.executeBatch();
+		}
+	}
+}
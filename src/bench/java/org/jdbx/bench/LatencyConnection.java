@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.bench;
+
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Wraps a connection to an in-memory database and injects a delay into every call which would
+ * cause a network round trip with a remote database: prepare, execute, commit and rollback.
+ * This simulates the network RTT to compare strategies which differ in the number of round trips.
+ */
+public class LatencyConnection implements InvocationHandler
+{
+	/**
+	 * Wraps a connection.
+	 * @param con the connection
+	 * @param rttMicros the simulated round trip time in microseconds. If 0 the connection is returned as is.
+	 * @return the wrapped connection
+	 */
+	public static Connection wrap(Connection con, long rttMicros)
+	{
+		if (rttMicros <= 0)
+			return con;
+		return (Connection)Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+			new LatencyConnection(con, null, rttMicros * 1000L));
+	}
+
+
+	private LatencyConnection(Object target, Object parent, long rttNanos)
+	{
+		target_		= target;
+		parent_		= parent;
+		rttNanos_	= rttNanos;
+	}
+
+
+	@Override public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+	{
+		String name = method.getName();
+		if (name.equals("getConnection") && (parent_ != null))
+			return parent_;
+		if (name.startsWith("execute") || name.startsWith("prepare") || name.equals("commit") || name.equals("rollback"))
+			delay();
+
+		Object result;
+		try
+		{
+			result = method.invoke(target_, args);
+		}
+		catch (InvocationTargetException e)
+		{
+			throw e.getCause();
+		}
+
+		Class<?> type = method.getReturnType();
+		if ((result != null) && ((type == Statement.class) || (type == PreparedStatement.class) || (type == CallableStatement.class)))
+			result = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, new LatencyConnection(result, proxy, rttNanos_));
+		return result;
+	}
+
+
+	private void delay()
+	{
+		// spin for short delays since parking is too coarse
+		long end = System.nanoTime() + rttNanos_;
+		if (rttNanos_ > 1_000_000L)
+			LockSupport.parkNanos(rttNanos_ - 100_000L);
+		while (System.nanoTime() < end)
+			Thread.onSpinWait();
+	}
+
+
+	private final Object target_;
+	private final Object parent_;
+	private final long rttNanos_;
+}
@@ -0,0 +1,399 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.bench;
+
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import org.hsqldb.jdbc.JDBCPool;
+import org.jdbx.Jdbx;
+import org.jdbx.JdbxListener;
+import org.jdbx.MultiStmt;
+import org.jdbx.PrepStmt;
+import org.jdbx.PrepStmt.PrepBatch;
+import org.jdbx.function.CheckedSupplier;
+import org.jdbx.monitor.LatencyHistogram;
+import org.jdbx.monitor.MetricsListener;
+import org.jdbx.monitor.RecentOperations;
+import org.jdbx.monitor.SqlStatsListener;
+
+
+/**
+ * A load generator which runs a mix of OLTP-style transactions through JDBX against HSQLDB
+ * using multiple threads and reports the throughput and latency percentiles per transaction type.
+ * <pre><code>
+ * mvn -Pbench test-compile exec:exec -Dbench.main=org.jdbx.bench.OltpLoad -Djmh.args="threads=16 pool=8 seconds=30"
+ * </code></pre>
+ * Arguments are given as <code>name=value</code>:
+ * <ul>
+ * <li>mode: mem|file, default mem
+ * <li>threads: the number of client threads, default 8
+ * <li>pool: the size of a connection pool shared by the threads, or 0 to give each thread its own connection, default 0
+ * <li>seconds: the measured duration, default 10
+ * <li>warmup: the warmup duration in seconds, default 3
+ * <li>accounts: the number of rows in the accounts table, default 10000
+ * <li>mix: the weights of the transaction types, default read:60,scan:15,insert:15,batch:10
+ * <li>rtt: a simulated network round trip time in microseconds which is added to every prepare, execute, commit
+ * 		and rollback call by a {@link LatencyConnection}, default 0
+ * <li>listeners: none|metrics|all, the JDBX listeners registered during the run, default none
+ * </ul>
+ * Transactions:
+ * <ul>
+ * <li>read: selects an account by primary key
+ * <li>scan: selects a range of 100 accounts
+ * <li>insert: inserts a row into the history table and reads the generated key
+ * <li>batch: transfers amounts between 10 random accounts using a batch of updates
+ * </ul>
+ * Transactions which fail, e.g. because of write conflicts, are rolled back and counted as errors.
+ * Throughput and latencies only include successful transactions.
+ */
+public class OltpLoad
+{
+	private interface Tx
+	{
+		public void run(MultiStmt mstmt, ThreadLocalRandom random) throws Exception;
+	}
+
+
+	private static class TxStats
+	{
+		public TxStats(String name, Tx tx, int weight)
+		{
+			this.name	= name;
+			this.tx		= tx;
+			this.weight	= weight;
+		}
+
+
+		public final String name;
+		public final Tx tx;
+		public final int weight;
+		public final LatencyHistogram latency = new LatencyHistogram();
+		public final LongAdder errors = new LongAdder();
+	}
+
+
+	public static void main(String[] args) throws Exception
+	{
+		Map<String,String> options = new LinkedHashMap<>();
+		options.put("mode", "mem");
+		options.put("threads", "8");
+		options.put("pool", "0");
+		options.put("seconds", "10");
+		options.put("warmup", "3");
+		options.put("accounts", "10000");
+		options.put("mix", "read:60,scan:15,insert:15,batch:10");
+		options.put("rtt", "0");
+		options.put("listeners", "none");
+		for (String arg : args)
+		{
+			int p = arg.indexOf('=');
+			if ((p < 0) || !options.containsKey(arg.substring(0, p)))
+				throw new IllegalArgumentException("invalid argument '" + arg + "', expected one of " + options.keySet() + " as name=value");
+			options.put(arg.substring(0, p), arg.substring(p + 1));
+		}
+		System.out.println(options);
+
+		new OltpLoad(options).run();
+	}
+
+
+	private OltpLoad(Map<String,String> options)
+	{
+		mode_		= options.get("mode");
+		threads_	= Integer.parseInt(options.get("threads"));
+		poolSize_	= Integer.parseInt(options.get("pool"));
+		seconds_	= Integer.parseInt(options.get("seconds"));
+		warmup_		= Integer.parseInt(options.get("warmup"));
+		accounts_	= Integer.parseInt(options.get("accounts"));
+		rttMicros_	= Long.parseLong(options.get("rtt"));
+		listeners_	= options.get("listeners");
+
+		Map<String,Tx> all = Map.of("read", this::read, "scan", this::scan, "insert", this::insert, "batch", this::batch);
+		for (String entry : options.get("mix").split(","))
+		{
+			String[] parts = entry.trim().split(":");
+			Tx tx = all.get(parts[0]);
+			if ((tx == null) || (parts.length != 2))
+				throw new IllegalArgumentException("invalid mix entry '" + entry + "', expected <type>:<weight> with type in " + all.keySet());
+			int weight = Integer.parseInt(parts[1]);
+			if (weight > 0)
+			{
+				mix_.add(new TxStats(parts[0], tx, weight));
+				totalWeight_ += weight;
+			}
+		}
+		if (mix_.isEmpty())
+			throw new IllegalArgumentException("empty mix");
+	}
+
+
+	private void run() throws Exception
+	{
+		Connection admin = BenchDb.open(mode_, "oltp");
+		JDBCPool pool = null;
+		List<JdbxListener> listeners = createListeners();
+		try
+		{
+			createTables(admin);
+			if (poolSize_ > 0)
+			{
+				pool = new JDBCPool(poolSize_);
+				pool.setUrl(BenchDb.url(mode_, "oltp"));
+				pool.setUser("SA");
+				pool.setPassword("");
+			}
+			for (JdbxListener listener : listeners)
+				Jdbx.addListener(listener);
+
+			long start		= System.nanoTime();
+			long measure	= start + warmup_ * 1_000_000_000L;
+			long end		= measure + seconds_ * 1_000_000_000L;
+			List<Thread> threads = new ArrayList<>();
+			for (int t=0; t<threads_; t++)
+			{
+				JDBCPool p = pool;
+				CheckedSupplier<Connection> conSupplier = p != null ? () -> LatencyConnection.wrap(p.getConnection(), rttMicros_) : null;
+				Connection con = p == null ? LatencyConnection.wrap(BenchDb.open(mode_, "oltp"), rttMicros_) : null;
+				Thread thread = new Thread(() -> work(con, conSupplier, measure, end), "oltp-" + t);
+				threads.add(thread);
+				thread.start();
+			}
+			for (Thread thread : threads)
+				thread.join();
+			report();
+		}
+		finally
+		{
+			for (JdbxListener listener : listeners)
+				Jdbx.removeListener(listener);
+			if (pool != null)
+				pool.close(0);
+			BenchDb.close(admin);
+		}
+	}
+
+
+	private List<JdbxListener> createListeners()
+	{
+		switch (listeners_)
+		{
+			case "none":	return List.of();
+			case "metrics":	return List.of(new MetricsListener());
+			case "all":		return List.of(new MetricsListener(), new SqlStatsListener(), new RecentOperations(256));
+			default:		throw new IllegalArgumentException("unknown listeners " + listeners_);
+		}
+	}
+
+
+	private void createTables(Connection con) throws Exception
+	{
+		try (Statement stmt = con.createStatement())
+		{
+			stmt.execute("DROP TABLE accounts IF EXISTS");
+			stmt.execute("DROP TABLE history IF EXISTS");
+			stmt.execute("CREATE TABLE accounts (id INTEGER PRIMARY KEY, name VARCHAR(40), balance BIGINT)");
+			stmt.execute("CREATE TABLE history (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, account INTEGER, amount BIGINT)");
+		}
+		try (PrepStmt pstmt = new PrepStmt(con))
+		{
+			pstmt.init("INSERT INTO accounts VALUES (?, ?, ?)");
+			int[] ids = new int[accounts_];
+			String[] names = new String[accounts_];
+			long[] balances = new long[accounts_];
+			for (int i=0; i<accounts_; i++)
+			{
+				ids[i]		= i;
+				names[i]	= "account" + i;
+				balances[i]	= 1000L;
+			}
+			pstmt.batch().addColumns().set(1, ids).set(2, names).set(3, balances).chunkSize(1000).run();
+		}
+	}
+
+
+	private void work(Connection con, CheckedSupplier<Connection> conSupplier, long measure, long end)
+	{
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		try
+		{
+			long now;
+			while ((now = System.nanoTime()) < end)
+			{
+				TxStats stats = pick(random);
+				boolean ok = runTx(con, conSupplier, stats.tx, random);
+				if (now >= measure)
+				{
+					if (ok)
+						stats.latency.record(System.nanoTime() - now);
+					else
+						stats.errors.increment();
+				}
+			}
+		}
+		finally
+		{
+			if (con != null)
+			{
+				try
+				{
+					con.close();
+				}
+				catch (Exception e)
+				{
+					// ignore: the run is over and the result already recorded
+				}
+			}
+		}
+	}
+
+
+	private TxStats pick(ThreadLocalRandom random)
+	{
+		int r = random.nextInt(totalWeight_);
+		for (TxStats stats : mix_)
+		{
+			if ((r -= stats.weight) < 0)
+				return stats;
+		}
+		throw new IllegalStateException();
+	}
+
+
+	/**
+	 * Runs a transaction, either on the thread's connection or on a connection obtained from the pool
+	 * which is returned when the transaction ends.
+	 * @return true if the transaction succeeded
+	 */
+	private boolean runTx(Connection con, CheckedSupplier<Connection> conSupplier, Tx tx, ThreadLocalRandom random)
+	{
+		try (MultiStmt mstmt = con != null ? new MultiStmt(con, false) : new MultiStmt(conSupplier, true))
+		{
+			Connection jdbcCon = mstmt.getConnection();
+			if (jdbcCon.getAutoCommit())
+				jdbcCon.setAutoCommit(false);
+			try
+			{
+				tx.run(mstmt, random);
+				jdbcCon.commit();
+				return true;
+			}
+			catch (Exception e)
+			{
+				jdbcCon.rollback();
+				return false;
+			}
+		}
+		catch (Exception e)
+		{
+			return false;
+		}
+	}
+
+
+	//------------------------------
+	// transactions
+	//------------------------------
+
+
+	private void read(MultiStmt mstmt, ThreadLocalRandom random) throws Exception
+	{
+		mstmt.newPrepStmt().init("SELECT name, balance FROM accounts WHERE id = ?")
+			.params(random.nextInt(accounts_))
+			.query().row().cols().toArray();
+	}
+
+
+	private void scan(MultiStmt mstmt, ThreadLocalRandom random) throws Exception
+	{
+		int from = random.nextInt(Math.max(1, accounts_ - SCAN_SIZE));
+		mstmt.newPrepStmt().init("SELECT id, balance FROM accounts WHERE id BETWEEN ? AND ?")
+			.params(from, from + SCAN_SIZE - 1)
+			.query().rows().col(2).getLong();
+	}
+
+
+	private void insert(MultiStmt mstmt, ThreadLocalRandom random) throws Exception
+	{
+		mstmt.newPrepStmt().init().returnAutoKeyCols().sql("INSERT INTO history (account, amount) VALUES (?, ?)")
+			.params(random.nextInt(accounts_), random.nextLong(-100L, 100L))
+			.createUpdate().runGetCol(Long.class);
+	}
+
+
+	private void batch(MultiStmt mstmt, ThreadLocalRandom random) throws Exception
+	{
+		// update in id order to avoid deadlocks between concurrent transfers
+		int[] ids = random.ints(BATCH_SIZE, 0, accounts_).sorted().toArray();
+		PrepStmt pstmt = mstmt.newPrepStmt().init("UPDATE accounts SET balance = balance + ? WHERE id = ?");
+		PrepBatch batch = pstmt.batch();
+		for (int i=0; i<ids.length; i++)
+		{
+			pstmt.params(i % 2 == 0 ? -10L : 10L, ids[i]);
+			batch.add();
+		}
+		batch.run();
+	}
+
+
+	//------------------------------
+	// report
+	//------------------------------
+
+
+	private void report()
+	{
+		System.out.printf("%-8s %10s %10s %8s %10s %10s %10s %10s%n", "tx", "count", "tx/s", "errors", "p50 us", "p99 us", "p999 us", "max us");
+		long total = 0L;
+		long errors = 0L;
+		for (TxStats stats : mix_)
+		{
+			print(stats.name, stats.latency, stats.errors.sum());
+			total  += stats.latency.getCount();
+			errors += stats.errors.sum();
+		}
+		System.out.printf("%-8s %10d %10.0f %8d%n", "total", total, total / (double)seconds_, errors);
+	}
+
+
+	private void print(String name, LatencyHistogram latency, long errors)
+	{
+		long count = latency.getCount();
+		System.out.printf("%-8s %10d %10.0f %8d %10.1f %10.1f %10.1f %10.1f%n", name, count, count / (double)seconds_, errors,
+			latency.getPercentile(50) / 1e3, latency.getPercentile(99) / 1e3, latency.getPercentile(99.9) / 1e3, latency.getMax() / 1e3);
+	}
+
+
+	private static final int SCAN_SIZE = 100;
+	private static final int BATCH_SIZE = 10;
+	private final String mode_;
+	private final int threads_;
+	private final int poolSize_;
+	private final int seconds_;
+	private final int warmup_;
+	private final int accounts_;
+	private final long rttMicros_;
+	private final String listeners_;
+	private final List<TxStats> mix_ = new ArrayList<>();
+	private int totalWeight_;
+}
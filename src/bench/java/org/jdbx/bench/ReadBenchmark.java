@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.bench;
+
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.jdbx.Jdbx;
+import org.jdbx.PrepStmt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Compares the JDBX read paths with hand-written JDBC code.
+ * Every benchmark reads the whole table <code>bench</code>, except the single row benchmarks.
+ * Divide the reported <code>gc.alloc.rate.norm</code> by the row count to obtain the allocation per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadBenchmark
+{
+	@Param({ "1", "100", "10000" })
+	public int rows;
+
+	@Param({ "2", "10" })
+	public int cols;
+
+
+	@Setup(Level.Trial)
+	public void setup() throws SQLException
+	{
+		con_ = BenchDb.open("read");
+		BenchDb.createTable(con_, rows, cols);
+		jdbcStmt_ = con_.prepareStatement(SELECT_ALL);
+		jdbcStmtOne_ = con_.prepareStatement(SELECT_ONE);
+		pstmt_ = new PrepStmt(con_);
+		pstmtOne_ = new PrepStmt(con_);
+		pstmt_.init(SELECT_ALL);
+		pstmtOne_.init(SELECT_ONE);
+	}
+
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException
+	{
+		pstmt_.close();
+		pstmtOne_.close();
+		jdbcStmt_.close();
+		jdbcStmtOne_.close();
+		BenchDb.close(con_);
+	}
+
+
+	//------------------------------
+	// all columns
+	//------------------------------
+
+
+	@Benchmark
+	public List<Object[]> jdbcRead() throws SQLException
+	{
+		List<Object[]> list = new ArrayList<>();
+		try (ResultSet rs = jdbcStmt_.executeQuery())
+		{
+			int n = rs.getMetaData().getColumnCount();
+			while (rs.next())
+			{
+				Object[] row = new Object[n];
+				for (int i=0; i<n; i++)
+					row[i] = rs.getObject(i + 1);
+				list.add(row);
+			}
+		}
+		return list;
+	}
+
+
+	@Benchmark
+	public List<Object[]> jdbxRowsRead()
+	{
+		return pstmt_.query().rows().read(qr -> {
+			Object[] row = new Object[cols];
+			for (int i=0; i<cols; i++)
+				row[i] = qr.col().getObject();
+			return row;
+		});
+	}
+
+
+	@Benchmark
+	public List<Object[]> jdbxColsToArray()
+	{
+		return pstmt_.query().rows().cols().toArray();
+	}
+
+
+	@Benchmark
+	public List<Map<String,Object>> jdbxColsToMap()
+	{
+		return pstmt_.query().rows().cols().toMap();
+	}
+
+
+	//------------------------------
+	// single column
+	//------------------------------
+
+
+	@Benchmark
+	public List<Integer> jdbcColByNumber() throws SQLException
+	{
+		List<Integer> list = new ArrayList<>();
+		try (ResultSet rs = jdbcStmt_.executeQuery())
+		{
+			while (rs.next())
+				list.add(rs.getInt(1));
+		}
+		return list;
+	}
+
+
+	@Benchmark
+	public List<Integer> jdbxColByNumber()
+	{
+		return pstmt_.query().rows().col(1).getInteger();
+	}
+
+
+	@Benchmark
+	public List<Integer> jdbxColByName()
+	{
+		return pstmt_.query().rows().col("ID").getInteger();
+	}
+
+
+	//------------------------------
+	// single row
+	//------------------------------
+
+
+	@Benchmark
+	public int jdbcOneRow() throws SQLException
+	{
+		jdbcStmtOne_.setInt(1, 1);
+		try (ResultSet rs = jdbcStmtOne_.executeQuery())
+		{
+			return rs.next() ? rs.getInt(1) : -1;
+		}
+	}
+
+
+	@Benchmark
+	public int jdbxOneRow()
+	{
+		return pstmtOne_.params(1).query().row().col().getInt();
+	}
+
+
+	@Benchmark
+	public int jdbxStaticQuery()
+	{
+		// creates and closes a statement per call
+		return Jdbx.query(con_, SELECT_ONE, 1).row().col().getInt();
+	}
+
+
+	private static final String SELECT_ALL = "SELECT * FROM bench";
+	private static final String SELECT_ONE = "SELECT id FROM bench WHERE id = ?";
+	private Connection con_;
+	private PreparedStatement jdbcStmt_;
+	private PreparedStatement jdbcStmtOne_;
+	private PrepStmt pstmt_;
+	private PrepStmt pstmtOne_;
+}
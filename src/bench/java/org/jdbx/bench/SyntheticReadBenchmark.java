@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.bench;
+
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.jdbx.PrepStmt;
+import org.jdbx.QueryResult;
+import org.jdbx.synthetic.SyntheticSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures the wrapper cost of QueryResult, QueryRows and ResultUtil compared to plain JDBC,
+ * using the synthetic driver from the test sources whose rows cost next to nothing.
+ * <code>fetchLatencyMicros</code> models a network round trip per fetch batch of 100 rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SyntheticReadBenchmark
+{
+	@Param({ "1", "1000" })
+	public int rows;
+
+	@Param({ "0", "100" })
+	public long fetchLatencyMicros;
+
+
+	@Setup(Level.Trial)
+	public void setup() throws SQLException
+	{
+		con_ = new SyntheticSchema()
+			.col("id", Types.INTEGER)
+			.col("amount", Types.BIGINT)
+			.col("name", Types.VARCHAR)
+			.rows(rows)
+			.fetchLatency(fetchLatencyMicros)
+			.connect();
+		jdbcStmt_ = con_.prepareStatement(SQL);
+		pstmt_ = new PrepStmt(con_);
+		pstmt_.init(SQL);
+	}
+
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException
+	{
+		pstmt_.close();
+		jdbcStmt_.close();
+		con_.close();
+	}
+
+
+	@Benchmark
+	public long jdbcRead() throws SQLException
+	{
+		long sum = 0;
+		try (ResultSet rs = jdbcStmt_.executeQuery())
+		{
+			while (rs.next())
+				sum += rs.getInt(1) + rs.getLong(2) + rs.getString(3).length();
+		}
+		return sum;
+	}
+
+
+	@Benchmark
+	public long jdbxQueryResult()
+	{
+		long sum = 0;
+		try (QueryResult qr = pstmt_.query().result())
+		{
+			while (qr.nextRow())
+				sum += qr.col(1).getInt() + qr.col(2).getLong() + qr.col(3).getString().length();
+		}
+		return sum;
+	}
+
+
+	@Benchmark
+	public List<Long> jdbxRowsRead()
+	{
+		return pstmt_.query().rows().read(qr -> Long.valueOf(qr.col(2).getLong()));
+	}
+
+
+	@Benchmark
+	public List<Long> jdbcRowsRead() throws SQLException
+	{
+		List<Long> list = new ArrayList<>();
+		try (ResultSet rs = jdbcStmt_.executeQuery())
+		{
+			while (rs.next())
+				list.add(Long.valueOf(rs.getLong(2)));
+		}
+		return list;
+	}
+
+
+	@Benchmark
+	public List<Object[]> jdbxColsToArray()
+	{
+		return pstmt_.query().rows().cols().toArray();
+	}
+
+
+	@Benchmark
+	public List<Map<String,Object>> jdbxColsToMap()
+	{
+		return pstmt_.query().rows().cols().toMap();
+	}
+
+
+	private static final String SQL = "SELECT id, amount, name FROM synthetic";
+	private Connection con_;
+	private PreparedStatement jdbcStmt_;
+	private PrepStmt pstmt_;
+}
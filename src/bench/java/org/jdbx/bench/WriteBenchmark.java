@@ -0,0 +1,226 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.bench;
+
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.jdbx.AdaptiveBatchSize;
+import org.jdbx.PrepStmt;
+import org.jdbx.PrepStmt.PrepBatch;
+import org.jdbx.StaticStmt;
+import org.jdbx.StaticStmt.StaticBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Compares the JDBX write strategies. Every benchmark inserts {@value #ROWS} rows into the table
+ * <code>wbench</code> within one transaction, the reported throughput is rows per second.
+ * <code>rttMicros</code> simulates the network round trip time of a remote database, see {@link LatencyConnection}.
+ * <code>batchSize</code> is the number of rows per batch execution and does not apply to
+ * {@link #singleUpdates()} and {@link #prepBatchAdaptive()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(WriteBenchmark.ROWS)
+public class WriteBenchmark
+{
+	public static final int ROWS = 1000;
+
+
+	@Param({ "mem", "file" })
+	public String mode;
+
+	@Param({ "0", "200" })
+	public long rttMicros;
+
+	@Param({ "10", "100", "1000" })
+	public int batchSize;
+
+
+	@Setup(Level.Trial)
+	public void setup() throws SQLException
+	{
+		con_ = LatencyConnection.wrap(BenchDb.open(mode, "write"), rttMicros);
+		con_.setAutoCommit(false);
+		BenchDb.createWriteTable(con_);
+		pstmt_ = new PrepStmt(con_);
+		pstmt_.init(INSERT);
+		pstmtKeys_ = new PrepStmt(con_);
+		pstmtKeys_.init().returnAutoKeyCols().sql(INSERT);
+		stmt_ = new StaticStmt(con_);
+		adaptiveSize_ = new AdaptiveBatchSize(10, ROWS);
+		for (int i=0; i<ROWS; i++)
+		{
+			names_[i]	= "name" + i;
+			amounts_[i]	= i;
+		}
+	}
+
+
+	@Setup(Level.Iteration)
+	public void clear() throws SQLException
+	{
+		BenchDb.clearWriteTable(con_);
+	}
+
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException
+	{
+		pstmt_.close();
+		pstmtKeys_.close();
+		stmt_.close();
+		BenchDb.close(con_);
+	}
+
+
+	//------------------------------
+	// benchmarks
+	//------------------------------
+
+
+	/**
+	 * Runs one update per row.
+	 */
+	@Benchmark
+	public void singleUpdates() throws SQLException
+	{
+		for (int i=0; i<ROWS; i++)
+			pstmt_.params(names_[i], amounts_[i]).update();
+		con_.commit();
+	}
+
+
+	/**
+	 * Adds the parameters row by row to a PrepBatch and runs the batch every batchSize rows.
+	 */
+	@Benchmark
+	public void prepBatch() throws SQLException
+	{
+		PrepBatch batch = pstmt_.batch();
+		for (int i=0; i<ROWS; i++)
+		{
+			pstmt_.params(names_[i], amounts_[i]);
+			batch.add();
+			if (((i + 1) % batchSize == 0) || (i == ROWS - 1))
+				batch.run();
+		}
+		con_.commit();
+	}
+
+
+	/**
+	 * Lets an AdaptiveBatchSize choose the batch size.
+	 */
+	@Benchmark
+	public void prepBatchAdaptive() throws SQLException
+	{
+		PrepBatch batch = pstmt_.batch().adaptiveSize(adaptiveSize_);
+		for (int i=0; i<ROWS; i++)
+		{
+			pstmt_.params(names_[i], amounts_[i]);
+			batch.add();
+		}
+		batch.run();
+		batch.adaptiveSize(null);
+		con_.commit();
+	}
+
+
+	/**
+	 * Adds the parameters column-wise and runs the batch in chunks of batchSize rows.
+	 */
+	@Benchmark
+	public void prepBatchColumns() throws SQLException
+	{
+		pstmt_.batch().addColumns()
+			.set(1, names_)
+			.set(2, amounts_)
+			.chunkSize(batchSize)
+			.run();
+		con_.commit();
+	}
+
+
+	/**
+	 * Runs a PrepBatch every batchSize rows and retrieves the generated keys.
+	 */
+	@Benchmark
+	public long prepBatchGetKeys() throws SQLException
+	{
+		long sum = 0;
+		PrepBatch batch = pstmtKeys_.batch();
+		for (int i=0; i<ROWS; i++)
+		{
+			pstmtKeys_.params(names_[i], amounts_[i]);
+			batch.add();
+			if (((i + 1) % batchSize == 0) || (i == ROWS - 1))
+			{
+				for (long key : batch.runGetLongKeys().value())
+					sum += key;
+			}
+		}
+		con_.commit();
+		return sum;
+	}
+
+
+	/**
+	 * Adds literal SQL commands to a StaticBatch and runs the batch every batchSize rows.
+	 */
+	@Benchmark
+	public void staticBatch() throws SQLException
+	{
+		StaticBatch batch = stmt_.batch();
+		for (int i=0; i<ROWS; i++)
+		{
+			batch.add("INSERT INTO wbench (name, amount) VALUES ('" + names_[i] + "', " + amounts_[i] + ")");
+			if (((i + 1) % batchSize == 0) || (i == ROWS - 1))
+				batch.run();
+		}
+		con_.commit();
+	}
+
+
+	private static final String INSERT = "INSERT INTO wbench (name, amount) VALUES (?, ?)";
+	private Connection con_;
+	private PrepStmt pstmt_;
+	private PrepStmt pstmtKeys_;
+	private StaticStmt stmt_;
+	private AdaptiveBatchSize adaptiveSize_;
+	private final String[] names_ = new String[ROWS];
+	private final long[] amounts_ = new long[ROWS];
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.bench;
+
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.jdbx.PrepStmt;
+import org.jdbx.PrepStmt.PrepBatch;
+import org.jdbx.StaticStmt;
+import org.jdbx.StaticStmt.StaticBatch;
+
+
+/**
+ * A macro benchmark which loads rows into the table <code>wbench</code> using multiple connections,
+ * one thread per connection, and prints the throughput of each write strategy.
+ * <pre><code>
+ * mvn -Pbench test-compile exec:exec -Dbench.main=org.jdbx.bench.WriteLoad -Djmh.args="file 200 4 100000 100"
+ * </code></pre>
+ * Arguments: mode (mem|file), simulated RTT in microseconds, threads, total rows, batch size.
+ */
+public class WriteLoad
+{
+	private interface Strategy
+	{
+		public void load(Connection con, int from, int to, int batchSize) throws Exception;
+	}
+
+
+	public static void main(String[] args) throws Exception
+	{
+		String mode		= args.length > 0 ? args[0] : "mem";
+		long rttMicros	= args.length > 1 ? Long.parseLong(args[1]) : 0L;
+		int threads		= args.length > 2 ? Integer.parseInt(args[2]) : 4;
+		int rows		= args.length > 3 ? Integer.parseInt(args[3]) : 100_000;
+		int batchSize	= args.length > 4 ? Integer.parseInt(args[4]) : 100;
+		System.out.println("mode=" + mode + ", rtt=" + rttMicros + "us, threads=" + threads + ", rows=" + rows + ", batchSize=" + batchSize);
+
+		Connection admin = BenchDb.open(mode, "load");
+		try
+		{
+			BenchDb.createWriteTable(admin);
+			run("singleUpdates", WriteLoad::singleUpdates, mode, rttMicros, threads, rows, batchSize);
+			run("prepBatch", WriteLoad::prepBatch, mode, rttMicros, threads, rows, batchSize);
+			run("staticBatch", WriteLoad::staticBatch, mode, rttMicros, threads, rows, batchSize);
+		}
+		finally
+		{
+			BenchDb.close(admin);
+		}
+	}
+
+
+	private static void run(String name, Strategy strategy, String mode, long rttMicros, int threads, int rows, int batchSize) throws Exception
+	{
+		Connection admin = BenchDb.open(mode, "load");
+		BenchDb.clearWriteTable(admin);
+
+		List<Connection> cons = new ArrayList<>();
+		for (int t=0; t<threads; t++)
+		{
+			Connection con = LatencyConnection.wrap(BenchDb.open(mode, "load"), rttMicros);
+			con.setAutoCommit(false);
+			cons.add(con);
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try
+		{
+			long start = System.nanoTime();
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t=0; t<threads; t++)
+			{
+				Connection con = cons.get(t);
+				int from = (int)((long)rows * t / threads);
+				int to	 = (int)((long)rows * (t + 1) / threads);
+				futures.add(executor.submit(() -> {
+					strategy.load(con, from, to, batchSize);
+					con.commit();
+					return null;
+				}));
+			}
+			for (Future<?> future : futures)
+				future.get();
+			long nanos = System.nanoTime() - start;
+			System.out.printf("%-14s %10.0f rows/s%n", name, rows * 1e9 / nanos);
+		}
+		finally
+		{
+			executor.shutdown();
+			for (Connection con : cons)
+				con.close();
+			admin.close();
+		}
+	}
+
+
+	private static void singleUpdates(Connection con, int from, int to, int batchSize) throws Exception
+	{
+		try (PrepStmt pstmt = new PrepStmt(con))
+		{
+			pstmt.init(INSERT);
+			for (int i=from; i<to; i++)
+				pstmt.params("name" + i, i).update();
+		}
+	}
+
+
+	private static void prepBatch(Connection con, int from, int to, int batchSize) throws Exception
+	{
+		try (PrepStmt pstmt = new PrepStmt(con))
+		{
+			pstmt.init(INSERT);
+			PrepBatch batch = pstmt.batch();
+			for (int i=from; i<to; i++)
+			{
+				pstmt.params("name" + i, i);
+				batch.add();
+				if (((i - from + 1) % batchSize == 0) || (i == to - 1))
+					batch.run();
+			}
+		}
+	}
+
+
+	private static void staticBatch(Connection con, int from, int to, int batchSize) throws Exception
+	{
+		try (StaticStmt stmt = new StaticStmt(con))
+		{
+			StaticBatch batch = stmt.batch();
+			for (int i=from; i<to; i++)
+			{
+				batch.add("INSERT INTO wbench (name, amount) VALUES ('name" + i + "', " + i + ")");
+				if (((i - from + 1) % batchSize == 0) || (i == to - 1))
+					batch.run();
+			}
+		}
+	}
+
+
+	private static final String INSERT = "INSERT INTO wbench (name, amount) VALUES (?, ?)";
+}
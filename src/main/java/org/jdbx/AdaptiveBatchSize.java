@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx;
+
+
+/**
+ * AdaptiveBatchSize chooses the number of commands which are executed in one batch.
+ * It measures the throughput (rows per second) of each batch execution and adjusts the size using
+ * a hill-climbing policy: As long as the throughput does not drop the size keeps moving in the current direction
+ * (growing or shrinking by a factor), else the direction is reversed. The size always stays within the configured bounds
+ * and remains at a bound as long as the throughput does not drop.
+ * <p>
+ * An AdaptiveBatchSize is thread-safe and can be shared by all batches which run the same kind of command.
+ * The current size and throughput can be read as metrics.
+ * @see Batch#adaptiveSize(AdaptiveBatchSize)
+ * @see PrepStmt.PrepBatch.Columns#chunkSize(AdaptiveBatchSize)
+ */
+public class AdaptiveBatchSize
+{
+	/**
+	 * Creates a new AdaptiveBatchSize which starts with the minimum size.
+	 * @param min the minimum size, &gt;= 1
+	 * @param max the maximum size, &gt;= min
+	 */
+	public AdaptiveBatchSize(int min, int max)
+	{
+		if (min < 1)
+			throw new IllegalArgumentException("min must be >= 1, is " + min);
+		if (max < min)
+			throw new IllegalArgumentException("max must be >= min, is " + max);
+		min_  = min;
+		max_  = max;
+		size_ = min;
+	}
+
+
+	/**
+	 * Returns the minimum size.
+	 * @return the size
+	 */
+	public int getMin()
+	{
+		return min_;
+	}
+
+
+	/**
+	 * Returns the maximum size.
+	 * @return the size
+	 */
+	public int getMax()
+	{
+		return max_;
+	}
+
+
+	/**
+	 * Returns the currently chosen batch size.
+	 * @return the size
+	 */
+	public int getSize()
+	{
+		return size_;
+	}
+
+
+	/**
+	 * Returns the throughput of the last measured batch execution.
+	 * @return the rows per second or 0 if nothing was measured yet
+	 */
+	public double getRowsPerSecond()
+	{
+		return rowsPerSecond_;
+	}
+
+
+	/**
+	 * Records the execution of a batch and adjusts the size.
+	 * Executions with fewer rows than the current size (e.g. the last chunk of a batch) are ignored
+	 * since their throughput is not representative.
+	 * @param rows the number of executed rows
+	 * @param nanos the duration of the execution in nanoseconds
+	 */
+	public synchronized void record(int rows, long nanos)
+	{
+		if ((rows < size_) || (rows <= 0))
+			return;
+
+		double rowsPerSecond = rows * 1e9 / Math.max(1L, nanos);
+		if (rowsPerSecond < rowsPerSecond_ * (1.0 - TOLERANCE))
+			growing_ = !growing_;
+		rowsPerSecond_ = rowsPerSecond;
+
+		// at a bound the size stays there until the throughput drops
+		size_ = growing_ ? (int)Math.min((long)max_, Math.max(size_ + 1L, (long)(size_ * FACTOR))) : Math.max(min_, (int)(size_ / FACTOR));
+	}
+
+
+	@Override public String toString()
+	{
+		return "AdaptiveBatchSize[" + min_ + ".." + max_ + ", size=" + size_ + ']';
+	}
+
+
+	private static final double FACTOR = 1.5;
+	private static final double TOLERANCE = 0.05;
+	private final int min_;
+	private final int max_;
+	private volatile int size_;
+	private volatile double rowsPerSecond_;
+	private boolean growing_ = true;
+}
@@ -19,6 +19,7 @@ package org.jdbx;
 
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.Arrays;
 import java.util.List;
 import org.jdbx.function.GetReturnCols;
 
@@ -35,11 +36,59 @@ public abstract class Batch
 	 */
 	public Batch clear() throws JdbxException
 	{
-		stmt().call(Statement::clearBatch);
+		Stmt stmt = stmt();
+		stmt.call(Statement::clearBatch);
+		stmt.batchPending_ 		= 0;
+		stmt.batchChunkCounts_	= null;
 		return this;
 	}
 
 
+	/**
+	 * Instructs this batch object to automatically execute the batch whenever the number of added
+	 * commands reaches the size chosen by the AdaptiveBatchSize. The throughput of each execution is
+	 * reported back to the AdaptiveBatchSize. When the batch is finally {@link #run() run},
+	 * the BatchResult contains the update counts of all executions.<p>
+	 * The size controller and the state of automatic executions are kept by the statement,
+	 * therefore they also apply to other Batch objects returned by the statement.
+	 * @param size the size controller or null to disable automatic execution
+	 * @return this
+	 */
+	public Batch adaptiveSize(AdaptiveBatchSize size)
+	{
+		stmt().batchSize_ = size;
+		return this;
+	}
+
+
+	AdaptiveBatchSize getAdaptiveSize()
+	{
+		return stmt().batchSize_;
+	}
+
+
+	/**
+	 * Must be called by implementations after a command was added to the batch.
+	 */
+	protected void added() throws JdbxException
+	{
+		added(stmt().batchSize_, Integer.MAX_VALUE);
+	}
+
+
+	/**
+	 * Counts an added command and executes the batch if the number of pending commands reaches the chunk size.
+	 * @param size the adaptive size which chooses the chunk size, or null to use the fixed chunk size
+	 * @param chunkSize the fixed chunk size
+	 */
+	void added(AdaptiveBatchSize size, int chunkSize) throws JdbxException
+	{
+		Stmt stmt = stmt();
+		if (++stmt.batchPending_ >= (size != null ? size.getSize() : chunkSize))
+			stmt.batchChunkCounts_ = concat(stmt.batchChunkCounts_, runImpl(size));
+	}
+
+
 	/**
 	 * Executes the batched SQL commands.
 	 * @return a BatchResult
@@ -47,13 +96,90 @@ public abstract class Batch
 	 */
 	public BatchResult<Void> run() throws JdbxException
 	{
-		return new BatchResult<>(runImpl());
+		return run(stmt().batchSize_);
+	}
+
+
+	/**
+	 * Executes the batched SQL commands and reports the throughput to the given adaptive size.
+	 */
+	BatchResult<Void> run(AdaptiveBatchSize size) throws JdbxException
+	{
+		Stmt stmt = stmt();
+		// if all commands were already executed automatically, drivers may reject an empty batch
+		int[] counts = (stmt.batchChunkCounts_ != null) && (stmt.batchPending_ == 0) ? new int[0] : runImpl(size);
+		if (stmt.batchChunkCounts_ != null)
+		{
+			counts = concat(stmt.batchChunkCounts_, counts);
+			stmt.batchChunkCounts_ = null;
+		}
+		return new BatchResult<>(counts);
 	}
 
 
 	protected final int[] runImpl()
 	{
-		return stmt().get(Statement::executeBatch);
+		return runImpl(stmt().batchSize_);
+	}
+
+
+	private int[] runImpl(AdaptiveBatchSize size)
+	{
+		Stmt stmt = stmt();
+		RunInfo run = RunInfo.start(RunInfo.Type.BATCH, stmt.getBatchSql(), stmt.con_);
+		long start = size != null ? System.nanoTime() : 0L;
+
+		int[] counts;
+		try
+		{
+			counts = stmt.get(Statement::executeBatch);
+		}
+		catch (JdbxException e)
+		{
+			if (run != null)
+				run.end(e);
+			throw e;
+		}
+
+		stmt.batchPending_ = 0;
+		if ((size != null) && (counts != null))
+			size.record(counts.length, System.nanoTime() - start);
+		if (run != null)
+		{
+			run.batchExecuted(counts);
+			run.end(null);
+		}
+		return counts;
+	}
+
+
+	/**
+	 * Returns if the batch was already automatically executed since the last run.
+	 */
+	boolean hasChunks()
+	{
+		return stmt().batchChunkCounts_ != null;
+	}
+
+
+	/**
+	 * Returns if commands were added since the batch was last executed.
+	 */
+	boolean hasPending()
+	{
+		return stmt().batchPending_ > 0;
+	}
+
+
+	private static int[] concat(int[] a, int[] b)
+	{
+		if (a == null)
+			return b;
+		if (b == null)
+			return a;
+		int[] c = Arrays.copyOf(a, a.length + b.length);
+		System.arraycopy(b, 0, c, a.length, b.length);
+		return c;
 	}
 
 
@@ -77,6 +203,30 @@ abstract class BatchGetCols extends Batch
 	}
 
 
+	/**
+	 * Runs the batched SQL commands and returns the auto-generated keys as long array.
+	 * We assume that the batched commands contain a single column for which keys are generated.
+	 * The array is presized from the number of batched commands.
+	 * @return a BatchResult containing the auto-generated keys
+	 */
+	public BatchResult<long[]> runGetLongKeys() throws JdbxException
+	{
+		return runGetCols((c,q) -> q.read(false, qr -> ResultUtil.toLongArray(qr.getJdbcResult(), c)));
+	}
+
+
+	/**
+	 * Runs the batched SQL commands and returns the auto-generated keys as int array.
+	 * We assume that the batched commands contain a single column for which keys are generated.
+	 * The array is presized from the number of batched commands.
+	 * @return a BatchResult containing the auto-generated keys
+	 */
+	public BatchResult<int[]> runGetIntKeys() throws JdbxException
+	{
+		return runGetCols((c,q) -> q.read(false, qr -> ResultUtil.toIntArray(qr.getJdbcResult(), c)));
+	}
+
+
 	/**
 	 * Runs the command and passes the result-set of the auto-generated keys to the reader.
 	 * @param reader a reader which receives the result-set,
@@ -87,6 +237,8 @@ abstract class BatchGetCols extends Batch
 	public <V> BatchResult<V> runGetCols(GetReturnCols<V> reader) throws JdbxException
 	{
 		Check.notNull(reader, "reader");
+		if (hasChunks())
+			throw JdbxException.illegalState("generated keys of automatically executed batches are not available");
 
 		try
 		{
@@ -0,0 +1,384 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx;
+
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.DataSource;
+import org.jdbx.function.CheckedFunction;
+import org.jdbx.function.CheckedSupplier;
+
+
+/**
+ * BatchLoader collects single-key lookups which are requested by many threads and runs them
+ * as one query for all keys, similar to a DataLoader.
+ * <p>
+ * The SQL command contains a single named parameter which stands for the keys. By default the parameter is expanded
+ * to a parameter list by a {@link NamedParamCmd}, e.g. <code>WHERE id IN (:ids)</code> is run as <code>WHERE id IN (?, ?, ?, ?)</code>,
+ * padded to a {@link NamedParamCmd#bucketSize(int, int) bucket size} by repeating the last key.
+ * Alternatively the keys can be passed as one array parameter, see {@link #setArrayType(String)}.
+ * For each result row the key reader and the value reader are called. Since the column counter of
+ * {@link QueryResult#nextCol()} is reset for each row, they can read consecutive columns.
+ * <p>
+ * A flusher thread groups all keys which were requested within a small time window ({@link #setMaxDelay(Duration)})
+ * or up to a maximum batch size ({@link #setMaxSize(int)}), removes duplicate keys, runs the query and then
+ * completes the future of each request, with null if no row was found for the key. {@link #dispatch()} runs
+ * the pending requests without waiting for the end of the window. If the query fails the futures of all
+ * requests in the batch are completed exceptionally.
+ * <p>
+ * Futures are completed by the flusher thread, therefore dependent actions should either be cheap
+ * or be run with the async variants of CompletableFuture. Keys are compared using equals(), therefore
+ * the key reader must return keys of the same type as the requested keys.
+ * <pre><code>
+ * try (BatchLoader&lt;Integer,String&gt; loader = new BatchLoader&lt;&gt;(dataSource, "SELECT id, name FROM Cities WHERE id IN (:ids)",
+ *     r -&gt; r.nextCol().getInteger(), r -&gt; r.nextCol().getString())) {
+ *     String name = loader.load(id).join();
+ * }
+ * </code></pre>
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class BatchLoader<K,V> implements AutoCloseable
+{
+	/**
+	 * Creates a new BatchLoader. Each flush uses a connection obtained from the datasource
+	 * and closes the connection after the flush.
+	 * @param dataSource a DataSource
+	 * @param sql a SQL command with one named parameter which stands for the keys
+	 * @param keyReader reads the key of a result row
+	 * @param valueReader reads the value of a result row
+	 */
+	public BatchLoader(DataSource dataSource, String sql, CheckedFunction<QueryResult,K> keyReader, CheckedFunction<QueryResult,V> valueReader)
+	{
+		this(Check.notNull(dataSource, "dataSource")::getConnection, true, sql, keyReader, valueReader);
+	}
+
+
+	/**
+	 * Creates a new BatchLoader. Each flush uses a connection obtained from the connection supplier.
+	 * @param supplier provides a connection
+	 * @param closeCon determines if the connection is closed after each flush.
+	 * 		Pass false if the supplier always returns the same connection which is exclusively used by the BatchLoader.
+	 * @param sql a SQL command with one named parameter which stands for the keys
+	 * @param keyReader reads the key of a result row
+	 * @param valueReader reads the value of a result row
+	 */
+	public BatchLoader(CheckedSupplier<Connection> supplier, boolean closeCon, String sql,
+		CheckedFunction<QueryResult,K> keyReader, CheckedFunction<QueryResult,V> valueReader)
+	{
+		Check.notNull(sql, "sql");
+		keyReader_	 = Check.notNull(keyReader, "keyReader");
+		valueReader_ = Check.notNull(valueReader, "valueReader");
+		cmd_		 = new NamedParamCmd(sql, DEFAULT_MAX_SIZE);
+		Set<String> names = cmd_.getParamNames();
+		if ((names.size() != 1) || (cmd_.getColNumbers(names.iterator().next()).length != 1))
+			throw new IllegalArgumentException("sql must contain exactly one named parameter: " + sql);
+		paramName_	 = names.iterator().next();
+		flusher_	 = new Flusher<>("BatchLoader", supplier, closeCon, Duration.ofMillis(1), this::flush);
+		flusher_.start();
+	}
+
+
+	//------------------------------
+	// configuration
+	//------------------------------
+
+
+	/**
+	 * Sets the maximum number of requests run in one query. The default is 100.
+	 * @param maxSize the size, &gt;= 1
+	 * @return this
+	 */
+	public BatchLoader<K,V> setMaxSize(int maxSize)
+	{
+		flusher_.setMaxSize(maxSize);
+		// the parameter list is padded up to the maximum size
+		cmd_ = new NamedParamCmd(cmd_.getOriginal(), maxSize);
+		return this;
+	}
+
+
+	/**
+	 * Returns the maximum number of requests run in one query.
+	 * @return the size
+	 */
+	public int getMaxSize()
+	{
+		return flusher_.getMaxSize();
+	}
+
+
+	/**
+	 * Sets the maximum time the flusher waits for more requests after the first request of a batch arrived.
+	 * The default is 1 millisecond.
+	 * @param maxDelay the delay
+	 * @return this
+	 */
+	public BatchLoader<K,V> setMaxDelay(Duration maxDelay)
+	{
+		flusher_.setMaxDelay(maxDelay);
+		return this;
+	}
+
+
+	/**
+	 * Returns the maximum delay.
+	 * @return the delay
+	 */
+	public Duration getMaxDelay()
+	{
+		return flusher_.getMaxDelay();
+	}
+
+
+	/**
+	 * Passes the keys as one array parameter instead of expanding the parameter to a list,
+	 * e.g. for <code>WHERE id = ANY(?)</code> in PostgreSQL or <code>WHERE id IN (UNNEST(?))</code> in HSQLDB.
+	 * The array is created by {@link Connection#createArrayOf(String, Object[])}.
+	 * @param typeName the SQL type name of the array elements, e.g. "INTEGER", or null to expand the parameter
+	 * @return this
+	 */
+	public BatchLoader<K,V> setArrayType(String typeName)
+	{
+		arrayType_ = typeName;
+		return this;
+	}
+
+
+	//------------------------------
+	// load
+	//------------------------------
+
+
+	/**
+	 * Requests the value of a key.
+	 * @param key the key, not null
+	 * @return a future which is completed with the value or null if not found once the query of its batch was run,
+	 * 		or completed exceptionally with a JdbxException if the query failed
+	 */
+	public CompletableFuture<V> load(K key)
+	{
+		Check.notNull(key, "key");
+		Entry entry = new Entry(key);
+		flusher_.submit(entry);
+		@SuppressWarnings("unchecked") CompletableFuture<V> future = (CompletableFuture<V>)entry.future;
+		return future;
+	}
+
+
+	/**
+	 * Requests the values of multiple keys and waits for the result.
+	 * @param keys the keys
+	 * @return a map from each key to its value or null if not found
+	 */
+	public Map<K,V> loadAll(Collection<K> keys) throws JdbxException
+	{
+		Map<K,CompletableFuture<V>> futures = new LinkedHashMap<>();
+		for (K key : keys)
+			futures.computeIfAbsent(key, this::load);
+		dispatch();
+		Map<K,V> values = new LinkedHashMap<>();
+		for (Map.Entry<K,CompletableFuture<V>> e : futures.entrySet())
+			values.put(e.getKey(), join(e.getValue()));
+		return values;
+	}
+
+
+	private static <V> V join(CompletableFuture<V> future) throws JdbxException
+	{
+		try
+		{
+			return future.join();
+		}
+		catch (Exception e)
+		{
+			throw JdbxException.of(e.getCause() != null ? e.getCause() : e);
+		}
+	}
+
+
+	/**
+	 * Runs the pending requests without waiting for the end of the time window.
+	 */
+	public void dispatch()
+	{
+		flusher_.dispatch();
+	}
+
+
+	/**
+	 * Returns a new memo which remembers the futures of the requested keys, usually used for the duration
+	 * of a single request of the application. Loading a key again through the memo returns the same future
+	 * and does not query the key again.
+	 * @return the memo
+	 */
+	public Memo memo()
+	{
+		return new Memo();
+	}
+
+
+	/**
+	 * Remembers the futures of requested keys.
+	 */
+	public class Memo
+	{
+		private Memo()
+		{
+		}
+
+
+		/**
+		 * Requests the value of a key, unless it was already requested through this memo.
+		 * @param key the key, not null
+		 * @return the future
+		 * @see BatchLoader#load(Object)
+		 */
+		public CompletableFuture<V> load(K key)
+		{
+			return futures_.computeIfAbsent(key, BatchLoader.this::load);
+		}
+
+
+		/**
+		 * Forgets all requested keys.
+		 */
+		public void clear()
+		{
+			futures_.clear();
+		}
+
+
+		private final Map<K,CompletableFuture<V>> futures_ = new ConcurrentHashMap<>();
+	}
+
+
+	//------------------------------
+	// flushing
+	//------------------------------
+
+
+	private void flush(Connection con, List<Entry> entries) throws Exception
+	{
+		// group the requests by key to remove duplicates
+		Map<Object,List<Entry>> byKey = new LinkedHashMap<>();
+		for (Entry entry : entries)
+			byKey.computeIfAbsent(entry.key, k -> new ArrayList<>(1)).add(entry);
+
+		Map<Object,Object> values = query(con, byKey.keySet().toArray());
+		for (Map.Entry<Object,List<Entry>> e : byKey.entrySet())
+		{
+			Object value = values.get(e.getKey());
+			for (Entry entry : e.getValue())
+				entry.future.complete(value);
+		}
+	}
+
+
+	private Map<Object,Object> query(Connection con, Object[] keys) throws Exception
+	{
+		NamedParamCmd cmd = cmd_;
+		String sql;
+		Object[] params;
+		if (arrayType_ != null)
+		{
+			sql	   = cmd.getConverted();
+			params = new Object[] { con.createArrayOf(arrayType_, keys) };
+		}
+		else
+		{
+			// the maximum size may have been lowered while the batch was collected
+			if (keys.length > cmd.getMaxListSize())
+				cmd = new NamedParamCmd(cmd.getOriginal(), keys.length);
+			// pad the parameter list to a bucket size to limit the number of distinct commands
+			NamedParamCmd expanded = cmd.expand(paramName_, keys.length);
+			int size = expanded.getListSize(paramName_);
+			sql	   = expanded.getConverted();
+			params = Arrays.copyOf(keys, size);
+			Arrays.fill(params, keys.length, size, keys[keys.length - 1]);
+		}
+
+		Map<Object,Object> values = new HashMap<>();
+		Jdbx.query(con, sql, params).read(result -> {
+			while (result.nextRow())
+			{
+				K key	= keyReader_.apply(result);
+				V value = valueReader_.apply(result);
+				values.putIfAbsent(key, value);
+			}
+		});
+		return values;
+	}
+
+
+	//------------------------------
+	// closing
+	//------------------------------
+
+
+	/**
+	 * Returns if the BatchLoader is closed.
+	 * @return the closed state
+	 */
+	public boolean isClosed()
+	{
+		return flusher_.isClosed();
+	}
+
+
+	/**
+	 * Closes the BatchLoader. All keys requested before the call are loaded
+	 * before this method returns. Keys requested concurrently to the call are either loaded
+	 * or their future is completed exceptionally.
+	 */
+	@Override public void close() throws JdbxException
+	{
+		flusher_.close();
+	}
+
+
+	private static class Entry extends Flusher.Request<Object>
+	{
+		public Entry(Object key)
+		{
+			this.key = key;
+		}
+
+
+		public final Object key;
+	}
+
+
+	private static final int DEFAULT_MAX_SIZE = 100;
+	private final String paramName_;
+	private final CheckedFunction<QueryResult,K> keyReader_;
+	private final CheckedFunction<QueryResult,V> valueReader_;
+	private final Flusher<Entry> flusher_;
+	private volatile NamedParamCmd cmd_;
+	private volatile String arrayType_;
+}
@@ -125,9 +125,10 @@ public class CallStmt extends Stmt
 				closeJdbcStmt();
 
 			// create the new statement
-			jdbcStmt_ = createJdbcStmt(sql);
+			jdbcStmt_ = RunInfo.prepare(con_, sql, () -> createJdbcStmt(sql));
 			// assign the sql once the jdbc statement creation succeeded
 			sql_ = sql;
+			LeakDetector.setSql(leak_, sql);
 
 			return new OutParamsImpl();
 		}
@@ -571,7 +572,7 @@ public class CallStmt extends Stmt
 	public Query query() throws JdbxException
 	{
 		checkInitialized();
-		return new PrepStmtQuery(this::getJdbcStmt);
+		return new PrepStmtQuery(this, sql_);
 	}
 
 
@@ -588,7 +589,7 @@ public class CallStmt extends Stmt
 	public Execute createExecute()
 	{
 		checkInitialized();
-		return new PrepStmtExecute(this::getJdbcStmt);
+		return new PrepStmtExecute(this, sql_);
 	}
 
 
@@ -615,6 +616,14 @@ public class CallStmt extends Stmt
 		public Batch add() throws JdbxException
 		{
 			Unchecked.run(() -> getJdbcStmt().addBatch());
+			added();
+			return this;
+		}
+
+
+		@Override public CallBatch adaptiveSize(AdaptiveBatchSize size)
+		{
+			super.adaptiveSize(size);
 			return this;
 		}
 
@@ -636,6 +645,12 @@ public class CallStmt extends Stmt
 	}
 
 
+	@Override String getBatchSql()
+	{
+		return sql_;
+	}
+
+
 	/**
 	 * Returns a descriptive string.
 	 */
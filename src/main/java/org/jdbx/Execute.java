@@ -40,6 +40,12 @@ public abstract class Execute extends StmtRunnable
 	}
 
 
+	@Override RunInfo.Type getRunInfoType()
+	{
+		return RunInfo.Type.EXECUTE;
+	}
+
+
 	/**
 	 * Runs the command and passes the result to the consumer.
 	 */
@@ -64,11 +70,14 @@ public abstract class Execute extends StmtRunnable
 
 		try
 		{
-			ExecuteResult result = run();
-			return reader.apply(result);
+			ExecuteResult result = execute();
+			R value = reader.apply(result);
+			endRun(null);
+			return value;
 		}
 		catch (Exception e)
 		{
+			endRun(e);
 			throw JdbxException.of(e);
 		}
 	}
@@ -76,6 +85,34 @@ public abstract class Execute extends StmtRunnable
 
 	/**
 	 * Runs the command.
+	 * @return the ExecuteResult
+	 */
+	public ExecuteResult run() throws JdbxException
+	{
+		startRun();
+		return execute();
+	}
+
+
+	private ExecuteResult execute() throws JdbxException
+	{
+		try
+		{
+			ExecuteResult result = runImpl();
+			executedRun();
+			return result.setRun(getRun());
+		}
+		catch (Exception e)
+		{
+			endRun(e);
+			throw JdbxException.of(e);
+		}
+	}
+
+
+	/**
+	 * Must only be called by {@link #run()} and {@link #run(CheckedFunction)}.
+	 * @return the ExecuteResult
 	 */
-	public abstract ExecuteResult run() throws JdbxException;
+	protected abstract ExecuteResult runImpl() throws Exception;
 }
@@ -92,6 +92,13 @@ public class ExecuteResult
 	}
 
 
+	ExecuteResult setRun(RunInfo run)
+	{
+		run_ = run;
+		return this;
+	}
+
+
 	//-------------------------------
 	// navigation
 	//-------------------------------
@@ -115,6 +122,13 @@ public class ExecuteResult
 				Unchecked.run(() -> updateCount_ = stmt_.getUpdateCount());
 			}
 			status_ = updateCount_ != -1L ? Status.HAS_UPDATERESULT : Status.AFTER_LAST;
+			if (run_ != null)
+			{
+				if (status_ == Status.HAS_UPDATERESULT)
+					run_.updated(updateCount_);
+				else
+					run_.end(null);
+			}
 		}
 	}
 
@@ -313,4 +327,5 @@ public class ExecuteResult
 	private boolean hasQueryResult_;
 	private long updateCount_;
 	private Status status_ = Status.BEFORE_FIRST;
+	private RunInfo run_;
 }
@@ -0,0 +1,286 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx;
+
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.jdbx.function.CheckedBiConsumer;
+import org.jdbx.function.CheckedSupplier;
+
+
+/**
+ * Flusher collects requests which are submitted by many threads and passes them in groups to a flush function
+ * which runs on a flusher thread. A group contains all requests which arrived within a time window after its first
+ * request, up to a maximum size. Used by {@link MicroBatcher} and {@link BatchLoader}.
+ * <p>
+ * The flush function receives a connection obtained from the connection supplier, which is closed after the flush
+ * if requested. If the supplier or the flush function fails, the futures of all requests of the group which are not yet
+ * completed are completed exceptionally.
+ * @param <R> the request type
+ */
+class Flusher<R extends Flusher.Request<?>>
+{
+	/**
+	 * A request whose future is completed by the flush function.
+	 * @param <T> the type of the result
+	 */
+	static class Request<T>
+	{
+		public final CompletableFuture<T> future = new CompletableFuture<>();
+	}
+
+
+	/**
+	 * Creates a new Flusher. Call {@link #start()} to start the flusher thread.
+	 * @param owner the name of the owner, used in thread names and error messages
+	 * @param supplier provides a connection for each flush
+	 * @param closeCon determines if the connection is closed after each flush
+	 * @param maxDelay the initial maximum delay
+	 * @param flush runs a group of requests
+	 */
+	public Flusher(String owner, CheckedSupplier<Connection> supplier, boolean closeCon, Duration maxDelay,
+		CheckedBiConsumer<Connection,List<R>> flush)
+	{
+		owner_		 = owner;
+		conSupplier_ = Check.notNull(supplier, "supplier");
+		closeCon_	 = closeCon;
+		flush_		 = flush;
+		setMaxDelay(maxDelay);
+		thread_		 = new Thread(this::run, "jdbx-" + owner.toLowerCase(Locale.ROOT));
+		thread_.setDaemon(true);
+	}
+
+
+	public void start()
+	{
+		thread_.start();
+	}
+
+
+	//------------------------------
+	// configuration
+	//------------------------------
+
+
+	public void setMaxSize(int maxSize)
+	{
+		if (maxSize < 1)
+			throw new IllegalArgumentException("maxSize must be >= 1, is " + maxSize);
+		maxSize_ = maxSize;
+	}
+
+
+	public int getMaxSize()
+	{
+		return maxSize_;
+	}
+
+
+	public void setMaxDelay(Duration maxDelay)
+	{
+		Check.notNull(maxDelay, "maxDelay");
+		if (maxDelay.isNegative())
+			throw new IllegalArgumentException("maxDelay must not be negative, is " + maxDelay);
+		maxDelayNanos_ = maxDelay.toNanos();
+	}
+
+
+	public Duration getMaxDelay()
+	{
+		return Duration.ofNanos(maxDelayNanos_);
+	}
+
+
+	//------------------------------
+	// submit
+	//------------------------------
+
+
+	/**
+	 * Queues a request or completes its future exceptionally if the Flusher is closed.
+	 */
+	public void submit(R request)
+	{
+		if (!closed_)
+		{
+			queue_.add(request);
+			// close() may have been called after the check and the flusher may already have
+			// drained the queue: in this case the request is removed again and rejected below.
+			// Else either the flusher has taken the request or it will see it in its final drain
+			if (!closed_ || !queue_.remove(request))
+				return;
+		}
+		request.future.completeExceptionally(closedException());
+	}
+
+
+	/**
+	 * Flushes the queued requests without waiting for the end of the time window.
+	 */
+	public void dispatch()
+	{
+		if (!closed_)
+			queue_.add(DISPATCH);
+	}
+
+
+	private JdbxException closedException()
+	{
+		return JdbxException.illegalState(owner_ + " is closed");
+	}
+
+
+	//------------------------------
+	// flushing
+	//------------------------------
+
+
+	@SuppressWarnings("unchecked")
+	private void run()
+	{
+		List<R> requests = new ArrayList<>();
+		boolean closing = false;
+		while (!closing)
+		{
+			try
+			{
+				Request<?> first = queue_.take();
+				if (first == CLOSE)
+					break;
+				if (first != DISPATCH)
+				{
+					requests.add((R)first);
+
+					long deadline = System.nanoTime() + maxDelayNanos_;
+					while (requests.size() < maxSize_)
+					{
+						long wait = deadline - System.nanoTime();
+						Request<?> next = wait > 0 ? queue_.poll(wait, TimeUnit.NANOSECONDS) : queue_.poll();
+						if ((next == null) || (next == DISPATCH))
+							break;
+						if (next == CLOSE)
+						{
+							closing = true;
+							break;
+						}
+						requests.add((R)next);
+					}
+				}
+			}
+			catch (InterruptedException e)
+			{
+				closing = true;
+			}
+
+			if (!requests.isEmpty())
+			{
+				flush(requests);
+				requests.clear();
+			}
+		}
+
+		// requests which raced with close()
+		JdbxException closed = closedException();
+		for (Request<?> request; (request = queue_.poll()) != null; )
+			request.future.completeExceptionally(closed);
+	}
+
+
+	private void flush(List<R> requests)
+	{
+		Connection con = null;
+		try
+		{
+			con = conSupplier_.get();
+			flush_.accept(con, requests);
+		}
+		catch (Exception e)
+		{
+			JdbxException je = JdbxException.of(e);
+			for (R request : requests)
+				request.future.completeExceptionally(je);
+		}
+		finally
+		{
+			if (closeCon_ && (con != null))
+			{
+				try
+				{
+					con.close();
+				}
+				catch (Exception e)
+				{
+					// ignore: all futures have already been completed
+				}
+			}
+		}
+	}
+
+
+	//------------------------------
+	// closing
+	//------------------------------
+
+
+	public boolean isClosed()
+	{
+		return closed_;
+	}
+
+
+	/**
+	 * Closes the Flusher and waits until the queued requests are flushed.
+	 */
+	public void close() throws JdbxException
+	{
+		if (!closed_)
+		{
+			closed_ = true;
+			queue_.add(CLOSE);
+			try
+			{
+				thread_.join();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				throw JdbxException.of(e);
+			}
+		}
+	}
+
+
+	private static final Request<?> CLOSE = new Request<>();
+	private static final Request<?> DISPATCH = new Request<>();
+	private final String owner_;
+	private final CheckedSupplier<Connection> conSupplier_;
+	private final boolean closeCon_;
+	private final CheckedBiConsumer<Connection,List<R>> flush_;
+	private final Thread thread_;
+	private final BlockingQueue<Request<?>> queue_ = new LinkedBlockingQueue<>();
+	private volatile int maxSize_ = 100;
+	private volatile long maxDelayNanos_;
+	private volatile boolean closed_;
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx;
+
+
+import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.jdbx.function.CheckedSupplier;
+
+
+/**
+ * IdAllocator hands out client-assigned ids which are reserved in blocks from the database.
+ * Inserts can then carry their primary keys and be fully batched instead of
+ * retrieving generated keys after each insert.
+ * <p>
+ * A block is reserved by running a single query which returns one number:
+ * <ul>
+ * <li>{@link Type#SEQUENCE}: the query returns the next value of a sequence
+ * 		whose increment equals the block size, e.g. <code>VALUES NEXT VALUE FOR order_seq</code>.
+ * 		The block consists of the ids [value, value + blockSize).
+ * <li>{@link Type#HILO}: the query returns the next hi value, e.g. from a sequence with increment 1.
+ * 		The block consists of the ids [hi * blockSize, (hi + 1) * blockSize).
+ * </ul>
+ * Ids are handed out lock-free from the current block. When only {@link #setRefillThreshold(int) a few} ids
+ * are left, the next block is reserved asynchronously, unless the connection supplier is not allowed to close
+ * its connections: such a connection is usually also used by the application and therefore blocks are then reserved
+ * synchronously by the thread which exhausted the current block.
+ */
+public class IdAllocator
+{
+	/**
+	 * Defines how the number returned by the block query is interpreted.
+	 */
+	public enum Type
+	{
+		/**
+		 * The number is the first id of the block.
+		 */
+		SEQUENCE,
+
+		/**
+		 * The number is a hi value which is multiplied with the block size to obtain the first id of the block.
+		 */
+		HILO
+	}
+
+
+	/**
+	 * Creates a new IdAllocator for a sequence. Each block reservation uses a connection obtained from
+	 * the datasource and closes the connection afterwards.
+	 * @param dataSource a DataSource
+	 * @param sql a query which returns the next sequence value
+	 * @param blockSize the number of ids in a block. Must equal the increment of the sequence.
+	 */
+	public IdAllocator(DataSource dataSource, String sql, int blockSize)
+	{
+		this(Check.notNull(dataSource, "dataSource")::getConnection, true, Type.SEQUENCE, sql, blockSize);
+	}
+
+
+	/**
+	 * Creates a new IdAllocator.
+	 * @param supplier provides a connection
+	 * @param closeCon determines if the connection is closed after each block reservation.
+	 * 		If false blocks are not reserved asynchronously but by the thread which calls {@link #nextId()}
+	 * 		since the connection may not be used concurrently by another thread.
+	 * @param type the type of the block query
+	 * @param sql a query which returns a single number
+	 * @param blockSize the number of ids in a block
+	 */
+	public IdAllocator(CheckedSupplier<Connection> supplier, boolean closeCon, Type type, String sql, int blockSize)
+	{
+		if (blockSize < 1)
+			throw new IllegalArgumentException("blockSize must be >= 1, is " + blockSize);
+		conSupplier_ 	 = Check.notNull(supplier, "supplier");
+		closeCon_		 = closeCon;
+		type_			 = Check.notNull(type, "type");
+		sql_			 = Check.notNull(sql, "sql");
+		blockSize_		 = blockSize;
+		refillThreshold_ = Math.max(1, blockSize / 4);
+	}
+
+
+	/**
+	 * Sets the number of remaining ids in the current block at which
+	 * the next block is reserved asynchronously. The default is a quarter of the block size.
+	 * @param threshold the threshold, &gt;= 1
+	 * @return this
+	 */
+	public IdAllocator setRefillThreshold(int threshold)
+	{
+		if (threshold < 1)
+			throw new IllegalArgumentException("threshold must be >= 1, is " + threshold);
+		refillThreshold_ = Math.min(threshold, blockSize_);
+		return this;
+	}
+
+
+	/**
+	 * Sets the executor used to reserve blocks asynchronously.
+	 * Since a reservation blocks on JDBC I/O the default runs each reservation in a new daemon thread.
+	 * @param executor an executor
+	 * @return this
+	 */
+	public IdAllocator setExecutor(Executor executor)
+	{
+		executor_ = Check.notNull(executor, "executor");
+		return this;
+	}
+
+
+	/**
+	 * Returns the block size.
+	 * @return the size
+	 */
+	public int getBlockSize()
+	{
+		return blockSize_;
+	}
+
+
+	/**
+	 * Returns the next id.
+	 * @return the id
+	 * @throws JdbxException if a new block was needed and could not be reserved
+	 */
+	public long nextId() throws JdbxException
+	{
+		while (true)
+		{
+			Block block = current_;
+			long id = block.next.getAndIncrement();
+			if (id < block.end)
+			{
+				if ((block.end - id == refillThreshold_) && closeCon_)
+					startRefill();
+				return id;
+			}
+			switchBlock(block);
+		}
+	}
+
+
+	/**
+	 * Returns the next ids.
+	 * @param count the number of ids
+	 * @return the ids
+	 */
+	public long[] nextIds(int count) throws JdbxException
+	{
+		long[] ids = new long[count];
+		for (int i=0; i<count; i++)
+			ids[i] = nextId();
+		return ids;
+	}
+
+
+	private void startRefill()
+	{
+		CompletableFuture<Block> refill = new CompletableFuture<>();
+		if (!next_.compareAndSet(null, refill))
+			return;
+		try
+		{
+			executor_.execute(() -> {
+				try
+				{
+					refill.complete(reserveBlock());
+				}
+				catch (Throwable e)
+				{
+					refill.completeExceptionally(e);
+				}
+			});
+		}
+		catch (RuntimeException e)
+		{
+			// rejected by the executor: reported when the block is needed
+			refill.completeExceptionally(e);
+		}
+	}
+
+
+	private synchronized void switchBlock(Block exhausted) throws JdbxException
+	{
+		if (current_ != exhausted)
+			return; // another thread already switched
+
+		CompletableFuture<Block> refill = next_.get();
+		if (refill == null)
+		{
+			// reserve synchronously: closeCon is false or the asynchronous refill was not yet triggered
+			try
+			{
+				current_ = reserveBlock();
+				return;
+			}
+			catch (Exception e)
+			{
+				throw JdbxException.of(e);
+			}
+		}
+		try
+		{
+			Block block = refill.join();
+			// clear before publishing the new block: a refill triggered by the new block
+			// must never see the consumed future
+			next_.set(null);
+			current_ = block;
+		}
+		catch (CompletionException e)
+		{
+			next_.set(null);
+			throw JdbxException.of(e.getCause());
+		}
+	}
+
+
+	private static void runInThread(Runnable runnable)
+	{
+		Thread thread = new Thread(runnable, "jdbx-idallocator");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+
+	private Block reserveBlock() throws Exception
+	{
+		Connection con = conSupplier_.get();
+		try (StaticStmt stmt = new StaticStmt(con, closeCon_))
+		{
+			long value = stmt.query(sql_).row().required().col().getLong();
+			long start = type_ == Type.HILO ? value * blockSize_ : value;
+			return new Block(start, start + blockSize_);
+		}
+	}
+
+
+	private static class Block
+	{
+		public Block(long start, long end)
+		{
+			this.next = new AtomicLong(start);
+			this.end  = end;
+		}
+
+
+		public final AtomicLong next;
+		public final long end;
+	}
+
+
+	private final CheckedSupplier<Connection> conSupplier_;
+	private final boolean closeCon_;
+	private final Type type_;
+	private final String sql_;
+	private final int blockSize_;
+	private volatile int refillThreshold_;
+	private volatile Executor executor_ = IdAllocator::runInThread;
+	private volatile Block current_ = new Block(0, 0);
+	private final AtomicReference<CompletableFuture<Block>> next_ = new AtomicReference<>();
+}
@@ -19,6 +19,7 @@ package org.jdbx;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
+import org.jdbx.function.CheckedSupplier;
 
 
 /**
@@ -46,6 +47,51 @@ public class Jdbx
 	}
 
 
+	/**
+	 * Registers a listener which is notified about all queries, updates, batches and executes.
+	 * @param listener the listener
+	 */
+	public static void addListener(JdbxListener listener)
+	{
+		Listeners.add(listener);
+	}
+
+
+	/**
+	 * Removes a listener.
+	 * @param listener the listener
+	 * @return true if the listener was registered
+	 */
+	public static boolean removeListener(JdbxListener listener)
+	{
+		return Listeners.remove(listener);
+	}
+
+
+	/**
+	 * Runs an action without notifying the listeners about the operations which the current thread runs in the action.
+	 * This allows monitoring components to run queries without reporting their own traffic.
+	 * @param action the action
+	 * @param <T> the type of the action result
+	 * @return the action result
+	 */
+	public static <T> T unobserved(CheckedSupplier<T> action) throws JdbxException
+	{
+		Check.notNull(action, "action");
+		return Listeners.unobserved(action);
+	}
+
+
+	/**
+	 * Installs a LeakDetector which tracks QueryResults, statements and MultiStmts created from now on.
+	 * @param detector the detector or null to stop tracking
+	 */
+	public static void setLeakDetector(LeakDetector detector)
+	{
+		LeakDetector.install(detector);
+	}
+
+
 	/**
 	 * Runs a query.
 	 * @param con a connection
@@ -176,7 +222,8 @@ public class Jdbx
 
 		@Override protected ResultSet runQueryImpl() throws Exception
 		{
-			return provider_.query().runQuery();
+			// the inner query is not run via runQuery() to avoid reporting the run twice
+			return provider_.query().runQueryImpl();
 		}
 
 
@@ -186,6 +233,18 @@ public class Jdbx
 		}
 
 
+		@Override Connection getRunConnection()
+		{
+			return provider_.con_;
+		}
+
+
+		@Override Object[] getRunParams()
+		{
+			return provider_.params_;
+		}
+
+
 		@Override protected String describe()
 		{
 			return provider_.toString();
@@ -224,6 +283,18 @@ public class Jdbx
 		}
 
 
+		@Override Connection getRunConnection()
+		{
+			return provider_.con_;
+		}
+
+
+		@Override Object[] getRunParams()
+		{
+			return provider_.params_;
+		}
+
+
 		@Override protected String describe()
 		{
 			return provider_.toString();
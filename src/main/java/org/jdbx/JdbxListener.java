@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx;
+
+
+/**
+ * JdbxListener is notified about the queries, updates, batches and executes run by JDBX.
+ * Listeners are registered globally via {@link Jdbx#addListener(JdbxListener)}.
+ * If no listener is registered, JDBX does not collect any run information.
+ * <p>
+ * Listeners are called synchronously by the thread which runs the operation and therefore
+ * should be fast and thread-safe. Exceptions thrown by a listener are ignored.
+ * The {@link RunInfo} passed to the callbacks must not be modified.
+ */
+public interface JdbxListener
+{
+	/**
+	 * Called when an operation is started, before the JDBC statement is executed.
+	 * @param run the run information
+	 */
+	public default void started(RunInfo run)
+	{
+	}
+
+
+	/**
+	 * Called when the JDBC statement was executed, before any rows are fetched.
+	 * Not called if the execution failed.
+	 * @param run the run information
+	 */
+	public default void executed(RunInfo run)
+	{
+	}
+
+
+	/**
+	 * Called when an operation has ended, e.g. when the QueryResult of a query was closed.
+	 * @param run the run information. Use {@link RunInfo#getError()} to test if the operation failed.
+	 */
+	public default void ended(RunInfo run)
+	{
+	}
+}
@@ -0,0 +1,390 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx;
+
+
+import java.lang.ref.Cleaner;
+import java.sql.Connection;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * LeakDetector reports {@link QueryResult QueryResults} returned by {@link Query#result()},
+ * {@link Stmt statements} and {@link MultiStmt MultiStmts} which are garbage collected without
+ * having been closed. Such objects hold database cursors, statements or pooled connections until
+ * they are finally freed by the JDBC driver, if at all.
+ * <p>
+ * Tracked objects are registered with a {@link Cleaner}. To keep the overhead low the stack trace
+ * of the allocation site is only captured for a configurable fraction of the objects.
+ * The detector also counts the currently open cursors and statements per connection.
+ * <pre><code>
+ * Jdbx.setLeakDetector(new LeakDetector(0.01, leak -&gt; log.warn(leak.toString(), leak.getAllocationSite())));
+ * </code></pre>
+ * Objects created while no LeakDetector is installed are not tracked.
+ */
+public class LeakDetector
+{
+	/**
+	 * The kind of a tracked object.
+	 */
+	public enum Kind
+	{
+		QUERY_RESULT("QueryResult"),
+		STMT("Stmt"),
+		MULTI_STMT("MultiStmt");
+
+
+		Kind(String name)
+		{
+			name_ = name;
+		}
+
+
+		/**
+		 * @return the class name of the kind, e.g. "QueryResult"
+		 */
+		public String getName()
+		{
+			return name_;
+		}
+
+
+		private final String name_;
+	}
+
+
+	/**
+	 * Receives leak reports.
+	 */
+	@FunctionalInterface
+	public interface Reporter
+	{
+		/**
+		 * Called by the cleaner thread when a leak was detected.
+		 * @param leak describes the leak
+		 */
+		public void leaked(Leak leak);
+	}
+
+
+	/**
+	 * Describes an object which was not closed.
+	 */
+	public static class Leak
+	{
+		private Leak(Tracked tracked)
+		{
+			kind_			= tracked.kind_;
+			sql_			= tracked.sql_;
+			connection_		= tracked.connection_;
+			allocationSite_	= tracked.allocationSite_;
+		}
+
+
+		/**
+		 * @return the kind of the leaked object
+		 */
+		public Kind getKind()
+		{
+			return kind_;
+		}
+
+
+		/**
+		 * @return the last SQL command used by the object or null if not known
+		 */
+		public String getSql()
+		{
+			return sql_;
+		}
+
+
+		/**
+		 * @return the identity of the connection, consisting of class name and identity hash code,
+		 * 		or null if not known
+		 */
+		public String getConnection()
+		{
+			return connection_;
+		}
+
+
+		/**
+		 * @return a Throwable whose stack trace is the allocation site of the leaked object,
+		 * 		or null if the stack trace was not sampled
+		 */
+		public Throwable getAllocationSite()
+		{
+			return allocationSite_;
+		}
+
+
+		@Override public String toString()
+		{
+			StringBuilder s = new StringBuilder("unclosed ").append(kind_.getName());
+			if (sql_ != null)
+				s.append(": ").append(sql_);
+			if (connection_ != null)
+				s.append(", con=").append(connection_);
+			if (allocationSite_ == null)
+				s.append(" (allocation site not sampled)");
+			return s.toString();
+		}
+
+
+		private final Kind kind_;
+		private final String sql_;
+		private final String connection_;
+		private final Throwable allocationSite_;
+	}
+
+
+	/**
+	 * Counts open cursors and statements of a connection.
+	 */
+	private static class Counts
+	{
+		public final AtomicInteger cursors = new AtomicInteger();
+		public final AtomicInteger statements = new AtomicInteger();
+	}
+
+
+	/**
+	 * The cleaning action of a tracked object. Must not reference the tracked object.
+	 */
+	static class Tracked implements Runnable
+	{
+		private Tracked(LeakDetector detector, Kind kind, Connection con)
+		{
+			detector_ 	= detector;
+			kind_		= kind;
+			connection_	= con != null ? con.getClass().getName() + '@' + Integer.toHexString(System.identityHashCode(con)) : null;
+			counts_		= detector.count(kind, con);
+			if ((detector.sampleRate_ > 0.0) && (ThreadLocalRandom.current().nextDouble() < detector.sampleRate_))
+				allocationSite_ = new Throwable(kind.getName() + " allocation site");
+			else
+				allocationSite_ = null;
+		}
+
+
+		/**
+		 * Called by the cleaner when the object became unreachable or when the object was closed.
+		 */
+		@Override public void run()
+		{
+			if (closed_.compareAndSet(0, 1))
+			{
+				if (counts_ != null)
+					(kind_ == Kind.QUERY_RESULT ? counts_.cursors : counts_.statements).decrementAndGet();
+				if (!closing_)
+					detector_.leaked(this);
+			}
+		}
+
+
+		private final LeakDetector detector_;
+		private final Kind kind_;
+		private final String connection_;
+		private final Counts counts_;
+		private final Throwable allocationSite_;
+		private final AtomicInteger closed_ = new AtomicInteger();
+		private volatile String sql_;
+		private volatile boolean closing_;
+		private Cleaner.Cleanable cleanable_;
+	}
+
+
+	/**
+	 * Creates a new LeakDetector.
+	 * @param sampleRate the fraction of tracked objects whose allocation stack trace is captured, between 0 and 1
+	 * @param reporter receives the leak reports
+	 */
+	public LeakDetector(double sampleRate, Reporter reporter)
+	{
+		if ((sampleRate < 0.0) || (sampleRate > 1.0))
+			throw new IllegalArgumentException("sampleRate must be in [0,1], is " + sampleRate);
+		sampleRate_ = sampleRate;
+		reporter_	= Check.notNull(reporter, "reporter");
+	}
+
+
+	//------------------------------
+	// hooks
+	//------------------------------
+
+
+	/**
+	 * Starts to track an object if a LeakDetector is installed.
+	 * @return a tracking token or null
+	 */
+	static Tracked track(Object object, Kind kind, Connection con)
+	{
+		LeakDetector detector = current_;
+		if (detector == null)
+			return null;
+		Tracked tracked = new Tracked(detector, kind, con);
+		tracked.cleanable_ = detector.cleaner_.register(object, tracked);
+		return tracked;
+	}
+
+
+	/**
+	 * Stores the SQL command used by a tracked object.
+	 */
+	static void setSql(Tracked tracked, String sql)
+	{
+		if (tracked != null)
+			tracked.sql_ = sql;
+	}
+
+
+	/**
+	 * Stops to track an object since it was closed.
+	 */
+	static void closed(Tracked tracked)
+	{
+		if (tracked != null)
+		{
+			tracked.closing_ = true;
+			tracked.cleanable_.clean();
+		}
+	}
+
+
+	private Counts count(Kind kind, Connection con)
+	{
+		if ((con == null) || (kind == Kind.MULTI_STMT))
+			return null;
+		Counts counts;
+		synchronized (counts_)
+		{
+			counts = counts_.computeIfAbsent(con, c -> new Counts());
+		}
+		(kind == Kind.QUERY_RESULT ? counts.cursors : counts.statements).incrementAndGet();
+		return counts;
+	}
+
+
+	private void leaked(Tracked tracked)
+	{
+		leakCount_.increment();
+		try
+		{
+			reporter_.leaked(new Leak(tracked));
+		}
+		catch (RuntimeException e)
+		{
+			// a failing reporter must not stop the cleaner
+		}
+	}
+
+
+	//------------------------------
+	// install
+	//------------------------------
+
+
+	/**
+	 * Installs a LeakDetector.
+	 * @param detector the detector or null to stop tracking new objects
+	 * @see Jdbx#setLeakDetector(LeakDetector)
+	 */
+	static void install(LeakDetector detector)
+	{
+		current_ = detector;
+	}
+
+
+	/**
+	 * @return the installed LeakDetector or null
+	 */
+	public static LeakDetector get()
+	{
+		return current_;
+	}
+
+
+	//------------------------------
+	// accessors
+	//------------------------------
+
+
+	/**
+	 * @return the fraction of tracked objects whose allocation stack trace is captured
+	 */
+	public double getSampleRate()
+	{
+		return sampleRate_;
+	}
+
+
+	/**
+	 * @return the number of detected leaks
+	 */
+	public long getLeakCount()
+	{
+		return leakCount_.sum();
+	}
+
+
+	/**
+	 * Returns the number of open cursors of a connection, i.e. the number of tracked QueryResults
+	 * which are neither closed nor garbage collected.
+	 * @param con a connection
+	 * @return the count
+	 */
+	public int getOpenCursors(Connection con)
+	{
+		Counts counts = getCounts(con);
+		return counts != null ? counts.cursors.get() : 0;
+	}
+
+
+	/**
+	 * Returns the number of open statements of a connection, i.e. the number of tracked statements
+	 * which are neither closed nor garbage collected.
+	 * @param con a connection
+	 * @return the count
+	 */
+	public int getOpenStatements(Connection con)
+	{
+		Counts counts = getCounts(con);
+		return counts != null ? counts.statements.get() : 0;
+	}
+
+
+	private Counts getCounts(Connection con)
+	{
+		synchronized (counts_)
+		{
+			return counts_.get(con);
+		}
+	}
+
+
+	private static volatile LeakDetector current_;
+	private final double sampleRate_;
+	private final Reporter reporter_;
+	private final Cleaner cleaner_ = Cleaner.create();
+	private final LongAdder leakCount_ = new LongAdder();
+	// weak keys: the detector must not keep connections alive
+	private final Map<Connection,Counts> counts_ = new WeakHashMap<>();
+}
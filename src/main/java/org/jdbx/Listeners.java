@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import org.jdbx.function.CheckedSupplier;
+import org.jdbx.function.Unchecked;
+
+
+/**
+ * Holds the registered JdbxListeners.
+ * The hot path only reads a single volatile field which is null when no listener is registered.
+ */
+class Listeners
+{
+	/**
+	 * @return the current listener or null if no listener is registered.
+	 * 		If multiple listeners are registered a composite listener is returned.
+	 */
+	public static JdbxListener get()
+	{
+		return current_;
+	}
+
+
+	/**
+	 * @return true if the current thread runs an action passed to {@link #unobserved(CheckedSupplier)}
+	 */
+	public static boolean isMuted()
+	{
+		return muted_.get() != null;
+	}
+
+
+	public static <T> T unobserved(CheckedSupplier<T> action) throws JdbxException
+	{
+		Boolean previous = muted_.get();
+		muted_.set(Boolean.TRUE);
+		try
+		{
+			return Unchecked.get(action);
+		}
+		finally
+		{
+			if (previous == null)
+				muted_.remove();
+		}
+	}
+
+
+	public static synchronized void add(JdbxListener listener)
+	{
+		Check.notNull(listener, "listener");
+		all_.add(listener);
+		update();
+	}
+
+
+	public static synchronized boolean remove(JdbxListener listener)
+	{
+		boolean removed = all_.remove(listener);
+		update();
+		return removed;
+	}
+
+
+	private static void update()
+	{
+		if (all_.isEmpty())
+			current_ = null;
+		else if (all_.size() == 1)
+			current_ = all_.get(0);
+		else
+			current_ = new Composite(all_.toArray(new JdbxListener[all_.size()]));
+	}
+
+
+	private static class Composite implements JdbxListener
+	{
+		public Composite(JdbxListener[] listeners)
+		{
+			listeners_ = listeners;
+		}
+
+
+		@Override public void started(RunInfo run)
+		{
+			for (JdbxListener listener : listeners_)
+				RunInfo.notifyStarted(listener, run);
+		}
+
+
+		@Override public void executed(RunInfo run)
+		{
+			for (JdbxListener listener : listeners_)
+				RunInfo.notifyExecuted(listener, run);
+		}
+
+
+		@Override public void ended(RunInfo run)
+		{
+			for (JdbxListener listener : listeners_)
+				RunInfo.notifyEnded(listener, run);
+		}
+
+
+		private final JdbxListener[] listeners_;
+	}
+
+
+	private static final List<JdbxListener> all_ = new ArrayList<>();
+	private static volatile JdbxListener current_;
+	private static final ThreadLocal<Boolean> muted_ = new ThreadLocal<>();
+}
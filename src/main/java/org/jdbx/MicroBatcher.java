@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx;
+
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import javax.sql.DataSource;
+import org.jdbx.function.CheckedSupplier;
+
+
+/**
+ * MicroBatcher collects single-row parameter sets for one SQL command which are submitted
+ * by many threads and runs them as one {@link PrepStmt.PrepBatch batch} in one transaction.
+ * <p>
+ * A flusher thread groups all parameter sets which arrived within a small time window
+ * ({@link #setMaxDelay(Duration)}) or up to a maximum batch size ({@link #setMaxSize(int)}),
+ * runs the batch, commits and then completes the future of each submitted row.
+ * If the batch fails it is rolled back and the rows are run one by one, each in its own transaction,
+ * so that a failure is only reported to the future of the row which caused it.
+ * <p>
+ * Futures are completed by the flusher thread, therefore dependent actions should either be cheap
+ * or be run with the async variants of CompletableFuture.
+ * <pre><code>
+ * try (MicroBatcher batcher = new MicroBatcher(dataSource, "INSERT INTO Audit (ts, msg) VALUES (?, ?)")) {
+ *     batcher.submit(now, msg).join().requireCount(1);
+ * }
+ * </code></pre>
+ */
+public class MicroBatcher implements AutoCloseable
+{
+	/**
+	 * Creates a new MicroBatcher. Each flush uses a connection obtained from the datasource
+	 * and closes the connection after the flush.
+	 * @param dataSource a DataSource
+	 * @param sql a SQL command with positional parameters
+	 */
+	public MicroBatcher(DataSource dataSource, String sql)
+	{
+		this(Check.notNull(dataSource, "dataSource")::getConnection, true, sql);
+	}
+
+
+	/**
+	 * Creates a new MicroBatcher. Each flush uses a connection obtained from the connection supplier.
+	 * @param supplier provides a connection
+	 * @param closeCon determines if the connection is closed after each flush.
+	 * 		Pass false if the supplier always returns the same connection which is exclusively used by the MicroBatcher.
+	 * @param sql a SQL command with positional parameters
+	 */
+	public MicroBatcher(CheckedSupplier<Connection> supplier, boolean closeCon, String sql)
+	{
+		sql_	 = Check.notNull(sql, "sql");
+		flusher_ = new Flusher<>("MicroBatcher", supplier, closeCon, Duration.ofMillis(5), this::flush);
+		flusher_.start();
+	}
+
+
+	//------------------------------
+	// configuration
+	//------------------------------
+
+
+	/**
+	 * Sets the maximum number of rows run in one batch. The default is 100.
+	 * @param maxSize the size, &gt;= 1
+	 * @return this
+	 */
+	public MicroBatcher setMaxSize(int maxSize)
+	{
+		flusher_.setMaxSize(maxSize);
+		return this;
+	}
+
+
+	/**
+	 * Returns the maximum number of rows run in one batch.
+	 * @return the size
+	 */
+	public int getMaxSize()
+	{
+		return flusher_.getMaxSize();
+	}
+
+
+	/**
+	 * Sets the maximum time the flusher waits for more rows after the first row of a batch arrived.
+	 * The default is 5 milliseconds.
+	 * @param maxDelay the delay
+	 * @return this
+	 */
+	public MicroBatcher setMaxDelay(Duration maxDelay)
+	{
+		flusher_.setMaxDelay(maxDelay);
+		return this;
+	}
+
+
+	/**
+	 * Returns the maximum delay.
+	 * @return the delay
+	 */
+	public Duration getMaxDelay()
+	{
+		return flusher_.getMaxDelay();
+	}
+
+
+	//------------------------------
+	// submit
+	//------------------------------
+
+
+	/**
+	 * Submits a single row.
+	 * @param params the parameter values of the row
+	 * @return a future which is completed with the update result of the row once its batch was committed,
+	 * 		or completed exceptionally with a JdbxException if the row could not be inserted
+	 */
+	public CompletableFuture<UpdateResult<Void>> submit(Object... params)
+	{
+		Entry entry = new Entry(params);
+		flusher_.submit(entry);
+		return entry.future;
+	}
+
+
+	//------------------------------
+	// flushing
+	//------------------------------
+
+
+	/**
+	 * Runs the rows as one batch in one transaction, or one by one if the batch fails.
+	 */
+	private void flush(Connection con, List<Entry> entries) throws Exception
+	{
+		boolean autoCommit = con.getAutoCommit();
+		if (autoCommit)
+			con.setAutoCommit(false);
+		try (PrepStmt pstmt = new PrepStmt(con))
+		{
+			pstmt.init(sql_);
+			try
+			{
+				PrepStmt.PrepBatch batch = pstmt.batch();
+				for (Entry entry : entries)
+				{
+					pstmt.params(entry.params);
+					batch.add();
+				}
+				int[] counts = batch.run().getCounts();
+				con.commit();
+				for (int i=0; i<entries.size(); i++)
+					entries.get(i).future.complete(new UpdateResult<>(i < counts.length ? counts[i] : Statement.SUCCESS_NO_INFO));
+			}
+			catch (Exception e)
+			{
+				con.rollback();
+				if (entries.size() == 1)
+					entries.get(0).future.completeExceptionally(JdbxException.of(e));
+				else
+				{
+					pstmt.batch().clear();
+					runSingly(con, pstmt, entries);
+				}
+			}
+		}
+		finally
+		{
+			if (autoCommit)
+				con.setAutoCommit(true);
+		}
+	}
+
+
+	private void runSingly(Connection con, PrepStmt pstmt, List<Entry> entries) throws Exception
+	{
+		for (Entry entry : entries)
+		{
+			try
+			{
+				UpdateResult<Void> result = pstmt.params(entry.params).update();
+				con.commit();
+				entry.future.complete(result);
+			}
+			catch (Exception e)
+			{
+				con.rollback();
+				entry.future.completeExceptionally(JdbxException.of(e));
+			}
+		}
+	}
+
+
+	//------------------------------
+	// closing
+	//------------------------------
+
+
+	/**
+	 * Returns if the MicroBatcher is closed.
+	 * @return the closed state
+	 */
+	public boolean isClosed()
+	{
+		return flusher_.isClosed();
+	}
+
+
+	/**
+	 * Closes the MicroBatcher. All rows submitted before the call are flushed
+	 * before this method returns. Rows submitted concurrently to the call are either flushed
+	 * or their future is completed exceptionally.
+	 */
+	@Override public void close() throws JdbxException
+	{
+		flusher_.close();
+	}
+
+
+	private static class Entry extends Flusher.Request<UpdateResult<Void>>
+	{
+		public Entry(Object[] params)
+		{
+			this.params = params;
+		}
+
+
+		public final Object[] params;
+	}
+
+
+	private final String sql_;
+	private final Flusher<Entry> flusher_;
+}
@@ -21,7 +21,6 @@ import java.sql.Connection;
 import java.util.ArrayList;
 import javax.sql.DataSource;
 import org.jdbx.function.CheckedSupplier;
-import org.jdbx.function.Unchecked;
 
 
 /**
@@ -50,6 +49,7 @@ public class MultiStmt implements AutoCloseable
 	{
 		con_ 		= Check.notNull(con, "connection");
 		closeCon_	= closeCon;
+		leak_		= LeakDetector.track(this, LeakDetector.Kind.MULTI_STMT, con);
 	}
 
 
@@ -73,6 +73,7 @@ public class MultiStmt implements AutoCloseable
 	{
 		conSupplier_ = Check.notNull(supplier, "supplier");
 		closeCon_ 	 = closeCon;
+		leak_		 = LeakDetector.track(this, LeakDetector.Kind.MULTI_STMT, null);
 	}
 
 
@@ -84,7 +85,7 @@ public class MultiStmt implements AutoCloseable
 	{
 		checkOpen();
 		if (con_ == null)
-			con_ = Unchecked.get(conSupplier_);
+			con_ = RunInfo.connect(conSupplier_);
 		return con_;
 	}
 
@@ -224,6 +225,7 @@ public class MultiStmt implements AutoCloseable
 				con_  			= null;
 				conSupplier_ 	= null;
 				statements_.clear();
+				LeakDetector.closed(leak_);
 			}
 		}
 	}
@@ -234,4 +236,5 @@ public class MultiStmt implements AutoCloseable
 	private boolean closeCon_;
 	private boolean isClosed_;
 	private final ArrayList<Stmt> statements_ = new ArrayList<>();
+	private final LeakDetector.Tracked leak_;
 }
@@ -18,34 +18,96 @@ package org.jdbx;
 
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
  * NamedParamCmd represents a SQL command which contains
  * named parameters.
+ * <p>
+ * A parameter which stands for a list of values, e.g. in <code>WHERE id IN (:ids)</code>, can be expanded
+ * to a list of parameters via {@link #expand(String, int)}. To limit the number of distinct commands which are
+ * prepared (and parsed by the database), the list size is rounded up to a bucket size 1, 2, 4, 8, ... up to
+ * a maximum list size. {@link PrepStmt.NamedParam#setList(Collection)} pads the list by repeating its last value.
+ * Lists which are larger than the maximum list size must be split with {@link #chunks(Collection)}:
+ * <pre><code>
+ * NamedParamCmd cmd = new NamedParamCmd("SELECT name FROM Cities WHERE id IN (:ids)");
+ * for (List&lt;Integer&gt; chunk : cmd.chunks(ids)) {
+ *     pstmt.init().sql(cmd.expand("ids", chunk.size()));
+ *     pstmt.param("ids").setList(chunk);
+ *     names.addAll(pstmt.query().rows().col().getString());
+ * }
+ * </code></pre>
  */
 public class NamedParamCmd
 {
 	/**
-	 * Creates a NamedParamCmd.
+	 * The default maximum list size.
+	 */
+	public static final int DEFAULT_MAX_LIST_SIZE = 256;
+
+
+	/**
+	 * Returns the bucket size of a list, i.e. the next power of two &gt;= size, limited by the maximum list size.
+	 * @param size the list size
+	 * @param maxListSize the maximum list size, &gt;= 1
+	 * @return the bucket size, &gt;= 1
+	 */
+	public static int bucketSize(int size, int maxListSize)
+	{
+		int bucket = size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+		return bucket > 0 ? Math.min(bucket, maxListSize) : maxListSize;
+	}
+
+
+	/**
+	 * Creates a NamedParamCmd with the default maximum list size.
 	 * @param sql the sql command
 	 */
 	public NamedParamCmd(String sql)
+	{
+		this(sql, DEFAULT_MAX_LIST_SIZE);
+	}
+
+
+	/**
+	 * Creates a NamedParamCmd.
+	 * @param sql the sql command
+	 * @param maxListSize the maximum size of list parameters, see {@link #expand(String, int)}
+	 */
+	public NamedParamCmd(String sql, int maxListSize)
+	{
+		this(sql, maxListSize, null);
+	}
+
+
+	private NamedParamCmd(String sql, int maxListSize, Map<String,Integer> listSizes)
 	{
 		cmd_ = Check.notNull(sql, "sql");
+		if (maxListSize < 1)
+			throw new IllegalArgumentException("maxListSize must be >= 1, is " + maxListSize);
+		maxListSize_ = maxListSize;
+		listSizes_	 = listSizes;
 
 		Parser parser = new Parser();
 		parser.parse();
 
 		converted_ = parser.builder_.toString();
-		parser.map_.entrySet().stream().forEach(entry -> {
-			paramMap_.put(entry.getKey(), entry.getValue().stream().mapToInt(n -> n.intValue()).toArray());
-		});
+		for (Map.Entry<String,List<Integer>> entry : parser.map_.entrySet())
+		{
+			List<Integer> numbers = entry.getValue();
+			int[] array = new int[numbers.size()];
+			for (int i=0; i<array.length; i++)
+				array[i] = numbers.get(i).intValue();
+			paramMap_.put(entry.getKey(), array);
+		}
 	}
 
 
@@ -95,6 +157,12 @@ public class NamedParamCmd
 
 	        List<Integer> numbers = map_.computeIfAbsent(name, n -> new ArrayList<Integer>());
 	        numbers.add(Integer.valueOf(++count_));
+	        int listSize = getListSize(name);
+	        for (int i=1; i<listSize; i++)
+	        {
+	        	builder_.append(", ?");
+	        	numbers.add(Integer.valueOf(++count_));
+	        }
  		}
 
 
@@ -187,6 +255,84 @@ public class NamedParamCmd
 	}
 
 
+	/**
+	 * Returns the maximum size of list parameters.
+	 * @return the size
+	 */
+	public int getMaxListSize()
+	{
+		return maxListSize_;
+	}
+
+
+	/**
+	 * Returns a command in which each occurrence of a parameter is expanded to a list of parameters.
+	 * The size of the list is the {@link #bucketSize(int, int) bucket size} of the given size.
+	 * Commands are cached per bucket size, therefore repeated calls return the same object.
+	 * Expanded commands can be expanded again for other parameters.
+	 * @param paramName the parameter name
+	 * @param size the number of values, &lt;= the maximum list size
+	 * @return the expanded command
+	 */
+	public NamedParamCmd expand(String paramName, int size)
+	{
+		Check.notNull(paramName, "paramName");
+		if (!paramMap_.containsKey(paramName))
+			throw new IllegalArgumentException("sql command does not contain parameter '" + paramName + '\'');
+		if (size > maxListSize_)
+			throw new IllegalArgumentException("size " + size + " exceeds the maximum list size " + maxListSize_ + ", use chunks()");
+		int bucket = bucketSize(size, maxListSize_);
+		if (bucket == getListSize(paramName))
+			return this;
+
+		Map<String,NamedParamCmd> expanded = expanded_;
+		if (expanded == null)
+		{
+			synchronized (this)
+			{
+				if ((expanded = expanded_) == null)
+					expanded_ = expanded = new ConcurrentHashMap<>();
+			}
+		}
+		return expanded.computeIfAbsent(paramName + '#' + bucket, k -> {
+			Map<String,Integer> listSizes = listSizes_ != null ? new HashMap<>(listSizes_) : new HashMap<>();
+			listSizes.put(paramName, Integer.valueOf(bucket));
+			return new NamedParamCmd(cmd_, maxListSize_, listSizes);
+		});
+	}
+
+
+	/**
+	 * Splits a list of values into chunks whose size does not exceed the maximum list size.
+	 * @param values the values
+	 * @param <T> the value type
+	 * @return the chunks. An empty collection results in a single empty chunk.
+	 */
+	public <T> List<List<T>> chunks(Collection<T> values)
+	{
+		Check.notNull(values, "values");
+		List<T> list = values instanceof List ? (List<T>)values : new ArrayList<>(values);
+		if (list.size() <= maxListSize_)
+			return Collections.singletonList(list);
+		List<List<T>> chunks = new ArrayList<>();
+		for (int i=0; i<list.size(); i+=maxListSize_)
+			chunks.add(list.subList(i, Math.min(list.size(), i + maxListSize_)));
+		return chunks;
+	}
+
+
+	/**
+	 * Returns the size of the parameter list of an expanded parameter.
+	 * @param paramName the parameter name
+	 * @return the size or 1 if the parameter is not expanded
+	 */
+	public int getListSize(String paramName)
+	{
+		Integer size = listSizes_ != null ? listSizes_.get(paramName) : null;
+		return size != null ? size.intValue() : 1;
+	}
+
+
 	/**
 	 * Returns the original command.
 	 */
@@ -199,4 +345,7 @@ public class NamedParamCmd
 	private final String cmd_;
 	private final String converted_;
 	private final Map<String,int[]> paramMap_ = new LinkedHashMap<>();
+	private final int maxListSize_;
+	private final Map<String,Integer> listSizes_;
+	private volatile Map<String,NamedParamCmd> expanded_;
 }
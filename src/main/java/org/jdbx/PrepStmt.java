@@ -23,6 +23,12 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import javax.sql.DataSource;
 import org.jdbx.function.CheckedConsumer;
@@ -197,6 +203,7 @@ public class PrepStmt extends Stmt
 			namedParams_ = false;
 			sql(cmd.getConverted());
 			paramMap_ = cmd.getParamMap();
+			paramCmd_ = cmd;
 			return PrepStmt.this;
 		}
 
@@ -220,11 +227,14 @@ public class PrepStmt extends Stmt
 				{
 					NamedParamCmd npc = new NamedParamCmd(sql);
 					paramMap_ = npc.getParamMap();
+					paramCmd_ = npc;
 					sql = npc.getConverted();
 				}
 
-				jdbcStmt_ 	= createJdbcStmt(sql);
+				String cmd	= sql;
+				jdbcStmt_ 	= RunInfo.prepare(con_, cmd, () -> createJdbcStmt(cmd));
 				sql_ 		= sql;
+				LeakDetector.setSql(leak_, sql);
 
 				return PrepStmt.this;
 			}
@@ -278,10 +288,18 @@ public class PrepStmt extends Stmt
 	{
 		if ((values != null) && (values.length > 0))
 		{
-			params(pstmt -> {
+			PreparedStatement pstmt = getJdbcStmt();
+			try
+			{
 				for (int i=0; i<values.length; i++)
 					pstmt.setObject(i+1, values[i]);
-			});
+			}
+			catch (Exception e)
+			{
+				throw JdbxException.of(e);
+			}
+			for (int i=0; i<values.length; i++)
+				captureParam(i+1, values[i]);
 		}
 		return this;
 	}
@@ -345,7 +363,7 @@ public class PrepStmt extends Stmt
 		int[] numbers = paramMap_.get(name);
 		if (numbers == null)
 			throw new IllegalArgumentException("sql command does not contain parameter '" + name + '\'');
-		return new NamedParam(numbers);
+		return new NamedParam(numbers, paramCmd_.getListSize(name));
 	}
 
 
@@ -356,10 +374,39 @@ public class PrepStmt extends Stmt
 	public PrepStmt clearParams() throws JdbxException
 	{
 		Unchecked.run(getJdbcStmt()::clearParameters);
+		runParams_ = null;
 		return this;
 	}
 
 
+	/**
+	 * Remembers a parameter value so that it can be reported to listeners.
+	 * Values are only captured if a listener is registered. Once the captured values
+	 * were handed to a run they are copied on the next write.
+	 */
+	private void captureParam(int number, Object value)
+	{
+		if (Listeners.get() == null)
+			return;
+		Object[] params = runParams_;
+		if ((params == null) || (number > params.length) || runParamsShared_)
+		{
+			int length = params == null ? number : Math.max(number, params.length);
+			params = params == null ? new Object[length] : Arrays.copyOf(params, length);
+			runParams_ = params;
+			runParamsShared_ = false;
+		}
+		params[number - 1] = value;
+	}
+
+
+	@Override Object[] getRunParams()
+	{
+		runParamsShared_ = runParams_ != null;
+		return runParams_;
+	}
+
+
 	/**
 	 * A SetParam class for a numbered parameter.
 	 */
@@ -377,6 +424,7 @@ public class PrepStmt extends Stmt
 			try
 			{
 				setter.set(getJdbcStmt(), number_, value);
+				captureParam(number_, value);
 			}
 			catch (Exception e)
 			{
@@ -385,6 +433,54 @@ public class PrepStmt extends Stmt
 		}
 
 
+		// the primitive setters bind the value directly to avoid boxing on the hot path
+
+
+		@Override public void setInt(int value) throws JdbxException
+		{
+			try
+			{
+				getJdbcStmt().setInt(number_, value);
+			}
+			catch (Exception e)
+			{
+				throw JdbxException.of(e);
+			}
+			if (Listeners.get() != null)
+				captureParam(number_, Integer.valueOf(value));
+		}
+
+
+		@Override public void setLong(long value) throws JdbxException
+		{
+			try
+			{
+				getJdbcStmt().setLong(number_, value);
+			}
+			catch (Exception e)
+			{
+				throw JdbxException.of(e);
+			}
+			if (Listeners.get() != null)
+				captureParam(number_, Long.valueOf(value));
+		}
+
+
+		@Override public void setDouble(double value) throws JdbxException
+		{
+			try
+			{
+				getJdbcStmt().setDouble(number_, value);
+			}
+			catch (Exception e)
+			{
+				throw JdbxException.of(e);
+			}
+			if (Listeners.get() != null)
+				captureParam(number_, Double.valueOf(value));
+		}
+
+
 		private final int number_;
 	}
 
@@ -394,9 +490,10 @@ public class PrepStmt extends Stmt
 	 */
 	public class NamedParam implements SetParam<PreparedStatement>
 	{
-		private NamedParam(int[] numbers)
+		private NamedParam(int[] numbers, int listSize)
 		{
-			numbers_ = numbers;
+			numbers_  = numbers;
+			listSize_ = listSize;
 		}
 
 
@@ -406,7 +503,39 @@ public class PrepStmt extends Stmt
 			try
 			{
 				for (int number : numbers_)
+				{
 					setter.set(getJdbcStmt(), number, value);
+					captureParam(number, value);
+				}
+			}
+			catch (Exception e)
+			{
+				throw JdbxException.of(e);
+			}
+		}
+
+
+		/**
+		 * Sets the values of a list parameter, e.g. in <code>WHERE id IN (:ids)</code>, which was expanded
+		 * by {@link NamedParamCmd#expand(String, int)}. The values are padded to the size of the expanded
+		 * parameter list by repeating the last value. An empty collection is set as NULL, which matches no row.
+		 * @param values the values, not more than the size of the expanded parameter list
+		 */
+		public void setList(Collection<?> values) throws JdbxException
+		{
+			Check.notNull(values, "values");
+			if (values.size() > listSize_)
+				throw new IllegalArgumentException(values.size() + " values exceed the list size " + listSize_ + ": use NamedParamCmd.expand(String, int)");
+			Object[] array = values.toArray();
+			try
+			{
+				PreparedStatement stmt = getJdbcStmt();
+				for (int i=0; i<numbers_.length; i++)
+				{
+					Object value = array.length > 0 ? array[Math.min(i % listSize_, array.length - 1)] : null;
+					stmt.setObject(numbers_[i], value);
+					captureParam(numbers_[i], value);
+				}
 			}
 			catch (Exception e)
 			{
@@ -416,6 +545,7 @@ public class PrepStmt extends Stmt
 
 
 		private final int[] numbers_;
+		private final int listSize_;
 	}
 
 
@@ -432,7 +562,7 @@ public class PrepStmt extends Stmt
 	public Query query() throws JdbxException
 	{
 		checkInitialized();
-		return new PrepStmtQuery(this::getJdbcStmt);
+		return new PrepStmtQuery(this, sql_);
 	}
 
 
@@ -485,6 +615,18 @@ public class PrepStmt extends Stmt
 		}
 
 
+		@Override Connection getRunConnection()
+		{
+			return con_;
+		}
+
+
+		@Override Object[] getRunParams()
+		{
+			return PrepStmt.this.getRunParams();
+		}
+
+
 		@Override protected String describe()
 		{
 			return sql_;
@@ -506,7 +648,7 @@ public class PrepStmt extends Stmt
 	public Execute createExecute()
 	{
 		checkInitialized();
-		return new PrepStmtExecute(this::getJdbcStmt);
+		return new PrepStmtExecute(this, sql_);
 	}
 
 
@@ -537,14 +679,278 @@ public class PrepStmt extends Stmt
 		public PrepBatch add() throws JdbxException
 		{
 			Unchecked.run(() -> getJdbcStmt().addBatch());
+			added();
 			return this;
 		}
 
 
+		@Override public PrepBatch adaptiveSize(AdaptiveBatchSize size)
+		{
+			super.adaptiveSize(size);
+			return this;
+		}
+
+
+		/**
+		 * Returns a builder to add rows to the batch whose parameter values are given column-wise
+		 * as arrays. The values are bound using the primitive setters of PreparedStatement, e.g.
+		 * <code>setLong(int, long)</code>, therefore no boxing takes place.
+		 * <pre><code>
+		 * pstmt.init("INSERT INTO Samples (ts, value, sensor) VALUES (?, ?, ?)");
+		 * pstmt.batch().addColumns()
+		 *     .set(1, ts)        // long[]
+		 *     .set(2, values)    // double[]
+		 *     .set(3, sensorIds) // int[]
+		 *     .nulls(2, missing) // BitSet of rows where value is null
+		 *     .chunkSize(1000)
+		 *     .run();
+		 * </code></pre>
+		 * @return the builder
+		 */
+		public Columns addColumns() throws JdbxException
+		{
+			checkInitialized();
+			return new Columns();
+		}
+
+
 		@Override protected PrepStmt stmt()
 		{
 			return PrepStmt.this;
 		}
+
+
+		/**
+		 * A builder to add rows to the batch from column arrays.
+		 * All column arrays must have the same length, which is the number of added rows.
+		 * @see PrepBatch#addColumns()
+		 */
+		public class Columns
+		{
+			private Columns()
+			{
+			}
+
+
+			/**
+			 * Sets the values of a long parameter.
+			 * @param number a parameter number, starting at 1.
+			 * @param values the values, one for each row
+			 * @return this
+			 */
+			public Columns set(int number, long[] values)
+			{
+				return add(new Column(number, Column.LONG, Types.BIGINT, Check.notNull(values, "values"), values.length));
+			}
+
+
+			/**
+			 * Sets the values of an int parameter.
+			 * @param number a parameter number, starting at 1.
+			 * @param values the values, one for each row
+			 * @return this
+			 */
+			public Columns set(int number, int[] values)
+			{
+				return add(new Column(number, Column.INT, Types.INTEGER, Check.notNull(values, "values"), values.length));
+			}
+
+
+			/**
+			 * Sets the values of a double parameter.
+			 * @param number a parameter number, starting at 1.
+			 * @param values the values, one for each row
+			 * @return this
+			 */
+			public Columns set(int number, double[] values)
+			{
+				return add(new Column(number, Column.DOUBLE, Types.DOUBLE, Check.notNull(values, "values"), values.length));
+			}
+
+
+			/**
+			 * Sets the values of a String parameter.
+			 * @param number a parameter number, starting at 1.
+			 * @param values the values, one for each row. May contain null values.
+			 * @return this
+			 */
+			public Columns set(int number, String[] values)
+			{
+				return add(new Column(number, Column.STRING, Types.VARCHAR, Check.notNull(values, "values"), values.length));
+			}
+
+
+			/**
+			 * Sets the values of a parameter using <code>setObject</code>.
+			 * @param number a parameter number, starting at 1.
+			 * @param values the values, one for each row. May contain null values.
+			 * @return this
+			 */
+			public Columns set(int number, Object[] values)
+			{
+				return add(new Column(number, Column.OBJECT, Types.NULL, Check.notNull(values, "values"), values.length));
+			}
+
+
+			/**
+			 * Defines which rows of a column have a null value.
+			 * @param number the number of a parameter whose values were already set
+			 * @param nulls a null bitmap: if bit i is set, then the parameter is set to null in row i.
+			 * @return this
+			 */
+			public Columns nulls(int number, BitSet nulls)
+			{
+				Check.notNull(nulls, "nulls");
+				for (Column col : cols_)
+				{
+					if (col.number == number)
+					{
+						col.nulls = nulls;
+						return this;
+					}
+				}
+				throw new IllegalArgumentException("no values set for parameter " + number);
+			}
+
+
+			/**
+			 * Sets the number of rows after which the batch is executed.
+			 * By default the size chosen by the {@link PrepBatch#adaptiveSize(AdaptiveBatchSize) adaptive size} of the batch
+			 * is used, or else all rows are executed in a single batch. The last call of a chunkSize method wins.
+			 * @param size the chunk size, &gt;= 1
+			 * @return this
+			 */
+			public Columns chunkSize(int size)
+			{
+				if (size < 1)
+					throw new IllegalArgumentException("chunk size must be >= 1, is " + size);
+				chunkSize_	  = size;
+				adaptiveSize_ = null;
+				return this;
+			}
+
+
+			/**
+			 * Lets the AdaptiveBatchSize choose the number of rows after which the batch is executed.
+			 * The throughput of each execution is reported back to the AdaptiveBatchSize.
+			 * The size only applies to the rows of this builder, not to the batch.
+			 * @param size the size controller
+			 * @return this
+			 */
+			public Columns chunkSize(AdaptiveBatchSize size)
+			{
+				adaptiveSize_ = Check.notNull(size, "size");
+				chunkSize_	  = 0;
+				return this;
+			}
+
+
+			/**
+			 * Adds the rows to the batch and executes the batch every {@link #chunkSize(int) chunk size} rows.
+			 * Commands which were already added to the batch before are executed with the first chunk,
+			 * or on their own if no rows were set.
+			 * @return a BatchResult containing the update counts of all chunks
+			 */
+			public BatchResult<Void> run() throws JdbxException
+			{
+				Column[] cols = cols_.toArray(new Column[cols_.size()]);
+				int rows = cols.length > 0 ? cols[0].length : 0;
+				for (Column col : cols)
+				{
+					if (col.length != rows)
+						throw new IllegalArgumentException("column " + col.number + " has " + col.length + " values, expected " + rows);
+				}
+
+				if ((rows == 0) && !hasPending() && !hasChunks())
+					return new BatchResult<>(new int[0]);
+				AdaptiveBatchSize size = adaptiveSize_ != null ? adaptiveSize_ : chunkSize_ > 0 ? null : getAdaptiveSize();
+				int chunkSize = chunkSize_ > 0 ? chunkSize_ : Integer.MAX_VALUE;
+				try
+				{
+					PreparedStatement pstmt = getJdbcStmt();
+					for (int row=0; row<rows; row++)
+					{
+						for (Column col : cols)
+							col.bind(pstmt, row);
+						pstmt.addBatch();
+						added(size, chunkSize);
+					}
+				}
+				catch (Exception e)
+				{
+					throw JdbxException.of(e);
+				}
+				// executes the last chunk and returns the counts of all chunks
+				return PrepBatch.this.run(size);
+			}
+
+
+			private Columns add(Column col)
+			{
+				for (Column c : cols_)
+				{
+					if (c.number == col.number)
+						throw new IllegalArgumentException("values for parameter " + col.number + " already set");
+				}
+				cols_.add(col);
+				return this;
+			}
+
+
+			private final List<Column> cols_ = new ArrayList<>();
+			// 0 if not set
+			private int chunkSize_;
+			private AdaptiveBatchSize adaptiveSize_;
+		}
+	}
+
+
+	/**
+	 * Holds the values of a parameter column.
+	 */
+	private static class Column
+	{
+		public static final int LONG	= 0;
+		public static final int INT		= 1;
+		public static final int DOUBLE	= 2;
+		public static final int STRING	= 3;
+		public static final int OBJECT	= 4;
+
+
+		public Column(int number, int kind, int sqlType, Object values, int length)
+		{
+			this.number  = Check.number(number);
+			this.kind	 = kind;
+			this.sqlType = sqlType;
+			this.values  = values;
+			this.length  = length;
+		}
+
+
+		public void bind(PreparedStatement pstmt, int row) throws Exception
+		{
+			if ((nulls != null) && nulls.get(row))
+				pstmt.setNull(number, sqlType);
+			else
+			{
+				switch (kind)
+				{
+					case LONG:		pstmt.setLong(number, ((long[])values)[row]); break;
+					case INT:		pstmt.setInt(number, ((int[])values)[row]); break;
+					case DOUBLE:	pstmt.setDouble(number, ((double[])values)[row]); break;
+					case STRING:	pstmt.setString(number, ((String[])values)[row]); break;
+					default:		pstmt.setObject(number, ((Object[])values)[row]); break;
+				}
+			}
+		}
+
+
+		public final int number;
+		public final int kind;
+		public final int sqlType;
+		public final Object values;
+		public final int length;
+		public BitSet nulls;
 	}
 
 
@@ -559,9 +965,17 @@ public class PrepStmt extends Stmt
 	}
 
 
+	@Override String getBatchSql()
+	{
+		return sql_;
+	}
+
+
 	@Override protected void closeJdbcStmt() throws JdbxException
 	{
 		paramMap_ = null;
+		paramCmd_ = null;
+		runParams_ = null;
 		super.closeJdbcStmt();
 	}
 
@@ -579,5 +993,8 @@ public class PrepStmt extends Stmt
 
 
 	private Map<String,int[]> paramMap_;
+	private NamedParamCmd paramCmd_;
 	private String sql_;
+	private Object[] runParams_;
+	private boolean runParamsShared_;
 }
\ No newline at end of file
@@ -17,9 +17,8 @@
 package org.jdbx;
 
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
-import org.jdbx.function.CheckedSupplier;
-import org.jdbx.function.Unchecked;
 
 
 /**
@@ -27,28 +26,39 @@ import org.jdbx.function.Unchecked;
  */
 class PrepStmtExecute extends Execute
 {
-	public PrepStmtExecute(CheckedSupplier<PreparedStatement> supplier)
+	public PrepStmtExecute(Stmt stmt, String sql)
 	{
-		supplier_ = supplier;
+		stmt_ = stmt;
+		sql_  = sql;
 	}
 
 
-	@Override public ExecuteResult run() throws JdbxException
+	@Override protected ExecuteResult runImpl() throws Exception
 	{
-		return Unchecked.get(() ->
-		{
-			PreparedStatement pstmt = supplier_.get();
-			boolean hasResultSet    = pstmt.execute();
-			return new ExecuteResult(pstmt, hasResultSet);
-		});
+		PreparedStatement pstmt = (PreparedStatement)stmt_.getJdbcStmt();
+		boolean hasResultSet    = pstmt.execute();
+		return new ExecuteResult(pstmt, hasResultSet);
+	}
+
+
+	@Override Connection getRunConnection()
+	{
+		return stmt_.con_;
+	}
+
+
+	@Override Object[] getRunParams()
+	{
+		return stmt_.getRunParams();
 	}
 
 
 	@Override protected String describe()
 	{
-		return supplier_.toString();
+		return sql_;
 	}
 
 
-	private final CheckedSupplier<PreparedStatement> supplier_;
+	private final Stmt stmt_;
+	private final String sql_;
 }
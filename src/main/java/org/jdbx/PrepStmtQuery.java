@@ -17,9 +17,9 @@
 package org.jdbx;
 
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import org.jdbx.function.CheckedSupplier;
 
 
 /**
@@ -27,15 +27,16 @@ import org.jdbx.function.CheckedSupplier;
  */
 class PrepStmtQuery extends Query
 {
-	public PrepStmtQuery(CheckedSupplier<PreparedStatement> supplier)
+	public PrepStmtQuery(Stmt stmt, String sql)
 	{
-		supplier_ = supplier;
+		stmt_ = stmt;
+		sql_  = sql;
 	}
 
 
 	@Override protected ResultSet runQueryImpl() throws Exception
 	{
-		return supplier_.get().executeQuery();
+		return ((PreparedStatement)stmt_.getJdbcStmt()).executeQuery();
 	}
 
 
@@ -44,11 +45,24 @@ class PrepStmtQuery extends Query
 	}
 
 
+	@Override Connection getRunConnection()
+	{
+		return stmt_.con_;
+	}
+
+
+	@Override Object[] getRunParams()
+	{
+		return stmt_.getRunParams();
+	}
+
+
 	@Override protected String describe()
 	{
-		return supplier_.toString();
+		return sql_;
 	}
 
 
-	private final CheckedSupplier<PreparedStatement> supplier_;
+	private final Stmt stmt_;
+	private final String sql_;
 }
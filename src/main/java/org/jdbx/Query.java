@@ -75,10 +75,11 @@ public abstract class Query extends StmtRunnable
 		try
 		{
 			ResultSet resultSet = runQuery();
-			return new QueryResult(resultSet);
+			return new QueryResult(resultSet).setRun(getRun(), true).track(getRunConnection(), describe());
 		}
 		catch (Exception e)
 		{
+			endRun(e);
 			throw JdbxException.of(e);
 		}
 	}
@@ -144,7 +145,7 @@ public abstract class Query extends StmtRunnable
 		Exception e1 = null, e2 = null;
 		R returnValue = null;
 
-		try (QueryResult result = new QueryResult(runQuery()))
+		try (QueryResult result = new QueryResult(runQuery()).setRun(getRun(), false))
 		{
 			if (applySkip)
 				applySkip(result);
@@ -164,6 +165,7 @@ public abstract class Query extends StmtRunnable
 			{
 				e2 = e;
 			}
+			endRun(e1 != null ? e1 : e2);
 		}
 
 		if ((e1 != null) || (e2 != null))
@@ -175,7 +177,9 @@ public abstract class Query extends StmtRunnable
 	protected final ResultSet runQuery() throws Exception
 	{
 		registerRun();
-		return runQueryImpl();
+		ResultSet resultSet = runQueryImpl();
+		executedRun();
+		return resultSet;
 	}
 
 
@@ -194,6 +198,12 @@ public abstract class Query extends StmtRunnable
 	}
 
 
+	@Override RunInfo.Type getRunInfoType()
+	{
+		return RunInfo.Type.QUERY;
+	}
+
+
 	private int skip_;
 }
 
@@ -17,6 +17,7 @@
 package org.jdbx;
 
 
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -63,6 +64,30 @@ public class QueryResult implements AutoCloseable
 	}
 
 
+	/**
+	 * Sets the run information of the query which produced this result.
+	 * @param run the run or null
+	 * @param endOnClose should the run be ended when this result is closed
+	 */
+	QueryResult setRun(RunInfo run, boolean endOnClose)
+	{
+		run_		= run;
+		endRun_		= endOnClose && (run != null);
+		return this;
+	}
+
+
+	/**
+	 * Tracks this result with the installed LeakDetector.
+	 */
+	QueryResult track(Connection con, String sql)
+	{
+		leak_ = LeakDetector.track(this, LeakDetector.Kind.QUERY_RESULT, con);
+		LeakDetector.setSql(leak_, sql);
+		return this;
+	}
+
+
 	/**
 	 * Returns the internal JDBC ResultSet.
 	 * @return the ResultSet
@@ -318,6 +343,51 @@ public class QueryResult implements AutoCloseable
 		}
 
 
+		// the primitive getters read the value directly to avoid boxing on the hot path
+
+
+		@Override public int getInt(int defaultValue) throws JdbxException
+		{
+			try
+			{
+				int value = resultSet_.getInt(number_);
+				return (value != 0) || !resultSet_.wasNull() ? value : defaultValue;
+			}
+			catch (SQLException e)
+			{
+				throw JdbxException.of(e);
+			}
+		}
+
+
+		@Override public long getLong(long defaultValue) throws JdbxException
+		{
+			try
+			{
+				long value = resultSet_.getLong(number_);
+				return (value != 0L) || !resultSet_.wasNull() ? value : defaultValue;
+			}
+			catch (SQLException e)
+			{
+				throw JdbxException.of(e);
+			}
+		}
+
+
+		@Override public double getDouble(double defaultValue) throws JdbxException
+		{
+			try
+			{
+				double value = resultSet_.getDouble(number_);
+				return (value != 0.0) || !resultSet_.wasNull() ? value : defaultValue;
+			}
+			catch (SQLException e)
+			{
+				throw JdbxException.of(e);
+			}
+		}
+
+
 		@Override public <T> void set(SetAccessors<T> accessors, T value) throws JdbxException
 		{
 			Check.notNull(accessors, "accessors");
@@ -773,7 +843,10 @@ public class QueryResult implements AutoCloseable
 	public boolean nextRow() throws JdbxException
 	{
 		resetNextColNumber();
-		return toBoolean(ResultSet::next);
+		boolean hasRow = toBoolean(ResultSet::next);
+		if (hasRow && (run_ != null))
+			run_.rowRead();
+		return hasRow;
 	}
 
 
@@ -963,8 +1036,20 @@ public class QueryResult implements AutoCloseable
 	 */
 	@Override public void close() throws JdbxException
 	{
-		if (closeResult_)
-			call(ResultSet::close);
+		try
+		{
+			if (closeResult_)
+				call(ResultSet::close);
+		}
+		finally
+		{
+			if (endRun_)
+			{
+				endRun_ = false;
+				run_.end(null);
+			}
+			LeakDetector.closed(leak_);
+		}
 	}
 
 
@@ -975,4 +1060,7 @@ public class QueryResult implements AutoCloseable
 	private boolean closeResult_ = true;
 	private Move move_;
 	private Row row_;
+	private RunInfo run_;
+	private boolean endRun_;
+	private LeakDetector.Tracked leak_;
 }
@@ -42,6 +42,15 @@ class ResultSetQuery extends Query
 	}
 
 
+	/**
+	 * Not reported to listeners since the ResultSet was produced by another operation.
+	 */
+	@Override RunInfo.Type getRunInfoType()
+	{
+		return null;
+	}
+
+
 	@Override protected String describe()
 	{
 		return result_.toString();
@@ -20,6 +20,7 @@ package org.jdbx;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -116,6 +117,56 @@ class ResultUtil
 	}
 
 
+	/**
+	 * Reads the first column of all remaining rows as long values.
+	 * @param rs a ResultSet
+	 * @param sizeHint the expected number of rows, used to presize the array
+	 */
+	public static long[] toLongArray(ResultSet rs, long sizeHint) throws SQLException
+	{
+		long[] values = new long[initialSize(sizeHint)];
+		int size = 0;
+		while (rs.next())
+		{
+			if (size == values.length)
+				values = Arrays.copyOf(values, grownSize(size));
+			values[size++] = rs.getLong(1);
+		}
+		return size == values.length ? values : Arrays.copyOf(values, size);
+	}
+
+
+	/**
+	 * Reads the first column of all remaining rows as int values.
+	 * @param rs a ResultSet
+	 * @param sizeHint the expected number of rows, used to presize the array
+	 */
+	public static int[] toIntArray(ResultSet rs, long sizeHint) throws SQLException
+	{
+		int[] values = new int[initialSize(sizeHint)];
+		int size = 0;
+		while (rs.next())
+		{
+			if (size == values.length)
+				values = Arrays.copyOf(values, grownSize(size));
+			values[size++] = rs.getInt(1);
+		}
+		return size == values.length ? values : Arrays.copyOf(values, size);
+	}
+
+
+	private static int initialSize(long sizeHint)
+	{
+		return (int)Math.max(0L, Math.min(sizeHint, 1 << 16));
+	}
+
+
+	private static int grownSize(int size)
+	{
+		return Math.max(8, size + (size >> 1));
+	}
+
+
 	private static String getName(ResultSetMetaData md, int colNumber) throws SQLException
 	{
 		String name = md.getColumnLabel(colNumber);  // "as" clause specified
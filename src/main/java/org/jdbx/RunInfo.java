@@ -0,0 +1,521 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx;
+
+
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.jdbx.function.CheckedSupplier;
+import org.jdbx.function.Unchecked;
+
+
+/**
+ * RunInfo describes a single run of a query, update, batch or execute operation,
+ * the preparation of a statement or the retrieval of a connection from a supplier,
+ * and is passed to {@link JdbxListener JdbxListeners}.
+ * All times are measured with {@link System#nanoTime()}.
+ * A RunInfo is only created if at least one listener is registered.
+ */
+public final class RunInfo
+{
+	/**
+	 * The type of the operation.
+	 */
+	public enum Type
+	{
+		QUERY("Query"),
+		UPDATE("Update"),
+		BATCH("Batch"),
+		EXECUTE("Execute"),
+		PREPARE("Prepare"),
+		CONNECT("Connect");
+
+
+		Type(String name)
+		{
+			name_ = name;
+		}
+
+
+		/**
+		 * @return the name of the type, e.g. "Query"
+		 */
+		public String getName()
+		{
+			return name_;
+		}
+
+
+		/**
+		 * @return true if the type is the run of a SQL command,
+		 * 		false for the preparation of a statement or the retrieval of a connection
+		 */
+		public boolean isCommand()
+		{
+			return (this != PREPARE) && (this != CONNECT);
+		}
+
+
+		private final String name_;
+	}
+
+
+	/**
+	 * Starts a run if a listener is registered.
+	 * @return the RunInfo or null if no listener is registered or the current thread is not observed
+	 */
+	static RunInfo start(Type type, String sql, Connection con)
+	{
+		JdbxListener listener = Listeners.get();
+		if ((listener == null) || Listeners.isMuted())
+			return null;
+		RunInfo run = new RunInfo(listener, type, sql, con);
+		notifyStarted(listener, run);
+		return run;
+	}
+
+
+	/**
+	 * Obtains a connection from a supplier and reports it as {@link Type#CONNECT} run.
+	 */
+	static Connection connect(CheckedSupplier<Connection> supplier) throws JdbxException
+	{
+		RunInfo run = start(Type.CONNECT, null, null);
+		if (run == null)
+			return Unchecked.get(supplier);
+		try
+		{
+			run.con_ = Unchecked.get(supplier);
+			run.end(null);
+			return run.con_;
+		}
+		catch (RuntimeException e)
+		{
+			run.end(e);
+			throw e;
+		}
+	}
+
+
+	/**
+	 * Creates a JDBC statement and reports it as {@link Type#PREPARE} run.
+	 */
+	static <T> T prepare(Connection con, String sql, CheckedSupplier<T> creator) throws Exception
+	{
+		RunInfo run = start(Type.PREPARE, sql, con);
+		if (run == null)
+			return creator.get();
+		try
+		{
+			T stmt = creator.get();
+			run.end(null);
+			return stmt;
+		}
+		catch (Exception e)
+		{
+			run.end(e);
+			throw e;
+		}
+	}
+
+
+	private RunInfo(JdbxListener listener, Type type, String sql, Connection con)
+	{
+		listener_ 	= listener;
+		type_		= type;
+		sql_		= sql;
+		con_		= con;
+		thread_		= Thread.currentThread();
+		startNanos_	= System.nanoTime();
+	}
+
+
+	//------------------------------
+	// recording
+	//------------------------------
+
+
+	/**
+	 * Attaches a value to this run, e.g. to pass state from {@link JdbxListener#started(RunInfo)}
+	 * to {@link JdbxListener#ended(RunInfo)}.
+	 * @param key a key, usually the listener
+	 * @param value the value or null to remove the attachment
+	 */
+	public void setAttachment(Object key, Object value)
+	{
+		Check.notNull(key, "key");
+		if (attachments_ == null)
+			attachments_ = new Object[2];
+		int free = -1;
+		for (int i=0; i<attachments_.length; i+=2)
+		{
+			if (attachments_[i] == key)
+			{
+				attachments_[i + 1] = value;
+				return;
+			}
+			else if ((attachments_[i] == null) && (free < 0))
+				free = i;
+		}
+		if (value == null)
+			return;
+		if (free < 0)
+		{
+			free = attachments_.length;
+			attachments_ = Arrays.copyOf(attachments_, free + 2);
+		}
+		attachments_[free] 	   = key;
+		attachments_[free + 1] = value;
+	}
+
+
+	/**
+	 * Returns an attached value.
+	 * @param key the key
+	 * @return the value or null
+	 * @see #setAttachment(Object, Object)
+	 */
+	public Object getAttachment(Object key)
+	{
+		if (attachments_ != null)
+		{
+			for (int i=0; i<attachments_.length; i+=2)
+			{
+				if (attachments_[i] == key)
+					return attachments_[i + 1];
+			}
+		}
+		return null;
+	}
+
+
+	void setParams(Object[] params)
+	{
+		params_ = params;
+	}
+
+
+	void setTags(String[] tags)
+	{
+		tags_ = tags;
+	}
+
+
+	void executed()
+	{
+		executedNanos_ = System.nanoTime();
+		notifyExecuted(listener_, this);
+	}
+
+
+	void rowRead()
+	{
+		if (rows_++ == 0)
+			firstRowNanos_ = System.nanoTime();
+	}
+
+
+	void updated(long count)
+	{
+		updateCount_ = updateCount_ < 0 ? count : updateCount_ + count;
+	}
+
+
+	void batchExecuted(int[] counts)
+	{
+		batchCounts_ = counts;
+		if (counts != null)
+		{
+			long sum = 0L;
+			for (int count : counts)
+			{
+				if (count > 0)
+					sum += count;
+			}
+			updateCount_ = sum;
+		}
+		executed();
+	}
+
+
+	void end(Throwable error)
+	{
+		if (endNanos_ == 0L)
+		{
+			endNanos_ = System.nanoTime();
+			error_	  = error;
+			notifyEnded(listener_, this);
+		}
+	}
+
+
+	// a failing listener must not break the JDBC operation
+	static void notifyStarted(JdbxListener listener, RunInfo run)
+	{
+		try
+		{
+			listener.started(run);
+		}
+		catch (RuntimeException e)
+		{
+		}
+	}
+
+
+	static void notifyExecuted(JdbxListener listener, RunInfo run)
+	{
+		try
+		{
+			listener.executed(run);
+		}
+		catch (RuntimeException e)
+		{
+		}
+	}
+
+
+	static void notifyEnded(JdbxListener listener, RunInfo run)
+	{
+		try
+		{
+			listener.ended(run);
+		}
+		catch (RuntimeException e)
+		{
+		}
+	}
+
+
+	//------------------------------
+	// accessors
+	//------------------------------
+
+
+	/**
+	 * @return the operation type
+	 */
+	public Type getType()
+	{
+		return type_;
+	}
+
+
+	/**
+	 * @return the SQL command or null if not known.
+	 * 		For batches of a StaticStmt this is the last command added to the batch.
+	 */
+	public String getSql()
+	{
+		return sql_;
+	}
+
+
+	/**
+	 * @return a description of the operation, consisting of the type name and the SQL command,
+	 * 		like {@link StmtRunnable#toString()}
+	 */
+	public String describe()
+	{
+		return type_.getName() + ':' + sql_;
+	}
+
+
+	/**
+	 * Returns the parameter values of the operation. Parameters are captured by {@link PrepStmt}
+	 * (except parameters set via {@link PrepStmt#params(org.jdbx.function.CheckedConsumer)}) and
+	 * the query and update methods of {@link Jdbx}. They are not captured for batches.
+	 * The values are not copied or formatted until requested.
+	 * @return the parameter values, in parameter number order, or an empty list if not known
+	 */
+	public List<Object> getParams()
+	{
+		return params_ != null ? Collections.unmodifiableList(Arrays.asList(params_)) : Collections.emptyList();
+	}
+
+
+	/**
+	 * Returns the tables declared via {@link Update#tags(String...)}.
+	 * @return the table names or an empty list if no tables were declared
+	 */
+	public List<String> getTags()
+	{
+		return tags_ != null ? Collections.unmodifiableList(Arrays.asList(tags_)) : Collections.emptyList();
+	}
+
+
+	/**
+	 * @return the connection used by the operation or null if not known
+	 */
+	public Connection getConnection()
+	{
+		return con_;
+	}
+
+
+	/**
+	 * @return the thread which started the operation
+	 */
+	public Thread getThread()
+	{
+		return thread_;
+	}
+
+
+	/**
+	 * @return the nanoTime when the operation was started
+	 */
+	public long getStartNanos()
+	{
+		return startNanos_;
+	}
+
+
+	/**
+	 * @return the nanoTime when the operation ended or 0 if not yet ended
+	 */
+	public long getEndNanos()
+	{
+		return endNanos_;
+	}
+
+
+	/**
+	 * @return has the operation ended?
+	 */
+	public boolean isEnded()
+	{
+		return endNanos_ != 0L;
+	}
+
+
+	/**
+	 * @return the time in nanoseconds needed to execute the JDBC statement, or -1 if not executed
+	 */
+	public long getExecuteNanos()
+	{
+		return executedNanos_ != 0L ? executedNanos_ - startNanos_ : -1L;
+	}
+
+
+	/**
+	 * @return the time in nanoseconds from the start until the first row was read, or -1 if no row was read
+	 */
+	public long getFirstRowNanos()
+	{
+		return firstRowNanos_ != 0L ? firstRowNanos_ - startNanos_ : -1L;
+	}
+
+
+	/**
+	 * @return the time in nanoseconds from the execution of the JDBC statement until the end of the operation,
+	 * 		i.e. the time spent to fetch and process rows, or -1 if not executed or not ended
+	 */
+	public long getFetchNanos()
+	{
+		return (executedNanos_ != 0L) && (endNanos_ != 0L) ? endNanos_ - executedNanos_ : -1L;
+	}
+
+
+	/**
+	 * @return the time in nanoseconds from the start until the end of the operation, or -1 if not ended
+	 */
+	public long getTotalNanos()
+	{
+		return endNanos_ != 0L ? endNanos_ - startNanos_ : -1L;
+	}
+
+
+	/**
+	 * @return the number of rows read from a query result
+	 */
+	public long getRows()
+	{
+		return rows_;
+	}
+
+
+	/**
+	 * @return the update count of an update or the sum of the update counts of a batch or an execute,
+	 * 		or -1 if not available
+	 */
+	public long getUpdateCount()
+	{
+		return updateCount_;
+	}
+
+
+	/**
+	 * @return the update counts of a batch or null
+	 */
+	public int[] getBatchCounts()
+	{
+		return batchCounts_;
+	}
+
+
+	/**
+	 * @return the number of commands executed by a batch or 0
+	 */
+	public int getBatchSize()
+	{
+		return batchCounts_ != null ? batchCounts_.length : 0;
+	}
+
+
+	/**
+	 * @return the error which terminated the operation or null
+	 */
+	public Throwable getError()
+	{
+		return error_;
+	}
+
+
+	/**
+	 * @return did the operation fail?
+	 */
+	public boolean isFailed()
+	{
+		return error_ != null;
+	}
+
+
+	@Override public String toString()
+	{
+		return "RunInfo[" + describe() + ']';
+	}
+
+
+	private final JdbxListener listener_;
+	private final Type type_;
+	private final String sql_;
+	private Connection con_;
+	private final Thread thread_;
+	private Object[] params_;
+	private String[] tags_;
+	private Object[] attachments_;
+	private final long startNanos_;
+	private long executedNanos_;
+	private long firstRowNanos_;
+	private long endNanos_;
+	private long rows_;
+	private long updateCount_ = -1L;
+	private int[] batchCounts_;
+	private Throwable error_;
+}
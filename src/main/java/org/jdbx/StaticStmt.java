@@ -150,6 +150,7 @@ public class StaticStmt extends Stmt
 	public Query query(String sql)
 	{
 		Check.notNull(sql, "sql");
+		LeakDetector.setSql(leak_, sql);
 		return new StaticQResult(sql);
 	}
 
@@ -173,6 +174,12 @@ public class StaticStmt extends Stmt
 		}
 
 
+		@Override Connection getRunConnection()
+		{
+			return con_;
+		}
+
+
 		@Override protected String describe()
 		{
 			return sql_;
@@ -197,6 +204,7 @@ public class StaticStmt extends Stmt
 	{
 		Check.notNull(sql, "sql");
 		checkOpen();
+		LeakDetector.setSql(leak_, sql);
 		return new StaticUpdate(sql);
 	}
 
@@ -230,6 +238,13 @@ public class StaticStmt extends Stmt
 		}
 
 
+		@Override public StaticUpdate tags(String... tables)
+		{
+			super.tags(tables);
+			return this;
+		}
+
+
 		/**
 		 * Defines which columns should be returned for INSERTs.
 		 * @param cols the columns or null if no columns should be returned
@@ -287,6 +302,12 @@ public class StaticStmt extends Stmt
 		}
 
 
+		@Override Connection getRunConnection()
+		{
+			return con_;
+		}
+
+
 		@Override protected String describe()
 		{
 			return sql_;
@@ -326,26 +347,25 @@ public class StaticStmt extends Stmt
 		}
 
 
-		@Override public ExecuteResult run() throws JdbxException
+		@Override protected ExecuteResult runImpl() throws Exception
 		{
-			try
-			{
-				Statement stmt = getJdbcStmt();
-				boolean hasResultSet;
-				if (returnCols_ == null)
-					hasResultSet = stmt.execute(sql_);
-				else if (returnCols_.getNames() != null)
-					hasResultSet = stmt.execute(sql_, returnCols_.getNames());
-				else if (returnCols_.getNumbers() != null)
-					hasResultSet = stmt.execute(sql_, returnCols_.getNumbers());
-				else
-					hasResultSet = stmt.execute(sql_, Statement.RETURN_GENERATED_KEYS);
-				return new ExecuteResult(stmt, hasResultSet);
-			}
-			catch (Exception e)
-			{
-				throw JdbxException.of(e);
-			}
+			Statement stmt = getJdbcStmt();
+			boolean hasResultSet;
+			if (returnCols_ == null)
+				hasResultSet = stmt.execute(sql_);
+			else if (returnCols_.getNames() != null)
+				hasResultSet = stmt.execute(sql_, returnCols_.getNames());
+			else if (returnCols_.getNumbers() != null)
+				hasResultSet = stmt.execute(sql_, returnCols_.getNumbers());
+			else
+				hasResultSet = stmt.execute(sql_, Statement.RETURN_GENERATED_KEYS);
+			return new ExecuteResult(stmt, hasResultSet);
+		}
+
+
+		@Override Connection getRunConnection()
+		{
+			return con_;
 		}
 
 
@@ -369,6 +389,7 @@ public class StaticStmt extends Stmt
 	public StaticExecute createExecute(String sql)
 	{
 		Check.notNull(sql, "sql");
+		LeakDetector.setSql(leak_, sql);
 		return new StaticExecute(sql);
 	}
 
@@ -404,6 +425,15 @@ public class StaticStmt extends Stmt
 		{
 			Check.notNull(sql, "sql");
 			Unchecked.run(() -> getJdbcStmt().addBatch(sql));
+			batchSql_ = sql;
+			added();
+			return this;
+		}
+
+
+		@Override public StaticBatch adaptiveSize(AdaptiveBatchSize size)
+		{
+			super.adaptiveSize(size);
 			return this;
 		}
 
@@ -429,4 +459,13 @@ public class StaticStmt extends Stmt
 	{
 		return new StaticBatch();
 	}
+
+
+	@Override String getBatchSql()
+	{
+		return batchSql_;
+	}
+
+
+	private String batchSql_;
 }
@@ -44,6 +44,7 @@ public abstract class Stmt implements AutoCloseable
 	{
 		con_ 			= Check.notNull(con, "connection");
 		closeAction_ 	= closeCon ? CloseAction.CONNECTION : CloseAction.STATEMENT;
+		leak_			= LeakDetector.track(this, LeakDetector.Kind.STMT, con);
 	}
 
 
@@ -55,7 +56,7 @@ public abstract class Stmt implements AutoCloseable
 
 	protected Stmt(CheckedSupplier<Connection> supplier, boolean closeCon) throws JdbxException
 	{
-		this(Unchecked.get(Check.notNull(supplier, "supplier")), closeCon);
+		this(RunInfo.connect(Check.notNull(supplier, "supplier")), closeCon);
 	}
 
 
@@ -79,6 +80,7 @@ public abstract class Stmt implements AutoCloseable
 	void clearCon()
 	{
 		con_ = null;
+		LeakDetector.closed(leak_);
 	}
 
 
@@ -154,7 +156,9 @@ public abstract class Stmt implements AutoCloseable
 			}
 			finally
 			{
-				jdbcStmt_ = null;
+				jdbcStmt_ 		  = null;
+				batchPending_	  = 0;
+				batchChunkCounts_ = null;
 			}
 		}
 	}
@@ -182,6 +186,7 @@ public abstract class Stmt implements AutoCloseable
 			{
 				con_  	  = null;
 				jdbcStmt_ = null;
+				LeakDetector.closed(leak_);
 			}
 		}
 	}
@@ -255,6 +260,25 @@ public abstract class Stmt implements AutoCloseable
 	//------------------------------
 
 
+	/**
+	 * @return the SQL command reported to listeners when a batch of this statement is run
+	 */
+	String getBatchSql()
+	{
+		return null;
+	}
+
+
+	/**
+	 * @return the parameter values reported to listeners or null if not captured
+	 */
+	Object[] getRunParams()
+	{
+		return null;
+	}
+
+
+
 	@SuppressWarnings("unchecked")
 	protected <STMT extends Statement, T> void call(CheckedConsumer<STMT> fn) throws JdbxException
 	{
@@ -273,4 +297,9 @@ public abstract class Stmt implements AutoCloseable
 	protected Statement jdbcStmt_;
 	protected StmtOptions options_;
 	protected final CloseAction closeAction_;
+	final LeakDetector.Tracked leak_;
+	// batch state shared by all Batch objects of the statement, see Batch#adaptiveSize(AdaptiveBatchSize)
+	AdaptiveBatchSize batchSize_;
+	int batchPending_;
+	int[] batchChunkCounts_;
 }
@@ -17,6 +17,9 @@
 package org.jdbx;
 
 
+import java.sql.Connection;
+
+
 abstract class StmtRunnable
 {
 	protected void registerRun() throws JdbxException
@@ -24,6 +27,78 @@ abstract class StmtRunnable
 		if (hasRun_)
 			throw JdbxException.illegalState(getRunnableType() + " can only be run once");
 		hasRun_ = true;
+		startRun();
+	}
+
+
+	/**
+	 * Starts to collect run information if a {@link JdbxListener} is registered.
+	 */
+	void startRun()
+	{
+		RunInfo.Type type = getRunInfoType();
+		if (type != null)
+		{
+			run_ = RunInfo.start(type, describe(), getRunConnection());
+			if (run_ != null)
+				run_.setParams(getRunParams());
+		}
+	}
+
+
+	/**
+	 * Notifies the listeners that the JDBC statement was executed.
+	 */
+	void executedRun()
+	{
+		if (run_ != null)
+			run_.executed();
+	}
+
+
+	/**
+	 * Notifies the listeners that the run has ended.
+	 */
+	void endRun(Throwable error)
+	{
+		if (run_ != null)
+			run_.end(error);
+	}
+
+
+	/**
+	 * @return the run information or null if no listener is registered or not yet run
+	 */
+	RunInfo getRun()
+	{
+		return run_;
+	}
+
+
+	/**
+	 * @return the type of RunInfo created for this runnable or null if it should not be reported to listeners
+	 */
+	RunInfo.Type getRunInfoType()
+	{
+		return null;
+	}
+
+
+	/**
+	 * @return the connection used to run or null if not known
+	 */
+	Connection getRunConnection()
+	{
+		return null;
+	}
+
+
+	/**
+	 * @return the parameter values used to run or null if not known
+	 */
+	Object[] getRunParams()
+	{
+		return null;
 	}
 
 
@@ -43,4 +118,5 @@ abstract class StmtRunnable
 
 
 	private boolean hasRun_;
+	private RunInfo run_;
 }
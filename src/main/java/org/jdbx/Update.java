@@ -45,6 +45,20 @@ public abstract class Update extends StmtRunnable
 	}
 
 
+	/**
+	 * Declares the tables modified by the command. They are reported to listeners via {@link RunInfo#getTags()},
+	 * e.g. to let a {@link org.jdbx.cache.QueryCache} invalidate entries of tables which it cannot find in the SQL command,
+	 * like the tables changed by a stored procedure or a trigger.
+	 * @param tables the table names
+	 * @return this
+	 */
+	public Update tags(String... tables)
+	{
+		tags_ = tables != null ? tables.clone() : null;
+		return this;
+	}
+
+
 	/**
 	 * Runs the update command.
 	 * @return the update result. Its value is null.
@@ -83,6 +97,28 @@ public abstract class Update extends StmtRunnable
 	}
 
 
+	/**
+	 * Runs the command and returns the auto generated keys as long array.
+	 * The keys are read from the first returned column without boxing.
+	 * @return an UpdateResult holding the update count and the keys
+	 */
+	public UpdateResult<long[]> runGetLongKeys() throws JdbxException
+	{
+		return runGetCols((c,q) -> q.read(false, qr -> ResultUtil.toLongArray(qr.getJdbcResult(), c)));
+	}
+
+
+	/**
+	 * Runs the command and returns the auto generated keys as int array.
+	 * The keys are read from the first returned column without boxing.
+	 * @return an UpdateResult holding the update count and the keys
+	 */
+	public UpdateResult<int[]> runGetIntKeys() throws JdbxException
+	{
+		return runGetCols((c,q) -> q.read(false, qr -> ResultUtil.toIntArray(qr.getJdbcResult(), c)));
+	}
+
+
 	/**
 	 * Runs the command and passes the result-set of the generated keys to the reader.
 	 * @param reader a reader which receives the result-set, extracts the generated keys and returns them as object of type V.
@@ -98,7 +134,15 @@ public abstract class Update extends StmtRunnable
 		try
 		{
 			registerRun();
+			RunInfo run = getRun();
+			if ((run != null) && (tags_ != null))
+				run.setTags(tags_);
 			count = run(large_);
+			if (run != null)
+			{
+				run.updated(count);
+				run.executed();
+			}
 			if (reader != null)
 			{
 				try (ResultSet rs = getGeneratedKeys())
@@ -113,7 +157,15 @@ public abstract class Update extends StmtRunnable
 		}
 		finally
 		{
-			cleanup(ex);
+			try
+			{
+				cleanup(ex);
+			}
+			finally
+			{
+				// like Query.read(...) the run includes the cleanup
+				endRun(ex);
+			}
 		}
 		return new UpdateResult<>(count, value);
 	}
@@ -159,5 +211,12 @@ public abstract class Update extends StmtRunnable
 	}
 
 
+	@Override RunInfo.Type getRunInfoType()
+	{
+		return RunInfo.Type.UPDATE;
+	}
+
+
 	private boolean large_;
+	private String[] tags_;
 }
@@ -0,0 +1,723 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.cache;
+
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+import org.jdbx.Jdbx;
+import org.jdbx.JdbxException;
+import org.jdbx.JdbxListener;
+import org.jdbx.Query;
+import org.jdbx.RunInfo;
+import org.jdbx.function.CheckedFunction;
+import org.jdbx.sql.SqlSelect;
+
+
+/**
+ * QueryCache caches the values read from query results.
+ * An entry is keyed by the SQL command, the parameter values and the mapper which extracts the value from the {@link Query}.
+ * Entries are evicted in least-recently-used order when their total weight exceeds a maximum, and expire after an optional TTL.
+ * <pre><code>
+ * QueryCache cache = new QueryCache(10_000).setTtl(Duration.ofMinutes(5));
+ * Jdbx.addListener(cache);
+ * ...
+ * String name = cache.query(con, "SELECT name FROM Cities WHERE id = ?", id).get(CITY_NAME);
+ * </code></pre>
+ * Each entry is tagged with the tables which the query reads, as found after FROM and JOIN
+ * in the SQL command (which includes commands built by {@link SqlSelect}), plus the tables declared via
+ * {@link CachedQuery#tags(String...)}. When registered as listener the cache invalidates the entries of a table
+ * after a successful update, batch or execute which modifies the table, e.g. an INSERT, UPDATE, DELETE or MERGE command,
+ * including commands built by {@link org.jdbx.sql.SqlUpdate}, {@link org.jdbx.sql.SqlInsert} and {@link org.jdbx.sql.SqlDelete}.
+ * Commands whose modified tables are not known, like stored procedure calls, invalidate all entries, unless the
+ * tables are declared via {@link org.jdbx.Update#tags(String...)}.
+ * Changes by other applications, and the commands of a StaticStmt batch except the last one, are not seen by the cache;
+ * call {@link #invalidate(String...)} or rely on the TTL in these cases.
+ * <p>
+ * <p>
+ * If auto-commit of the connection is disabled, the modified tables are invalidated when the command ran and then are not
+ * cached until {@link #transactionEnded(Connection)} is called for the connection after the commit or rollback, or until
+ * the {@link #setTransactionTimeout(Duration) transaction timeout} has passed since the last modification.
+ * To avoid that many threads run the same query when a frequently read entry expires, set a {@link SingleFlight}.
+ * <p>
+ * The mapper is part of the key and is compared by identity, therefore it should be a constant, e.g. a static field or a
+ * non-capturing lambda. Cached values are shared by all callers, therefore List, Set and Map values are returned
+ * as unmodifiable views.
+ * A QueryCache is thread-safe. Lookups do not block: the least-recently-used order is updated only if the lock
+ * which guards stores, evictions and invalidations is free, i.e. under contention the order is approximate.
+ */
+public class QueryCache implements JdbxListener
+{
+	/**
+	 * Creates a new QueryCache.
+	 * @param maxWeight the maximum total weight of the cached values. By default the weight of a collection
+	 * 		is its size plus one and the weight of any other value is 1.
+	 */
+	public QueryCache(long maxWeight)
+	{
+		if (maxWeight <= 0L)
+			throw new IllegalArgumentException("maxWeight must be > 0, is " + maxWeight);
+		maxWeight_ = maxWeight;
+	}
+
+
+	/**
+	 * Sets the time after which an entry expires.
+	 * @param ttl the time to live or null if entries do not expire
+	 * @return this
+	 */
+	public QueryCache setTtl(Duration ttl)
+	{
+		ttlNanos_ = ttl != null ? Math.max(1L, ttl.toNanos()) : 0L;
+		return this;
+	}
+
+
+	/**
+	 * Sets the function which calculates the weight of a value.
+	 * @param weigher the weigher, returning values &gt;= 0
+	 * @return this
+	 */
+	public QueryCache setWeigher(ToLongFunction<Object> weigher)
+	{
+		weigher_ = weigher != null ? weigher : QueryCache::defaultWeight;
+		return this;
+	}
+
+
+	/**
+	 * Sets the time after the last modification in a transaction after which the modified tables are cached again,
+	 * if {@link #transactionEnded(Connection)} is not called for the connection. The default is 1 minute.
+	 * @param timeout the timeout
+	 * @return this
+	 */
+	public QueryCache setTransactionTimeout(Duration timeout)
+	{
+		if ((timeout == null) || timeout.isNegative())
+			throw new IllegalArgumentException("timeout must be >= 0, is " + timeout);
+		txTimeoutNanos_ = timeout.toNanos();
+		return this;
+	}
+
+
+	/**
+	 * Sets a SingleFlight which coalesces concurrent misses of the same entry into a single query.
+	 * @param singleFlight the SingleFlight or null
+	 * @return this
+	 */
+	public QueryCache setSingleFlight(SingleFlight singleFlight)
+	{
+		singleFlight_ = singleFlight;
+		return this;
+	}
+
+
+	private static long defaultWeight(Object value)
+	{
+		return value instanceof Collection ? 1L + ((Collection<?>)value).size() : 1L;
+	}
+
+
+	/**
+	 * Returns a builder for a cached query.
+	 * @param con a connection which is used if the value is not cached
+	 * @param sql a SQL command
+	 * @param params zero or more parameters
+	 * @return the builder
+	 */
+	public CachedQuery query(Connection con, String sql, Object... params)
+	{
+		return new CachedQuery(con, sql, params);
+	}
+
+
+	/**
+	 * Returns a builder for a cached query.
+	 * @param con a connection which is used if the value is not cached
+	 * @param select a SELECT command
+	 * @param params zero or more parameters
+	 * @return the builder
+	 */
+	public CachedQuery query(Connection con, SqlSelect select, Object... params)
+	{
+		return new CachedQuery(con, select.toString(), params);
+	}
+
+
+	/**
+	 * A builder for a cached query.
+	 */
+	public class CachedQuery
+	{
+		private CachedQuery(Connection con, String sql, Object[] params)
+		{
+			con_	= con;
+			sql_	= sql;
+			params_	= params != null ? params.clone() : new Object[0];
+		}
+
+
+		/**
+		 * Adds tables to the tags of the entry, in addition to the tables read by the SQL command.
+		 * @param tables the table names
+		 * @return this
+		 */
+		public CachedQuery tags(String... tables)
+		{
+			tags_ = tables;
+			return this;
+		}
+
+
+		/**
+		 * Returns the cached value or runs the query and caches the value returned by the mapper.
+		 * @param mapper extracts the value from the query, e.g. <code>q -&gt; q.row().col().getString()</code>
+		 * @param <T> the type of the value
+		 * @return the value
+		 */
+		public <T> T get(CheckedFunction<Query,T> mapper) throws JdbxException
+		{
+			QueryKey key = new QueryKey(sql_, params_, mapper);
+			Object cached = lookup(key);
+			if (cached != MISS)
+			{
+				@SuppressWarnings("unchecked") T value = (T)cached;
+				return value;
+			}
+
+			SingleFlight singleFlight = singleFlight_;
+			return singleFlight != null ? singleFlight.run(key, () -> load(key, mapper)) : load(key, mapper);
+		}
+
+
+		private <T> T load(QueryKey key, CheckedFunction<Query,T> mapper) throws JdbxException
+		{
+			long invalidations = invalidationCount_;
+			T value;
+			try
+			{
+				// wrap once, so that the cache and all callers share the same unmodifiable value
+				value = SingleFlight.unmodifiable(mapper.apply(Jdbx.query(con_, sql_, params_)));
+			}
+			catch (Exception e)
+			{
+				throw JdbxException.of(e);
+			}
+			store(key, value, tags(), invalidations);
+			return value;
+		}
+
+
+		private String[] tags()
+		{
+			Set<String> tags = TableNames.read(sql_);
+			if (tags_ != null)
+			{
+				for (String tag : tags_)
+					tags.add(TableNames.normalize(tag));
+			}
+			return tags.toArray(new String[tags.size()]);
+		}
+
+
+		private final Connection con_;
+		private final String sql_;
+		private final Object[] params_;
+		private String[] tags_;
+	}
+
+
+	//------------------------------
+	// entries
+	//------------------------------
+
+
+	private Object lookup(QueryKey key)
+	{
+		Entry entry = entries_.get(key);
+		if (entry != null)
+		{
+			if ((ttlNanos_ == 0L) || (System.nanoTime() - entry.createdNanos < ttlNanos_))
+			{
+				hits_.increment();
+				touch(key);
+				return entry.value;
+			}
+			lock_.lock();
+			try
+			{
+				if (entries_.get(key) == entry)
+					remove(entry);
+			}
+			finally
+			{
+				lock_.unlock();
+			}
+		}
+		misses_.increment();
+		return MISS;
+	}
+
+
+	/**
+	 * Moves the entry to the end of the LRU order, unless another thread holds the lock.
+	 */
+	private void touch(QueryKey key)
+	{
+		if (lock_.tryLock())
+		{
+			try
+			{
+				lru_.get(key);
+			}
+			finally
+			{
+				lock_.unlock();
+			}
+		}
+	}
+
+
+	/**
+	 * Stores a loaded value, unless an invalidation happened while the value was loaded
+	 * since the value might then already be stale, or a running transaction modified one of its tables.
+	 */
+	private void store(QueryKey key, Object value, String[] tags, long invalidations)
+	{
+		long weight = weigher_.applyAsLong(value);
+		if (weight > maxWeight_)
+			return;
+
+		lock_.lock();
+		try
+		{
+			if ((invalidations != invalidationCount_) || isPending(tags))
+				return;
+			Entry old = entries_.get(key);
+			if (old != null)
+				remove(old);
+			Entry entry = new Entry(key, value, weight, tags, System.nanoTime());
+			entries_.put(key, entry);
+			lru_.put(key, entry);
+			weight_ += weight;
+			for (String tag : tags)
+				tagIndex_.computeIfAbsent(tag, t -> new HashSet<>()).add(key);
+
+			Iterator<Entry> it = lru_.values().iterator();
+			while ((weight_ > maxWeight_) && it.hasNext())
+			{
+				Entry eldest = it.next();
+				it.remove();
+				entries_.remove(eldest.key);
+				unlink(eldest);
+				evictions_.increment();
+			}
+		}
+		finally
+		{
+			lock_.unlock();
+		}
+	}
+
+
+	private void remove(Entry entry)
+	{
+		entries_.remove(entry.key);
+		lru_.remove(entry.key);
+		unlink(entry);
+	}
+
+
+	private void unlink(Entry entry)
+	{
+		weight_ -= entry.weight;
+		for (String tag : entry.tags)
+		{
+			Set<QueryKey> keys = tagIndex_.get(tag);
+			if ((keys != null) && keys.remove(entry.key) && keys.isEmpty())
+				tagIndex_.remove(tag);
+		}
+	}
+
+
+	//------------------------------
+	// invalidation
+	//------------------------------
+
+
+	/**
+	 * Removes all entries which are tagged with one of the tables.
+	 * @param tables the table names
+	 */
+	public void invalidate(String... tables)
+	{
+		Set<String> tags = new LinkedHashSet<>();
+		for (String table : tables)
+			tags.add(TableNames.normalize(table));
+		invalidate(tags);
+	}
+
+
+	private void invalidate(Set<String> tags)
+	{
+		lock_.lock();
+		try
+		{
+			invalidationCount_++;
+			for (String tag : tags)
+			{
+				Set<QueryKey> keys = tagIndex_.remove(tag);
+				if (keys != null)
+				{
+					for (QueryKey key : keys.toArray(new QueryKey[keys.size()]))
+					{
+						Entry entry = entries_.get(key);
+						if (entry != null)
+						{
+							remove(entry);
+							invalidations_.increment();
+						}
+					}
+				}
+			}
+		}
+		finally
+		{
+			lock_.unlock();
+		}
+	}
+
+
+	/**
+	 * Removes all entries.
+	 */
+	public void invalidateAll()
+	{
+		lock_.lock();
+		try
+		{
+			invalidationCount_++;
+			invalidations_.add(entries_.size());
+			entries_.clear();
+			lru_.clear();
+			tagIndex_.clear();
+			weight_ = 0L;
+		}
+		finally
+		{
+			lock_.unlock();
+		}
+	}
+
+
+	/**
+	 * Invalidates the entries of the tables modified by a successful update, batch or execute.
+	 */
+	@Override public void ended(RunInfo run)
+	{
+		RunInfo.Type type = run.getType();
+		if (!run.isFailed() && ((type == RunInfo.Type.UPDATE) || (type == RunInfo.Type.BATCH) || (type == RunInfo.Type.EXECUTE)))
+		{
+			Set<String> tables = run.getSql() != null ? TableNames.modified(run.getSql()) : null;
+			List<String> tags = run.getTags();
+			if (!tags.isEmpty())
+			{
+				// declared tables replace unknown tables
+				tables = tables != null ? new LinkedHashSet<>(tables) : new LinkedHashSet<>();
+				for (String tag : tags)
+					tables.add(TableNames.normalize(tag));
+			}
+			if ((tables != null) && tables.isEmpty())
+				return;
+
+			Connection con = run.getConnection();
+			if ((con != null) && inTransaction(con))
+				defer(con, tables);
+			else
+				invalidateTables(tables);
+		}
+	}
+
+
+	private static boolean inTransaction(Connection con)
+	{
+		try
+		{
+			return !con.getAutoCommit();
+		}
+		catch (SQLException e)
+		{
+			return true;
+		}
+	}
+
+
+	/**
+	 * Invalidates the tables modified in a transaction and remembers them until the transaction ends,
+	 * since a value loaded in between may contain uncommitted changes or be stale after a commit.
+	 */
+	private void defer(Connection con, Set<String> tables)
+	{
+		lock_.lock();
+		try
+		{
+			Pending pending = pending_.get(con);
+			if (pending == null)
+				pending_.put(con, new Pending(tables));
+			else
+				pending.add(tables);
+			invalidateTables(tables);
+		}
+		finally
+		{
+			lock_.unlock();
+		}
+	}
+
+
+	/**
+	 * Notifies the cache that the transaction of a connection was committed or rolled back.
+	 * When registered as listener, the cache invalidates the entries of tables modified on a connection with
+	 * auto-commit disabled and does not cache values of these tables until this method is called for the connection
+	 * or the transaction timeout has passed. The entries of these tables are then invalidated again, to remove values
+	 * loaded by other connections before the commit.
+	 * @param con the connection
+	 */
+	public void transactionEnded(Connection con)
+	{
+		lock_.lock();
+		try
+		{
+			Pending pending = pending_.remove(con);
+			if (pending != null)
+				invalidateTables(pending.tables);
+		}
+		finally
+		{
+			lock_.unlock();
+		}
+	}
+
+
+	/**
+	 * Removes pending transactions which exceeded the timeout.
+	 * @return true if one of the tags is modified by a pending transaction
+	 */
+	private boolean isPending(String[] tags)
+	{
+		if (pending_.isEmpty())
+			return false;
+		long now = System.nanoTime();
+		boolean result = false;
+		for (Iterator<Pending> it = pending_.values().iterator(); it.hasNext(); )
+		{
+			Pending pending = it.next();
+			if (now - pending.modifiedNanos >= txTimeoutNanos_)
+				it.remove();
+			else if (!result)
+				result = pending.contains(tags);
+		}
+		return result;
+	}
+
+
+	private void invalidateTables(Set<String> tables)
+	{
+		if (tables == null)
+			invalidateAll();
+		else
+			invalidate(tables);
+	}
+
+
+	/**
+	 * The tables modified by a running transaction.
+	 */
+	private static class Pending
+	{
+		public Pending(Set<String> tables)
+		{
+			this.tables			= tables != null ? new HashSet<>(tables) : null;
+			this.modifiedNanos	= System.nanoTime();
+		}
+
+
+		public void add(Set<String> more)
+		{
+			if (more == null)
+				tables = null;
+			else if (tables != null)
+				tables.addAll(more);
+			modifiedNanos = System.nanoTime();
+		}
+
+
+		public boolean contains(String[] tags)
+		{
+			if (tables == null)
+				return true;
+			for (String tag : tags)
+			{
+				if (tables.contains(tag))
+					return true;
+			}
+			return false;
+		}
+
+
+		// null if all tables
+		public Set<String> tables;
+		public long modifiedNanos;
+	}
+
+
+	//------------------------------
+	// metrics
+	//------------------------------
+
+
+	/**
+	 * @return the number of cached entries
+	 */
+	public int size()
+	{
+		return entries_.size();
+	}
+
+
+	/**
+	 * @return the total weight of the cached entries
+	 */
+	public long getWeight()
+	{
+		return weight_;
+	}
+
+
+	/**
+	 * @return the number of lookups which returned a cached value
+	 */
+	public long getHits()
+	{
+		return hits_.sum();
+	}
+
+
+	/**
+	 * @return the number of lookups which ran the query
+	 */
+	public long getMisses()
+	{
+		return misses_.sum();
+	}
+
+
+	/**
+	 * @return the ratio of hits to lookups or 0 if there were no lookups
+	 */
+	public double getHitRate()
+	{
+		long hits	 = hits_.sum();
+		long lookups = hits + misses_.sum();
+		return lookups > 0L ? hits / (double)lookups : 0.0;
+	}
+
+
+	/**
+	 * @return the number of entries evicted because the maximum weight was exceeded
+	 */
+	public long getEvictions()
+	{
+		return evictions_.sum();
+	}
+
+
+	/**
+	 * @return the number of entries removed by invalidations
+	 */
+	public long getInvalidations()
+	{
+		return invalidations_.sum();
+	}
+
+
+	@Override public String toString()
+	{
+		return "QueryCache[size=" + entries_.size() + ", weight=" + weight_ + '/' + maxWeight_ + ", hits=" + hits_.sum() + ", misses=" + misses_.sum()
+			+ ", evictions=" + evictions_.sum() + ", invalidations=" + invalidations_.sum() + ']';
+	}
+
+
+	//------------------------------
+	// entry
+	//------------------------------
+
+
+	private static class Entry
+	{
+		public Entry(QueryKey key, Object value, long weight, String[] tags, long createdNanos)
+		{
+			this.key			= key;
+			this.value			= value;
+			this.weight			= weight;
+			this.tags			= tags;
+			this.createdNanos	= createdNanos;
+		}
+
+
+		public final QueryKey key;
+		public final Object value;
+		public final long weight;
+		public final String[] tags;
+		public final long createdNanos;
+	}
+
+
+	private static final Object MISS = new Object();
+	private final long maxWeight_;
+	private volatile long ttlNanos_;
+	private volatile long txTimeoutNanos_ = Duration.ofMinutes(1).toNanos();
+	private volatile ToLongFunction<Object> weigher_ = QueryCache::defaultWeight;
+	private volatile SingleFlight singleFlight_;
+	private final ConcurrentHashMap<QueryKey,Entry> entries_ = new ConcurrentHashMap<>();
+	private final LongAdder hits_ = new LongAdder();
+	private final LongAdder misses_ = new LongAdder();
+	private final LongAdder evictions_ = new LongAdder();
+	private final LongAdder invalidations_ = new LongAdder();
+	// guards the following fields; weight_ and invalidationCount_ are also read without lock
+	private final ReentrantLock lock_ = new ReentrantLock();
+	private final LinkedHashMap<QueryKey,Entry> lru_ = new LinkedHashMap<>(16, 0.75f, true);
+	private final Map<String,Set<QueryKey>> tagIndex_ = new HashMap<>();
+	private final Map<Connection,Pending> pending_ = new WeakHashMap<>();
+	private volatile long weight_;
+	private volatile long invalidationCount_;
+}
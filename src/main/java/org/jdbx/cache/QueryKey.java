@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.cache;
+
+
+import java.util.Arrays;
+
+
+/**
+ * The key of a query: SQL command, parameter values and the mapper which reads a value from the query.
+ * The mapper is compared by identity.
+ */
+class QueryKey
+{
+	public QueryKey(String sql, Object[] params, Object mapper)
+	{
+		sql_		= sql;
+		params_		= params;
+		mapper_		= mapper;
+		hashCode_	= 31 * (31 * sql.hashCode() + Arrays.deepHashCode(params)) + System.identityHashCode(mapper);
+	}
+
+
+	@Override public int hashCode()
+	{
+		return hashCode_;
+	}
+
+
+	@Override public boolean equals(Object o)
+	{
+		if (!(o instanceof QueryKey))
+			return false;
+		QueryKey other = (QueryKey)o;
+		return (hashCode_ == other.hashCode_) && (mapper_ == other.mapper_) && sql_.equals(other.sql_) && Arrays.deepEquals(params_, other.params_);
+	}
+
+
+	@Override public String toString()
+	{
+		return params_.length > 0 ? sql_ + ' ' + Arrays.toString(params_) : sql_;
+	}
+
+
+	private final String sql_;
+	private final Object[] params_;
+	private final Object mapper_;
+	private final int hashCode_;
+}
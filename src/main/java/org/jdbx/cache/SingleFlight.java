@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.cache;
+
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import org.jdbx.Jdbx;
+import org.jdbx.JdbxException;
+import org.jdbx.Query;
+import org.jdbx.function.CheckedFunction;
+import org.jdbx.function.CheckedSupplier;
+
+
+/**
+ * SingleFlight coalesces concurrent executions of the same query: While a query with a certain SQL command,
+ * parameter values and mapper is running, other threads which run the same query wait for its result
+ * instead of running the query themselves. This avoids load spikes on the database when many threads
+ * request the same value at once, e.g. after a cache entry expired.
+ * <pre><code>
+ * SingleFlight singleFlight = new SingleFlight(Duration.ofSeconds(2));
+ * ...
+ * List&lt;String&gt; names = singleFlight.query(con, "SELECT name FROM Cities WHERE country = ?", country).get(NAMES);
+ * </code></pre>
+ * All callers receive the same value, therefore List, Set and Map values are returned as unmodifiable views.
+ * If the running query fails, the waiting callers receive the same exception. A caller which waited longer
+ * than the maximum wait time runs the query itself. A SingleFlight can also be used by a {@link QueryCache}
+ * to coalesce cache misses, see {@link QueryCache#setSingleFlight(SingleFlight)}.
+ * <p>
+ * The mapper is part of the key and is compared by identity, therefore it should be a constant.
+ * A SingleFlight is thread-safe.
+ */
+public class SingleFlight
+{
+	/**
+	 * Creates a new SingleFlight.
+	 * @param maxWait the maximum time to wait for the result of a running query
+	 */
+	public SingleFlight(Duration maxWait)
+	{
+		if ((maxWait == null) || maxWait.isNegative())
+			throw new IllegalArgumentException("maxWait must be >= 0, is " + maxWait);
+		maxWaitNanos_ = maxWait.toNanos();
+	}
+
+
+	/**
+	 * Returns a builder for a coalesced query.
+	 * @param con a connection which is used if the query is run by the caller
+	 * @param sql a SQL command
+	 * @param params zero or more parameters
+	 * @return the builder
+	 */
+	public CoalescedQuery query(Connection con, String sql, Object... params)
+	{
+		return new CoalescedQuery(con, sql, params);
+	}
+
+
+	/**
+	 * A builder for a coalesced query.
+	 */
+	public class CoalescedQuery
+	{
+		private CoalescedQuery(Connection con, String sql, Object[] params)
+		{
+			con_	= con;
+			sql_	= sql;
+			params_	= params != null ? params.clone() : new Object[0];
+		}
+
+
+		/**
+		 * Runs the query or waits for the result of the same query run by another thread.
+		 * @param mapper extracts the value from the query, e.g. <code>q -&gt; q.rows().col().getString()</code>
+		 * @param <T> the type of the value
+		 * @return the value
+		 */
+		public <T> T get(CheckedFunction<Query,T> mapper) throws JdbxException
+		{
+			return run(new QueryKey(sql_, params_, mapper), () -> unmodifiable(mapper.apply(Jdbx.query(con_, sql_, params_))));
+		}
+
+
+		private final Connection con_;
+		private final String sql_;
+		private final Object[] params_;
+	}
+
+
+	/**
+	 * Runs the loader or waits for the result of a loader with the same key run by another thread.
+	 * The value returned by the loader is passed to all callers, therefore it should not be modifiable.
+	 */
+	<T> T run(QueryKey key, CheckedSupplier<T> loader) throws JdbxException
+	{
+		CompletableFuture<Object> call = new CompletableFuture<>();
+		CompletableFuture<Object> running = calls_.putIfAbsent(key, call);
+		if (running == null)
+		{
+			executions_.increment();
+			try
+			{
+				T value = load(loader);
+				call.complete(value);
+				return value;
+			}
+			catch (Throwable e)
+			{
+				call.completeExceptionally(e);
+				throw e;
+			}
+			finally
+			{
+				calls_.remove(key, call);
+			}
+		}
+
+		try
+		{
+			@SuppressWarnings("unchecked") T value = (T)running.get(maxWaitNanos_, TimeUnit.NANOSECONDS);
+			coalesced_.increment();
+			return value;
+		}
+		catch (TimeoutException e)
+		{
+			timeouts_.increment();
+			return load(loader);
+		}
+		catch (ExecutionException e)
+		{
+			coalesced_.increment();
+			throw JdbxException.of(e.getCause());
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw JdbxException.of(e);
+		}
+	}
+
+
+	private static <T> T load(CheckedSupplier<T> loader) throws JdbxException
+	{
+		try
+		{
+			return loader.get();
+		}
+		catch (Exception e)
+		{
+			throw JdbxException.of(e);
+		}
+	}
+
+
+	/**
+	 * @return an unmodifiable view of a List, Set or Map value or else the value itself
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> T unmodifiable(T value)
+	{
+		Object view = value;
+		if (value instanceof List)
+			view = Collections.unmodifiableList((List<?>)value);
+		else if (value instanceof Set)
+			view = Collections.unmodifiableSet((Set<?>)value);
+		else if (value instanceof Map)
+			view = Collections.unmodifiableMap((Map<?,?>)value);
+		return (T)view;
+	}
+
+
+	/**
+	 * @return the number of queries which are currently running
+	 */
+	public int getRunning()
+	{
+		return calls_.size();
+	}
+
+
+	/**
+	 * @return the number of queries which were run, excluding queries run after a timeout
+	 */
+	public long getExecutions()
+	{
+		return executions_.sum();
+	}
+
+
+	/**
+	 * @return the number of callers which received the result of a query run by another thread
+	 */
+	public long getCoalesced()
+	{
+		return coalesced_.sum();
+	}
+
+
+	/**
+	 * @return the number of callers which ran the query themselves after waiting longer than the maximum wait time
+	 */
+	public long getTimeouts()
+	{
+		return timeouts_.sum();
+	}
+
+
+	@Override public String toString()
+	{
+		return "SingleFlight[running=" + calls_.size() + ", executions=" + executions_.sum() + ", coalesced=" + coalesced_.sum()
+			+ ", timeouts=" + timeouts_.sum() + ']';
+	}
+
+
+	private final long maxWaitNanos_;
+	private final ConcurrentHashMap<QueryKey,CompletableFuture<Object>> calls_ = new ConcurrentHashMap<>();
+	private final LongAdder executions_ = new LongAdder();
+	private final LongAdder coalesced_ = new LongAdder();
+	private final LongAdder timeouts_ = new LongAdder();
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.cache;
+
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+
+/**
+ * Extracts the names of the tables read or modified by a SQL command.
+ * This is a simple scanner, not a parser: It recognizes table names after FROM and JOIN
+ * and the target tables of INSERT, UPDATE, DELETE, MERGE, REPLACE, UPSERT, TRUNCATE, DROP and ALTER commands.
+ * Names are returned in lower case without quotes and without schema prefix, i.e. they are compared case-insensitively.
+ */
+class TableNames
+{
+	/**
+	 * Returns the tables read by a query.
+	 * @param sql the query
+	 * @return the table names, possibly empty
+	 */
+	public static Set<String> read(String sql)
+	{
+		Set<String> tables = new LinkedHashSet<>();
+		List<String> tokens = tokenize(sql);
+		for (int i=0; i<tokens.size(); i++)
+		{
+			String token = tokens.get(i);
+			if (token.equals("from"))
+			{
+				// a comma separated list of tables, each optionally followed by an alias
+				int next = i + 1;
+				while (next < tokens.size())
+				{
+					String table = tokens.get(next);
+					if (!isName(table))
+						break;
+					tables.add(normalize(table));
+					next++;
+					if ((next < tokens.size()) && tokens.get(next).equals("as"))
+						next++;
+					if ((next < tokens.size()) && isName(tokens.get(next)))
+						next++;
+					if ((next < tokens.size()) && tokens.get(next).equals(","))
+						next++;
+					else
+						break;
+				}
+			}
+			else if (token.equals("join") && (i + 1 < tokens.size()) && isName(tokens.get(i + 1)))
+				tables.add(normalize(tokens.get(i + 1)));
+		}
+		return tables;
+	}
+
+
+	/**
+	 * Returns the tables modified by a command.
+	 * @param sql the command
+	 * @return the table names, an empty set if the command is known not to modify a table (e.g. a SELECT or a CREATE TABLE command)
+	 * 		or null if the modified tables are not known (e.g. a CALL command or any command which is not recognized)
+	 */
+	public static Set<String> modified(String sql)
+	{
+		List<String> tokens = tokenize(sql);
+		if (tokens.isEmpty())
+			return Set.of();
+		int target;
+		switch (tokens.get(0))
+		{
+			case "insert":
+				// INSERT OVERWRITE has no INTO and is not recognized
+			case "merge":
+			case "replace":
+			case "upsert":
+				target = indexAfter(tokens, "into");
+				break;
+			case "delete":
+				target = indexAfter(tokens, "from");
+				break;
+			case "update":
+				target = 1;
+				break;
+			case "truncate":
+			case "drop":
+			case "alter":
+				target = indexAfter(tokens, "table");
+				break;
+			case "with":
+				// a common table expression followed by a query or a data modifying command
+				return containsAny(tokens, MODIFYING) ? null : Set.of();
+			case "create":
+				// CREATE OR REPLACE may replace a table
+				return (tokens.size() > 1) && tokens.get(1).equals("or") ? null : Set.of();
+			default:
+				return READ_ONLY.contains(tokens.get(0)) ? Set.of() : null;
+		}
+		if ((target < 0) || (target >= tokens.size()) || !isName(tokens.get(target)))
+			return null;
+		return Set.of(normalize(tokens.get(target)));
+	}
+
+
+	private static boolean containsAny(List<String> tokens, Set<String> keywords)
+	{
+		for (String token : tokens)
+		{
+			if (keywords.contains(token))
+				return true;
+		}
+		return false;
+	}
+
+
+	private static int indexAfter(List<String> tokens, String keyword)
+	{
+		int index = tokens.indexOf(keyword);
+		return index >= 0 ? index + 1 : -1;
+	}
+
+
+	/**
+	 * Splits a command into lower case names, quoted names and single punctuation characters.
+	 * String literals and comments are skipped.
+	 */
+	private static List<String> tokenize(String sql)
+	{
+		List<String> tokens = new ArrayList<>();
+		int n = sql.length();
+		int i = 0;
+		while (i < n)
+		{
+			char c = sql.charAt(i);
+			if (Character.isWhitespace(c))
+				i++;
+			else if ((c == '-') && (i + 1 < n) && (sql.charAt(i + 1) == '-'))
+			{
+				while ((i < n) && (sql.charAt(i) != '\n'))
+					i++;
+			}
+			else if ((c == '/') && (i + 1 < n) && (sql.charAt(i + 1) == '*'))
+			{
+				int end = sql.indexOf("*/", i + 2);
+				i = end < 0 ? n : end + 2;
+			}
+			else if (c == '\'')
+			{
+				int end = i + 1;
+				while (end < n)
+				{
+					if (sql.charAt(end) != '\'')
+						end++;
+					else if ((end + 1 < n) && (sql.charAt(end + 1) == '\''))
+						end += 2; // escaped quote
+					else
+						break;
+				}
+				tokens.add("'");
+				i = end + 1;
+			}
+			else if (isNameChar(c) || (c == '"') || (c == '`') || (c == '['))
+			{
+				// a possibly qualified and quoted name like schema."Table"
+				int start = i;
+				while (i < n)
+				{
+					char d = sql.charAt(i);
+					if ((d == '"') || (d == '`') || (d == '['))
+					{
+						int end = sql.indexOf(d == '[' ? ']' : d, i + 1);
+						i = end < 0 ? n : end + 1;
+					}
+					else if (isNameChar(d) || (d == '.'))
+						i++;
+					else
+						break;
+				}
+				tokens.add(lowerUnquoted(sql.substring(start, i)));
+			}
+			else
+			{
+				tokens.add(String.valueOf(c));
+				i++;
+			}
+		}
+		return tokens;
+	}
+
+
+	private static boolean isNameChar(char c)
+	{
+		return Character.isLetterOrDigit(c) || (c == '_') || (c == '$');
+	}
+
+
+	private static boolean isName(String token)
+	{
+		char c = token.charAt(0);
+		return (Character.isLetter(c) || (c == '_') || (c == '"') || (c == '`') || (c == '[')) && !KEYWORDS.contains(token);
+	}
+
+
+	private static String lowerUnquoted(String name)
+	{
+		char c = name.charAt(0);
+		return (c == '"') || (c == '`') || (c == '[') || (name.indexOf('"') >= 0) ? name : name.toLowerCase(Locale.ROOT);
+	}
+
+
+	/**
+	 * Removes the schema prefix and quotes and converts the name to lower case.
+	 */
+	static String normalize(String name)
+	{
+		String table = name;
+		int dot = lastUnquotedDot(table);
+		if (dot >= 0)
+			table = table.substring(dot + 1);
+		char c = table.isEmpty() ? ' ' : table.charAt(0);
+		if (((c == '"') || (c == '`') || (c == '[')) && (table.length() >= 2))
+			return table.substring(1, table.length() - 1).toLowerCase(Locale.ROOT);
+		return table.toLowerCase(Locale.ROOT);
+	}
+
+
+	private static int lastUnquotedDot(String name)
+	{
+		int dot = -1;
+		char quote = 0;
+		for (int i=0; i<name.length(); i++)
+		{
+			char c = name.charAt(i);
+			if (quote != 0)
+			{
+				if (c == quote)
+					quote = 0;
+			}
+			else if ((c == '"') || (c == '`'))
+				quote = c;
+			else if (c == '[')
+				quote = ']';
+			else if (c == '.')
+				dot = i;
+		}
+		return dot;
+	}
+
+
+	private static final Set<String> READ_ONLY = Set.of("select", "values", "table", "set", "commit", "rollback", "savepoint",
+		"release", "grant", "revoke", "comment", "explain", "show", "describe", "lock", "declare");
+	private static final Set<String> MODIFYING = Set.of("insert", "update", "delete", "merge");
+	private static final Set<String> KEYWORDS = Set.of("select", "where", "join", "inner", "outer", "left", "right", "full", "cross",
+		"natural", "on", "using", "group", "order", "having", "limit", "offset", "fetch", "union", "except", "intersect",
+		"for", "lateral", "unnest", "values", "set", "as", "with", "window", "into", "from", "table");
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.monitor;
+
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Finds the application code which called into JDBX, i.e. the first frame outside of the JDK and the main packages of JDBX.
+ * The StackTraceElement of a call site is cached per class, method, method descriptor and bytecode index.
+ */
+class CallSites
+{
+	/**
+	 * @return the first stack frame of the current thread which is not part of JDBX or the JDK,
+	 * 		or null if not found
+	 */
+	public static StackTraceElement find()
+	{
+		return WALKER.walk(frames -> frames
+			.filter(f -> !isLibrary(f.getDeclaringClass()))
+			.findFirst()
+			.map(CallSites::toElement)
+			.orElse(null));
+	}
+
+
+	private static StackTraceElement toElement(StackWalker.StackFrame frame)
+	{
+		Map<Long,Site> sites = SITES.get(frame.getDeclaringClass());
+		String method 	  = frame.getMethodName();
+		String descriptor = frame.getDescriptor();
+		long key = ((long)(31 * method.hashCode() + descriptor.hashCode()) << 32) | (frame.getByteCodeIndex() & 0xFFFFFFFFL);
+		Site site = sites.get(key);
+		if ((site == null) || !site.method.equals(method) || !site.descriptor.equals(descriptor))
+		{
+			site = new Site(method, descriptor, frame.toStackTraceElement());
+			// on a (rare) hash collision the cached site is replaced
+			sites.put(key, site);
+		}
+		return site.element;
+	}
+
+
+	/**
+	 * A cached call site. Overloaded methods are told apart by their descriptor.
+	 */
+	private static class Site
+	{
+		public Site(String method, String descriptor, StackTraceElement element)
+		{
+			this.method		= method;
+			this.descriptor	= descriptor;
+			this.element	= element;
+		}
+
+
+		public final String method;
+		public final String descriptor;
+		public final StackTraceElement element;
+	}
+
+
+	/**
+	 * Declares classes in the packages of JDBX which are application code, e.g. tests which share these packages.
+	 * @param prefix a class name prefix, usually a class name
+	 */
+	static synchronized void addApplicationPrefix(String prefix)
+	{
+		String[] prefixes = Arrays.copyOf(appPrefixes_, appPrefixes_.length + 1);
+		prefixes[appPrefixes_.length] = prefix;
+		appPrefixes_ = prefixes;
+	}
+
+
+	private static boolean isLibrary(Class<?> c)
+	{
+		if (!IS_LIBRARY.get(c))
+			return false;
+		String[] prefixes = appPrefixes_;
+		if ((prefixes.length > 0) && (c.getClassLoader() != null))
+		{
+			String name = c.getName();
+			for (String prefix : prefixes)
+			{
+				if (name.startsWith(prefix))
+					return false;
+			}
+		}
+		return true;
+	}
+
+
+	private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+	private static final ClassValue<Map<Long,Site>> SITES = new ClassValue<>()
+	{
+		@Override protected Map<Long,Site> computeValue(Class<?> c)
+		{
+			return new ConcurrentHashMap<>();
+		}
+	};
+	private static final ClassValue<Boolean> IS_LIBRARY = new ClassValue<>()
+	{
+		@Override protected Boolean computeValue(Class<?> c)
+		{
+			if (c.getClassLoader() == null)
+				return Boolean.TRUE; // JDK
+			String name = c.getName();
+			if (name.startsWith("java.") || name.startsWith("jdk.") || name.startsWith("sun."))
+				return Boolean.TRUE;
+			return LIBRARY_PACKAGES.contains(c.getPackageName());
+		}
+	};
+	private static final Set<String> LIBRARY_PACKAGES = Set.of("org.jdbx", "org.jdbx.cache", "org.jdbx.function",
+		"org.jdbx.monitor", "org.jdbx.replay", "org.jdbx.sql");
+	private static volatile String[] appPrefixes_ = new String[0];
+}
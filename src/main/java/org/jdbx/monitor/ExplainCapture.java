@@ -0,0 +1,285 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.monitor;
+
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.jdbx.Jdbx;
+import org.jdbx.PrepStmt;
+import org.jdbx.RunInfo;
+import org.jdbx.function.CheckedSupplier;
+
+
+/**
+ * ExplainCapture is a {@link SlowQueryLog.Sink} which captures the execution plan of slow queries
+ * and updates before it passes the entry on to another sink.
+ * The explain command of the database dialect is run asynchronously on a separate connection
+ * with the same parameters (if supported by the dialect), and the plan is attached to the entry (see {@link SlowQueryLog.Entry#getPlan()}).
+ * The plan of a {@link SqlFingerprint} is captured at most once per interval, entries which are
+ * rate-limited, or which cannot be queued because the executor is busy, are passed on immediately without plan.
+ * The explain commands are run {@link Jdbx#unobserved(CheckedSupplier) unobserved}, i.e. they are not reported
+ * to the registered listeners.
+ * <pre><code>
+ * SlowQueryLog.Sink sink = new ExplainCapture(dataSource, ExplainCapture.Dialect.POSTGRESQL, SlowQueryLog.Sink.of(logger));
+ * Jdbx.addListener(new SlowQueryLog(Duration.ofMillis(200), sink));
+ * </code></pre>
+ */
+public class ExplainCapture implements SlowQueryLog.Sink
+{
+	/**
+	 * Describes how to explain a SQL command.
+	 */
+	public enum Dialect
+	{
+		/**
+		 * HSQLDB does not accept parameters in explain commands, the plan is computed for the unbound command.
+		 */
+		HSQLDB("EXPLAIN PLAN FOR ", false),
+		POSTGRESQL("EXPLAIN ", true),
+		MYSQL("EXPLAIN ", true);
+
+
+		Dialect(String prefix, boolean bindParams)
+		{
+			prefix_		= prefix;
+			bindParams_	= bindParams;
+		}
+
+
+		/**
+		 * Returns the explain command for a SQL command.
+		 * @param sql the SQL command
+		 * @return the explain command
+		 */
+		public String explain(String sql)
+		{
+			return prefix_ + sql;
+		}
+
+
+		/**
+		 * @param sql a SQL command
+		 * @return is the command an explain command of this dialect?
+		 */
+		public boolean isExplain(String sql)
+		{
+			return sql.regionMatches(true, 0, prefix_, 0, prefix_.length());
+		}
+
+
+		/**
+		 * @return does the explain command accept the parameters of the explained command?
+		 */
+		public boolean bindParams()
+		{
+			return bindParams_;
+		}
+
+
+		private final String prefix_;
+		private final boolean bindParams_;
+	}
+
+
+	/**
+	 * Creates a new ExplainCapture which obtains connections from a DataSource and closes them after use.
+	 * @param dataSource a DataSource
+	 * @param dialect the dialect
+	 * @param sink receives the entries
+	 */
+	public ExplainCapture(DataSource dataSource, Dialect dialect, SlowQueryLog.Sink sink)
+	{
+		this(notNull(dataSource, "dataSource")::getConnection, true, dialect, sink);
+	}
+
+
+	/**
+	 * Creates a new ExplainCapture.
+	 * @param supplier provides a connection. It should be a different connection than the one which ran the slow command
+	 * @param closeCon determines if the connection is closed after each explain
+	 * @param dialect the dialect
+	 * @param sink receives the entries
+	 */
+	public ExplainCapture(CheckedSupplier<Connection> supplier, boolean closeCon, Dialect dialect, SlowQueryLog.Sink sink)
+	{
+		conSupplier_	= notNull(supplier, "supplier");
+		closeCon_		= closeCon;
+		dialect_		= notNull(dialect, "dialect");
+		sink_			= notNull(sink, "sink");
+	}
+
+
+	private static <T> T notNull(T value, String what)
+	{
+		if (value == null)
+			throw new IllegalArgumentException(what + " is null");
+		return value;
+	}
+
+
+	/**
+	 * Sets the minimum interval between two plan captures of the same fingerprint. The default is 10 minutes.
+	 * @param interval the interval
+	 * @return this
+	 */
+	public ExplainCapture setInterval(Duration interval)
+	{
+		if ((interval == null) || interval.isNegative())
+			throw new IllegalArgumentException("interval must be >= 0, is " + interval);
+		intervalNanos_ = interval.toNanos();
+		return this;
+	}
+
+
+	/**
+	 * Sets the executor which runs the explain commands. Since an explain blocks on JDBC I/O the default
+	 * is a dedicated executor with a single daemon thread, which queues up to {@value #MAX_QUEUED} entries.
+	 * @param executor an executor
+	 * @return this
+	 */
+	public ExplainCapture setExecutor(Executor executor)
+	{
+		executor_ = notNull(executor, "executor");
+		return this;
+	}
+
+
+	@Override public void log(SlowQueryLog.Entry entry)
+	{
+		if (shouldExplain(entry))
+		{
+			try
+			{
+				executor_.execute(() -> explain(entry));
+				return;
+			}
+			catch (RejectedExecutionException e)
+			{
+				// the executor is busy: pass on the entry without plan
+			}
+		}
+		sink_.log(entry);
+	}
+
+
+	private static Executor createExecutor()
+	{
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(MAX_QUEUED), runnable -> {
+			Thread thread = new Thread(runnable, "jdbx-explaincapture");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+
+	private boolean shouldExplain(SlowQueryLog.Entry entry)
+	{
+		RunInfo.Type type = entry.getType();
+		String sql = entry.getSql();
+		if (((type != RunInfo.Type.QUERY) && (type != RunInfo.Type.UPDATE)) || (sql == null) || dialect_.isExplain(sql))
+			return false;
+
+		long now = System.nanoTime();
+		String fingerprint = SqlFingerprint.of(sql);
+		if ((lastCaptures_.size() >= MAX_FINGERPRINTS) && !lastCaptures_.containsKey(fingerprint))
+		{
+			// forget captures older than the interval, they would be captured again anyway
+			long interval = intervalNanos_;
+			lastCaptures_.values().removeIf(last -> now - last >= interval);
+			if (lastCaptures_.size() >= MAX_FINGERPRINTS)
+				return false;
+		}
+		boolean[] explain = new boolean[1];
+		lastCaptures_.compute(fingerprint, (f, last) -> {
+			if ((last != null) && (now - last < intervalNanos_))
+				return last;
+			explain[0] = true;
+			return now;
+		});
+		return explain[0];
+	}
+
+
+	private void explain(SlowQueryLog.Entry entry)
+	{
+		try
+		{
+			entry.setPlan(readPlan(entry.getSql(), entry.getParams()));
+		}
+		catch (Exception e)
+		{
+			entry.setPlan("explain failed: " + e);
+		}
+		sink_.log(entry);
+	}
+
+
+	private String readPlan(String sql, List<Object> params) throws Exception
+	{
+		return Jdbx.unobserved(() -> readPlanUnobserved(sql, params));
+	}
+
+
+	private String readPlanUnobserved(String sql, List<Object> params) throws Exception
+	{
+		try (PrepStmt pstmt = new PrepStmt(conSupplier_, closeCon_))
+		{
+			pstmt.init(dialect_.explain(sql));
+			if (dialect_.bindParams() && !params.isEmpty())
+				pstmt.params(params.toArray());
+			StringBuilder plan = new StringBuilder();
+			for (Object[] row : pstmt.query().rows().cols().toArray())
+			{
+				if (plan.length() > 0)
+					plan.append('\n');
+				for (int i=0; i<row.length; i++)
+				{
+					if (i > 0)
+						plan.append(" | ");
+					plan.append(row[i]);
+				}
+			}
+			return plan.toString();
+		}
+	}
+
+
+	/**
+	 * The maximum number of entries queued by the default executor.
+	 */
+	public static final int MAX_QUEUED = 100;
+	private static final int MAX_FINGERPRINTS = 10_000;
+	private final CheckedSupplier<Connection> conSupplier_;
+	private final boolean closeCon_;
+	private final Dialect dialect_;
+	private final SlowQueryLog.Sink sink_;
+	private final Map<String,Long> lastCaptures_ = new ConcurrentHashMap<>();
+	private volatile long intervalNanos_ = Duration.ofMinutes(10).toNanos();
+	private volatile Executor executor_ = createExecutor();
+}
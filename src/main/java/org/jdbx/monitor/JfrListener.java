@@ -0,0 +1,246 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.monitor;
+
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jdbx.JdbxListener;
+import org.jdbx.RunInfo;
+
+
+/**
+ * JfrListener emits Java Flight Recorder events for JDBX operations:
+ * <ul>
+ * <li><code>org.jdbx.QueryExecute</code>: execution of a query
+ * <li><code>org.jdbx.QueryFetch</code>: reading the result of a query (rows and duration)
+ * <li><code>org.jdbx.Update</code>: an update
+ * <li><code>org.jdbx.Batch</code>: execution of a batch (size and update count)
+ * <li><code>org.jdbx.Execute</code>: execution of an arbitrary command
+ * <li><code>org.jdbx.Prepare</code>: preparation of a statement
+ * <li><code>org.jdbx.Connect</code>: retrieval of a connection from a DataSource or supplier
+ * </ul>
+ * All events are disabled by default and are enabled and configured (threshold, stack trace)
+ * via the usual JFR settings, e.g.
+ * <code>-XX:StartFlightRecording:settings=jdbx.jfc</code> with a .jfc file that contains
+ * <code>&lt;event name="org.jdbx.QueryExecute"&gt;&lt;setting name="enabled"&gt;true&lt;/setting&gt;&lt;/event&gt;</code>.
+ * The listener itself must be registered via {@link org.jdbx.Jdbx#addListener(JdbxListener)}.
+ */
+public class JfrListener implements JdbxListener
+{
+	@Category("JDBX")
+	@Enabled(false)
+	@StackTrace(false)
+	static abstract class JdbxEvent extends Event
+	{
+		@Label("SQL")
+		String sql;
+
+		@Label("Error")
+		String error;
+	}
+
+
+	@Name("org.jdbx.QueryExecute")
+	@Label("Query Execute")
+	@Description("Execution of a SQL query")
+	static class QueryExecuteEvent extends JdbxEvent
+	{
+	}
+
+
+	@Name("org.jdbx.QueryFetch")
+	@Label("Query Fetch")
+	@Description("Reading the result of a SQL query")
+	static class QueryFetchEvent extends JdbxEvent
+	{
+		@Label("Rows")
+		long rows;
+	}
+
+
+	@Name("org.jdbx.Update")
+	@Label("Update")
+	@Description("Execution of a SQL update")
+	static class UpdateEvent extends JdbxEvent
+	{
+		@Label("Update Count")
+		long updateCount;
+	}
+
+
+	@Name("org.jdbx.Batch")
+	@Label("Batch")
+	@Description("Execution of a batch")
+	static class BatchEvent extends JdbxEvent
+	{
+		@Label("Size")
+		int size;
+
+		@Label("Update Count")
+		long updateCount;
+	}
+
+
+	@Name("org.jdbx.Execute")
+	@Label("Execute")
+	@Description("Execution of an arbitrary SQL command")
+	static class ExecuteEvent extends JdbxEvent
+	{
+		@Label("Update Count")
+		long updateCount;
+	}
+
+
+	@Name("org.jdbx.Prepare")
+	@Label("Prepare")
+	@Description("Preparation of a statement")
+	static class PrepareEvent extends JdbxEvent
+	{
+	}
+
+
+	@Name("org.jdbx.Connect")
+	@Label("Connect")
+	@Description("Retrieval of a connection from a DataSource or supplier")
+	static class ConnectEvent extends JdbxEvent
+	{
+	}
+
+
+	/**
+	 * Creates a JfrListener whose events contain the SQL text.
+	 */
+	public JfrListener()
+	{
+		this(false);
+	}
+
+
+	/**
+	 * Creates a JfrListener.
+	 * @param fingerprint if true the events contain the {@link SqlFingerprint} instead of the SQL text,
+	 * 		e.g. to keep inlined literals out of recordings
+	 */
+	public JfrListener(boolean fingerprint)
+	{
+		fingerprint_ = fingerprint;
+	}
+
+
+	@Override public void started(RunInfo run)
+	{
+		// check the event type first, so that no event is allocated while no recording is running
+		if (EVENT_TYPES[run.getType().ordinal()].isEnabled())
+		{
+			JdbxEvent event = create(run.getType());
+			event.begin();
+			run.setAttachment(this, event);
+		}
+	}
+
+
+	@Override public void executed(RunInfo run)
+	{
+		if (run.getType() == RunInfo.Type.QUERY)
+		{
+			JdbxEvent event = (JdbxEvent)run.getAttachment(this);
+			if (event != null)
+				commit(event, run);
+
+			if (FETCH_TYPE.isEnabled())
+			{
+				QueryFetchEvent fetch = new QueryFetchEvent();
+				fetch.begin();
+				run.setAttachment(this, fetch);
+			}
+			else
+				run.setAttachment(this, null);
+		}
+	}
+
+
+	@Override public void ended(RunInfo run)
+	{
+		JdbxEvent event = (JdbxEvent)run.getAttachment(this);
+		if (event == null)
+			return;
+		run.setAttachment(this, null);
+
+		if (event instanceof QueryFetchEvent)
+			((QueryFetchEvent)event).rows = run.getRows();
+		else if (event instanceof UpdateEvent)
+			((UpdateEvent)event).updateCount = run.getUpdateCount();
+		else if (event instanceof ExecuteEvent)
+			((ExecuteEvent)event).updateCount = run.getUpdateCount();
+		else if (event instanceof BatchEvent)
+		{
+			((BatchEvent)event).size 		= run.getBatchSize();
+			((BatchEvent)event).updateCount = run.getUpdateCount();
+		}
+		commit(event, run);
+	}
+
+
+	private void commit(JdbxEvent event, RunInfo run)
+	{
+		event.end();
+		if (event.shouldCommit())
+		{
+			event.sql = fingerprint_ ? SqlFingerprint.of(run.getSql()) : run.getSql();
+			if (run.getError() != null)
+				event.error = run.getError().toString();
+			event.commit();
+		}
+	}
+
+
+	private static EventType[] eventTypes()
+	{
+		RunInfo.Type[] types = RunInfo.Type.values();
+		EventType[] eventTypes = new EventType[types.length];
+		for (RunInfo.Type type : types)
+			eventTypes[type.ordinal()] = EventType.getEventType(create(type).getClass());
+		return eventTypes;
+	}
+
+
+	private static JdbxEvent create(RunInfo.Type type)
+	{
+		switch (type)
+		{
+			case QUERY:		return new QueryExecuteEvent();
+			case UPDATE:	return new UpdateEvent();
+			case BATCH:		return new BatchEvent();
+			case EXECUTE:	return new ExecuteEvent();
+			case PREPARE:	return new PrepareEvent();
+			case CONNECT:	return new ConnectEvent();
+			default:		throw new IllegalArgumentException(String.valueOf(type));
+		}
+	}
+
+
+	private static final EventType[] EVENT_TYPES = eventTypes();
+	private static final EventType FETCH_TYPE = EventType.getEventType(QueryFetchEvent.class);
+	private final boolean fingerprint_;
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.monitor;
+
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * LatencyHistogram is a lock-free histogram for latencies in nanoseconds.
+ * Like a HDR histogram it uses logarithmic buckets which are each divided into
+ * 32 linear sub-buckets, therefore values are recorded with a relative error of about 3%
+ * using a fixed amount of memory. Recording a value does not allocate.
+ */
+public class LatencyHistogram
+{
+	private static final int SUB_BITS 		= 5;
+	private static final int SUB_COUNT 		= 1 << SUB_BITS;
+	private static final int BUCKET_COUNT	= (64 - SUB_BITS) * SUB_COUNT;
+
+
+	static int indexOf(long value)
+	{
+		if (value < SUB_COUNT)
+			return (int)Math.max(0L, value);
+		int exp = 63 - Long.numberOfLeadingZeros(value);
+		int sub = (int)(value >>> (exp - SUB_BITS)) & (SUB_COUNT - 1);
+		return (exp - SUB_BITS + 1) * SUB_COUNT + sub;
+	}
+
+
+	static long lowerBoundOf(int index)
+	{
+		if (index < SUB_COUNT)
+			return index;
+		int exp = index / SUB_COUNT + SUB_BITS - 1;
+		int sub = index % SUB_COUNT;
+		return (long)(SUB_COUNT + sub) << (exp - SUB_BITS);
+	}
+
+
+	static long upperBoundOf(int index)
+	{
+		return index + 1 < BUCKET_COUNT ? lowerBoundOf(index + 1) - 1 : Long.MAX_VALUE;
+	}
+
+
+	/**
+	 * Records a value.
+	 * @param nanos the value in nanoseconds. Negative values are recorded as 0.
+	 */
+	public void record(long nanos)
+	{
+		long value = Math.max(0L, nanos);
+		buckets_.incrementAndGet(indexOf(value));
+		sum_.add(value);
+		if (value > max_.get())
+			max_.accumulateAndGet(value, Math::max);
+	}
+
+
+	/**
+	 * @return the number of recorded values
+	 */
+	public long getCount()
+	{
+		long count = 0L;
+		for (int i=0; i<BUCKET_COUNT; i++)
+			count += buckets_.get(i);
+		return count;
+	}
+
+
+	/**
+	 * @return the maximum recorded value in nanoseconds
+	 */
+	public long getMax()
+	{
+		return max_.get();
+	}
+
+
+	/**
+	 * @return the mean of the recorded values in nanoseconds or 0 if no value was recorded
+	 */
+	public double getMean()
+	{
+		long count = getCount();
+		return count > 0 ? sum_.sum() / (double)count : 0.0;
+	}
+
+
+	/**
+	 * @return the sum of the recorded values in nanoseconds
+	 */
+	public long getSum()
+	{
+		return sum_.sum();
+	}
+
+
+	/**
+	 * Returns the value at a percentile.
+	 * @param percentile a percentile between 0 and 100, e.g. 99.9
+	 * @return the value in nanoseconds at the percentile or 0 if no value was recorded
+	 */
+	public long getPercentile(double percentile)
+	{
+		if ((percentile < 0) || (percentile > 100))
+			throw new IllegalArgumentException("percentile must be in [0,100], is " + percentile);
+
+		long[] counts = new long[BUCKET_COUNT];
+		long total = 0L;
+		for (int i=0; i<BUCKET_COUNT; i++)
+			total += counts[i] = buckets_.get(i);
+		if (total == 0L)
+			return 0L;
+
+		long rank = Math.max(1L, (long)Math.ceil(percentile / 100.0 * total));
+		long seen = 0L;
+		for (int i=0; i<BUCKET_COUNT; i++)
+		{
+			seen += counts[i];
+			if (seen >= rank)
+				return Math.min(upperBoundOf(i), getMax());
+		}
+		return getMax();
+	}
+
+
+	/**
+	 * Clears all recorded values.
+	 */
+	public void reset()
+	{
+		for (int i=0; i<BUCKET_COUNT; i++)
+			buckets_.set(i, 0L);
+		sum_.reset();
+		max_.set(0L);
+	}
+
+
+	@Override public String toString()
+	{
+		return "count=" + getCount()
+			+ ", mean=" + TimeUnit.NANOSECONDS.toMicros((long)getMean()) + "us"
+			+ ", p50=" + TimeUnit.NANOSECONDS.toMicros(getPercentile(50)) + "us"
+			+ ", p99=" + TimeUnit.NANOSECONDS.toMicros(getPercentile(99)) + "us"
+			+ ", max=" + TimeUnit.NANOSECONDS.toMicros(getMax()) + "us";
+	}
+
+
+	private final AtomicLongArray buckets_ = new AtomicLongArray(BUCKET_COUNT);
+	private final LongAdder sum_ = new LongAdder();
+	private final AtomicLong max_ = new AtomicLong();
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.monitor;
+
+
+import java.util.concurrent.atomic.LongAdder;
+import org.jdbx.JdbxListener;
+import org.jdbx.RunInfo;
+
+
+/**
+ * MetricsListener is a low-overhead JdbxListener which keeps counters and
+ * {@link LatencyHistogram LatencyHistograms} per type of SQL command.
+ * Statement preparations and connection retrievals are not recorded.
+ * <pre><code>
+ * MetricsListener metrics = new MetricsListener();
+ * Jdbx.addListener(metrics);
+ * ...
+ * long p99 = metrics.getStats(RunInfo.Type.QUERY).getTotal().getPercentile(99);
+ * </code></pre>
+ */
+public class MetricsListener implements JdbxListener
+{
+	/**
+	 * Holds the metrics of one operation type.
+	 */
+	public static class Stats
+	{
+		private Stats(RunInfo.Type type)
+		{
+			type_ = type;
+		}
+
+
+		void record(RunInfo run)
+		{
+			runs_.increment();
+			if (run.isFailed())
+				errors_.increment();
+			if (run.getRows() > 0)
+				rows_.add(run.getRows());
+			if (run.getUpdateCount() > 0)
+				updateCount_.add(run.getUpdateCount());
+			if (run.getExecuteNanos() >= 0)
+				execute_.record(run.getExecuteNanos());
+			if (run.getFirstRowNanos() >= 0)
+				firstRow_.record(run.getFirstRowNanos());
+			if (run.getFetchNanos() >= 0)
+				fetch_.record(run.getFetchNanos());
+			total_.record(run.getTotalNanos());
+		}
+
+
+		/**
+		 * @return the operation type
+		 */
+		public RunInfo.Type getType()
+		{
+			return type_;
+		}
+
+
+		/**
+		 * @return the number of ended runs
+		 */
+		public long getRuns()
+		{
+			return runs_.sum();
+		}
+
+
+		/**
+		 * @return the number of failed runs
+		 */
+		public long getErrors()
+		{
+			return errors_.sum();
+		}
+
+
+		/**
+		 * @return the number of rows read
+		 */
+		public long getRows()
+		{
+			return rows_.sum();
+		}
+
+
+		/**
+		 * @return the sum of update counts
+		 */
+		public long getUpdateCount()
+		{
+			return updateCount_.sum();
+		}
+
+
+		/**
+		 * @return the histogram of the execute times
+		 */
+		public LatencyHistogram getExecute()
+		{
+			return execute_;
+		}
+
+
+		/**
+		 * @return the histogram of the times to the first row
+		 */
+		public LatencyHistogram getFirstRow()
+		{
+			return firstRow_;
+		}
+
+
+		/**
+		 * @return the histogram of the fetch times
+		 */
+		public LatencyHistogram getFetch()
+		{
+			return fetch_;
+		}
+
+
+		/**
+		 * @return the histogram of the total times
+		 */
+		public LatencyHistogram getTotal()
+		{
+			return total_;
+		}
+
+
+		@Override public String toString()
+		{
+			return type_.getName() + "[runs=" + getRuns() + ", errors=" + getErrors() + ", total: " + total_ + ']';
+		}
+
+
+		private final RunInfo.Type type_;
+		private final LongAdder runs_ = new LongAdder();
+		private final LongAdder errors_ = new LongAdder();
+		private final LongAdder rows_ = new LongAdder();
+		private final LongAdder updateCount_ = new LongAdder();
+		private final LatencyHistogram execute_ = new LatencyHistogram();
+		private final LatencyHistogram firstRow_ = new LatencyHistogram();
+		private final LatencyHistogram fetch_ = new LatencyHistogram();
+		private final LatencyHistogram total_ = new LatencyHistogram();
+	}
+
+
+	/**
+	 * Creates a new MetricsListener.
+	 */
+	public MetricsListener()
+	{
+		RunInfo.Type[] types = RunInfo.Type.values();
+		stats_ = new Stats[types.length];
+		for (int i=0; i<types.length; i++)
+			stats_[i] = new Stats(types[i]);
+	}
+
+
+	@Override public void ended(RunInfo run)
+	{
+		if (run.getType().isCommand())
+			stats_[run.getType().ordinal()].record(run);
+	}
+
+
+	/**
+	 * Returns the metrics for an operation type.
+	 * @param type the type
+	 * @return the metrics
+	 */
+	public Stats getStats(RunInfo.Type type)
+	{
+		return stats_[type.ordinal()];
+	}
+
+
+	@Override public String toString()
+	{
+		StringBuilder s = new StringBuilder();
+		for (Stats stats : stats_)
+		{
+			if (stats.getType().isCommand())
+				s.append(stats).append('\n');
+		}
+		return s.toString();
+	}
+
+
+	private final Stats[] stats_;
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.monitor;
+
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jdbx.JdbxListener;
+import org.jdbx.MultiStmt;
+import org.jdbx.RunInfo;
+
+
+/**
+ * NPlusOneDetector finds N+1 query patterns: Within a scope it counts the queries and updates per
+ * {@link SqlFingerprint} and reports every fingerprint which was run at least <code>threshold</code> times
+ * when the scope is closed. Such loops are candidates for batches or IN-list queries.
+ * A scope is either bound to the current thread (a unit of work) or to the connection of a {@link MultiStmt}.
+ * <pre><code>
+ * NPlusOneDetector detector = new NPlusOneDetector(10, finding -&gt; log.warn(finding.toString()));
+ * Jdbx.addListener(detector);
+ * ...
+ * try (NPlusOneDetector.Scope scope = detector.begin("loadOrders")) {
+ *     ... // queries run by this thread are counted
+ * }
+ * </code></pre>
+ */
+public class NPlusOneDetector implements JdbxListener
+{
+	/**
+	 * Receives the findings of a scope.
+	 */
+	@FunctionalInterface
+	public interface Reporter
+	{
+		/**
+		 * Called when a scope is closed, for each fingerprint which reached the threshold.
+		 * @param finding the finding
+		 */
+		public void found(Finding finding);
+	}
+
+
+	/**
+	 * Describes a SQL template which was run repeatedly within a scope.
+	 */
+	public static class Finding
+	{
+		private Finding(String scope, String fingerprint, long count, StackTraceElement callSite)
+		{
+			scope_		 = scope;
+			fingerprint_ = fingerprint;
+			count_		 = count;
+			callSite_	 = callSite;
+		}
+
+
+		/**
+		 * @return the name of the scope
+		 */
+		public String getScope()
+		{
+			return scope_;
+		}
+
+
+		/**
+		 * @return the SQL fingerprint
+		 */
+		public String getFingerprint()
+		{
+			return fingerprint_;
+		}
+
+
+		/**
+		 * @return the number of runs within the scope
+		 */
+		public long getCount()
+		{
+			return count_;
+		}
+
+
+		/**
+		 * @return the application code which ran the SQL when the threshold was reached, or null if not known
+		 */
+		public StackTraceElement getCallSite()
+		{
+			return callSite_;
+		}
+
+
+		@Override public String toString()
+		{
+			return "N+1 in " + scope_ + ": " + count_ + "x " + fingerprint_ + (callSite_ != null ? " at " + callSite_ : "");
+		}
+
+
+		private final String scope_;
+		private final String fingerprint_;
+		private final long count_;
+		private final StackTraceElement callSite_;
+	}
+
+
+	private static class Counter
+	{
+		public final AtomicLong count = new AtomicLong();
+		public volatile StackTraceElement callSite;
+	}
+
+
+	/**
+	 * A scope in which runs are counted. Closing the scope reports the findings.
+	 */
+	public class Scope implements AutoCloseable
+	{
+		private Scope(String name, Scope parent, Connection con)
+		{
+			name_	= name;
+			parent_	= parent;
+			con_	= con;
+		}
+
+
+		void count(String fingerprint)
+		{
+			Counter counter = counts_.computeIfAbsent(fingerprint, f -> new Counter());
+			if (counter.count.incrementAndGet() == threshold_)
+				counter.callSite = CallSites.find();
+		}
+
+
+		/**
+		 * @return the name of the scope
+		 */
+		public String getName()
+		{
+			return name_;
+		}
+
+
+		/**
+		 * Returns how often a SQL command was run within this scope.
+		 * @param sql a SQL command or fingerprint
+		 * @return the count
+		 */
+		public long getCount(String sql)
+		{
+			Counter counter = counts_.get(SqlFingerprint.of(sql));
+			return counter != null ? counter.count.get() : 0L;
+		}
+
+
+		/**
+		 * @return the findings of this scope so far
+		 */
+		public List<Finding> getFindings()
+		{
+			List<Finding> findings = new ArrayList<>();
+			for (Map.Entry<String,Counter> e : counts_.entrySet())
+			{
+				long count = e.getValue().count.get();
+				if (count >= threshold_)
+					findings.add(new Finding(name_, e.getKey(), count, e.getValue().callSite));
+			}
+			return findings;
+		}
+
+
+		/**
+		 * Ends the scope and reports its findings.
+		 */
+		@Override public void close()
+		{
+			if (closed_)
+				return;
+			closed_ = true;
+			if (con_ != null)
+				conScopes_.remove(con_, this);
+			else if (threadScope_.get() == this)
+			{
+				if (parent_ != null)
+					threadScope_.set(parent_);
+				else
+					threadScope_.remove();
+			}
+			activeScopes_.decrementAndGet();
+			for (Finding finding : getFindings())
+				reporter_.found(finding);
+		}
+
+
+		private final String name_;
+		private final Scope parent_;
+		private final Connection con_;
+		private final Map<String,Counter> counts_ = new ConcurrentHashMap<>();
+		private boolean closed_;
+	}
+
+
+	/**
+	 * Creates a new NPlusOneDetector.
+	 * @param threshold the number of runs of a fingerprint within a scope which is reported, &gt;= 2
+	 * @param reporter receives the findings
+	 */
+	public NPlusOneDetector(int threshold, Reporter reporter)
+	{
+		if (threshold < 2)
+			throw new IllegalArgumentException("threshold must be >= 2, is " + threshold);
+		if (reporter == null)
+			throw new IllegalArgumentException("reporter is null");
+		threshold_	= threshold;
+		reporter_	= reporter;
+	}
+
+
+	/**
+	 * @return the threshold
+	 */
+	public int getThreshold()
+	{
+		return threshold_;
+	}
+
+
+	/**
+	 * Begins a scope which is bound to the current thread. Scopes can be nested,
+	 * runs are only counted in the innermost scope.
+	 * @param name the name of the scope, used in reports
+	 * @return the scope
+	 */
+	public Scope begin(String name)
+	{
+		Scope scope = new Scope(name, threadScope_.get(), null);
+		threadScope_.set(scope);
+		activeScopes_.incrementAndGet();
+		return scope;
+	}
+
+
+	/**
+	 * Begins a scope which counts the runs of all statements of a MultiStmt, independent of
+	 * the thread, until the scope is closed.
+	 * @param mstmt a MultiStmt
+	 * @return the scope
+	 */
+	public Scope begin(MultiStmt mstmt)
+	{
+		Connection con = mstmt.getConnection();
+		Scope scope = new Scope(mstmt.toString(), null, con);
+		if (conScopes_.putIfAbsent(con, scope) != null)
+			throw new IllegalStateException("a scope for the connection of " + mstmt + " already exists");
+		activeScopes_.incrementAndGet();
+		return scope;
+	}
+
+
+	@Override public void ended(RunInfo run)
+	{
+		if (activeScopes_.get() == 0)
+			return;
+		RunInfo.Type type = run.getType();
+		if (((type != RunInfo.Type.QUERY) && (type != RunInfo.Type.UPDATE)) || (run.getSql() == null))
+			return;
+
+		Scope threadScope = threadScope_.get();
+		Scope conScope = run.getConnection() != null && !conScopes_.isEmpty() ? conScopes_.get(run.getConnection()) : null;
+		if ((threadScope != null) || (conScope != null))
+		{
+			String fingerprint = fingerprint(run.getSql());
+			if (threadScope != null)
+				threadScope.count(fingerprint);
+			if (conScope != null)
+				conScope.count(fingerprint);
+		}
+	}
+
+
+	private String fingerprint(String sql)
+	{
+		String fingerprint = fingerprints_.get(sql);
+		if (fingerprint == null)
+		{
+			fingerprint = SqlFingerprint.of(sql);
+			if (fingerprints_.size() < MAX_CACHED_SQL)
+				fingerprints_.put(sql, fingerprint);
+		}
+		return fingerprint;
+	}
+
+
+	private static final int MAX_CACHED_SQL = 10000;
+	private final int threshold_;
+	private final Reporter reporter_;
+	private final AtomicInteger activeScopes_ = new AtomicInteger();
+	private final ThreadLocal<Scope> threadScope_ = new ThreadLocal<>();
+	private final Map<Connection,Scope> conScopes_ = Collections.synchronizedMap(new IdentityHashMap<>());
+	private final Map<String,String> fingerprints_ = new ConcurrentHashMap<>();
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.monitor;
+
+
+import java.lang.invoke.VarHandle;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.jdbx.JdbxListener;
+import org.jdbx.RunInfo;
+
+
+/**
+ * RecentOperations is a JdbxListener which keeps the last N operations in a fixed-size, lock-free ring buffer,
+ * like a flight recorder which is always on. For every operation it records the SQL, the type, the time,
+ * the duration, rows or update count, the outcome and the thread. Recording does not allocate: the slots
+ * are preallocated and only references to the SQL strings are stored.
+ * <p>
+ * The buffer can be {@link #dump() dumped} on demand. When an operation fails, the dump is
+ * also attached to its error as suppressed exception, so that it appears in the stack trace of the
+ * thrown {@link org.jdbx.JdbxException}.
+ * <pre><code>
+ * Jdbx.addListener(new RecentOperations(256));
+ * </code></pre>
+ */
+public class RecentOperations implements JdbxListener
+{
+	/**
+	 * A snapshot of a recorded operation.
+	 */
+	public static class Operation
+	{
+		private Operation(long seq, RunInfo.Type type, String sql, long time, long nanos, long rows, long updateCount, String error, String thread)
+		{
+			seq_ 		 = seq;
+			type_ 		 = type;
+			sql_ 		 = sql;
+			time_ 		 = time;
+			nanos_ 		 = nanos;
+			rows_ 		 = rows;
+			updateCount_ = updateCount;
+			error_ 		 = error;
+			thread_ 	 = thread;
+		}
+
+
+		/**
+		 * @return the sequence number of the operation
+		 */
+		public long getSeq()
+		{
+			return seq_;
+		}
+
+
+		/**
+		 * @return the operation type
+		 */
+		public RunInfo.Type getType()
+		{
+			return type_;
+		}
+
+
+		/**
+		 * @return the SQL command or null
+		 */
+		public String getSql()
+		{
+			return sql_;
+		}
+
+
+		/**
+		 * @return the time when the operation ended, in milliseconds since the epoch
+		 */
+		public long getTime()
+		{
+			return time_;
+		}
+
+
+		/**
+		 * @return the duration in nanoseconds
+		 */
+		public long getNanos()
+		{
+			return nanos_;
+		}
+
+
+		/**
+		 * @return the number of read rows
+		 */
+		public long getRows()
+		{
+			return rows_;
+		}
+
+
+		/**
+		 * @return the update count or -1
+		 */
+		public long getUpdateCount()
+		{
+			return updateCount_;
+		}
+
+
+		/**
+		 * @return the error class name or null if the operation succeeded
+		 */
+		public String getError()
+		{
+			return error_;
+		}
+
+
+		/**
+		 * @return the name of the thread which ran the operation
+		 */
+		public String getThread()
+		{
+			return thread_;
+		}
+
+
+		@Override public String toString()
+		{
+			StringBuilder s = new StringBuilder();
+			s.append('#').append(seq_).append(' ').append(Instant.ofEpochMilli(time_));
+			s.append(" [").append(thread_).append("] ").append(type_.getName());
+			s.append(' ').append(TimeUnit.NANOSECONDS.toMicros(nanos_)).append("us");
+			if (rows_ > 0)
+				s.append(" rows=").append(rows_);
+			if (updateCount_ >= 0)
+				s.append(" updateCount=").append(updateCount_);
+			s.append(error_ != null ? " FAILED " + error_ : " OK");
+			if (sql_ != null)
+				s.append(": ").append(sql_);
+			return s.toString();
+		}
+
+
+		private final long seq_;
+		private final RunInfo.Type type_;
+		private final String sql_;
+		private final long time_;
+		private final long nanos_;
+		private final long rows_;
+		private final long updateCount_;
+		private final String error_;
+		private final String thread_;
+	}
+
+
+	/**
+	 * The dump of the recent operations which is attached to the error of a failed operation.
+	 */
+	public static class Dump extends RuntimeException
+	{
+		private static final long serialVersionUID = 1L;
+
+
+		private Dump(String message)
+		{
+			super(message, null, false, false);
+		}
+	}
+
+
+	/**
+	 * Creates a new RecentOperations buffer.
+	 * @param capacity the number of recorded operations, rounded up to a power of two
+	 */
+	public RecentOperations(int capacity)
+	{
+		if ((capacity < 1) || (capacity > (1 << 24)))
+			throw new IllegalArgumentException("capacity must be in [1, 2^24], is " + capacity);
+		int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+		mask_ 		 = size - 1;
+		seqs_ 		 = new AtomicLongArray(size);
+		types_ 		 = new RunInfo.Type[size];
+		sqls_ 		 = new String[size];
+		times_ 		 = new long[size];
+		nanos_ 		 = new long[size];
+		rows_ 		 = new long[size];
+		updateCounts_= new long[size];
+		errors_ 	 = new Throwable[size];
+		threads_ 	 = new String[size];
+		for (int i=0; i<size; i++)
+			seqs_.set(i, EMPTY);
+	}
+
+
+	/**
+	 * Determines if the dump is attached to the errors of failed operations. The default is true.
+	 * @param attach the flag
+	 * @return this
+	 */
+	public RecentOperations setAttachToErrors(boolean attach)
+	{
+		attachToErrors_ = attach;
+		return this;
+	}
+
+
+	/**
+	 * @return the capacity
+	 */
+	public int getCapacity()
+	{
+		return mask_ + 1;
+	}
+
+
+	@Override public void ended(RunInfo run)
+	{
+		if (run.getType() == RunInfo.Type.CONNECT)
+			return;
+
+		long seq 	= next_.getAndIncrement();
+		int index 	= (int)(seq & mask_);
+
+		// seqlock: readers ignore a slot while it is written.
+		// The slot is claimed from its previous state, so that a writer which is a full round ahead
+		// never interleaves with a slow writer of the same slot: the older operation is then dropped
+		long prev = seqs_.get(index);
+		if ((prev == WRITING) || (prev > seq) || !seqs_.compareAndSet(index, prev, WRITING))
+			return;
+		// the WRITING mark must be visible before any field is changed
+		VarHandle.storeStoreFence();
+		types_[index] 		 = run.getType();
+		sqls_[index] 		 = run.getSql();
+		times_[index] 		 = System.currentTimeMillis();
+		nanos_[index] 		 = run.getTotalNanos();
+		rows_[index] 		 = run.getRows();
+		updateCounts_[index] = run.getUpdateCount();
+		errors_[index] 		 = run.getError();
+		threads_[index] 	 = run.getThread().getName();
+		seqs_.set(index, seq);
+
+		if (run.isFailed() && attachToErrors_)
+			run.getError().addSuppressed(new Dump("recent JDBX operations:\n" + dump()));
+	}
+
+
+	/**
+	 * Returns a snapshot of the recorded operations.
+	 * @return the operations, oldest first
+	 */
+	public List<Operation> getOperations()
+	{
+		long end 	= next_.get();
+		long start 	= Math.max(0L, end - mask_ - 1);
+		List<Operation> list = new ArrayList<>((int)(end - start));
+		for (long seq=start; seq<end; seq++)
+		{
+			int index = (int)(seq & mask_);
+			if (seqs_.get(index) != seq)
+				continue; // overwritten or being written
+			RunInfo.Type type 	= types_[index];
+			String sql 			= sqls_[index];
+			long time 			= times_[index];
+			long nanos 			= nanos_[index];
+			long rows 			= rows_[index];
+			long updateCount 	= updateCounts_[index];
+			Throwable error 	= errors_[index];
+			String thread 		= threads_[index];
+			// the fields must be read before the sequence is checked again
+			VarHandle.acquireFence();
+			if (seqs_.get(index) == seq)
+				list.add(new Operation(seq, type, sql, time, nanos, rows, updateCount, error != null ? error.getClass().getName() : null, thread));
+		}
+		return list;
+	}
+
+
+	/**
+	 * @return a description of the recorded operations, oldest first, one per line
+	 */
+	public String dump()
+	{
+		StringBuilder s = new StringBuilder();
+		for (Operation op : getOperations())
+			s.append(op).append('\n');
+		return s.toString();
+	}
+
+
+	private static final long EMPTY = -1L;
+	private static final long WRITING = -2L;
+	private final int mask_;
+	private final AtomicLong next_ = new AtomicLong();
+	private final AtomicLongArray seqs_;
+	private final RunInfo.Type[] types_;
+	private final String[] sqls_;
+	private final long[] times_;
+	private final long[] nanos_;
+	private final long[] rows_;
+	private final long[] updateCounts_;
+	private final Throwable[] errors_;
+	private final String[] threads_;
+	private volatile boolean attachToErrors_ = true;
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.monitor;
+
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+import org.jdbx.JdbxListener;
+import org.jdbx.RunInfo;
+
+
+/**
+ * RoundTripCounter wraps JDBC connections into proxies which count the driver calls which potentially
+ * cause network round trips, like prepare, execute, fetch, getGeneratedKeys, getMetaData and close, together with their time.
+ * Calls are named by interface and method, e.g. <code>"PreparedStatement.executeQuery"</code>. Plain getters and
+ * setters (e.g. <code>ResultSet.getString</code>, <code>PreparedStatement.setInt</code>) are not counted.
+ * <p>
+ * If the counter is also registered as listener, calls are attributed to the enclosing JDBX operation,
+ * identified by {@link RunInfo#describe()}, e.g. <code>"Query:SELECT * FROM Cities"</code>.
+ * The counts can be asserted in tests to catch regressions like additional metadata calls:
+ * <pre><code>
+ * RoundTripCounter counter = new RoundTripCounter();
+ * Jdbx.addListener(counter);
+ * Connection con = counter.wrap(dataSource.getConnection());
+ * ...
+ * assertEquals(0, counter.getCount("ResultSet.getMetaData"));
+ * </code></pre>
+ */
+public class RoundTripCounter implements JdbxListener
+{
+	/**
+	 * The operation name used for calls outside of a JDBX operation.
+	 */
+	public static final String NO_OPERATION = "-";
+
+
+	private static class Stat
+	{
+		public final LongAdder count = new LongAdder();
+		public final LongAdder nanos = new LongAdder();
+	}
+
+
+	/**
+	 * Wraps a connection. Statements, result sets and meta data obtained from the connection are wrapped too.
+	 * @param con a connection
+	 * @return the wrapped connection
+	 */
+	public Connection wrap(Connection con)
+	{
+		return (Connection)proxy(Connection.class, con, null, null);
+	}
+
+
+	/**
+	 * Wraps a DataSource whose connections are wrapped.
+	 * @param dataSource a DataSource
+	 * @return the wrapped DataSource
+	 */
+	public DataSource wrap(DataSource dataSource)
+	{
+		return (DataSource)Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[] { DataSource.class }, (proxy, method, args) -> {
+			Object result = invoke(dataSource, method, args);
+			return result instanceof Connection ? wrap((Connection)result) : result;
+		});
+	}
+
+
+	private Object proxy(Class<?> type, Object target, Object parent, String operation)
+	{
+		return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, new Handler(type, target, parent, operation));
+	}
+
+
+	private class Handler implements InvocationHandler
+	{
+		public Handler(Class<?> type, Object target, Object parent, String operation)
+		{
+			type_		= type;
+			target_		= target;
+			parent_		= parent;
+			operation_	= operation;
+		}
+
+
+		@Override public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+		{
+			String name = method.getName();
+			switch (name)
+			{
+				case "equals":
+					if (method.getParameterCount() == 1)
+						return proxy == args[0];
+					break;
+				case "hashCode":
+					if (method.getParameterCount() == 0)
+						return System.identityHashCode(proxy);
+					break;
+				case "toString":
+					if (method.getParameterCount() == 0)
+						return target_.toString();
+					break;
+				case "getConnection":
+				case "getStatement":
+					if ((parent_ != null) && (method.getParameterCount() == 0))
+						return parent_;
+					break;
+				default:
+					break;
+			}
+
+			Object result;
+			if (isCounted(name))
+			{
+				String operation = operation_ != null ? operation_ : currentOperation();
+				long start = System.nanoTime();
+				try
+				{
+					result = RoundTripCounter.invoke(target_, method, args);
+				}
+				finally
+				{
+					record(operation, type_.getSimpleName() + '.' + name, System.nanoTime() - start);
+				}
+			}
+			else
+				result = RoundTripCounter.invoke(target_, method, args);
+			return wrapResult(proxy, method, result);
+		}
+
+
+		private Object wrapResult(Object proxy, Method method, Object result)
+		{
+			if (result == null)
+				return null;
+			Class<?> returnType = method.getReturnType();
+			if (returnType == ResultSet.class)
+				return proxy(ResultSet.class, result, type_ == DatabaseMetaData.class ? null : proxy, currentOperation());
+			else if (returnType == PreparedStatement.class)
+				return proxy(PreparedStatement.class, result, proxy, null);
+			else if (returnType == CallableStatement.class)
+				return proxy(CallableStatement.class, result, proxy, null);
+			else if (returnType == Statement.class)
+				return proxy(Statement.class, result, proxy, null);
+			else if (returnType == DatabaseMetaData.class)
+				return proxy(DatabaseMetaData.class, result, proxy, null);
+			return result;
+		}
+
+
+		private final Class<?> type_;
+		private final Object target_;
+		private final Object parent_;
+		// the operation which created a ResultSet, or null to use the current operation of the thread
+		private final String operation_;
+	}
+
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable
+	{
+		try
+		{
+			return method.invoke(target, args);
+		}
+		catch (InvocationTargetException e)
+		{
+			throw e.getCause();
+		}
+	}
+
+
+	private static boolean isCounted(String method)
+	{
+		if (COUNTED_GETTERS.contains(method))
+			return true;
+		return !method.startsWith("get") && !method.startsWith("set") && !method.startsWith("is") && !method.startsWith("update")
+			&& !method.startsWith("clear") && !NOT_COUNTED.contains(method);
+	}
+
+
+	//------------------------------
+	// listener
+	//------------------------------
+
+
+	@Override public void started(RunInfo run)
+	{
+		run.setAttachment(this, current_.get());
+		current_.set(run);
+	}
+
+
+	@Override public void ended(RunInfo run)
+	{
+		if (current_.get() == run)
+		{
+			RunInfo previous = (RunInfo)run.getAttachment(this);
+			// the previous operation may have ended meanwhile, e.g. a QueryResult which was closed
+			while ((previous != null) && previous.isEnded())
+				previous = (RunInfo)previous.getAttachment(this);
+			if (previous != null)
+				current_.set(previous);
+			else
+				current_.remove();
+		}
+	}
+
+
+	private String currentOperation()
+	{
+		RunInfo run = current_.get();
+		return run != null ? run.describe() : NO_OPERATION;
+	}
+
+
+	//------------------------------
+	// stats
+	//------------------------------
+
+
+	private void record(String operation, String call, long nanos)
+	{
+		Stat stat = stats_.computeIfAbsent(operation, o -> new ConcurrentHashMap<>()).computeIfAbsent(call, c -> new Stat());
+		stat.count.increment();
+		stat.nanos.add(nanos);
+	}
+
+
+	/**
+	 * Returns how often a driver method was called.
+	 * @param call the call, e.g. "PreparedStatement.executeQuery"
+	 * @return the count
+	 */
+	public long getCount(String call)
+	{
+		long count = 0L;
+		for (Map<String,Stat> calls : stats_.values())
+		{
+			Stat stat = calls.get(call);
+			if (stat != null)
+				count += stat.count.sum();
+		}
+		return count;
+	}
+
+
+	/**
+	 * Returns the time spent in a driver method.
+	 * @param call the call, e.g. "PreparedStatement.executeQuery"
+	 * @return the time in nanoseconds
+	 */
+	public long getNanos(String call)
+	{
+		long nanos = 0L;
+		for (Map<String,Stat> calls : stats_.values())
+		{
+			Stat stat = calls.get(call);
+			if (stat != null)
+				nanos += stat.nanos.sum();
+		}
+		return nanos;
+	}
+
+
+	/**
+	 * @return the number of all counted driver calls
+	 */
+	public long getTotalCount()
+	{
+		long count = 0L;
+		for (Map<String,Stat> calls : stats_.values())
+		{
+			for (Stat stat : calls.values())
+				count += stat.count.sum();
+		}
+		return count;
+	}
+
+
+	/**
+	 * @return the counts of all calls, sorted by call name
+	 */
+	public Map<String,Long> getCounts()
+	{
+		Map<String,Long> counts = new TreeMap<>();
+		for (Map<String,Stat> calls : stats_.values())
+		{
+			for (Map.Entry<String,Stat> e : calls.entrySet())
+				counts.merge(e.getKey(), e.getValue().count.sum(), Long::sum);
+		}
+		return counts;
+	}
+
+
+	/**
+	 * Returns the counts of the calls attributed to an operation.
+	 * @param operation the operation as returned by {@link RunInfo#describe()}, e.g. "Query:SELECT * FROM Cities",
+	 * 		or {@link #NO_OPERATION}
+	 * @return the counts, sorted by call name
+	 */
+	public Map<String,Long> getCounts(String operation)
+	{
+		Map<String,Long> counts = new TreeMap<>();
+		Map<String,Stat> calls = stats_.get(operation);
+		if (calls != null)
+		{
+			for (Map.Entry<String,Stat> e : calls.entrySet())
+				counts.put(e.getKey(), e.getValue().count.sum());
+		}
+		return counts;
+	}
+
+
+	/**
+	 * Clears all counts.
+	 */
+	public void reset()
+	{
+		stats_.clear();
+	}
+
+
+	@Override public String toString()
+	{
+		return "RoundTripCounter" + getCounts();
+	}
+
+
+	private static final Set<String> COUNTED_GETTERS = Set.of("getMetaData", "getParameterMetaData", "getGeneratedKeys",
+		"getResultSet", "getMoreResults", "getWarnings", "getTables", "getColumns", "getPrimaryKeys", "getIndexInfo");
+	private static final Set<String> NOT_COUNTED = Set.of("wasNull", "unwrap", "findColumn", "nativeSQL", "addBatch");
+	private final ThreadLocal<RunInfo> current_ = new ThreadLocal<>();
+	private final Map<String,Map<String,Stat>> stats_ = new ConcurrentHashMap<>();
+}
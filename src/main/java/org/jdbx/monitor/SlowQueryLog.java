@@ -0,0 +1,322 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.monitor;
+
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.jdbx.JdbxListener;
+import org.jdbx.RunInfo;
+
+
+/**
+ * SlowQueryLog is a JdbxListener which reports operations (queries, updates, batches and executes)
+ * whose total time exceeds a threshold to a {@link Sink}. Statement preparations and connection retrievals
+ * are only reported if a threshold is {@link #setThreshold(RunInfo.Type, Duration) set} for their type.
+ * An entry contains the SQL command, the parameter values, execute and fetch time, rows and
+ * the identity of the connection. Parameter values are retained but only formatted when an
+ * entry is printed, so fast operations do not pay for the log.
+ * <pre><code>
+ * Jdbx.addListener(new SlowQueryLog(Duration.ofMillis(200), SlowQueryLog.Sink.of(System.getLogger("sql"))));
+ * </code></pre>
+ */
+public class SlowQueryLog implements JdbxListener
+{
+	/**
+	 * Receives the entries of slow operations.
+	 */
+	@FunctionalInterface
+	public interface Sink
+	{
+		/**
+		 * Returns a Sink which logs entries as warnings.
+		 * @param logger a logger
+		 * @return the sink
+		 */
+		public static Sink of(System.Logger logger)
+		{
+			return entry -> logger.log(System.Logger.Level.WARNING, entry);
+		}
+
+
+		/**
+		 * Called when a slow operation ended. This is called synchronously by the thread
+		 * which ran the operation.
+		 * @param entry describes the operation
+		 */
+		public void log(Entry entry);
+	}
+
+
+	/**
+	 * Describes a slow operation.
+	 */
+	public static class Entry
+	{
+		private Entry(RunInfo run)
+		{
+			Connection con = run.getConnection();
+			type_			= run.getType();
+			sql_			= run.getSql();
+			params_			= run.getParams();
+			totalNanos_		= run.getTotalNanos();
+			executeNanos_	= run.getExecuteNanos();
+			fetchNanos_		= run.getFetchNanos();
+			rows_			= run.getRows();
+			updateCount_	= run.getUpdateCount();
+			error_			= run.getError();
+			thread_			= run.getThread().getName();
+			connection_		= con != null ? con.getClass().getName() + '@' + Integer.toHexString(System.identityHashCode(con)) : null;
+		}
+
+
+		/**
+		 * @return the operation type
+		 */
+		public RunInfo.Type getType()
+		{
+			return type_;
+		}
+
+
+		/**
+		 * @return the SQL command or null if not known
+		 */
+		public String getSql()
+		{
+			return sql_;
+		}
+
+
+		/**
+		 * @return the parameter values or an empty list if not known
+		 * @see RunInfo#getParams()
+		 */
+		public List<Object> getParams()
+		{
+			return params_;
+		}
+
+
+		/**
+		 * @return the total time in nanoseconds
+		 */
+		public long getTotalNanos()
+		{
+			return totalNanos_;
+		}
+
+
+		/**
+		 * @return the time in nanoseconds needed to execute the JDBC statement or -1 if not executed
+		 */
+		public long getExecuteNanos()
+		{
+			return executeNanos_;
+		}
+
+
+		/**
+		 * @return the time in nanoseconds spent after the execution, e.g. to fetch rows, or -1 if not executed
+		 */
+		public long getFetchNanos()
+		{
+			return fetchNanos_;
+		}
+
+
+		/**
+		 * @return the number of read rows
+		 */
+		public long getRows()
+		{
+			return rows_;
+		}
+
+
+		/**
+		 * @return the update count or -1 if not available
+		 */
+		public long getUpdateCount()
+		{
+			return updateCount_;
+		}
+
+
+		/**
+		 * @return the error or null
+		 */
+		public Throwable getError()
+		{
+			return error_;
+		}
+
+
+		/**
+		 * @return the name of the thread which ran the operation
+		 */
+		public String getThread()
+		{
+			return thread_;
+		}
+
+
+		/**
+		 * @return the identity of the connection, consisting of class name and identity hash code,
+		 * 		or null if not known
+		 */
+		public String getConnection()
+		{
+			return connection_;
+		}
+
+
+		/**
+		 * @return the execution plan or null if not captured
+		 * @see ExplainCapture
+		 */
+		public String getPlan()
+		{
+			return plan_;
+		}
+
+
+		void setPlan(String plan)
+		{
+			plan_ = plan;
+		}
+
+
+		@Override public String toString()
+		{
+			StringBuilder s = new StringBuilder("slow ");
+			s.append(type_.getName()).append(": ").append(micros(totalNanos_));
+			s.append(" (execute ").append(micros(executeNanos_)).append(", fetch ").append(micros(fetchNanos_)).append(')');
+			if (rows_ > 0)
+				s.append(", rows=").append(rows_);
+			if (updateCount_ >= 0)
+				s.append(", updateCount=").append(updateCount_);
+			if (error_ != null)
+				s.append(", error=").append(error_);
+			s.append(", thread=").append(thread_);
+			if (connection_ != null)
+				s.append(", con=").append(connection_);
+			if (sql_ != null)
+				s.append("\n  ").append(sql_);
+			if (!params_.isEmpty())
+			{
+				s.append("\n  params: [");
+				for (int i=0; i<params_.size(); i++)
+				{
+					if (i > 0)
+						s.append(", ");
+					Object value = params_.get(i);
+					if (value instanceof CharSequence)
+						s.append('\'').append(value).append('\'');
+					else
+						s.append(value);
+				}
+				s.append(']');
+			}
+			if (plan_ != null)
+				s.append("\n  plan:\n").append(plan_);
+			return s.toString();
+		}
+
+
+		private static String micros(long nanos)
+		{
+			return nanos >= 0 ? TimeUnit.NANOSECONDS.toMicros(nanos) + "us" : "-";
+		}
+
+
+		private final RunInfo.Type type_;
+		private final String sql_;
+		private final List<Object> params_;
+		private final long totalNanos_;
+		private final long executeNanos_;
+		private final long fetchNanos_;
+		private final long rows_;
+		private final long updateCount_;
+		private final Throwable error_;
+		private final String thread_;
+		private final String connection_;
+		private volatile String plan_;
+	}
+
+
+	/**
+	 * Creates a new SlowQueryLog.
+	 * @param threshold the threshold for all types of SQL commands
+	 * @param sink receives the log entries
+	 */
+	public SlowQueryLog(Duration threshold, Sink sink)
+	{
+		if (sink == null)
+			throw new IllegalArgumentException("sink is null");
+		sink_ = sink;
+		thresholdNanos_ = new long[RunInfo.Type.values().length];
+		for (RunInfo.Type type : RunInfo.Type.values())
+		{
+			if (type.isCommand())
+				setThreshold(type, threshold);
+			else
+				thresholdNanos_[type.ordinal()] = Long.MAX_VALUE;
+		}
+	}
+
+
+	/**
+	 * Sets the threshold for an operation type.
+	 * @param type the type
+	 * @param threshold the threshold
+	 * @return this
+	 */
+	public SlowQueryLog setThreshold(RunInfo.Type type, Duration threshold)
+	{
+		if (type == null)
+			throw new IllegalArgumentException("type is null");
+		if ((threshold == null) || threshold.isNegative())
+			throw new IllegalArgumentException("threshold must be >= 0, is " + threshold);
+		thresholdNanos_[type.ordinal()] = threshold.toNanos();
+		return this;
+	}
+
+
+	/**
+	 * Returns the threshold for an operation type.
+	 * @param type the type
+	 * @return the threshold
+	 */
+	public Duration getThreshold(RunInfo.Type type)
+	{
+		return Duration.ofNanos(thresholdNanos_[type.ordinal()]);
+	}
+
+
+	@Override public void ended(RunInfo run)
+	{
+		if (run.getTotalNanos() >= thresholdNanos_[run.getType().ordinal()])
+			sink_.log(new Entry(run));
+	}
+
+
+	private final Sink sink_;
+	private final long[] thresholdNanos_;
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.monitor;
+
+
+/**
+ * SqlFingerprint normalizes SQL commands into a fingerprint which identifies the statement template:
+ * String and numeric literals are replaced by <code>?</code>, comments are removed,
+ * whitespace is collapsed and lists of parameters like <code>IN (?, ?, ?)</code> are reduced to
+ * <code>IN (?, ...)</code>. Quoted identifiers are kept.
+ * <pre><code>
+ * SqlFingerprint.of("SELECT * FROM Cities  WHERE id = 42 AND name IN ('a', 'b')")
+ * // returns "SELECT * FROM Cities WHERE id = ? AND name IN (?, ...)"
+ * </code></pre>
+ */
+public class SqlFingerprint
+{
+	/**
+	 * Returns the fingerprint of a SQL command.
+	 * @param sql the SQL command
+	 * @return the fingerprint or null if sql is null
+	 */
+	public static String of(String sql)
+	{
+		if (sql == null)
+			return null;
+
+		int length = sql.length();
+		StringBuilder s = new StringBuilder(length);
+		boolean space = false;
+		for (int i=0; i<length; i++)
+		{
+			char c = sql.charAt(i);
+			if (Character.isWhitespace(c))
+			{
+				space = s.length() > 0;
+				continue;
+			}
+			else if ((c == '-') && (i + 1 < length) && (sql.charAt(i + 1) == '-'))
+			{
+				// line comment
+				while ((i + 1 < length) && (sql.charAt(i + 1) != '\n'))
+					i++;
+				space = s.length() > 0;
+				continue;
+			}
+			else if ((c == '/') && (i + 1 < length) && (sql.charAt(i + 1) == '*'))
+			{
+				// block comment
+				int end = sql.indexOf("*/", i + 2);
+				i = end < 0 ? length : end + 1;
+				space = s.length() > 0;
+				continue;
+			}
+
+			if (space)
+			{
+				s.append(' ');
+				space = false;
+			}
+
+			if (c == '\'')
+			{
+				// string literal, '' is an escaped quote
+				while (++i < length)
+				{
+					if (sql.charAt(i) == '\'')
+					{
+						if ((i + 1 < length) && (sql.charAt(i + 1) == '\''))
+							i++;
+						else
+							break;
+					}
+				}
+				appendParam(s);
+			}
+			else if ((c == '"') || (c == '`'))
+			{
+				// quoted identifier
+				int end = sql.indexOf(c, i + 1);
+				end = end < 0 ? length - 1 : end;
+				s.append(sql, i, end + 1);
+				i = end;
+			}
+			else if (isNumberStart(sql, i, s))
+			{
+				while ((i + 1 < length) && isNumberPart(sql.charAt(i + 1)))
+					i++;
+				appendParam(s);
+			}
+			else if (c == '?')
+				appendParam(s);
+			else
+				s.append(c);
+		}
+		return s.toString();
+	}
+
+
+	private static boolean isNumberStart(String sql, int i, StringBuilder s)
+	{
+		char c = sql.charAt(i);
+		if ((c < '0') || (c > '9'))
+		{
+			if ((c != '.') || (i + 1 >= sql.length()) || !Character.isDigit(sql.charAt(i + 1)))
+				return false;
+		}
+		// digits which are part of an identifier like t1 are no literals
+		if (s.length() > 0)
+		{
+			char prev = s.charAt(s.length() - 1);
+			if (Character.isLetterOrDigit(prev) || (prev == '_') || (prev == '$') || (prev == '"') || (prev == '`'))
+				return false;
+		}
+		return true;
+	}
+
+
+	private static boolean isNumberPart(char c)
+	{
+		return Character.isLetterOrDigit(c) || (c == '.');
+	}
+
+
+	/**
+	 * Appends a parameter placeholder and collapses a list of placeholders "?, ?" into "?, ...".
+	 */
+	private static void appendParam(StringBuilder s)
+	{
+		int n = s.length();
+		if (endsWith(s, n, "?, ...,") || endsWith(s, n, "?, ..., "))
+		{
+			s.setLength(s.lastIndexOf(","));
+			return;
+		}
+		if (endsWith(s, n, "?,") || endsWith(s, n, "?, "))
+		{
+			s.setLength(s.lastIndexOf(",") + 1);
+			s.append(" ...");
+			return;
+		}
+		s.append('?');
+	}
+
+
+	private static boolean endsWith(StringBuilder s, int n, String suffix)
+	{
+		int start = n - suffix.length();
+		if (start < 0)
+			return false;
+		for (int i=0; i<suffix.length(); i++)
+		{
+			if (s.charAt(start + i) != suffix.charAt(i))
+				return false;
+		}
+		return true;
+	}
+}
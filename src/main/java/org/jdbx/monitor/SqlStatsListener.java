@@ -0,0 +1,435 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.monitor;
+
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.jdbx.JdbxListener;
+import org.jdbx.RunInfo;
+
+
+/**
+ * SqlStatsListener aggregates statistics per {@link SqlFingerprint SQL fingerprint},
+ * similar to pg_stat_statements but on the client side.
+ * For every fingerprint it counts the calls, errors, rows and the total and maximum time.
+ * The preparation of statements is not counted.
+ * Counters are {@link LongAdder LongAdders} and the fingerprint of a SQL string is cached,
+ * therefore recording is cheap enough to be always on.
+ * <p>
+ * Optionally the statistics are also attributed to the call site, i.e. the first stack frame outside of JDBX.
+ * Since walking the stack is comparatively expensive, only a configurable fraction of the runs is sampled,
+ * see {@link #setCallSiteSampleRate(double)}.
+ * <pre><code>
+ * SqlStatsListener stats = new SqlStatsListener();
+ * Jdbx.addListener(stats);
+ * ...
+ * for (SqlStatsListener.Snapshot s : stats.getTop(10, SqlStatsListener.Snapshot.BY_TOTAL_TIME))
+ *     System.out.println(s);
+ * </code></pre>
+ */
+public class SqlStatsListener implements JdbxListener
+{
+	/**
+	 * An immutable snapshot of the statistics of a fingerprint.
+	 */
+	public static class Snapshot
+	{
+		/**
+		 * Orders snapshots by descending total time.
+		 */
+		public static final Comparator<Snapshot> BY_TOTAL_TIME = Comparator.comparingLong(Snapshot::getTotalNanos).reversed();
+
+		/**
+		 * Orders snapshots by descending max time.
+		 */
+		public static final Comparator<Snapshot> BY_MAX_TIME = Comparator.comparingLong(Snapshot::getMaxNanos).reversed();
+
+		/**
+		 * Orders snapshots by descending calls.
+		 */
+		public static final Comparator<Snapshot> BY_CALLS = Comparator.comparingLong(Snapshot::getCalls).reversed();
+
+		/**
+		 * Orders snapshots by descending errors.
+		 */
+		public static final Comparator<Snapshot> BY_ERRORS = Comparator.comparingLong(Snapshot::getErrors).reversed();
+
+
+		private Snapshot(String fingerprint, long calls, long errors, long rows, long totalNanos, long maxNanos, List<CallSiteSnapshot> callSites)
+		{
+			callSites_	 = callSites;
+			fingerprint_ = fingerprint;
+			calls_		 = calls;
+			errors_		 = errors;
+			rows_		 = rows;
+			totalNanos_	 = totalNanos;
+			maxNanos_	 = maxNanos;
+		}
+
+
+		/**
+		 * @return the fingerprint
+		 */
+		public String getFingerprint()
+		{
+			return fingerprint_;
+		}
+
+
+		/**
+		 * @return the number of calls
+		 */
+		public long getCalls()
+		{
+			return calls_;
+		}
+
+
+		/**
+		 * @return the number of failed calls
+		 */
+		public long getErrors()
+		{
+			return errors_;
+		}
+
+
+		/**
+		 * @return the number of rows read by queries plus the update counts of updates, batches and executes
+		 */
+		public long getRows()
+		{
+			return rows_;
+		}
+
+
+		/**
+		 * @return the total time of all calls in nanoseconds
+		 */
+		public long getTotalNanos()
+		{
+			return totalNanos_;
+		}
+
+
+		/**
+		 * @return the maximum time of a call in nanoseconds
+		 */
+		public long getMaxNanos()
+		{
+			return maxNanos_;
+		}
+
+
+		/**
+		 * @return the mean time of a call in nanoseconds
+		 */
+		public double getMeanNanos()
+		{
+			return calls_ > 0 ? totalNanos_ / (double)calls_ : 0.0;
+		}
+
+
+		/**
+		 * @return the statistics of the sampled calls per call site, ordered by descending total time,
+		 * 		or an empty list if call sites are not sampled
+		 */
+		public List<CallSiteSnapshot> getCallSites()
+		{
+			return callSites_;
+		}
+
+
+		@Override public String toString()
+		{
+			return "calls=" + calls_ + ", errors=" + errors_ + ", rows=" + rows_
+				+ ", total=" + totalNanos_ / 1000 + "us, max=" + maxNanos_ / 1000 + "us: " + fingerprint_;
+		}
+
+
+		private final List<CallSiteSnapshot> callSites_;
+		private final String fingerprint_;
+		private final long calls_;
+		private final long errors_;
+		private final long rows_;
+		private final long totalNanos_;
+		private final long maxNanos_;
+	}
+
+
+	/**
+	 * An immutable snapshot of the statistics of the sampled calls of a fingerprint at a call site.
+	 */
+	public static class CallSiteSnapshot
+	{
+		private CallSiteSnapshot(StackTraceElement callSite, long calls, long totalNanos, long maxNanos)
+		{
+			callSite_	= callSite;
+			calls_		= calls;
+			totalNanos_	= totalNanos;
+			maxNanos_	= maxNanos;
+		}
+
+
+		/**
+		 * @return the call site
+		 */
+		public StackTraceElement getCallSite()
+		{
+			return callSite_;
+		}
+
+
+		/**
+		 * @return the number of sampled calls
+		 */
+		public long getCalls()
+		{
+			return calls_;
+		}
+
+
+		/**
+		 * @return the total time of the sampled calls in nanoseconds
+		 */
+		public long getTotalNanos()
+		{
+			return totalNanos_;
+		}
+
+
+		/**
+		 * @return the maximum time of a sampled call in nanoseconds
+		 */
+		public long getMaxNanos()
+		{
+			return maxNanos_;
+		}
+
+
+		@Override public String toString()
+		{
+			return "calls=" + calls_ + ", total=" + totalNanos_ / 1000 + "us, max=" + maxNanos_ / 1000 + "us at " + callSite_;
+		}
+
+
+		private final StackTraceElement callSite_;
+		private final long calls_;
+		private final long totalNanos_;
+		private final long maxNanos_;
+	}
+
+
+	private static class SiteEntry
+	{
+		public void record(long nanos)
+		{
+			calls_.increment();
+			totalNanos_.add(nanos);
+			maxNanos_.accumulate(nanos);
+		}
+
+
+		private final LongAdder calls_ = new LongAdder();
+		private final LongAdder totalNanos_ = new LongAdder();
+		private final LongAccumulator maxNanos_ = new LongAccumulator(Math::max, 0L);
+	}
+
+
+	private static class Entry
+	{
+		public Entry(String fingerprint)
+		{
+			fingerprint_ = fingerprint;
+		}
+
+
+		public void record(RunInfo run, StackTraceElement callSite)
+		{
+			long nanos = run.getTotalNanos();
+			if (callSite != null)
+				callSites_.computeIfAbsent(callSite, c -> new SiteEntry()).record(nanos);
+			calls_.increment();
+			totalNanos_.add(nanos);
+			maxNanos_.accumulate(nanos);
+			if (run.isFailed())
+				errors_.increment();
+			long rows = run.getRows() + Math.max(0L, run.getUpdateCount());
+			if (rows > 0)
+				rows_.add(rows);
+		}
+
+
+		public Snapshot snapshot()
+		{
+			List<CallSiteSnapshot> callSites = new ArrayList<>(callSites_.size());
+			for (Map.Entry<StackTraceElement,SiteEntry> e : callSites_.entrySet())
+			{
+				SiteEntry site = e.getValue();
+				callSites.add(new CallSiteSnapshot(e.getKey(), site.calls_.sum(), site.totalNanos_.sum(), site.maxNanos_.get()));
+			}
+			callSites.sort(Comparator.comparingLong(CallSiteSnapshot::getTotalNanos).reversed());
+			return new Snapshot(fingerprint_, calls_.sum(), errors_.sum(), rows_.sum(), totalNanos_.sum(), maxNanos_.get(), callSites);
+		}
+
+
+		private final String fingerprint_;
+		private final Map<StackTraceElement,SiteEntry> callSites_ = new ConcurrentHashMap<>();
+		private final LongAdder calls_ = new LongAdder();
+		private final LongAdder errors_ = new LongAdder();
+		private final LongAdder rows_ = new LongAdder();
+		private final LongAdder totalNanos_ = new LongAdder();
+		private final LongAccumulator maxNanos_ = new LongAccumulator(Math::max, 0L);
+	}
+
+
+	/**
+	 * Creates a new SqlStatsListener which caches the fingerprints of up to 10000 distinct SQL strings.
+	 */
+	public SqlStatsListener()
+	{
+		this(10000);
+	}
+
+
+	/**
+	 * Creates a new SqlStatsListener.
+	 * @param maxCachedSql the maximum number of distinct SQL strings whose fingerprint is cached.
+	 * 		SQL strings which contain inlined literals can have an unbounded number of variants,
+	 * 		once the limit is reached the fingerprint of an uncached SQL string is computed on each call.
+	 */
+	public SqlStatsListener(int maxCachedSql)
+	{
+		if (maxCachedSql < 0)
+			throw new IllegalArgumentException("maxCachedSql must be >= 0, is " + maxCachedSql);
+		maxCachedSql_ = maxCachedSql;
+	}
+
+
+	/**
+	 * Sets the fraction of runs whose call site is captured. The default is 0, i.e. no call sites are captured.
+	 * @param rate the rate between 0 and 1
+	 * @return this
+	 */
+	public SqlStatsListener setCallSiteSampleRate(double rate)
+	{
+		if ((rate < 0.0) || (rate > 1.0))
+			throw new IllegalArgumentException("rate must be in [0,1], is " + rate);
+		callSiteSampleRate_ = rate;
+		return this;
+	}
+
+
+	/**
+	 * @return the fraction of runs whose call site is captured
+	 */
+	public double getCallSiteSampleRate()
+	{
+		return callSiteSampleRate_;
+	}
+
+
+	@Override public void started(RunInfo run)
+	{
+		double rate = callSiteSampleRate_;
+		if ((rate > 0.0) && (run.getSql() != null) && ((rate >= 1.0) || (ThreadLocalRandom.current().nextDouble() < rate)))
+			run.setAttachment(this, CallSites.find());
+	}
+
+
+	@Override public void ended(RunInfo run)
+	{
+		String sql = run.getSql();
+		if ((sql != null) && (run.getType() != RunInfo.Type.PREPARE))
+			getEntry(sql).record(run, callSiteSampleRate_ > 0.0 ? (StackTraceElement)run.getAttachment(this) : null);
+	}
+
+
+	private Entry getEntry(String sql)
+	{
+		Entry entry = bySql_.get(sql);
+		if (entry == null)
+		{
+			String fingerprint = SqlFingerprint.of(sql);
+			entry = byFingerprint_.computeIfAbsent(fingerprint, Entry::new);
+			if (bySql_.size() < maxCachedSql_)
+				bySql_.putIfAbsent(sql, entry);
+		}
+		return entry;
+	}
+
+
+	/**
+	 * Returns a snapshot of the statistics of a SQL command.
+	 * @param sql a SQL command or fingerprint
+	 * @return the snapshot or null if no calls were recorded for the fingerprint of the command
+	 */
+	public Snapshot getSnapshot(String sql)
+	{
+		Entry entry = byFingerprint_.get(SqlFingerprint.of(sql));
+		return entry != null ? entry.snapshot() : null;
+	}
+
+
+	/**
+	 * @return a snapshot of the statistics of all fingerprints
+	 */
+	public List<Snapshot> getSnapshots()
+	{
+		List<Snapshot> list = new ArrayList<>(byFingerprint_.size());
+		for (Entry entry : byFingerprint_.values())
+			list.add(entry.snapshot());
+		return list;
+	}
+
+
+	/**
+	 * Returns the top statistics.
+	 * @param n the maximum number of returned snapshots
+	 * @param order the order, e.g. {@link Snapshot#BY_TOTAL_TIME}
+	 * @return the snapshots
+	 */
+	public List<Snapshot> getTop(int n, Comparator<Snapshot> order)
+	{
+		List<Snapshot> list = getSnapshots();
+		list.sort(order);
+		return n < list.size() ? new ArrayList<>(list.subList(0, n)) : list;
+	}
+
+
+	/**
+	 * Clears all statistics.
+	 */
+	public void reset()
+	{
+		bySql_.clear();
+		byFingerprint_.clear();
+	}
+
+
+	private final int maxCachedSql_;
+	private volatile double callSiteSampleRate_;
+	private final ConcurrentHashMap<String,Entry> bySql_ = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String,Entry> byFingerprint_ = new ConcurrentHashMap<>();
+}
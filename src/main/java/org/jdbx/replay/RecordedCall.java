@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.replay;
+
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * A recorded statement execution.
+ */
+class RecordedCall
+{
+	public static final byte QUERY		= 1;
+	public static final byte UPDATE		= 2;
+	public static final byte BATCH		= 3;
+	public static final byte EXECUTE	= 4;
+
+
+	/**
+	 * The columns and rows of a recorded ResultSet.
+	 */
+	public static class Table
+	{
+		public Table(String[] labels, int[] types)
+		{
+			this.labels	= labels;
+			this.types	= types;
+		}
+
+
+		public final String[] labels;
+		public final int[] types;
+		public final List<Object[]> rows = new ArrayList<>();
+	}
+
+
+	public RecordedCall(byte kind, String sql, Object[] params)
+	{
+		this.kind	= kind;
+		this.sql	= sql;
+		this.params	= params;
+	}
+
+
+	public byte kind;
+	public final String sql;
+	public final Object[] params;
+	public long executeNanos;
+	public long fetchNanos;
+	public long updateCount = -1L;
+	public int[] batchCounts;
+	public Table result;
+	public Table keys;
+}
@@ -0,0 +1,466 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.replay;
+
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Defines the binary format of a recording: a header followed by a sequence of calls.
+ * Numbers are written as zig-zag encoded variable length integers. SQL commands and column labels
+ * are written once and then referenced by their index. Values are prefixed by a type tag.
+ */
+class RecordingFormat
+{
+	private static final byte[] MAGIC = "JDBXREC1".getBytes(StandardCharsets.US_ASCII);
+
+	private static final int NULL			= 0;
+	private static final int BOOLEAN		= 1;
+	private static final int BYTE			= 2;
+	private static final int SHORT			= 3;
+	private static final int INT			= 4;
+	private static final int LONG			= 5;
+	private static final int FLOAT			= 6;
+	private static final int DOUBLE			= 7;
+	private static final int STRING		= 8;
+	private static final int BIGDECIMAL		= 9;
+	private static final int BYTES			= 10;
+	private static final int DATE			= 11;
+	private static final int TIME			= 12;
+	private static final int TIMESTAMP		= 13;
+	private static final int LOCALDATE		= 14;
+	private static final int LOCALDATETIME	= 15;
+	private static final int ROW			= 16;
+
+	private static final int HAS_RESULT		= 1;
+	private static final int HAS_KEYS		= 2;
+	private static final int HAS_COUNTS		= 4;
+
+
+	/**
+	 * Tests if a value can be recorded as is. Other values are recorded as String.
+	 */
+	public static boolean isSupported(Object value)
+	{
+		return (value == null) || (value instanceof Boolean) || (value instanceof Byte) || (value instanceof Short)
+			|| (value instanceof Integer) || (value instanceof Long) || (value instanceof Float) || (value instanceof Double)
+			|| (value instanceof String) || (value instanceof BigDecimal) || (value instanceof byte[])
+			|| (value instanceof Date) || (value instanceof Time) || (value instanceof Timestamp)
+			|| (value instanceof LocalDate) || (value instanceof LocalDateTime);
+	}
+
+
+	//------------------------------
+	// writer
+	//------------------------------
+
+
+	public static class Writer
+	{
+		public Writer(DataOutputStream out) throws IOException
+		{
+			out_ = out;
+			out_.write(MAGIC);
+		}
+
+
+		public void write(RecordedCall call) throws IOException
+		{
+			out_.writeByte(call.kind);
+			writeRef(call.sql);
+			writeVar(call.params.length);
+			for (Object param : call.params)
+				writeValue(param);
+			writeVar(call.executeNanos);
+			writeVar(call.fetchNanos);
+			writeVar(call.updateCount);
+			int flags = (call.result != null ? HAS_RESULT : 0) | (call.keys != null ? HAS_KEYS : 0) | (call.batchCounts != null ? HAS_COUNTS : 0);
+			out_.writeByte(flags);
+			if (call.batchCounts != null)
+			{
+				writeVar(call.batchCounts.length);
+				for (int count : call.batchCounts)
+					writeVar(count);
+			}
+			if (call.result != null)
+				writeTable(call.result);
+			if (call.keys != null)
+				writeTable(call.keys);
+		}
+
+
+		private void writeTable(RecordedCall.Table table) throws IOException
+		{
+			writeVar(table.labels.length);
+			for (int i=0; i<table.labels.length; i++)
+			{
+				writeRef(table.labels[i]);
+				writeVar(table.types[i]);
+			}
+			writeVar(table.rows.size());
+			for (Object[] row : table.rows)
+			{
+				for (Object value : row)
+					writeValue(value);
+			}
+		}
+
+
+		private void writeValue(Object value) throws IOException
+		{
+			if (value == null)
+				out_.writeByte(NULL);
+			else if (value instanceof Integer)
+			{
+				out_.writeByte(INT);
+				writeVar(((Integer)value).intValue());
+			}
+			else if (value instanceof Long)
+			{
+				out_.writeByte(LONG);
+				writeVar(((Long)value).longValue());
+			}
+			else if (value instanceof String)
+			{
+				out_.writeByte(STRING);
+				writeString((String)value);
+			}
+			else if (value instanceof Boolean)
+			{
+				out_.writeByte(BOOLEAN);
+				out_.writeBoolean(((Boolean)value).booleanValue());
+			}
+			else if (value instanceof Byte)
+			{
+				out_.writeByte(BYTE);
+				out_.writeByte(((Byte)value).byteValue());
+			}
+			else if (value instanceof Short)
+			{
+				out_.writeByte(SHORT);
+				writeVar(((Short)value).shortValue());
+			}
+			else if (value instanceof Float)
+			{
+				out_.writeByte(FLOAT);
+				out_.writeFloat(((Float)value).floatValue());
+			}
+			else if (value instanceof Double)
+			{
+				out_.writeByte(DOUBLE);
+				out_.writeDouble(((Double)value).doubleValue());
+			}
+			else if (value instanceof BigDecimal)
+			{
+				out_.writeByte(BIGDECIMAL);
+				writeString(value.toString());
+			}
+			else if (value instanceof byte[])
+			{
+				byte[] bytes = (byte[])value;
+				out_.writeByte(BYTES);
+				writeVar(bytes.length);
+				out_.write(bytes);
+			}
+			else if (value instanceof Date)
+			{
+				out_.writeByte(DATE);
+				writeVar(((Date)value).getTime());
+			}
+			else if (value instanceof Time)
+			{
+				out_.writeByte(TIME);
+				writeVar(((Time)value).getTime());
+			}
+			else if (value instanceof Timestamp)
+			{
+				Timestamp ts = (Timestamp)value;
+				out_.writeByte(TIMESTAMP);
+				writeVar(ts.getTime());
+				writeVar(ts.getNanos());
+			}
+			else if (value instanceof LocalDate)
+			{
+				out_.writeByte(LOCALDATE);
+				writeVar(((LocalDate)value).toEpochDay());
+			}
+			else if (value instanceof LocalDateTime)
+			{
+				LocalDateTime dt = (LocalDateTime)value;
+				out_.writeByte(LOCALDATETIME);
+				writeVar(dt.toEpochSecond(ZoneOffset.UTC));
+				writeVar(dt.getNano());
+			}
+			else if (value instanceof Object[])
+			{
+				// the parameters of a batched command
+				Object[] row = (Object[])value;
+				out_.writeByte(ROW);
+				writeVar(row.length);
+				for (Object v : row)
+					writeValue(v);
+			}
+			else
+			{
+				out_.writeByte(STRING);
+				writeString(value.toString());
+			}
+		}
+
+
+		// 0 = null, 1 = new string follows, n = reference to string n - 2
+		private void writeRef(String s) throws IOException
+		{
+			if (s == null)
+				writeVar(0);
+			else
+			{
+				Integer index = refs_.get(s);
+				if (index != null)
+					writeVar(index.intValue() + 2);
+				else
+				{
+					refs_.put(s, Integer.valueOf(refs_.size()));
+					writeVar(1);
+					writeString(s);
+				}
+			}
+		}
+
+
+		private void writeString(String s) throws IOException
+		{
+			byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+			writeVar(bytes.length);
+			out_.write(bytes);
+		}
+
+
+		private void writeVar(long value) throws IOException
+		{
+			long v = (value << 1) ^ (value >> 63);
+			while ((v & ~0x7FL) != 0L)
+			{
+				out_.writeByte((int)((v & 0x7F) | 0x80));
+				v >>>= 7;
+			}
+			out_.writeByte((int)v);
+		}
+
+
+		public void flush() throws IOException
+		{
+			out_.flush();
+		}
+
+
+		public void close() throws IOException
+		{
+			out_.close();
+		}
+
+
+		private final DataOutputStream out_;
+		private final Map<String,Integer> refs_ = new HashMap<>();
+	}
+
+
+	//------------------------------
+	// reader
+	//------------------------------
+
+
+	public static class Reader
+	{
+		public Reader(DataInputStream in) throws IOException
+		{
+			in_ = in;
+			byte[] magic = new byte[MAGIC.length];
+			in_.readFully(magic);
+			for (int i=0; i<MAGIC.length; i++)
+			{
+				if (magic[i] != MAGIC[i])
+					throw new IOException("not a JDBX recording");
+			}
+		}
+
+
+		/**
+		 * @return the next call or null at the end of the recording
+		 */
+		public RecordedCall read() throws IOException
+		{
+			int kind = in_.read();
+			if (kind < 0)
+				return null;
+			try
+			{
+				String sql = readRef();
+				Object[] params = new Object[readInt()];
+				for (int i=0; i<params.length; i++)
+					params[i] = readValue();
+				RecordedCall call = new RecordedCall((byte)kind, sql, params);
+				call.executeNanos	= readVar();
+				call.fetchNanos		= readVar();
+				call.updateCount	= readVar();
+				int flags = in_.readByte();
+				if ((flags & HAS_COUNTS) != 0)
+				{
+					call.batchCounts = new int[readInt()];
+					for (int i=0; i<call.batchCounts.length; i++)
+						call.batchCounts[i] = readInt();
+				}
+				if ((flags & HAS_RESULT) != 0)
+					call.result = readTable();
+				if ((flags & HAS_KEYS) != 0)
+					call.keys = readTable();
+				return call;
+			}
+			catch (EOFException e)
+			{
+				// a truncated last call, e.g. if the application was killed
+				return null;
+			}
+		}
+
+
+		private RecordedCall.Table readTable() throws IOException
+		{
+			int cols = readInt();
+			String[] labels = new String[cols];
+			int[] types = new int[cols];
+			for (int i=0; i<cols; i++)
+			{
+				labels[i] = readRef();
+				types[i]  = readInt();
+			}
+			RecordedCall.Table table = new RecordedCall.Table(labels, types);
+			int rows = readInt();
+			for (int r=0; r<rows; r++)
+			{
+				Object[] row = new Object[cols];
+				for (int i=0; i<cols; i++)
+					row[i] = readValue();
+				table.rows.add(row);
+			}
+			return table;
+		}
+
+
+		private Object readValue() throws IOException
+		{
+			int tag = in_.readByte();
+			switch (tag)
+			{
+				case NULL:			return null;
+				case BOOLEAN:		return Boolean.valueOf(in_.readBoolean());
+				case BYTE:			return Byte.valueOf(in_.readByte());
+				case SHORT:			return Short.valueOf((short)readVar());
+				case INT:			return Integer.valueOf(readInt());
+				case LONG:			return Long.valueOf(readVar());
+				case FLOAT:			return Float.valueOf(in_.readFloat());
+				case DOUBLE:		return Double.valueOf(in_.readDouble());
+				case STRING:		return readString();
+				case BIGDECIMAL:	return new BigDecimal(readString());
+				case BYTES:
+					byte[] bytes = new byte[readInt()];
+					in_.readFully(bytes);
+					return bytes;
+				case DATE:			return new Date(readVar());
+				case TIME:			return new Time(readVar());
+				case TIMESTAMP:
+					Timestamp ts = new Timestamp(readVar());
+					ts.setNanos(readInt());
+					return ts;
+				case LOCALDATE:		return LocalDate.ofEpochDay(readVar());
+				case LOCALDATETIME:	return LocalDateTime.ofEpochSecond(readVar(), readInt(), ZoneOffset.UTC);
+				case ROW:
+					Object[] row = new Object[readInt()];
+					for (int i=0; i<row.length; i++)
+						row[i] = readValue();
+					return row;
+				default:			throw new IOException("invalid value tag " + tag);
+			}
+		}
+
+
+		private String readRef() throws IOException
+		{
+			int ref = readInt();
+			if (ref == 0)
+				return null;
+			else if (ref == 1)
+			{
+				String s = readString();
+				refs_.add(s);
+				return s;
+			}
+			else
+				return refs_.get(ref - 2);
+		}
+
+
+		private String readString() throws IOException
+		{
+			byte[] bytes = new byte[readInt()];
+			in_.readFully(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+
+		private int readInt() throws IOException
+		{
+			return (int)readVar();
+		}
+
+
+		private long readVar() throws IOException
+		{
+			long v = 0L;
+			int shift = 0;
+			int b;
+			do
+			{
+				b = in_.readUnsignedByte();
+				v |= (long)(b & 0x7F) << shift;
+				shift += 7;
+			}
+			while ((b & 0x80) != 0);
+			return (v >>> 1) ^ -(v & 1);
+		}
+
+
+		private final DataInputStream in_;
+		private final List<String> refs_ = new ArrayList<>();
+	}
+}
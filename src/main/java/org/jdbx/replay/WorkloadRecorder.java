@@ -0,0 +1,463 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.replay;
+
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.DataSource;
+
+
+/**
+ * WorkloadRecorder wraps JDBC connections into proxies which record every statement execution into a compact
+ * binary file: the SQL command, the parameters, the update counts or the rows read from the ResultSet,
+ * generated keys and the timings. For a batch the parameters of each batched command are recorded. The recording can be replayed by {@link WorkloadReplay} without the database.
+ * <pre><code>
+ * try (WorkloadRecorder recorder = new WorkloadRecorder(Path.of("workload.rec")))
+ * {
+ *     DataSource ds = recorder.wrap(dataSource);
+ *     ... // run the application
+ * }
+ * </code></pre>
+ * Only rows which were actually read by the application are recorded. Values are read via <code>ResultSet.getObject</code>,
+ * values of types not supported by the recording format (e.g. Blob, Clob, arrays) are recorded as strings.
+ * Multiple results returned by a statement and out parameters of CallableStatements are not recorded.
+ * Calls are written when the statement is executed again or closed, when the connection is closed
+ * or when the recorder is closed.
+ */
+public class WorkloadRecorder implements AutoCloseable
+{
+	/**
+	 * Creates a WorkloadRecorder which writes to a file.
+	 * @param file the file
+	 */
+	public WorkloadRecorder(Path file) throws IOException
+	{
+		this(Files.newOutputStream(file));
+	}
+
+
+	/**
+	 * Creates a WorkloadRecorder which writes to an OutputStream.
+	 * @param out the stream, closed when the recorder is closed
+	 */
+	public WorkloadRecorder(OutputStream out) throws IOException
+	{
+		writer_ = new RecordingFormat.Writer(new DataOutputStream(new BufferedOutputStream(out)));
+	}
+
+
+	/**
+	 * Wraps a connection. Statements and result sets obtained from the connection are wrapped too.
+	 * @param con a connection
+	 * @return the wrapped connection
+	 */
+	public Connection wrap(Connection con)
+	{
+		return (Connection)proxy(Connection.class, new ConHandler(con));
+	}
+
+
+	/**
+	 * Wraps a DataSource whose connections are wrapped.
+	 * @param dataSource a DataSource
+	 * @return the wrapped DataSource
+	 */
+	public DataSource wrap(DataSource dataSource)
+	{
+		return (DataSource)Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[] { DataSource.class }, (proxy, method, args) -> {
+			Object result = invoke(dataSource, method, args);
+			return result instanceof Connection ? wrap((Connection)result) : result;
+		});
+	}
+
+
+	/**
+	 * @return the number of recorded calls
+	 */
+	public synchronized long getCallCount()
+	{
+		return callCount_;
+	}
+
+
+	/**
+	 * Writes the pending calls of all open statements and closes the file.
+	 */
+	@Override public void close() throws IOException
+	{
+		for (StmtHandler stmt : openStmts_)
+			stmt.flush();
+		synchronized (this)
+		{
+			closed_ = true;
+			writer_.close();
+		}
+	}
+
+
+	private synchronized void write(RecordedCall call)
+	{
+		if (closed_)
+			return;
+		try
+		{
+			writer_.write(call);
+			callCount_++;
+		}
+		catch (IOException e)
+		{
+			// recording must not break the application
+			closed_ = true;
+		}
+	}
+
+
+	private static Object proxy(Class<?> type, InvocationHandler handler)
+	{
+		return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler);
+	}
+
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable
+	{
+		try
+		{
+			return method.invoke(target, args);
+		}
+		catch (InvocationTargetException e)
+		{
+			throw e.getCause();
+		}
+	}
+
+
+	/**
+	 * Handles the methods which must not be forwarded to the target.
+	 * @return the result or NOT_HANDLED
+	 */
+	private static Object invokeObjectMethod(Object proxy, Object target, Object parent, Method method, Object[] args)
+	{
+		switch (method.getName())
+		{
+			case "equals":
+				return method.getParameterCount() == 1 ? Boolean.valueOf(proxy == args[0]) : NOT_HANDLED;
+			case "hashCode":
+				return method.getParameterCount() == 0 ? Integer.valueOf(System.identityHashCode(proxy)) : NOT_HANDLED;
+			case "toString":
+				return method.getParameterCount() == 0 ? target.toString() : NOT_HANDLED;
+			case "getConnection":
+			case "getStatement":
+				return (parent != null) && (method.getParameterCount() == 0) ? parent : NOT_HANDLED;
+			default:
+				return NOT_HANDLED;
+		}
+	}
+
+
+	//------------------------------
+	// connection
+	//------------------------------
+
+
+	private class ConHandler implements InvocationHandler
+	{
+		public ConHandler(Connection con)
+		{
+			con_ = con;
+		}
+
+
+		@Override public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+		{
+			Object handled = invokeObjectMethod(proxy, con_, null, method, args);
+			if (handled != NOT_HANDLED)
+				return handled;
+
+			String name = method.getName();
+			if (name.equals("close"))
+			{
+				for (StmtHandler stmt : stmts_)
+				{
+					stmt.flush();
+					openStmts_.remove(stmt);
+				}
+				stmts_.clear();
+			}
+
+			Object result = WorkloadRecorder.invoke(con_, method, args);
+			Class<?> type = method.getReturnType();
+			if ((result != null) && ((type == Statement.class) || (type == PreparedStatement.class) || (type == CallableStatement.class)))
+			{
+				String sql = (args != null) && (args.length > 0) && (args[0] instanceof String) ? (String)args[0] : null;
+				StmtHandler handler = new StmtHandler((Statement)result, proxy, sql, this);
+				result = proxy(type, handler);
+			}
+			return result;
+		}
+
+
+		private final Connection con_;
+		private final Set<StmtHandler> stmts_ = ConcurrentHashMap.newKeySet();
+	}
+
+
+	//------------------------------
+	// statement
+	//------------------------------
+
+
+	private class StmtHandler implements InvocationHandler
+	{
+		public StmtHandler(Statement stmt, Object con, String sql, ConHandler conHandler)
+		{
+			stmt_		= stmt;
+			con_		= con;
+			sql_		= sql;
+			conHandler_	= conHandler;
+			conHandler.stmts_.add(this);
+			openStmts_.add(this);
+		}
+
+
+		@Override public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+		{
+			Object handled = invokeObjectMethod(proxy, stmt_, con_, method, args);
+			if (handled != NOT_HANDLED)
+				return handled;
+
+			String name = method.getName();
+			if (name.startsWith("execute"))
+				return execute(proxy, method, args);
+			if (name.startsWith("set") && (method.getDeclaringClass() != Statement.class) && (args != null) && (args.length >= 2) && (args[0] instanceof Integer))
+				setParam(((Integer)args[0]).intValue(), name.equals("setNull") ? null : args[1]);
+
+			Object result = WorkloadRecorder.invoke(stmt_, method, args);
+			switch (name)
+			{
+				case "clearParameters":
+					params_ = NO_PARAMS;
+					break;
+				case "addBatch":
+					if ((args != null) && (args.length == 1))
+						batchSql_ = batchSql_ == null ? (String)args[0] : batchSql_ + ';' + args[0];
+					else
+						batchParams_.add(params_.clone());
+					break;
+				case "clearBatch":
+					batchSql_ = null;
+					batchParams_.clear();
+					break;
+				case "getUpdateCount":
+				case "getLargeUpdateCount":
+					if ((pending_ != null) && (pending_.kind == RecordedCall.EXECUTE) && (pending_.updateCount < 0) && (pending_.result == null))
+						pending_.updateCount = ((Number)result).longValue();
+					break;
+				case "getResultSet":
+					if ((result != null) && (pending_ != null) && (pending_.result == null))
+						result = recordRows(proxy, (ResultSet)result, false);
+					break;
+				case "getGeneratedKeys":
+					if ((result != null) && (pending_ != null) && (pending_.keys == null))
+						result = recordRows(proxy, (ResultSet)result, true);
+					break;
+				case "close":
+					flush();
+					conHandler_.stmts_.remove(this);
+					openStmts_.remove(this);
+					break;
+				default:
+					break;
+			}
+			return result;
+		}
+
+
+		private Object execute(Object proxy, Method method, Object[] args) throws Throwable
+		{
+			flush();
+			String name = method.getName();
+			String sql = (args != null) && (args.length > 0) && (args[0] instanceof String) ? (String)args[0] : sql_;
+			byte kind;
+			if (name.equals("executeQuery"))
+				kind = RecordedCall.QUERY;
+			else if (name.endsWith("Batch"))
+			{
+				kind = RecordedCall.BATCH;
+				if (batchSql_ != null)
+					sql = batchSql_;
+			}
+			else if (name.startsWith("execute") && name.endsWith("Update"))
+				kind = RecordedCall.UPDATE;
+			else
+				kind = RecordedCall.EXECUTE;
+
+			RecordedCall call = new RecordedCall(kind, sql, kind == RecordedCall.BATCH ? batchParams_.toArray() : params_.clone());
+			long start = System.nanoTime();
+			Object result;
+			try
+			{
+				result = WorkloadRecorder.invoke(stmt_, method, args);
+			}
+			finally
+			{
+				call.executeNanos = System.nanoTime() - start;
+			}
+			if (kind == RecordedCall.BATCH)
+			{
+				batchSql_ = null;
+				batchParams_.clear();
+				if (result instanceof int[])
+					call.batchCounts = (int[])result;
+				else
+					call.batchCounts = Arrays.stream((long[])result).mapToInt(c -> (int)c).toArray();
+			}
+			else if (kind == RecordedCall.UPDATE)
+				call.updateCount = ((Number)result).longValue();
+			pending_ = call;
+			if (kind == RecordedCall.QUERY)
+				result = recordRows(proxy, (ResultSet)result, false);
+			return result;
+		}
+
+
+		private Object recordRows(Object stmtProxy, ResultSet rs, boolean keys) throws SQLException
+		{
+			ResultSetMetaData meta = rs.getMetaData();
+			int cols = meta.getColumnCount();
+			String[] labels = new String[cols];
+			int[] types = new int[cols];
+			for (int i=0; i<cols; i++)
+			{
+				labels[i] = meta.getColumnLabel(i + 1);
+				types[i]  = meta.getColumnType(i + 1);
+			}
+			RecordedCall.Table table = new RecordedCall.Table(labels, types);
+			if (keys)
+				pending_.keys = table;
+			else
+				pending_.result = table;
+			return proxy(ResultSet.class, new ResultHandler(rs, stmtProxy, pending_, table));
+		}
+
+
+		private void setParam(int number, Object value)
+		{
+			if (number > params_.length)
+				params_ = Arrays.copyOf(params_, number);
+			params_[number - 1] = RecordingFormat.isSupported(value) ? value : String.valueOf(value);
+		}
+
+
+		public synchronized void flush()
+		{
+			if (pending_ != null)
+			{
+				write(pending_);
+				pending_ = null;
+			}
+		}
+
+
+		private final Statement stmt_;
+		private final Object con_;
+		private final String sql_;
+		private final ConHandler conHandler_;
+		private Object[] params_ = NO_PARAMS;
+		private String batchSql_;
+		private final List<Object[]> batchParams_ = new ArrayList<>();
+		private RecordedCall pending_;
+	}
+
+
+	//------------------------------
+	// result set
+	//------------------------------
+
+
+	private static class ResultHandler implements InvocationHandler
+	{
+		public ResultHandler(ResultSet rs, Object stmt, RecordedCall call, RecordedCall.Table table)
+		{
+			rs_		= rs;
+			stmt_	= stmt;
+			call_	= call;
+			table_	= table;
+		}
+
+
+		@Override public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+		{
+			Object handled = invokeObjectMethod(proxy, rs_, stmt_, method, args);
+			if (handled != NOT_HANDLED)
+				return handled;
+
+			if (method.getName().equals("next") && (method.getParameterCount() == 0))
+			{
+				long start = System.nanoTime();
+				boolean next = rs_.next();
+				call_.fetchNanos += System.nanoTime() - start;
+				if (next)
+				{
+					Object[] row = new Object[table_.labels.length];
+					for (int i=0; i<row.length; i++)
+					{
+						Object value = rs_.getObject(i + 1);
+						row[i] = RecordingFormat.isSupported(value) ? value : String.valueOf(value);
+					}
+					table_.rows.add(row);
+				}
+				return Boolean.valueOf(next);
+			}
+			return WorkloadRecorder.invoke(rs_, method, args);
+		}
+
+
+		private final ResultSet rs_;
+		private final Object stmt_;
+		private final RecordedCall call_;
+		private final RecordedCall.Table table_;
+	}
+
+
+	private static final Object NOT_HANDLED = new Object();
+	private static final Object[] NO_PARAMS = new Object[0];
+	private final RecordingFormat.Writer writer_;
+	private final Set<StmtHandler> openStmts_ = ConcurrentHashMap.newKeySet();
+	private long callCount_;
+	private boolean closed_;
+}
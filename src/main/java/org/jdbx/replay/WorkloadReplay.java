@@ -0,0 +1,734 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.replay;
+
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.JDBCType;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * WorkloadReplay serves the calls recorded by a {@link WorkloadRecorder} through JDBC connections,
+ * without a database. When a statement is executed, the replay looks up the recorded calls with the same SQL
+ * command and parameters (for a batch the parameters of all batched commands) and returns their results in the recorded order, starting again at the first call
+ * when all were used. Integral and floating point parameters are compared by value, regardless of their Java type,
+ * so that recordings remain usable when the code which binds the parameters changes.
+ * <pre><code>
+ * WorkloadReplay replay = WorkloadReplay.load(Path.of("workload.rec")).setLatencyFactor(1.0);
+ * try (Connection con = replay.connect())
+ * {
+ *     ... // run the workload
+ * }
+ * </code></pre>
+ * Executing a statement which was not recorded throws an SQLException. CallableStatements and
+ * database meta data are not supported.
+ */
+public class WorkloadReplay
+{
+	/**
+	 * Loads a recording from a file.
+	 * @param file the file
+	 * @return the replay
+	 */
+	public static WorkloadReplay load(Path file) throws IOException
+	{
+		try (InputStream in = Files.newInputStream(file))
+		{
+			return load(in);
+		}
+	}
+
+
+	/**
+	 * Loads a recording from a stream.
+	 * @param in the stream, which is not closed
+	 * @return the replay
+	 */
+	public static WorkloadReplay load(InputStream in) throws IOException
+	{
+		RecordingFormat.Reader reader = new RecordingFormat.Reader(new DataInputStream(new BufferedInputStream(in)));
+		List<RecordedCall> calls = new ArrayList<>();
+		RecordedCall call;
+		while ((call = reader.read()) != null)
+			calls.add(call);
+		return new WorkloadReplay(calls);
+	}
+
+
+	private WorkloadReplay(List<RecordedCall> calls)
+	{
+		callCount_ = calls.size();
+		for (RecordedCall call : calls)
+			calls_.computeIfAbsent(new Key(call.kind == RecordedCall.BATCH, call.sql, call.params), k -> new Calls()).list.add(call);
+	}
+
+
+	/**
+	 * Sets the factor applied to the recorded execution and fetch times. By default the factor is 0
+	 * and results are returned without delay. A factor of 1 replays the recorded timings.
+	 * @param factor the factor, &gt;= 0
+	 * @return this
+	 */
+	public WorkloadReplay setLatencyFactor(double factor)
+	{
+		if (factor < 0.0)
+			throw new IllegalArgumentException("factor must be >= 0, is " + factor);
+		latencyFactor_ = factor;
+		return this;
+	}
+
+
+	/**
+	 * @return the number of recorded calls
+	 */
+	public int getCallCount()
+	{
+		return callCount_;
+	}
+
+
+	/**
+	 * @return a new connection which serves the recorded calls
+	 */
+	public Connection connect()
+	{
+		return (Connection)proxy(Connection.class, new ConHandler());
+	}
+
+
+	private RecordedCall next(boolean batch, String sql, Object[] params) throws SQLException
+	{
+		Calls calls = calls_.get(new Key(batch, sql, params));
+		if (calls == null)
+			throw new SQLException("no recorded call for " + (batch ? "batch " : "") + sql + (params.length > 0 ? " with params " + Arrays.deepToString(params) : ""));
+		return calls.next();
+	}
+
+
+	private void delay(long recordedNanos)
+	{
+		long nanos = (long)(recordedNanos * latencyFactor_);
+		if (nanos > 0L)
+		{
+			long end = System.nanoTime() + nanos;
+			// park for long delays, spin for short delays since parking is too coarse
+			if (nanos > 1_000_000L)
+				LockSupport.parkNanos(nanos - 100_000L);
+			while (System.nanoTime() < end)
+				Thread.onSpinWait();
+		}
+	}
+
+
+	private static Object proxy(Class<?> type, InvocationHandler handler)
+	{
+		return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler);
+	}
+
+
+	private static SQLException unsupported(Method method)
+	{
+		return new SQLFeatureNotSupportedException(method.getDeclaringClass().getSimpleName() + '.' + method.getName() + " is not supported by the replay");
+	}
+
+
+	/**
+	 * Handles the Object methods.
+	 * @return the result or NOT_HANDLED
+	 */
+	private static Object invokeObjectMethod(Object proxy, Method method, Object[] args)
+	{
+		switch (method.getName())
+		{
+			case "equals":
+				return method.getParameterCount() == 1 ? Boolean.valueOf(proxy == args[0]) : NOT_HANDLED;
+			case "hashCode":
+				return method.getParameterCount() == 0 ? Integer.valueOf(System.identityHashCode(proxy)) : NOT_HANDLED;
+			case "toString":
+				return method.getParameterCount() == 0 ? "Replay" + method.getDeclaringClass().getSimpleName() : NOT_HANDLED;
+			default:
+				return NOT_HANDLED;
+		}
+	}
+
+
+	//------------------------------
+	// lookup
+	//------------------------------
+
+
+	private static class Key
+	{
+		public Key(boolean batch, String sql, Object[] params)
+		{
+			batch_	= batch;
+			sql_	= sql;
+			params_	= new Object[params.length];
+			for (int i=0; i<params.length; i++)
+				params_[i] = normalize(params[i]);
+			hashCode_ = (batch ? 31 : 0) + 31 * (sql != null ? sql.hashCode() : 0) + Arrays.deepHashCode(params_);
+		}
+
+
+		private static Object normalize(Object value)
+		{
+			if ((value instanceof Integer) || (value instanceof Long) || (value instanceof Short) || (value instanceof Byte))
+				return Long.valueOf(((Number)value).longValue());
+			if ((value instanceof Float) || (value instanceof Double))
+				return Double.valueOf(((Number)value).doubleValue());
+			if (value instanceof Object[])
+			{
+				Object[] row = ((Object[])value).clone();
+				for (int i=0; i<row.length; i++)
+					row[i] = normalize(row[i]);
+				return row;
+			}
+			if ((value != null) && !RecordingFormat.isSupported(value))
+				return value.toString();
+			return value;
+		}
+
+
+		@Override public int hashCode()
+		{
+			return hashCode_;
+		}
+
+
+		@Override public boolean equals(Object o)
+		{
+			if (!(o instanceof Key))
+				return false;
+			Key other = (Key)o;
+			return (batch_ == other.batch_) && (hashCode_ == other.hashCode_) && (sql_ != null ? sql_.equals(other.sql_) : other.sql_ == null)
+				&& Arrays.deepEquals(params_, other.params_);
+		}
+
+
+		private final boolean batch_;
+		private final String sql_;
+		private final Object[] params_;
+		private final int hashCode_;
+	}
+
+
+	private static class Calls
+	{
+		public synchronized RecordedCall next()
+		{
+			RecordedCall call = list.get(next_);
+			next_ = (next_ + 1) % list.size();
+			return call;
+		}
+
+
+		public final List<RecordedCall> list = new ArrayList<>();
+		private int next_;
+	}
+
+
+	//------------------------------
+	// connection
+	//------------------------------
+
+
+	private class ConHandler implements InvocationHandler
+	{
+		@Override public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+		{
+			Object handled = invokeObjectMethod(proxy, method, args);
+			if (handled != NOT_HANDLED)
+				return handled;
+
+			String name = method.getName();
+			switch (name)
+			{
+				case "createStatement":
+					checkOpen();
+					return proxy(Statement.class, new StmtHandler(proxy, null));
+				case "prepareStatement":
+					checkOpen();
+					return proxy(PreparedStatement.class, new StmtHandler(proxy, (String)args[0]));
+				case "close":
+					closed_ = true;
+					return null;
+				case "isClosed":
+					return Boolean.valueOf(closed_);
+				case "isValid":
+					return Boolean.valueOf(!closed_);
+				case "getAutoCommit":
+					return Boolean.valueOf(autoCommit_);
+				case "setAutoCommit":
+					autoCommit_ = ((Boolean)args[0]).booleanValue();
+					return null;
+				case "isReadOnly":
+					return Boolean.FALSE;
+				case "getTransactionIsolation":
+					return Integer.valueOf(Connection.TRANSACTION_READ_COMMITTED);
+				case "getHoldability":
+					return Integer.valueOf(ResultSet.CLOSE_CURSORS_AT_COMMIT);
+				case "nativeSQL":
+					return args[0];
+				case "commit":
+				case "rollback":
+				case "setReadOnly":
+				case "setTransactionIsolation":
+				case "setHoldability":
+				case "setCatalog":
+				case "setSchema":
+				case "clearWarnings":
+				case "getWarnings":
+					if (name.equals("commit") || name.equals("rollback"))
+						checkOpen();
+					return null;
+				default:
+					throw unsupported(method);
+			}
+		}
+
+
+		private void checkOpen() throws SQLException
+		{
+			if (closed_)
+				throw new SQLException("connection is closed");
+		}
+
+
+		private boolean autoCommit_ = true;
+		private boolean closed_;
+	}
+
+
+	//------------------------------
+	// statement
+	//------------------------------
+
+
+	private class StmtHandler implements InvocationHandler
+	{
+		public StmtHandler(Object con, String sql)
+		{
+			con_ = con;
+			sql_ = sql;
+		}
+
+
+		@Override public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+		{
+			Object handled = invokeObjectMethod(proxy, method, args);
+			if (handled != NOT_HANDLED)
+				return handled;
+
+			String name = method.getName();
+			if (name.startsWith("execute"))
+			{
+				if (closed_)
+					throw new SQLException("statement is closed");
+				return execute(proxy, name, args);
+			}
+			if (name.startsWith("set"))
+			{
+				if ((method.getDeclaringClass() != Statement.class) && (args != null) && (args.length >= 2) && (args[0] instanceof Integer))
+					setParam(((Integer)args[0]).intValue(), name.equals("setNull") ? null : args[1]);
+				return null;
+			}
+
+			switch (name)
+			{
+				case "clearParameters":
+					params_ = NO_PARAMS;
+					return null;
+				case "addBatch":
+					if ((args != null) && (args.length == 1))
+						batchSql_ = batchSql_ == null ? (String)args[0] : batchSql_ + ';' + args[0];
+					else
+						batchParams_.add(params_.clone());
+					return null;
+				case "clearBatch":
+					batchSql_ = null;
+					batchParams_.clear();
+					return null;
+				case "getResultSet":
+					return resultSet_;
+				case "getUpdateCount":
+					return Integer.valueOf((int)updateCount_);
+				case "getLargeUpdateCount":
+					return Long.valueOf(updateCount_);
+				case "getMoreResults":
+					resultSet_ = null;
+					updateCount_ = -1L;
+					return Boolean.FALSE;
+				case "getGeneratedKeys":
+					RecordedCall.Table keys = call_ != null ? call_.keys : null;
+					return resultSet(proxy, keys != null ? keys : new RecordedCall.Table(new String[0], new int[0]), 0L);
+				case "getConnection":
+					return con_;
+				case "close":
+					closed_ = true;
+					resultSet_ = null;
+					return null;
+				case "isClosed":
+					return Boolean.valueOf(closed_);
+				case "getWarnings":
+				case "clearWarnings":
+					return null;
+				case "getFetchSize":
+				case "getMaxRows":
+				case "getQueryTimeout":
+				case "getMaxFieldSize":
+					return Integer.valueOf(0);
+				case "getFetchDirection":
+					return Integer.valueOf(ResultSet.FETCH_FORWARD);
+				case "getResultSetType":
+					return Integer.valueOf(ResultSet.TYPE_FORWARD_ONLY);
+				case "getResultSetConcurrency":
+					return Integer.valueOf(ResultSet.CONCUR_READ_ONLY);
+				case "getResultSetHoldability":
+					return Integer.valueOf(ResultSet.CLOSE_CURSORS_AT_COMMIT);
+				case "closeOnCompletion":
+					return null;
+				default:
+					throw unsupported(method);
+			}
+		}
+
+
+		private Object execute(Object proxy, String name, Object[] args) throws SQLException
+		{
+			String sql = (args != null) && (args.length > 0) && (args[0] instanceof String) ? (String)args[0] : sql_;
+			resultSet_ = null;
+			updateCount_ = -1L;
+			if (name.endsWith("Batch"))
+			{
+				String batchSql = batchSql_ != null ? batchSql_ : sql;
+				Object[] params = batchParams_.toArray();
+				batchSql_ = null;
+				batchParams_.clear();
+				call_ = next(true, batchSql, params);
+				delay(call_.executeNanos);
+				int[] counts = call_.batchCounts != null ? call_.batchCounts : new int[0];
+				return name.equals("executeLargeBatch") ? Arrays.stream(counts).asLongStream().toArray() : counts.clone();
+			}
+
+			call_ = next(false, sql, params_);
+			delay(call_.executeNanos);
+			if (call_.result != null)
+				resultSet_ = resultSet(proxy, call_.result, call_.fetchNanos);
+			else
+				updateCount_ = call_.updateCount;
+
+			switch (name)
+			{
+				case "executeQuery":
+					if (resultSet_ == null)
+						throw new SQLException("recorded call has no result set: " + sql);
+					return resultSet_;
+				case "executeUpdate":
+					return Integer.valueOf((int)updateCount_);
+				case "executeLargeUpdate":
+					return Long.valueOf(updateCount_);
+				default:
+					return Boolean.valueOf(resultSet_ != null);
+			}
+		}
+
+
+		private Object resultSet(Object stmt, RecordedCall.Table table, long fetchNanos)
+		{
+			return proxy(ResultSet.class, new ResultHandler(stmt, table, fetchNanos / Math.max(1, table.rows.size())));
+		}
+
+
+		private void setParam(int number, Object value)
+		{
+			if (number > params_.length)
+				params_ = Arrays.copyOf(params_, number);
+			params_[number - 1] = value;
+		}
+
+
+		private final Object con_;
+		private final String sql_;
+		private Object[] params_ = NO_PARAMS;
+		private String batchSql_;
+		private final List<Object[]> batchParams_ = new ArrayList<>();
+		private RecordedCall call_;
+		private Object resultSet_;
+		private long updateCount_ = -1L;
+		private boolean closed_;
+	}
+
+
+	//------------------------------
+	// result set
+	//------------------------------
+
+
+	private class ResultHandler implements InvocationHandler
+	{
+		public ResultHandler(Object stmt, RecordedCall.Table table, long rowNanos)
+		{
+			stmt_		= stmt;
+			table_		= table;
+			rowNanos_	= rowNanos;
+		}
+
+
+		@Override public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+		{
+			Object handled = invokeObjectMethod(proxy, method, args);
+			if (handled != NOT_HANDLED)
+				return handled;
+
+			String name = method.getName();
+			if (name.startsWith("get") && (args != null) && (args.length >= 1) && !name.equals("getObject"))
+				return convert(value(args[0]), method.getReturnType());
+
+			switch (name)
+			{
+				case "next":
+					checkOpen();
+					delay(rowNanos_);
+					if (row_ < table_.rows.size())
+						row_++;
+					return Boolean.valueOf(row_ < table_.rows.size());
+				case "getObject":
+					Object value = value(args[0]);
+					return (args.length == 2) && (args[1] instanceof Class) ? convert(value, (Class<?>)args[1]) : value;
+				case "wasNull":
+					return Boolean.valueOf(wasNull_);
+				case "findColumn":
+					return Integer.valueOf(findColumn((String)args[0]));
+				case "getMetaData":
+					return proxy(ResultSetMetaData.class, this::invokeMetaData);
+				case "getStatement":
+					return stmt_;
+				case "getRow":
+					return Integer.valueOf(row_ < table_.rows.size() ? row_ + 1 : 0);
+				case "isBeforeFirst":
+					return Boolean.valueOf((row_ < 0) && !table_.rows.isEmpty());
+				case "isAfterLast":
+					return Boolean.valueOf((row_ >= table_.rows.size()) && !table_.rows.isEmpty());
+				case "getType":
+					return Integer.valueOf(ResultSet.TYPE_FORWARD_ONLY);
+				case "getConcurrency":
+					return Integer.valueOf(ResultSet.CONCUR_READ_ONLY);
+				case "getFetchDirection":
+					return Integer.valueOf(ResultSet.FETCH_FORWARD);
+				case "getFetchSize":
+					return Integer.valueOf(0);
+				case "setFetchSize":
+				case "setFetchDirection":
+				case "getWarnings":
+				case "clearWarnings":
+					return null;
+				case "close":
+					closed_ = true;
+					return null;
+				case "isClosed":
+					return Boolean.valueOf(closed_);
+				default:
+					throw unsupported(method);
+			}
+		}
+
+
+		private Object invokeMetaData(Object proxy, Method method, Object[] args) throws Throwable
+		{
+			Object handled = invokeObjectMethod(proxy, method, args);
+			if (handled != NOT_HANDLED)
+				return handled;
+			switch (method.getName())
+			{
+				case "getColumnCount":
+					return Integer.valueOf(table_.labels.length);
+				case "getColumnLabel":
+				case "getColumnName":
+					return table_.labels[col(args[0]) - 1];
+				case "getColumnType":
+					return Integer.valueOf(table_.types[col(args[0]) - 1]);
+				case "getColumnTypeName":
+					int type = table_.types[col(args[0]) - 1];
+					try
+					{
+						return JDBCType.valueOf(type).getName();
+					}
+					catch (IllegalArgumentException e)
+					{
+						return String.valueOf(type);
+					}
+				default:
+					throw unsupported(method);
+			}
+		}
+
+
+		private Object value(Object col) throws SQLException
+		{
+			checkOpen();
+			if ((row_ < 0) || (row_ >= table_.rows.size()))
+				throw new SQLException("not positioned on a row");
+			Object value = table_.rows.get(row_)[col(col) - 1];
+			wasNull_ = value == null;
+			return value;
+		}
+
+
+		private int col(Object col) throws SQLException
+		{
+			int number = col instanceof String ? findColumn((String)col) : ((Integer)col).intValue();
+			if ((number < 1) || (number > table_.labels.length))
+				throw new SQLException("invalid column number " + number);
+			return number;
+		}
+
+
+		private int findColumn(String label) throws SQLException
+		{
+			for (int i=0; i<table_.labels.length; i++)
+			{
+				if (table_.labels[i].equalsIgnoreCase(label))
+					return i + 1;
+			}
+			throw new SQLException("unknown column " + label);
+		}
+
+
+		private void checkOpen() throws SQLException
+		{
+			if (closed_)
+				throw new SQLException("result set is closed");
+		}
+
+
+		private final Object stmt_;
+		private final RecordedCall.Table table_;
+		private final long rowNanos_;
+		private int row_ = -1;
+		private boolean wasNull_;
+		private boolean closed_;
+	}
+
+
+	//------------------------------
+	// conversion
+	//------------------------------
+
+
+	/**
+	 * Converts a recorded value to the type requested by a getter.
+	 */
+	static Object convert(Object value, Class<?> type) throws SQLException
+	{
+		if (value == null)
+			return type.isPrimitive() ? PRIMITIVE_DEFAULTS.get(type) : null;
+		if ((type == Object.class) || type.isInstance(value))
+			return value;
+		if ((type == int.class) || (type == Integer.class))
+			return Integer.valueOf(toNumber(value).intValue());
+		if ((type == long.class) || (type == Long.class))
+			return Long.valueOf(toNumber(value).longValue());
+		if ((type == double.class) || (type == Double.class))
+			return Double.valueOf(toNumber(value).doubleValue());
+		if ((type == float.class) || (type == Float.class))
+			return Float.valueOf(toNumber(value).floatValue());
+		if ((type == short.class) || (type == Short.class))
+			return Short.valueOf(toNumber(value).shortValue());
+		if ((type == byte.class) || (type == Byte.class))
+			return Byte.valueOf(toNumber(value).byteValue());
+		if ((type == boolean.class) || (type == Boolean.class))
+		{
+			if (value instanceof Number)
+				return Boolean.valueOf(((Number)value).doubleValue() != 0.0);
+			String s = value.toString().trim();
+			return Boolean.valueOf(s.equalsIgnoreCase("true") || s.equals("1"));
+		}
+		if (type == String.class)
+			return value instanceof byte[] ? new String((byte[])value, StandardCharsets.UTF_8) : value.toString();
+		if (type == BigDecimal.class)
+			return new BigDecimal(value.toString());
+		if (type == byte[].class)
+			return value.toString().getBytes(StandardCharsets.UTF_8);
+		if ((type == Date.class) && (value instanceof LocalDate))
+			return Date.valueOf((LocalDate)value);
+		if ((type == Date.class) && (value instanceof java.util.Date))
+			return new Date(((java.util.Date)value).getTime());
+		if ((type == Timestamp.class) && (value instanceof LocalDateTime))
+			return Timestamp.valueOf((LocalDateTime)value);
+		if ((type == Timestamp.class) && (value instanceof java.util.Date))
+			return new Timestamp(((java.util.Date)value).getTime());
+		if ((type == LocalDate.class) && (value instanceof Date))
+			return ((Date)value).toLocalDate();
+		if ((type == LocalDateTime.class) && (value instanceof Timestamp))
+			return ((Timestamp)value).toLocalDateTime();
+		throw new SQLException("cannot convert " + value.getClass().getName() + " to " + type.getName());
+	}
+
+
+	private static Number toNumber(Object value) throws SQLException
+	{
+		if (value instanceof Number)
+			return (Number)value;
+		if (value instanceof Boolean)
+			return Integer.valueOf(((Boolean)value).booleanValue() ? 1 : 0);
+		try
+		{
+			return new BigDecimal(value.toString().trim());
+		}
+		catch (NumberFormatException e)
+		{
+			throw new SQLException("not a number: " + value, e);
+		}
+	}
+
+
+	private static final Object NOT_HANDLED = new Object();
+	private static final Object[] NO_PARAMS = new Object[0];
+	private static final Map<Class<?>,Object> PRIMITIVE_DEFAULTS = Map.of(
+		int.class, Integer.valueOf(0), long.class, Long.valueOf(0L), double.class, Double.valueOf(0.0), float.class, Float.valueOf(0f),
+		short.class, Short.valueOf((short)0), byte.class, Byte.valueOf((byte)0), boolean.class, Boolean.FALSE);
+	private final Map<Key,Calls> calls_ = new HashMap<>();
+	private final int callCount_;
+	private volatile double latencyFactor_;
+}
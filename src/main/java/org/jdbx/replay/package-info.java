@@ -0,0 +1,23 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+/**
+ * Records the JDBC traffic of an application into a file and replays it without a database,
+ * e.g. to benchmark JDBX against a realistic workload.
+ * @see org.jdbx.replay.WorkloadRecorder
+ * @see org.jdbx.replay.WorkloadReplay
+ */
+package org.jdbx.replay;
@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx;
+
+
+import java.lang.management.ManagementFactory;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import org.jdbx.function.CheckedRunnable;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Tests that hot paths stay within an allocation budget, measured in bytes per row or per call.
+ * Where possible the budget is given relative to equivalent JDBC code to exclude the allocations of the driver.
+ * The budgets allow for some headroom but fail if e.g. boxing or a capturing lambda is added to a hot path.
+ */
+public class AllocationTest extends JdbxTest
+{
+	private static final int N = 1000;
+
+
+	@BeforeAll public static void beforeAll() throws Exception
+	{
+		com.sun.management.ThreadMXBean bean = threadBean();
+		Assumptions.assumeTrue((bean != null) && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled());
+
+		Jdbx.update(con(), "CREATE TABLE alloctest (id INTEGER PRIMARY KEY, amount BIGINT, name VARCHAR(30))");
+		int[] ids = new int[N];
+		long[] amounts = new long[N];
+		String[] names = new String[N];
+		for (int i=0; i<N; i++)
+		{
+			ids[i] 		= i;
+			amounts[i] 	= i * 1000L;
+			names[i] 	= "name" + i;
+		}
+		try (PrepStmt pstmt = new PrepStmt(con()))
+		{
+			pstmt.init("INSERT INTO alloctest VALUES (?, ?, ?)");
+			pstmt.batch().addColumns().set(1, ids).set(2, amounts).set(3, names).run();
+		}
+	}
+
+
+	@Test public void testNumberedColAccess() throws Exception
+	{
+		String sql = "SELECT id, amount, name FROM alloctest";
+		try (PrepStmt pstmt = new PrepStmt(con()); PreparedStatement jdbc = con().prepareStatement(sql))
+		{
+			pstmt.init(sql);
+			double jdbcPerRow = bytesPerOp(N, () -> {
+				try (ResultSet rs = jdbc.executeQuery())
+				{
+					while (rs.next())
+					{
+						rs.getInt(1);
+						rs.getLong(2);
+						rs.getString(3);
+					}
+				}
+			});
+			double colPerRow = bytesPerOp(N, () -> {
+				try (QueryResult qr = pstmt.query().result())
+				{
+					while (qr.nextRow())
+					{
+						qr.col(1).getInt();
+						qr.col(2).getLong();
+						qr.col(3).getString();
+					}
+				}
+			});
+			double nextColPerRow = bytesPerOp(N, () -> {
+				try (QueryResult qr = pstmt.query().result())
+				{
+					while (qr.nextRow())
+					{
+						qr.nextCol().getInt();
+						qr.nextCol().getLong();
+						qr.nextCol().getString();
+					}
+				}
+			});
+			assertBudget("col(int)", colPerRow - jdbcPerRow, 8);
+			assertBudget("nextCol()", nextColPerRow - jdbcPerRow, 8);
+		}
+	}
+
+
+	@Test public void testParamBinding() throws Exception
+	{
+		String sql = "SELECT id FROM alloctest WHERE id = ? AND amount = ? AND name = ?";
+		try (PrepStmt pstmt = new PrepStmt(con()); PreparedStatement jdbc = con().prepareStatement(sql))
+		{
+			pstmt.init(sql);
+			double jdbcPerCall = bytesPerOp(N, () -> {
+				for (int i=0; i<N; i++)
+				{
+					jdbc.setInt(1, i);
+					jdbc.setLong(2, i * 1000L);
+					jdbc.setString(3, "a");
+				}
+			});
+			double paramPerCall = bytesPerOp(N, () -> {
+				for (int i=0; i<N; i++)
+				{
+					pstmt.param(1).setInt(i);
+					pstmt.param(2).setLong(i * 1000L);
+					pstmt.param(3).setString("a");
+				}
+			});
+			// three NumberedParam objects
+			assertBudget("param(int)", paramPerCall - jdbcPerCall, 3 * 32);
+		}
+	}
+
+
+	@Test public void testParamsBinding() throws Exception
+	{
+		String sql = "SELECT id FROM alloctest WHERE id = ? AND name = ?";
+		try (PrepStmt pstmt = new PrepStmt(con()); PreparedStatement jdbc = con().prepareStatement(sql))
+		{
+			pstmt.init(sql);
+			Integer id = Integer.valueOf(500);
+			double jdbcPerCall = bytesPerOp(N, () -> {
+				for (int i=0; i<N; i++)
+				{
+					jdbc.setObject(1, id);
+					jdbc.setObject(2, "a");
+				}
+			});
+			double paramsPerCall = bytesPerOp(N, () -> {
+				for (int i=0; i<N; i++)
+					pstmt.params(id, "a");
+			});
+			// the varargs array
+			assertBudget("params(Object...)", paramsPerCall - jdbcPerCall, 32);
+		}
+	}
+
+
+	@Test public void testNamedParamCmdParsing() throws Exception
+	{
+		double perCall = bytesPerOp(N, () -> {
+			for (int i=0; i<N; i++)
+				new NamedParamCmd("SELECT id FROM alloctest WHERE id = :id AND name = :name OR id > :id");
+		});
+		// the converted string and builder, the parameter map and its entries
+		assertBudget("NamedParamCmd", perCall, 1600);
+	}
+
+
+	@Test public void testBatchResult() throws Exception
+	{
+		int[] counts = new int[10];
+		double perCall = bytesPerOp(N, () -> {
+			for (int i=0; i<N; i++)
+				new BatchResult<>(counts).requireSize(10);
+		});
+		// the BatchResult object, the counts must not be copied
+		assertBudget("BatchResult", perCall, 32);
+	}
+
+
+	private static void assertBudget(String what, double bytes, double budget)
+	{
+		assertTrue(bytes <= budget, what + " allocates " + bytes + " bytes per operation, budget is " + budget);
+	}
+
+
+	/**
+	 * Runs the operation repeatedly to let the JIT compile the code path,
+	 * then returns the minimum number of bytes allocated by a single run, divided by the number of operations per run.
+	 */
+	private static double bytesPerOp(int opsPerRun, CheckedRunnable run) throws Exception
+	{
+		com.sun.management.ThreadMXBean bean = threadBean();
+		long threadId = Thread.currentThread().getId();
+		for (int i=0; i<WARMUP_RUNS; i++)
+			run.run();
+		long min = Long.MAX_VALUE;
+		for (int i=0; i<MEASURE_RUNS; i++)
+		{
+			long start = bean.getThreadAllocatedBytes(threadId);
+			run.run();
+			min = Math.min(min, bean.getThreadAllocatedBytes(threadId) - start);
+		}
+		return min / (double)opsPerRun;
+	}
+
+
+	private static com.sun.management.ThreadMXBean threadBean()
+	{
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		return bean instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean)bean : null;
+	}
+
+
+	private static final int WARMUP_RUNS = 200;
+	private static final int MEASURE_RUNS = 5;
+}
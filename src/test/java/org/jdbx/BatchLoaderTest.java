@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx;
+
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+
+public class BatchLoaderTest extends JdbxTest
+{
+	@BeforeAll public static void beforeAll() throws JdbxException
+	{
+		ds_ = dataSource("batchloader");
+		try (StaticStmt stmt = new StaticStmt(ds_))
+		{
+			stmt.update("CREATE TABLE bltest (id INTEGER PRIMARY KEY, name VARCHAR(30))");
+			stmt.update("INSERT INTO bltest VALUES (1, 'a'), (2, 'b'), (3, 'c'), (4, 'd')");
+		}
+	}
+
+
+	@Test public void testLoad() throws Exception
+	{
+		List<String> queries = new CopyOnWriteArrayList<>();
+		JdbxListener listener = new JdbxListener() {
+			@Override public void started(RunInfo run)
+			{
+				if (run.getType() == RunInfo.Type.QUERY)
+					queries.add(run.getSql());
+			}
+		};
+		Jdbx.addListener(listener);
+		try (BatchLoader<Integer,String> loader = new BatchLoader<>(ds_, "SELECT id, name FROM bltest WHERE id IN (:ids) ORDER BY id",
+			r -> r.nextCol().getInteger(), r -> r.nextCol().getString()))
+		{
+			loader.setMaxDelay(Duration.ofSeconds(10)).setMaxSize(4);
+			assertEquals(4, loader.getMaxSize());
+
+			// the batch is run when the maximum size is reached, duplicate keys are queried once
+			CompletableFuture<String> f1 = loader.load(1);
+			CompletableFuture<String> f2 = loader.load(2);
+			CompletableFuture<String> f3 = loader.load(1);
+			CompletableFuture<String> f4 = loader.load(9);
+			assertEquals("a", f1.join());
+			assertEquals("b", f2.join());
+			assertEquals("a", f3.join());
+			assertNull(f4.join());
+			assertEquals(List.of("SELECT id, name FROM bltest WHERE id IN (?, ?, ?, ?) ORDER BY id"), queries);
+
+			// dispatch runs the pending keys
+			queries.clear();
+			assertEquals(Map.of(3, "c", 4, "d"), loader.loadAll(List.of(3, 4, 3)));
+			assertEquals(1, queries.size());
+
+			// the memo remembers futures
+			queries.clear();
+			BatchLoader<Integer,String>.Memo memo = loader.memo();
+			CompletableFuture<String> m1 = memo.load(2);
+			assertSame(m1, memo.load(2));
+			loader.dispatch();
+			assertEquals("b", m1.join());
+			assertEquals("b", memo.load(2).join());
+			assertEquals(1, queries.size());
+
+			// the padding does not exceed the maximum size
+			queries.clear();
+			loader.setMaxSize(3);
+			assertEquals(Map.of(1, "a", 2, "b", 3, "c"), loader.loadAll(List.of(1, 2, 3)));
+			assertEquals(List.of("SELECT id, name FROM bltest WHERE id IN (?, ?, ?) ORDER BY id"), queries);
+		}
+		finally
+		{
+			Jdbx.removeListener(listener);
+		}
+	}
+
+
+	@Test public void testArrayParam() throws Exception
+	{
+		try (BatchLoader<Integer,String> loader = new BatchLoader<>(ds_, "SELECT id, name FROM bltest WHERE id IN (UNNEST(:ids))",
+			r -> r.nextCol().getInteger(), r -> r.nextCol().getString()))
+		{
+			loader.setArrayType("INTEGER");
+			assertEquals(Map.of(1, "a", 4, "d"), loader.loadAll(List.of(1, 4)));
+		}
+	}
+
+
+	@Test public void testLiteralsAndComments() throws Exception
+	{
+		// parameter markers in literals, quoted names and comments are not parameters
+		String sql = "SELECT id, 'a:x' || name AS \"b:y\" FROM bltest /* :z */ WHERE id IN (:ids) -- :w\n ORDER BY id";
+		try (BatchLoader<Integer,String> loader = new BatchLoader<>(ds_, sql, r -> r.nextCol().getInteger(), r -> r.nextCol().getString()))
+		{
+			assertEquals(Map.of(1, "a:xa", 2, "a:xb"), loader.loadAll(List.of(1, 2)));
+		}
+	}
+
+
+	@Test public void testLoadCloseRace() throws Exception
+	{
+		for (int round=0; round<20; round++)
+		{
+			Queue<CompletableFuture<String>> futures = new ConcurrentLinkedQueue<>();
+			BatchLoader<Integer,String> loader = new BatchLoader<>(ds_, "SELECT id, name FROM bltest WHERE id IN (:ids)",
+				r -> r.nextCol().getInteger(), r -> r.nextCol().getString());
+			CyclicBarrier start = new CyclicBarrier(5);
+			List<Thread> threads = new ArrayList<>();
+			for (int t=0; t<4; t++)
+			{
+				Thread thread = new Thread(() -> {
+					try
+					{
+						start.await();
+					}
+					catch (Exception e)
+					{
+						throw new IllegalStateException(e);
+					}
+					for (int i=0; i<50; i++)
+						futures.add(loader.load(1 + i % 4));
+				});
+				threads.add(thread);
+				thread.start();
+			}
+			start.await();
+			loader.close();
+			for (Thread thread : threads)
+				thread.join();
+
+			// every future is completed, either with the value or as rejected
+			assertEquals(200, futures.size());
+			for (CompletableFuture<String> future : futures)
+			{
+				try
+				{
+					assertNotNull(future.get(5, TimeUnit.SECONDS));
+				}
+				catch (ExecutionException e)
+				{
+					assertEquals(JdbxException.Reason.ILLEGAL_STATE, ((JdbxException)e.getCause()).getReason());
+				}
+			}
+		}
+	}
+
+
+	@Test public void testFailure() throws Exception
+	{
+		assertThrows(IllegalArgumentException.class, () -> new BatchLoader<>(ds_, "SELECT * FROM bltest", r -> 1, r -> 1));
+		assertThrows(IllegalArgumentException.class, () -> new BatchLoader<>(ds_, "SELECT * FROM bltest WHERE id IN (?)", r -> 1, r -> 1));
+		assertThrows(IllegalArgumentException.class, () -> new BatchLoader<>(ds_, "SELECT * FROM bltest WHERE id IN (:ids) AND id <> :other", r -> 1, r -> 1));
+		assertThrows(IllegalArgumentException.class, () -> new BatchLoader<>(ds_, "SELECT * FROM bltest WHERE id IN (:ids) OR -id IN (:ids)", r -> 1, r -> 1));
+
+		CompletableFuture<String> future;
+		try (BatchLoader<Integer,String> loader = new BatchLoader<>(ds_, "SELECT id, name FROM unknowntable WHERE id IN (:ids)",
+			r -> r.nextCol().getInteger(), r -> r.nextCol().getString()))
+		{
+			future = loader.load(1);
+		}
+		CompletionException e = assertThrows(CompletionException.class, () -> future.join());
+		assertTrue(e.getCause() instanceof JdbxException);
+	}
+
+
+	private static DataSource ds_;
+}
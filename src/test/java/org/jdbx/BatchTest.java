@@ -1,6 +1,8 @@
 package org.jdbx;
 
 
+import java.util.BitSet;
+import java.util.List;
 import org.jdbx.BatchResult.CountType;
 import org.junit.jupiter.api.Test;
 
@@ -27,6 +29,140 @@ public class BatchTest extends JdbxTest
 	}
 
 
+	@Test public void testColumns() throws Exception
+	{
+		try (PrepStmt pstmt = new PrepStmt(con()))
+		{
+			Jdbx.update(con(), "CREATE TABLE bctest (ts BIGINT, value DOUBLE, sensor INTEGER, name VARCHAR(30))");
+
+			long[] ts 		= { 10, 20, 30, 40, 50 };
+			double[] values = { 1.5, 2.5, 0, 4.5, 5.5 };
+			int[] sensors 	= { 1, 2, 3, 1, 2 };
+			String[] names	= { "a", "b", "c", null, "e" };
+			BitSet missing	= new BitSet();
+			missing.set(2);
+
+			pstmt.init("INSERT INTO bctest VALUES (?, ?, ?, ?)");
+			BatchResult<Void> result = pstmt.batch().addColumns()
+				.set(1, ts)
+				.set(2, values)
+				.set(3, sensors)
+				.set(4, names)
+				.nulls(2, missing)
+				.chunkSize(2)
+				.run();
+			assertEquals(5, result.size());
+			for (int i=0; i<5; i++)
+				result.requireCount(i, 1);
+
+			pstmt.init("SELECT value FROM bctest ORDER BY ts");
+			List<Double> read = pstmt.query().rows().col().getDouble();
+			assertEquals(List.of(1.5, 2.5, 4.5, 5.5), List.of(read.get(0), read.get(1), read.get(3), read.get(4)));
+			assertNull(read.get(2));
+
+			pstmt.init("INSERT INTO bctest VALUES (?, ?, ?, ?)");
+			// commands added before are run with the first chunk
+			PrepStmt.PrepBatch batch = pstmt.batch();
+			pstmt.params(60, 6.5, 3, "f");
+			batch.add();
+			batch.addColumns().set(1, new long[] { 70, 80, 90 }).chunkSize(2).run().requireSize(4);
+			// or on their own if there are no rows
+			pstmt.params(100, 7.5, 1, "g");
+			batch.add();
+			batch.addColumns().set(1, new long[0]).run().requireSize(1);
+			assertEquals(0, batch.addColumns().set(1, new long[0]).run().size());
+			assertEquals(10, Jdbx.query(con(), "SELECT COUNT(*) FROM bctest").row().col().getInt());
+
+			// an adaptive chunk size only applies to the rows of the builder
+			AdaptiveBatchSize asize = new AdaptiveBatchSize(2, 2);
+			batch.addColumns().set(1, new long[] { 110, 120, 130 }).chunkSize(asize).run().requireSize(3);
+			assertTrue(asize.getRowsPerSecond() > 0);
+			assertNull(batch.getAdaptiveSize());
+			// the last chunk size wins, also over the adaptive size of the batch
+			AdaptiveBatchSize unused = new AdaptiveBatchSize(2, 2);
+			batch.adaptiveSize(unused);
+			batch.addColumns().set(1, new long[] { 140, 150, 160 }).chunkSize(unused).chunkSize(10).run().requireSize(3);
+			assertEquals(0.0, unused.getRowsPerSecond());
+			batch.adaptiveSize(null);
+			assertEquals(16, Jdbx.query(con(), "SELECT COUNT(*) FROM bctest").row().col().getInt());
+
+			assertThrows(IllegalArgumentException.class, () -> pstmt.batch().addColumns().set(1, ts).set(1, ts));
+			assertThrows(IllegalArgumentException.class, () -> pstmt.batch().addColumns().set(1, ts).nulls(2, missing));
+			assertThrows(IllegalArgumentException.class, () -> pstmt.batch().addColumns().set(1, ts).set(2, new double[1]).run());
+		}
+	}
+
+
+	@Test public void testAdaptiveSize() throws Exception
+	{
+		AdaptiveBatchSize size = new AdaptiveBatchSize(2, 10);
+		assertEquals(2, size.getSize());
+
+		// grows while throughput does not drop
+		size.record(2, 1000);
+		assertEquals(3, size.getSize());
+		size.record(3, 1000);
+		assertEquals(4, size.getSize());
+		// ignores partial chunks
+		size.record(1, 1000);
+		assertEquals(4, size.getSize());
+		// turns around when throughput drops
+		size.record(4, 100_000);
+		assertEquals(2, size.getSize());
+		assertEquals(40_000.0, size.getRowsPerSecond(), 0.1);
+		// stays within bounds
+		for (int i=0; i<20; i++)
+			size.record(size.getSize(), 1);
+		assertTrue(size.getSize() <= 10);
+
+		// settles at the maximum while the throughput is constant
+		AdaptiveBatchSize flat = new AdaptiveBatchSize(2, 10);
+		for (int i=0; i<20; i++)
+		{
+			flat.record(flat.getSize(), flat.getSize() * 1000L);
+			if (i >= 5)
+				assertEquals(10, flat.getSize());
+		}
+
+		try (PrepStmt pstmt = new PrepStmt(con()))
+		{
+			Jdbx.update(con(), "CREATE TABLE batest (id INTEGER)");
+			pstmt.init("INSERT INTO batest VALUES (?)");
+			AdaptiveBatchSize asize = new AdaptiveBatchSize(3, 3);
+			PrepStmt.PrepBatch batch = pstmt.batch().adaptiveSize(asize);
+			for (int i=0; i<7; i++)
+			{
+				pstmt.params(i);
+				batch.add();
+			}
+			assertThrows(JdbxException.class, () -> batch.runGetCols(Integer.class));
+			batch.run().requireSize(7);
+			assertTrue(asize.getRowsPerSecond() > 0);
+			assertEquals(7, Jdbx.query(con(), "SELECT COUNT(*) FROM batest").row().col().getInt());
+
+			// all commands executed automatically
+			for (int i=0; i<3; i++)
+			{
+				pstmt.params(i);
+				batch.add();
+			}
+			batch.run().requireSize(3);
+
+			// the adaptive size and pending commands are kept by the statement
+			int count = Jdbx.query(con(), "SELECT COUNT(*) FROM batest").row().col().getInt();
+			for (int i=0; i<5; i++)
+			{
+				pstmt.params(i);
+				pstmt.batch().add();
+			}
+			assertEquals(count + 3, Jdbx.query(con(), "SELECT COUNT(*) FROM batest").row().col().getInt());
+			pstmt.batch().run().requireSize(5);
+
+			pstmt.batch().addColumns().set(1, new int[] { 1, 2, 3, 4 }).chunkSize(asize).run().requireSize(4);
+		}
+	}
+
+
 	@Test public void testBatchResultNullCounts()
 	{
 		// null counts are silently converted
@@ -49,7 +185,7 @@ public class BatchTest extends JdbxTest
 
 	@Test public void testBatchResultSizeAndCount()
 	{
-		BatchResult<?> result = new BatchResult<>(1, -2, -3, -4);
+		BatchResult<?> result = new BatchResult<>(new int[] { 1, -2, -3, -4 });
 		assertEquals(4, result.size());
 		result.requireSize(4);
 		assertThrows(JdbxException.class, () -> result.requireSize(3));
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx;
+
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+
+public class IdAllocatorTest extends JdbxTest
+{
+	@BeforeAll public static void beforeAll() throws JdbxException
+	{
+		Jdbx.update(con(), "CREATE SEQUENCE idseq START WITH 1 INCREMENT BY 10");
+		Jdbx.update(con(), "CREATE SEQUENCE hiseq START WITH 0 INCREMENT BY 1");
+		Jdbx.update(con(), "CREATE TABLE idtest (id BIGINT PRIMARY KEY, name VARCHAR(30))");
+	}
+
+
+	@Test public void testSequence() throws Exception
+	{
+		IdAllocator allocator = new IdAllocator(() -> con(), false, IdAllocator.Type.SEQUENCE, "VALUES NEXT VALUE FOR idseq", 10);
+		assertEquals(10, allocator.getBlockSize());
+
+		Set<Long> ids = ConcurrentHashMap.newKeySet();
+		List<Thread> threads = new ArrayList<>();
+		for (int t=0; t<4; t++)
+		{
+			Thread thread = new Thread(() -> {
+				for (int i=0; i<50; i++)
+					assertTrue(ids.add(allocator.nextId()));
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads)
+			thread.join();
+		assertEquals(200, ids.size());
+	}
+
+
+	@Test public void testHiLoBatchInsert() throws Exception
+	{
+		IdAllocator allocator = new IdAllocator(() -> con(), false, IdAllocator.Type.HILO, "VALUES NEXT VALUE FOR hiseq", 4)
+			.setRefillThreshold(1);
+		long[] ids = allocator.nextIds(6);
+		assertArrayEquals(new long[] { 0, 1, 2, 3, 4, 5 }, ids);
+
+		try (PrepStmt pstmt = new PrepStmt(con()))
+		{
+			pstmt.init("INSERT INTO idtest VALUES (?, ?)");
+			pstmt.batch().addColumns()
+				.set(1, ids)
+				.set(2, new String[] { "a", "b", "c", "d", "e", "f" })
+				.run()
+				.requireSize(6);
+		}
+		assertEquals(6, Jdbx.query(con(), "SELECT COUNT(*) FROM idtest").row().col().getInt());
+	}
+
+
+	@Test public void testRefill() throws Exception
+	{
+		DataSource ds = dataSource("idallocator");
+		try (Connection con = ds.getConnection())
+		{
+			Jdbx.update(con, "CREATE SEQUENCE refillseq START WITH 0 INCREMENT BY 4");
+		}
+		AtomicInteger async = new AtomicInteger();
+		Executor executor = r -> {
+			async.incrementAndGet();
+			r.run();
+		};
+
+		// blocks are reserved asynchronously if connections are closed after use
+		IdAllocator allocator = new IdAllocator(ds, "VALUES NEXT VALUE FOR refillseq", 4).setExecutor(executor);
+		assertArrayEquals(new long[] { 0, 1, 2, 3, 4, 5 }, allocator.nextIds(6));
+		assertEquals(1, async.get());
+
+		// but not if the connection must not be closed
+		async.set(0);
+		try (Connection con = ds.getConnection())
+		{
+			allocator = new IdAllocator(() -> con, false, IdAllocator.Type.SEQUENCE, "VALUES NEXT VALUE FOR refillseq", 4).setExecutor(executor);
+			assertArrayEquals(new long[] { 8, 9, 10, 11, 12 }, allocator.nextIds(5));
+			assertEquals(0, async.get());
+			assertFalse(con.isClosed());
+		}
+	}
+
+
+	@Test public void testFailure() throws Exception
+	{
+		IdAllocator allocator = new IdAllocator(() -> con(), false, IdAllocator.Type.SEQUENCE, "VALUES NEXT VALUE FOR unknownseq", 10);
+		assertThrows(JdbxException.class, () -> allocator.nextId());
+		assertThrows(JdbxException.class, () -> allocator.nextId());
+	}
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+
+public class JdbxListenerTest extends JdbxTest
+{
+	@BeforeAll public static void beforeAll() throws JdbxException
+	{
+		Jdbx.update(con(), "CREATE TABLE ltest (id INTEGER, name VARCHAR(30))");
+	}
+
+
+	private static class Recorder implements JdbxListener
+	{
+		@Override public void started(RunInfo run)
+		{
+			if (accept(run))
+				events.add("started:" + run.describe());
+		}
+
+
+		@Override public void executed(RunInfo run)
+		{
+			if (accept(run))
+				events.add("executed:" + run.getType().getName());
+		}
+
+
+		@Override public void ended(RunInfo run)
+		{
+			if (accept(run))
+			{
+				events.add("ended:" + run.getType().getName());
+				runs.add(run);
+			}
+		}
+
+
+		private boolean accept(RunInfo run)
+		{
+			return (run.getSql() != null) && run.getSql().contains("ltest") && (run.getType() != RunInfo.Type.PREPARE);
+		}
+
+
+		public final List<String> events = new ArrayList<>();
+		public final List<RunInfo> runs = new ArrayList<>();
+	}
+
+
+	@Test public void test() throws Exception
+	{
+		Recorder recorder = new Recorder();
+		Jdbx.addListener(recorder);
+		try (PrepStmt pstmt = new PrepStmt(con()))
+		{
+			// update
+			pstmt.init("INSERT INTO ltest VALUES (?, ?)").params(1, "a").update();
+			assertEquals(List.of("started:Update:INSERT INTO ltest VALUES (?, ?)", "executed:Update", "ended:Update"), recorder.events);
+			RunInfo run = recorder.runs.get(0);
+			assertSame(con(), run.getConnection());
+			assertEquals(1, run.getUpdateCount());
+			assertTrue(run.getExecuteNanos() >= 0);
+			assertTrue(run.getTotalNanos() >= run.getExecuteNanos());
+			assertFalse(run.isFailed());
+
+			// batch
+			recorder.events.clear();
+			pstmt.params(2, "b").batch().add();
+			pstmt.params(3, "c").batch().add().run();
+			assertEquals(List.of("started:Batch:INSERT INTO ltest VALUES (?, ?)", "executed:Batch", "ended:Batch"), recorder.events);
+			run = recorder.runs.get(1);
+			assertEquals(2, run.getBatchSize());
+			assertEquals(2, run.getUpdateCount());
+
+			// query read
+			recorder.events.clear();
+			pstmt.init("SELECT name FROM ltest ORDER BY id");
+			assertEquals(List.of("a", "b", "c"), pstmt.query().rows().col().getString());
+			assertEquals(List.of("started:Query:SELECT name FROM ltest ORDER BY id", "executed:Query", "ended:Query"), recorder.events);
+			run = recorder.runs.get(2);
+			assertEquals(3, run.getRows());
+			assertTrue(run.getFirstRowNanos() >= run.getExecuteNanos());
+			assertTrue(run.getFetchNanos() >= 0);
+
+			// query result: ends when closed
+			recorder.events.clear();
+			try (QueryResult result = pstmt.query().result())
+			{
+				assertTrue(result.nextRow());
+				assertEquals(List.of("started:Query:SELECT name FROM ltest ORDER BY id", "executed:Query"), recorder.events);
+			}
+			assertEquals(3, recorder.events.size());
+			assertEquals(1, recorder.runs.get(3).getRows());
+
+			// failure
+			recorder.events.clear();
+			assertThrows(JdbxException.class, () -> Jdbx.update(con(), "INSERT INTO ltest VALUES ('x', 'y', 'z')"));
+			assertEquals(List.of("started:Update:INSERT INTO ltest VALUES ('x', 'y', 'z')", "ended:Update"), recorder.events);
+			assertTrue(recorder.runs.get(4).isFailed());
+
+			// execute
+			recorder.events.clear();
+			try (StaticStmt stmt = new StaticStmt(con()))
+			{
+				ExecuteResult result = stmt.createExecute("UPDATE ltest SET name = 'x' WHERE id = 1").run();
+				assertTrue(result.next());
+				assertEquals(1, result.getUpdateResult().count());
+				assertFalse(result.next());
+			}
+			assertEquals(List.of("started:Execute:UPDATE ltest SET name = 'x' WHERE id = 1", "executed:Execute", "ended:Execute"), recorder.events);
+			assertEquals(1, recorder.runs.get(5).getUpdateCount());
+		}
+		finally
+		{
+			Jdbx.removeListener(recorder);
+		}
+
+		// not notified after removal
+		recorder.events.clear();
+		Jdbx.update(con(), "DELETE FROM ltest");
+		assertTrue(recorder.events.isEmpty());
+	}
+
+
+	@Test public void testPrepareAndConnect() throws Exception
+	{
+		List<RunInfo> runs = new ArrayList<>();
+		JdbxListener listener = new JdbxListener()
+		{
+			@Override public void ended(RunInfo run)
+			{
+				if ((run.getType() == RunInfo.Type.CONNECT) || ((run.getSql() != null) && run.getSql().contains("ltest")))
+					runs.add(run);
+			}
+		};
+		Jdbx.addListener(listener);
+		try (PrepStmt pstmt = new PrepStmt(() -> con(), false))
+		{
+			pstmt.init("SELECT * FROM ltest");
+			assertThrows(JdbxException.class, () -> pstmt.init("SELECT * FROM ltest_unknown"));
+		}
+		finally
+		{
+			Jdbx.removeListener(listener);
+		}
+
+		assertEquals(3, runs.size());
+		assertEquals(RunInfo.Type.CONNECT, runs.get(0).getType());
+		assertSame(con(), runs.get(0).getConnection());
+		assertEquals("Prepare:SELECT * FROM ltest", runs.get(1).describe());
+		assertFalse(runs.get(1).isFailed());
+		assertTrue(runs.get(2).isFailed());
+	}
+
+
+	@Test public void testAttachments()
+	{
+		JdbxListener listener = new JdbxListener() {};
+		assertNull(RunInfo.start(RunInfo.Type.QUERY, "x", null)); // no listener registered
+		Jdbx.addListener(listener);
+		try
+		{
+			RunInfo run = RunInfo.start(RunInfo.Type.QUERY, "x", null);
+			Object k1 = new Object();
+			Object k2 = new Object();
+			run.setAttachment(k1, "a");
+			run.setAttachment(k2, "b");
+			assertEquals("a", run.getAttachment(k1));
+			assertEquals("b", run.getAttachment(k2));
+			run.setAttachment(k1, null);
+			assertNull(run.getAttachment(k1));
+			assertEquals("b", run.getAttachment(k2));
+			run.end(null);
+			assertTrue(run.isEnded());
+		}
+		finally
+		{
+			Jdbx.removeListener(listener);
+		}
+	}
+
+
+	@Test public void testFailingListener() throws Exception
+	{
+		JdbxListener failing = new JdbxListener()
+		{
+			@Override public void started(RunInfo run)
+			{
+				throw new IllegalStateException();
+			}
+		};
+		Jdbx.addListener(failing);
+		try
+		{
+			assertEquals(1, Jdbx.query(con(), "VALUES 1").row().col().getInt());
+		}
+		finally
+		{
+			Jdbx.removeListener(failing);
+		}
+	}
+}
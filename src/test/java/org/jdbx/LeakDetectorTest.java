@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx;
+
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+
+
+public class LeakDetectorTest extends JdbxTest
+{
+	@Test public void test() throws Exception
+	{
+		List<LeakDetector.Leak> leaks = new CopyOnWriteArrayList<>();
+		LeakDetector detector = new LeakDetector(1.0, leaks::add);
+		Connection con = dataSource("leaks").getConnection();
+		Jdbx.setLeakDetector(detector);
+		try
+		{
+			assertSame(detector, LeakDetector.get());
+
+			// closed objects are not reported
+			try (PrepStmt pstmt = new PrepStmt(con))
+			{
+				assertEquals(1, detector.getOpenStatements(con));
+				pstmt.init("VALUES (1)");
+				try (QueryResult result = pstmt.query().result())
+				{
+					assertEquals(1, detector.getOpenCursors(con));
+					assertTrue(result.nextRow());
+				}
+				assertEquals(0, detector.getOpenCursors(con));
+			}
+			try (MultiStmt mstmt = new MultiStmt(con))
+			{
+				mstmt.newStaticStmt();
+				assertEquals(1, detector.getOpenStatements(con));
+			}
+			assertEquals(0, detector.getOpenStatements(con));
+
+			// leak a statement
+			leakStmt(con);
+			assertEquals(1, detector.getOpenStatements(con));
+			for (int i=0; (i<100) && leaks.isEmpty(); i++)
+			{
+				System.gc();
+				Thread.sleep(20);
+			}
+		}
+		finally
+		{
+			Jdbx.setLeakDetector(null);
+			con.close();
+		}
+
+		assertEquals(1, leaks.size());
+		LeakDetector.Leak leak = leaks.get(0);
+		assertEquals(LeakDetector.Kind.STMT, leak.getKind());
+		assertEquals("VALUES (2)", leak.getSql());
+		assertNotNull(leak.getConnection());
+		assertNotNull(leak.getAllocationSite());
+		assertEquals(1, detector.getLeakCount());
+		assertEquals(0, detector.getOpenStatements(con));
+		assertTrue(leak.toString().startsWith("unclosed Stmt: VALUES (2)"), leak.toString());
+	}
+
+
+	private static void leakStmt(Connection con)
+	{
+		@SuppressWarnings("resource")
+		PrepStmt pstmt = new PrepStmt(con);
+		pstmt.init("VALUES (2)");
+	}
+
+
+	@Test public void testNotInstalled() throws Exception
+	{
+		assertNull(LeakDetector.get());
+		assertThrows(IllegalArgumentException.class, () -> new LeakDetector(2.0, leak -> {}));
+	}
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx;
+
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+
+public class MicroBatcherTest extends JdbxTest
+{
+	@BeforeAll public static void beforeAll() throws JdbxException
+	{
+		ds_ = dataSource("microbatcher");
+		try (StaticStmt stmt = new StaticStmt(ds_))
+		{
+			stmt.update("CREATE TABLE mbtest (id INTEGER PRIMARY KEY, name VARCHAR(30) NOT NULL)");
+			stmt.update("CREATE TABLE mbrace (id INTEGER PRIMARY KEY)");
+		}
+	}
+
+
+	@Test public void testSubmit() throws Exception
+	{
+		List<CompletableFuture<UpdateResult<Void>>> futures = new ArrayList<>();
+		try (MicroBatcher batcher = new MicroBatcher(ds_, "INSERT INTO mbtest VALUES (?, ?)"))
+		{
+			batcher.setMaxSize(10).setMaxDelay(Duration.ofMillis(20));
+			assertEquals(10, batcher.getMaxSize());
+			assertEquals(Duration.ofMillis(20), batcher.getMaxDelay());
+
+			List<Thread> threads = new ArrayList<>();
+			for (int t=0; t<4; t++)
+			{
+				int offset = t * 100;
+				Thread thread = new Thread(() -> {
+					for (int i=0; i<25; i++)
+					{
+						CompletableFuture<UpdateResult<Void>> future = batcher.submit(offset + i, "n" + i);
+						synchronized (futures)
+						{
+							futures.add(future);
+						}
+					}
+				});
+				threads.add(thread);
+				thread.start();
+			}
+			for (Thread thread : threads)
+				thread.join();
+		}
+
+		assertEquals(100, futures.size());
+		for (CompletableFuture<UpdateResult<Void>> future : futures)
+			future.join().requireCount(1);
+		assertEquals(100, count("id < 1000"));
+	}
+
+
+	@Test public void testRowFailure() throws Exception
+	{
+		try (MicroBatcher batcher = new MicroBatcher(ds_, "INSERT INTO mbtest VALUES (?, ?)"))
+		{
+			batcher.setMaxDelay(Duration.ofMillis(200));
+			CompletableFuture<UpdateResult<Void>> f1 = batcher.submit(1001, "a");
+			CompletableFuture<UpdateResult<Void>> f2 = batcher.submit(1002, null);
+			CompletableFuture<UpdateResult<Void>> f3 = batcher.submit(1003, "c");
+
+			f1.join().requireCount(1);
+			CompletionException e = assertThrows(CompletionException.class, () -> f2.join());
+			assertTrue(e.getCause() instanceof JdbxException);
+			f3.join().requireCount(1);
+		}
+		assertEquals(2, count("id > 1000"));
+	}
+
+
+	@Test public void testClosed() throws Exception
+	{
+		MicroBatcher batcher = new MicroBatcher(ds_, "INSERT INTO mbtest VALUES (?, ?)");
+		batcher.close();
+		assertTrue(batcher.isClosed());
+		CompletionException e = assertThrows(CompletionException.class, () -> batcher.submit(2000, "x").join());
+		assertEquals(JdbxException.Reason.ILLEGAL_STATE, ((JdbxException)e.getCause()).getReason());
+	}
+
+
+	@Test public void testSubmitCloseRace() throws Exception
+	{
+		AtomicInteger ids = new AtomicInteger();
+		for (int round=0; round<20; round++)
+		{
+			Queue<CompletableFuture<UpdateResult<Void>>> futures = new ConcurrentLinkedQueue<>();
+			MicroBatcher batcher = new MicroBatcher(ds_, "INSERT INTO mbrace VALUES (?)");
+			CyclicBarrier start = new CyclicBarrier(5);
+			List<Thread> threads = new ArrayList<>();
+			for (int t=0; t<4; t++)
+			{
+				Thread thread = new Thread(() -> {
+					try
+					{
+						start.await();
+					}
+					catch (Exception e)
+					{
+						throw new IllegalStateException(e);
+					}
+					for (int i=0; i<50; i++)
+						futures.add(batcher.submit(ids.getAndIncrement()));
+				});
+				threads.add(thread);
+				thread.start();
+			}
+			start.await();
+			batcher.close();
+			for (Thread thread : threads)
+				thread.join();
+
+			// every future is completed, either with the result or as rejected
+			assertEquals(200, futures.size());
+			for (CompletableFuture<UpdateResult<Void>> future : futures)
+			{
+				try
+				{
+					future.get(5, TimeUnit.SECONDS).requireCount(1);
+				}
+				catch (ExecutionException e)
+				{
+					assertEquals(JdbxException.Reason.ILLEGAL_STATE, ((JdbxException)e.getCause()).getReason());
+				}
+			}
+		}
+	}
+
+
+	private static int count(String where) throws Exception
+	{
+		try (StaticStmt stmt = new StaticStmt(ds_))
+		{
+			return stmt.query("SELECT COUNT(*) FROM mbtest WHERE " + where).row().col().getInt();
+		}
+	}
+
+
+	private static DataSource ds_;
+}
@@ -17,6 +17,7 @@
 package org.jdbx;
 
 
+import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 
@@ -44,6 +45,33 @@ public class NamedParamCmdTest extends JdbxTest
 	}
 
 
+	@Test public void testExpand()
+	{
+		assertEquals(1, NamedParamCmd.bucketSize(0, 8));
+		assertEquals(1, NamedParamCmd.bucketSize(1, 8));
+		assertEquals(2, NamedParamCmd.bucketSize(2, 8));
+		assertEquals(4, NamedParamCmd.bucketSize(3, 8));
+		assertEquals(8, NamedParamCmd.bucketSize(5, 8));
+		assertEquals(6, NamedParamCmd.bucketSize(5, 6));
+
+		NamedParamCmd cmd = new NamedParamCmd("SELECT * FROM t WHERE a IN (:a) AND b = :b OR c IN (:a)", 8);
+		assertSame(cmd, cmd.expand("a", 1));
+		NamedParamCmd expanded = cmd.expand("a", 3);
+		assertSame(expanded, cmd.expand("a", 4));
+		assertEquals("SELECT * FROM t WHERE a IN (?, ?, ?, ?) AND b = ? OR c IN (?, ?, ?, ?)", expanded.getConverted());
+		assertEquals(4, expanded.getListSize("a"));
+		assertEquals(1, expanded.getListSize("b"));
+		assertColNumbers(expanded, "a", 1, 2, 3, 4, 6, 7, 8, 9);
+		assertColNumbers(expanded, "b", 5);
+		assertEquals("SELECT * FROM t WHERE a IN (?, ?, ?, ?) AND b = ?, ? OR c IN (?, ?, ?, ?)", expanded.expand("b", 2).getConverted());
+		assertThrows(IllegalArgumentException.class, () -> cmd.expand("a", 9));
+		assertThrows(IllegalArgumentException.class, () -> cmd.expand("x", 1));
+
+		assertEquals(List.of(List.of(1, 2, 3)), cmd.chunks(List.of(1, 2, 3)));
+		assertEquals(List.of(List.of(1, 2, 3, 4, 5, 6, 7, 8), List.of(9)), cmd.chunks(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9)));
+	}
+
+
 	private NamedParamCmd assertParse(String original, String converted)
 	{
 		NamedParamCmd cmd = new NamedParamCmd(original);
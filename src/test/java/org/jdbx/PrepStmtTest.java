@@ -19,6 +19,7 @@ package org.jdbx;
 
 import java.sql.ParameterMetaData;
 import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -86,6 +87,26 @@ public class PrepStmtTest extends JdbxTest
 	}
 
 
+	@Test public void testGetKeys() throws Exception
+	{
+		pstmt_.init().returnAutoKeyCols().sql("INSERT INTO ptests VALUES (DEFAULT, ?, ?)");
+		long idA = pstmt_.params("a", 1).createUpdate().runGetLongKeys().requireCount(1).value()[0];
+
+		pstmt_.params("b", 2).batch().add();
+		pstmt_.params("c", 3).batch().add();
+		pstmt_.params("d", 4).batch().add();
+		BatchResult<long[]> longKeys = pstmt_.batch().runGetLongKeys().requireSize(3);
+		assertArrayEquals(new long[] { idA + 1, idA + 2, idA + 3 }, longKeys.value());
+
+		pstmt_.params("e", 5).batch().add();
+		BatchResult<int[]> intKeys = pstmt_.batch().runGetIntKeys().requireSize(1);
+		assertArrayEquals(new int[] { (int)idA + 4 }, intKeys.value());
+
+		int[] keys = pstmt_.params("f", 6).createUpdate().runGetIntKeys().value();
+		assertArrayEquals(new int[] { (int)idA + 5 }, keys);
+	}
+
+
 	@Test public void testNamedParams()
 	{
 		final String sql = "INSERT INTO ptests VALUES (DEFAULT, :name, :type)";
@@ -109,6 +130,38 @@ public class PrepStmtTest extends JdbxTest
 	}
 
 
+	@Test public void testListParams()
+	{
+		pstmt_.init("INSERT INTO ptests VALUES (DEFAULT, ?, ?)");
+		for (int i=1; i<=5; i++)
+			pstmt_.params("n" + i, i).update();
+
+		NamedParamCmd cmd = new NamedParamCmd("SELECT name FROM ptests WHERE type IN (:types) AND name <> :name ORDER BY type", 4);
+		List<String> names = new ArrayList<>();
+		for (List<Integer> chunk : cmd.chunks(List.of(1, 2, 3, 4, 5)))
+		{
+			pstmt_.init().sql(cmd.expand("types", chunk.size()));
+			pstmt_.param("types").setList(chunk);
+			pstmt_.param("name").setString("n2");
+			names.addAll(pstmt_.query().rows().col().getString());
+		}
+		assertEquals(List.of("n1", "n3", "n4", "n5"), names);
+
+		// three values are padded to a list of four
+		pstmt_.init().sql(cmd.expand("types", 3));
+		pstmt_.param("types").setList(List.of(5, 4, 3));
+		pstmt_.param("name").setString("");
+		assertEquals(List.of("n3", "n4", "n5"), pstmt_.query().rows().col().getString());
+
+		// an empty list matches no row
+		pstmt_.init().sql(cmd.expand("types", 0));
+		pstmt_.param("types").setList(List.of());
+		pstmt_.param("name").setString("");
+		assertEquals(List.of(), pstmt_.query().rows().col().getString());
+		assertThrows(IllegalArgumentException.class, () -> pstmt_.param("types").setList(List.of(1, 2)));
+	}
+
+
 	@Test public void testMetaData() throws Exception
 	{
 		pstmt_.init("SELECT name FROM ptests WHERE id = ?");
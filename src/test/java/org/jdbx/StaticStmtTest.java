@@ -17,6 +17,9 @@
 package org.jdbx;
 
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.List;
 import java.util.Map;
 import org.jdbx.StaticStmt.StaticBatch;
@@ -119,6 +122,33 @@ public class StaticStmtTest extends JdbxTest
 		int idC = result.value().get(0).intValue();
 		assertEquals(idA + 2, idC);
 
+		// the key array is presized by the update count
+		sql = "INSERT INTO STest (name) VALUES ('X'), ('Y'), ('Z')";
+		long[] keys = stmt_.createUpdate(sql)
+			.returnCols("ID")
+			.runGetLongKeys()
+			.requireCount(3)
+			.value();
+		assertArrayEquals(new long[] { idA + 3, idA + 4, idA + 5 }, keys);
+
+		// more rows than the presize hint: the array grows
+		sql = "SELECT ID FROM STest WHERE ID >= " + idA + " ORDER BY ID";
+		try (Statement jstmt = con().createStatement())
+		{
+			try (ResultSet rs = jstmt.executeQuery(sql))
+			{
+				assertArrayEquals(new long[] { idA, idA + 1, idA + 2, idA + 3, idA + 4, idA + 5 }, ResultUtil.toLongArray(rs, 1));
+			}
+			try (ResultSet rs = jstmt.executeQuery(sql))
+			{
+				assertArrayEquals(new int[] { idA, idA + 1, idA + 2, idA + 3, idA + 4, idA + 5 }, ResultUtil.toIntArray(rs, 0));
+			}
+		}
+		catch (SQLException e)
+		{
+			throw JdbxException.of(e);
+		}
+
 		sql 	= "UPDATE STest SET name = 'BB' WHERE name = 'B'";
 		count	= stmt_.update(sql).count();
 		assertEquals(1, count);
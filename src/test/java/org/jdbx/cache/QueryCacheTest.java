@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.cache;
+
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.jdbx.Jdbx;
+import org.jdbx.JdbxTest;
+import org.jdbx.Query;
+import org.jdbx.StaticStmt;
+import org.jdbx.function.CheckedFunction;
+import org.jdbx.sql.SqlInsert;
+import org.jdbx.sql.SqlSelect;
+import org.jdbx.sql.SqlUpdate;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+
+public class QueryCacheTest extends JdbxTest
+{
+	private static final CheckedFunction<Query,String> NAME = q -> q.row().col().getString();
+	private static final CheckedFunction<Query,List<String>> NAMES = q -> q.rows().col().getString();
+
+
+	@BeforeAll public static void beforeAll() throws Exception
+	{
+		Jdbx.update(con(), "CREATE TABLE qccity (id INTEGER PRIMARY KEY, name VARCHAR(30))");
+		Jdbx.update(con(), "INSERT INTO qccity VALUES (1, 'Rome'), (2, 'Oslo')");
+	}
+
+
+	@Test public void testTableNames()
+	{
+		assertEquals(Set.of("cities"), TableNames.read("SELECT name FROM Cities WHERE id = ?"));
+		assertEquals(Set.of("a", "b", "c"), TableNames.read("SELECT * FROM s.A x, \"B\" AS y JOIN c ON x.id = c.id WHERE x.name = 'from d'"));
+		assertEquals(Set.of("a", "b"), TableNames.read("SELECT * FROM a WHERE id IN (SELECT id FROM b)"));
+		assertEquals(Set.of(), TableNames.read("VALUES 1"));
+
+		assertEquals(Set.of("cities"), TableNames.modified("INSERT INTO Cities (name) VALUES (?)"));
+		assertEquals(Set.of("cities"), TableNames.modified("update public.cities SET name = ?"));
+		assertEquals(Set.of("cities"), TableNames.modified("DELETE FROM cities"));
+		assertEquals(Set.of("cities"), TableNames.modified("MERGE INTO cities USING x ON 1=1"));
+		assertEquals(Set.of("cities"), TableNames.modified("TRUNCATE TABLE cities"));
+		assertEquals(Set.of(), TableNames.modified("CREATE TABLE cities (id INTEGER)"));
+		assertEquals(Set.of(), TableNames.modified("SELECT * FROM cities"));
+		assertNull(TableNames.modified("CALL refresh()"));
+		assertEquals(Set.of("cities"), TableNames.modified("REPLACE INTO cities VALUES (1, 'Rome')"));
+		assertEquals(Set.of("cities"), TableNames.modified("UPSERT INTO cities VALUES (1, 'Rome')"));
+		assertEquals(Set.of(), TableNames.modified("WITH x AS (SELECT 1 FROM cities) SELECT * FROM x"));
+		assertNull(TableNames.modified("WITH x AS (SELECT 1) UPDATE cities SET name = 'a'"));
+		assertNull(TableNames.modified("INSERT OVERWRITE TABLE cities SELECT * FROM x"));
+		assertNull(TableNames.modified("CREATE OR REPLACE TABLE cities AS SELECT * FROM x"));
+		assertNull(TableNames.modified("RENAME TABLE cities TO towns"));
+	}
+
+
+	@Test public void testCache() throws Exception
+	{
+		QueryCache cache = new QueryCache(100);
+		Jdbx.addListener(cache);
+		try
+		{
+			Connection con = con();
+			assertEquals("Rome", cache.query(con, "SELECT name FROM qccity WHERE id = ?", 1).get(NAME));
+			assertEquals("Rome", cache.query(con, "SELECT name FROM qccity WHERE id = ?", 1).get(NAME));
+			assertEquals("Oslo", cache.query(con, "SELECT name FROM qccity WHERE id = ?", 2).get(NAME));
+			SqlSelect select = new SqlSelect().out("name").from("qccity").orderBy("id");
+			assertEquals(List.of("Rome", "Oslo"), cache.query(con, select).get(NAMES));
+			assertEquals(1, cache.getHits());
+			assertEquals(3, cache.getMisses());
+			assertEquals(3, cache.size());
+			assertEquals(1 + 1 + 3, cache.getWeight());
+
+			// an update of the table invalidates its entries
+			Jdbx.update(con, new SqlUpdate("qccity").set("name", "'Roma'").where("id = 1").toString());
+			assertEquals(0, cache.size());
+			assertEquals(3, cache.getInvalidations());
+			assertEquals("Roma", cache.query(con, "SELECT name FROM qccity WHERE id = ?", 1).get(NAME));
+
+			// updates of other tables do not invalidate
+			Jdbx.update(con, "CREATE TABLE qcother (id INTEGER)");
+			Jdbx.update(con, new SqlInsert("qcother").colValue("id", "1").toString());
+			assertEquals(1, cache.size());
+
+			// explicit tags
+			assertEquals(Integer.valueOf(2), cache.query(con, "SELECT COUNT(*) FROM qccity").tags("qcother").<Integer>get(q -> q.row().col().getInt()));
+			cache.invalidate("QCOTHER");
+			assertEquals(1, cache.size());
+
+			// tagged updates also invalidate the declared tables, e.g. tables changed by a trigger
+			cache.query(con, "SELECT COUNT(*) FROM qcother").get(q -> q.row().col().getInt());
+			assertEquals(2, cache.size());
+			try (StaticStmt stmt = new StaticStmt(con))
+			{
+				stmt.createUpdate("UPDATE qcother SET id = id").tags("qccity").run();
+			}
+			assertEquals(0, cache.size());
+			cache.query(con, "SELECT name FROM qccity WHERE id = ?", 1).get(NAME);
+
+			// failed updates do not invalidate
+			assertThrows(Exception.class, () -> Jdbx.update(con, "UPDATE qccity SET id = 2 WHERE id = 1"));
+			assertEquals(1, cache.size());
+		}
+		finally
+		{
+			Jdbx.removeListener(cache);
+		}
+	}
+
+
+	@Test public void testTransaction() throws Exception
+	{
+		QueryCache cache = new QueryCache(100);
+		Jdbx.addListener(cache);
+		try (Connection con = dataSource("querycache").getConnection())
+		{
+			Jdbx.update(con, "CREATE TABLE qctx (id INTEGER PRIMARY KEY, name VARCHAR(30))");
+			Jdbx.update(con, "INSERT INTO qctx VALUES (1, 'Rome')");
+			assertEquals("Rome", cache.query(con, "SELECT name FROM qctx WHERE id = 1").get(NAME));
+			assertEquals(1, cache.size());
+
+			con.setAutoCommit(false);
+			try
+			{
+				Jdbx.update(con, "UPDATE qctx SET name = 'Roma' WHERE id = 1");
+				assertEquals(0, cache.size());
+
+				// uncommitted values are not cached
+				assertEquals("Roma", cache.query(con, "SELECT name FROM qctx WHERE id = 1").get(NAME));
+				assertEquals(0, cache.size());
+
+				con.rollback();
+				cache.transactionEnded(con);
+				assertEquals("Rome", cache.query(con, "SELECT name FROM qctx WHERE id = 1").get(NAME));
+				assertEquals(1, cache.size());
+
+				// without transactionEnded(con) the tables are cached again after the timeout
+				cache.setTransactionTimeout(Duration.ofMillis(50));
+				Jdbx.update(con, "UPDATE qctx SET name = 'Roma' WHERE id = 1");
+				con.commit();
+				assertEquals("Roma", cache.query(con, "SELECT name FROM qctx WHERE id = 1").get(NAME));
+				assertEquals(0, cache.size());
+				Thread.sleep(60);
+				assertEquals("Roma", cache.query(con, "SELECT name FROM qctx WHERE id = 1").get(NAME));
+				assertEquals(1, cache.size());
+			}
+			finally
+			{
+				con.setAutoCommit(true);
+			}
+		}
+		finally
+		{
+			Jdbx.removeListener(cache);
+		}
+	}
+
+
+	@Test public void testConcurrent() throws Exception
+	{
+		QueryCache cache = new QueryCache(5);
+		CheckedFunction<Query,Integer> value = q -> q.row().col().getInteger();
+		List<Thread> threads = new ArrayList<>();
+		Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+		for (int t=0; t<4; t++)
+		{
+			Thread thread = new Thread(() -> {
+				try (Connection con = dataSource("querycache").getConnection())
+				{
+					for (int i=0; i<500; i++)
+					{
+						assertEquals(Integer.valueOf(i % 10), cache.query(con, "VALUES (?)", i % 10).get(value));
+						if (i % 100 == 0)
+							cache.invalidateAll();
+					}
+				}
+				catch (Throwable e)
+				{
+					errors.add(e);
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads)
+			thread.join();
+
+		assertEquals(List.of(), List.copyOf(errors));
+		assertEquals(2000, cache.getHits() + cache.getMisses());
+		assertTrue(cache.size() <= 5, cache.toString());
+		assertEquals(cache.size(), cache.getWeight());
+	}
+
+
+	@Test public void testEvictionAndTtl() throws Exception
+	{
+		QueryCache cache = new QueryCache(2);
+		Connection con = con();
+		cache.query(con, "SELECT name FROM qccity WHERE id = ?", 1).get(NAME);
+		cache.query(con, "SELECT name FROM qccity WHERE id = ?", 2).get(NAME);
+		cache.query(con, "SELECT name FROM qccity WHERE id = ?", 1).get(NAME);
+		cache.query(con, "SELECT name FROM qccity WHERE id = 2").get(NAME);
+		// the least recently used entry (id 2) was evicted
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictions());
+		cache.query(con, "SELECT name FROM qccity WHERE id = ?", 1).get(NAME);
+		assertEquals(2, cache.getHits());
+
+		// values heavier than the maximum weight are not cached
+		cache.query(con, "SELECT name FROM qccity").get(NAMES);
+		assertEquals(2, cache.size());
+
+		cache.setTtl(Duration.ofNanos(1));
+		Thread.sleep(1);
+		cache.query(con, "SELECT name FROM qccity WHERE id = ?", 1).get(NAME);
+		assertEquals(2, cache.getHits());
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.cache;
+
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jdbx.Jdbx;
+import org.jdbx.JdbxTest;
+import org.jdbx.Query;
+import org.jdbx.function.CheckedFunction;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+
+public class SingleFlightTest extends JdbxTest
+{
+	@BeforeAll public static void beforeAll() throws Exception
+	{
+		Jdbx.update(con(), "CREATE TABLE sfcity (id INTEGER PRIMARY KEY, name VARCHAR(30))");
+		Jdbx.update(con(), "INSERT INTO sfcity VALUES (1, 'Rome'), (2, 'Oslo')");
+	}
+
+
+	@Test public void testCoalesce() throws Exception
+	{
+		SingleFlight singleFlight = new SingleFlight(Duration.ofSeconds(30));
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger runs = new AtomicInteger();
+		CheckedFunction<Query,List<String>> names = q -> {
+			runs.incrementAndGet();
+			release.await();
+			return q.rows().col().getString();
+		};
+
+		List<List<String>> results = new CopyOnWriteArrayList<>();
+		List<Thread> threads = new ArrayList<>();
+		for (int i=0; i<4; i++)
+		{
+			Thread thread = new Thread(() -> results.add(singleFlight.query(con(), "SELECT name FROM sfcity ORDER BY id").get(names)));
+			threads.add(thread);
+			thread.start();
+			// wait until the first thread runs the query and the others wait for it
+			while ((runs.get() == 0) || ((i > 0) && (thread.getState() != Thread.State.TIMED_WAITING)))
+				Thread.sleep(1);
+		}
+		assertEquals(1, singleFlight.getRunning());
+		release.countDown();
+		for (Thread thread : threads)
+			thread.join();
+
+		assertEquals(1, runs.get());
+		assertEquals(4, results.size());
+		for (List<String> result : results)
+			assertSame(results.get(0), result);
+		assertEquals(List.of("Rome", "Oslo"), results.get(0));
+		assertThrows(UnsupportedOperationException.class, () -> results.get(0).add("Paris"));
+		assertEquals(1, singleFlight.getExecutions());
+		assertEquals(3, singleFlight.getCoalesced());
+		assertEquals(0, singleFlight.getRunning());
+	}
+
+
+	@Test public void testTimeout() throws Exception
+	{
+		SingleFlight singleFlight = new SingleFlight(Duration.ZERO);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger runs = new AtomicInteger();
+		CheckedFunction<Query,String> name = q -> {
+			if (runs.getAndIncrement() == 0)
+				release.await();
+			return q.row().col().getString();
+		};
+
+		Thread first = new Thread(() -> singleFlight.query(con(), "SELECT name FROM sfcity WHERE id = ?", 1).get(name));
+		first.start();
+		while (runs.get() == 0)
+			Thread.sleep(1);
+		// does not wait for the blocked query but runs it itself
+		assertEquals("Rome", singleFlight.query(con(), "SELECT name FROM sfcity WHERE id = ?", 1).get(name));
+		assertEquals(1, singleFlight.getTimeouts());
+		release.countDown();
+		first.join();
+		assertEquals(2, runs.get());
+	}
+
+
+	@Test public void testCacheMisses() throws Exception
+	{
+		SingleFlight singleFlight = new SingleFlight(Duration.ofSeconds(1));
+		QueryCache cache = new QueryCache(10).setSingleFlight(singleFlight);
+		CheckedFunction<Query,String> name = q -> q.row().col().getString();
+		assertEquals("Oslo", cache.query(con(), "SELECT name FROM sfcity WHERE id = ?", 2).get(name));
+		assertEquals("Oslo", cache.query(con(), "SELECT name FROM sfcity WHERE id = ?", 2).get(name));
+		assertEquals(1, singleFlight.getExecutions());
+		assertEquals(1, cache.getHits());
+
+		// the cached list is unmodifiable and the same object is returned to all callers
+		CheckedFunction<Query,List<String>> names = q -> q.rows().col().getString();
+		for (QueryCache c : List.of(cache, new QueryCache(10)))
+		{
+			List<String> loaded = c.query(con(), "SELECT name FROM sfcity ORDER BY id").get(names);
+			assertThrows(UnsupportedOperationException.class, () -> loaded.add("Paris"));
+			assertSame(loaded, c.query(con(), "SELECT name FROM sfcity ORDER BY id").get(names));
+		}
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.monitor;
+
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.jdbx.Jdbx;
+import org.jdbx.JdbxTest;
+import org.jdbx.RunInfo;
+import org.junit.jupiter.api.Test;
+
+
+public class ExplainCaptureTest extends JdbxTest
+{
+	@Test public void test() throws Exception
+	{
+		List<SlowQueryLog.Entry> entries = new CopyOnWriteArrayList<>();
+		ExplainCapture capture = new ExplainCapture(dataSource("explain"), ExplainCapture.Dialect.HSQLDB, entries::add)
+			.setExecutor(Runnable::run);
+		SlowQueryLog log = new SlowQueryLog(Duration.ZERO, capture)
+			.setThreshold(RunInfo.Type.PREPARE, Duration.ofHours(1))
+			.setThreshold(RunInfo.Type.CONNECT, Duration.ofHours(1));
+
+		try (var con = dataSource("explain").getConnection())
+		{
+			Jdbx.update(con, "CREATE TABLE extest (id INTEGER PRIMARY KEY, name VARCHAR(30))");
+			Jdbx.addListener(log);
+			try
+			{
+				Jdbx.query(con, "SELECT name FROM extest WHERE id = ?", 1).row().col().getString();
+				Jdbx.query(con, "SELECT name FROM extest WHERE id = ?", 2).row().col().getString();
+			}
+			finally
+			{
+				Jdbx.removeListener(log);
+			}
+		}
+
+		// the explain query is not reported to the listeners
+		assertTrue(entries.stream().noneMatch(e -> (e.getSql() != null) && ExplainCapture.Dialect.HSQLDB.isExplain(e.getSql())), entries.toString());
+		SlowQueryLog.Entry[] queries = entries.stream()
+			.filter(e -> (e.getSql() != null) && e.getSql().startsWith("SELECT name FROM extest"))
+			.toArray(SlowQueryLog.Entry[]::new);
+		assertEquals(2, queries.length);
+		assertNotNull(queries[0].getPlan(), queries[0].toString());
+		assertFalse(queries[0].getPlan().startsWith("explain failed"), queries[0].getPlan());
+		assertTrue(queries[0].toString().contains("plan:"));
+		// rate limited
+		assertNull(queries[1].getPlan());
+	}
+}
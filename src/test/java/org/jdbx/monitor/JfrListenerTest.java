@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.monitor;
+
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.jdbx.Jdbx;
+import org.jdbx.JdbxTest;
+import org.jdbx.PrepStmt;
+import org.junit.jupiter.api.Test;
+
+
+public class JfrListenerTest extends JdbxTest
+{
+	@Test public void test() throws Exception
+	{
+		JfrListener listener = new JfrListener(true);
+		Path file = Files.createTempFile("jdbx", ".jfr");
+		try (Recording recording = new Recording())
+		{
+			recording.enable("org.jdbx.QueryExecute");
+			recording.enable("org.jdbx.QueryFetch");
+			recording.enable("org.jdbx.Batch");
+			recording.enable("org.jdbx.Prepare");
+			recording.start();
+
+			Jdbx.addListener(listener);
+			try (PrepStmt pstmt = new PrepStmt(con()))
+			{
+				Jdbx.update(con(), "CREATE TABLE jfrtest (id INTEGER)");
+				pstmt.init("INSERT INTO jfrtest VALUES (?)");
+				pstmt.params(1).batch().add();
+				pstmt.params(2).batch().add().run();
+				Jdbx.query(con(), "SELECT * FROM jfrtest WHERE id > 0").rows().col().getInteger();
+			}
+			finally
+			{
+				Jdbx.removeListener(listener);
+			}
+
+			recording.stop();
+			recording.dump(file);
+		}
+
+		List<String> events = new ArrayList<>();
+		try
+		{
+			for (RecordedEvent event : RecordingFile.readAllEvents(file))
+			{
+				String sql = event.getString("sql");
+				if ((sql != null) && sql.contains("jfrtest"))
+				{
+					String name = event.getEventType().getName();
+					if (name.equals("org.jdbx.Batch"))
+						name += ":" + event.getInt("size");
+					else if (name.equals("org.jdbx.QueryFetch"))
+						name += ":" + event.getLong("rows");
+					events.add(name + ':' + sql);
+				}
+			}
+		}
+		finally
+		{
+			Files.delete(file);
+		}
+
+		// update events are not enabled
+		assertTrue(events.contains("org.jdbx.Prepare:INSERT INTO jfrtest VALUES (?)"), events.toString());
+		assertTrue(events.contains("org.jdbx.Batch:2:INSERT INTO jfrtest VALUES (?)"), events.toString());
+		assertTrue(events.contains("org.jdbx.QueryExecute:SELECT * FROM jfrtest WHERE id > ?"), events.toString());
+		assertTrue(events.contains("org.jdbx.QueryFetch:2:SELECT * FROM jfrtest WHERE id > ?"), events.toString());
+		assertEquals(4, events.size(), events.toString());
+	}
+}
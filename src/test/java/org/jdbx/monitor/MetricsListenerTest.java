@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.monitor;
+
+
+import org.jdbx.Jdbx;
+import org.jdbx.JdbxTest;
+import org.jdbx.PrepStmt;
+import org.jdbx.RunInfo;
+import org.junit.jupiter.api.Test;
+
+
+public class MetricsListenerTest extends JdbxTest
+{
+	@Test public void testHistogram()
+	{
+		LatencyHistogram h = new LatencyHistogram();
+		assertEquals(0, h.getCount());
+		assertEquals(0, h.getPercentile(50));
+
+		for (int i=1; i<=1000; i++)
+			h.record(i * 1000L);
+		assertEquals(1000, h.getCount());
+		assertEquals(1_000_000L, h.getMax());
+		assertEquals(500_500.0, h.getMean(), 0.001);
+
+		// relative error of a bucket is < 1/32
+		assertEquals(500_000, h.getPercentile(50), 500_000 / 32.0);
+		assertEquals(990_000, h.getPercentile(99), 990_000 / 32.0);
+		assertEquals(1_000_000L, h.getPercentile(100));
+
+		h.record(Long.MAX_VALUE);
+		h.record(-1L);
+		assertEquals(Long.MAX_VALUE, h.getPercentile(100));
+
+		h.reset();
+		assertEquals(0, h.getCount());
+		assertEquals(0, h.getMax());
+	}
+
+
+	@Test public void testListener() throws Exception
+	{
+		MetricsListener metrics = new MetricsListener();
+		Jdbx.addListener(metrics);
+		try
+		{
+			for (int i=0; i<5; i++)
+				Jdbx.query(con(), "VALUES 1").row().col().getInt();
+			try (PrepStmt pstmt = new PrepStmt(con()))
+			{
+				pstmt.init("VALUES 2");
+			}
+		}
+		finally
+		{
+			Jdbx.removeListener(metrics);
+		}
+
+		MetricsListener.Stats stats = metrics.getStats(RunInfo.Type.QUERY);
+		assertTrue(stats.getRuns() >= 5);
+		assertTrue(stats.getRows() >= 5);
+		assertEquals(0, stats.getErrors());
+		assertEquals(stats.getRuns(), stats.getTotal().getCount());
+		assertTrue(stats.getTotal().getPercentile(99) > 0);
+		assertEquals(0, metrics.getStats(RunInfo.Type.BATCH).getRuns());
+		// preparations are not recorded
+		assertEquals(0, metrics.getStats(RunInfo.Type.PREPARE).getRuns());
+		assertFalse(metrics.toString().contains(RunInfo.Type.PREPARE.getName()));
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.monitor;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import org.jdbx.Jdbx;
+import org.jdbx.JdbxTest;
+import org.jdbx.MultiStmt;
+import org.jdbx.PrepStmt;
+import org.jdbx.StaticStmt;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+
+public class NPlusOneDetectorTest extends JdbxTest
+{
+	@BeforeAll public static void beforeAll()
+	{
+		// the test shares the package of JDBX but is application code
+		CallSites.addApplicationPrefix(NPlusOneDetectorTest.class.getName());
+	}
+
+
+	@Test public void testThreadScope() throws Exception
+	{
+		List<NPlusOneDetector.Finding> findings = new ArrayList<>();
+		NPlusOneDetector detector = new NPlusOneDetector(3, findings::add);
+		Jdbx.addListener(detector);
+		try
+		{
+			// not counted outside of a scope
+			for (int i=0; i<5; i++)
+				Jdbx.query(con(), "VALUES (" + i + ")").row().col().getInteger();
+
+			try (NPlusOneDetector.Scope scope = detector.begin("outer"))
+			{
+				for (int i=0; i<4; i++)
+					Jdbx.query(con(), "VALUES (" + i + ")").row().col().getInteger();
+				Jdbx.query(con(), "VALUES ('x')").row().col().getString();
+				assertEquals(5, scope.getCount("VALUES (?)"));
+
+				try (NPlusOneDetector.Scope inner = detector.begin("inner"))
+				{
+					Jdbx.query(con(), "VALUES (1)").row().col().getInteger();
+					assertEquals(1, inner.getCount("VALUES (1)"));
+				}
+				assertEquals(5, scope.getCount("VALUES (1)"));
+			}
+		}
+		finally
+		{
+			Jdbx.removeListener(detector);
+		}
+
+		assertEquals(1, findings.size());
+		NPlusOneDetector.Finding finding = findings.get(0);
+		assertEquals("outer", finding.getScope());
+		assertEquals("VALUES (?)", finding.getFingerprint());
+		assertEquals(5, finding.getCount());
+		assertEquals(getClass().getName(), finding.getCallSite().getClassName());
+		assertEquals("testThreadScope", finding.getCallSite().getMethodName());
+	}
+
+
+	@Test public void testMultiStmtScope() throws Exception
+	{
+		List<NPlusOneDetector.Finding> findings = new ArrayList<>();
+		NPlusOneDetector detector = new NPlusOneDetector(2, findings::add);
+		Jdbx.addListener(detector);
+		try (MultiStmt mstmt = new MultiStmt(con()))
+		{
+			try (NPlusOneDetector.Scope scope = detector.begin(mstmt))
+			{
+				PrepStmt pstmt = mstmt.newPrepStmt().init("VALUES (?)");
+				StaticStmt stmt = mstmt.newStaticStmt();
+				Thread thread = new Thread(() -> pstmt.params(1).query().row().col().getInteger());
+				thread.start();
+				thread.join();
+				pstmt.params(2).query().row().col().getInteger();
+				stmt.query("VALUES ('a')").row().col().getString();
+				assertThrows(IllegalStateException.class, () -> detector.begin(mstmt));
+				assertEquals(3, scope.getCount("VALUES (?)"));
+			}
+		}
+		finally
+		{
+			Jdbx.removeListener(detector);
+		}
+
+		assertEquals(1, findings.size());
+		assertEquals("VALUES (?)", findings.get(0).getFingerprint());
+		assertEquals(3, findings.get(0).getCount());
+	}
+}
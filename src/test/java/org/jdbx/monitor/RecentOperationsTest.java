@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.monitor;
+
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.jdbx.Jdbx;
+import org.jdbx.JdbxException;
+import org.jdbx.JdbxTest;
+import org.jdbx.RunInfo;
+import org.junit.jupiter.api.Test;
+
+
+public class RecentOperationsTest extends JdbxTest
+{
+	@Test public void test() throws Exception
+	{
+		RecentOperations recent = new RecentOperations(3);
+		assertEquals(4, recent.getCapacity());
+		assertTrue(recent.getOperations().isEmpty());
+
+		JdbxException error;
+		Jdbx.addListener(recent);
+		try
+		{
+			for (int i=0; i<5; i++)
+				Jdbx.query(con(), "VALUES (" + i + ")").row().col().getInteger();
+			error = assertThrows(JdbxException.class, () -> Jdbx.update(con(), "DELETE FROM recent_unknown"));
+		}
+		finally
+		{
+			Jdbx.removeListener(recent);
+		}
+
+		List<RecentOperations.Operation> ops = recent.getOperations();
+		assertEquals(4, ops.size());
+		assertEquals("VALUES (2)", ops.get(0).getSql());
+		assertEquals(RunInfo.Type.QUERY, ops.get(0).getType());
+		assertEquals(1, ops.get(0).getRows());
+		assertNull(ops.get(0).getError());
+		assertEquals(Thread.currentThread().getName(), ops.get(0).getThread());
+
+		RecentOperations.Operation failed = ops.get(3);
+		assertEquals("DELETE FROM recent_unknown", failed.getSql());
+		assertNotNull(failed.getError());
+		assertEquals(failed.getSeq(), ops.get(2).getSeq() + 1);
+
+		// the dump is attached to the error
+		Throwable cause = error.getCause() != null ? error.getCause() : error;
+		assertEquals(1, cause.getSuppressed().length);
+		String dump = cause.getSuppressed()[0].getMessage();
+		assertTrue(dump.contains("FAILED"), dump);
+		assertTrue(dump.contains("VALUES (4)"), dump);
+		assertTrue(recent.dump().endsWith("DELETE FROM recent_unknown\n"));
+	}
+
+
+	@Test public void testConcurrent() throws Exception
+	{
+		RecentOperations recent = new RecentOperations(8).setAttachToErrors(false);
+		DataSource ds = dataSource("recent");
+		List<Thread> threads = new ArrayList<>();
+		for (int t=0; t<4; t++)
+		{
+			String sql = "VALUES (" + t + ")";
+			Thread thread = new Thread(() -> {
+				try (Connection con = ds.getConnection())
+				{
+					for (int i=0; i<200; i++)
+						Jdbx.query(con, sql).row().col().getInteger();
+				}
+				catch (Exception e)
+				{
+					throw new IllegalStateException(e);
+				}
+			}, "recent-" + t);
+			threads.add(thread);
+		}
+
+		Jdbx.addListener(recent);
+		try
+		{
+			for (Thread thread : threads)
+				thread.start();
+			// a snapshot never contains an operation whose fields were written by different runs
+			while (threads.stream().anyMatch(Thread::isAlive))
+			{
+				for (RecentOperations.Operation op : recent.getOperations())
+				{
+					if ((op.getSql() != null) && op.getSql().startsWith("VALUES ("))
+						assertEquals("recent-" + op.getSql().charAt(8), op.getThread(), op.toString());
+				}
+			}
+			for (Thread thread : threads)
+				thread.join();
+		}
+		finally
+		{
+			Jdbx.removeListener(recent);
+		}
+		assertFalse(recent.getOperations().isEmpty());
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.monitor;
+
+
+import java.sql.Connection;
+import java.util.Map;
+import org.jdbx.Jdbx;
+import org.jdbx.JdbxTest;
+import org.jdbx.PrepStmt;
+import org.jdbx.QueryResult;
+import org.junit.jupiter.api.Test;
+
+
+public class RoundTripCounterTest extends JdbxTest
+{
+	@Test public void test() throws Exception
+	{
+		RoundTripCounter counter = new RoundTripCounter();
+		Jdbx.addListener(counter);
+		try (Connection con = counter.wrap(dataSource("roundtrips").getConnection()))
+		{
+			Jdbx.update(con, "CREATE TABLE rttest (id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name VARCHAR(30))");
+			assertEquals(1, counter.getCount("Statement.executeUpdate"));
+			assertEquals(1, counter.getCount("Statement.close"));
+			assertEquals(Map.of(), counter.getCounts(RoundTripCounter.NO_OPERATION));
+
+			counter.reset();
+			try (PrepStmt pstmt = new PrepStmt(con))
+			{
+				pstmt.init().returnAutoKeyCols().sql("INSERT INTO rttest (name) VALUES (?)");
+				assertEquals(1, counter.getCount("Connection.prepareStatement"));
+
+				pstmt.params("a").createUpdate().runGetCol(Integer.class);
+				Map<String,Long> counts = counter.getCounts("Update:INSERT INTO rttest (name) VALUES (?)");
+				assertEquals(1L, counts.get("PreparedStatement.executeUpdate"));
+				assertEquals(1L, counts.get("PreparedStatement.getGeneratedKeys"));
+				assertEquals(1L, counts.get("ResultSet.next"));
+
+				pstmt.init("SELECT name FROM rttest");
+				try (QueryResult result = pstmt.query().result())
+				{
+					assertTrue(result.nextRow());
+					assertEquals("a", result.col().getString());
+					assertSame(con, pstmt.getJdbcStmt().getConnection());
+				}
+				counts = counter.getCounts("Query:SELECT name FROM rttest");
+				assertEquals(1L, counts.get("PreparedStatement.executeQuery"));
+				assertEquals(1L, counts.get("ResultSet.next"));
+				assertEquals(1L, counts.get("ResultSet.close"));
+				assertNull(counts.get("ResultSet.getMetaData"));
+			}
+			assertEquals(2, counter.getCount("PreparedStatement.close"));
+			assertTrue(counter.getNanos("PreparedStatement.executeQuery") > 0);
+			assertTrue(counter.getTotalCount() >= 9);
+		}
+		finally
+		{
+			Jdbx.removeListener(counter);
+		}
+	}
+}
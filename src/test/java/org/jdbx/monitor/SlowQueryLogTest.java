@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.monitor;
+
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import org.jdbx.Jdbx;
+import org.jdbx.JdbxTest;
+import org.jdbx.PrepStmt;
+import org.jdbx.RunInfo;
+import org.junit.jupiter.api.Test;
+
+
+public class SlowQueryLogTest extends JdbxTest
+{
+	@Test public void test() throws Exception
+	{
+		List<SlowQueryLog.Entry> entries = new ArrayList<>();
+		Set<RunInfo.Type> types = EnumSet.noneOf(RunInfo.Type.class);
+		SlowQueryLog log = new SlowQueryLog(Duration.ZERO, entry -> {
+			types.add(entry.getType());
+			if ((entry.getType() != RunInfo.Type.PREPARE) && (entry.getSql() != null) && entry.getSql().contains("slowtest"))
+				entries.add(entry);
+		});
+		log.setThreshold(RunInfo.Type.EXECUTE, Duration.ofHours(1));
+		assertEquals(Duration.ofHours(1), log.getThreshold(RunInfo.Type.EXECUTE));
+
+		Jdbx.update(con(), "CREATE TABLE slowtest (id INTEGER, name VARCHAR(30))");
+		Jdbx.addListener(log);
+		try (PrepStmt pstmt = new PrepStmt(con()))
+		{
+			Jdbx.update(con(), "INSERT INTO slowtest VALUES (?, ?)", 1, "a");
+
+			pstmt.init("SELECT name FROM slowtest WHERE id = ? OR name = ?");
+			pstmt.param(1).setInt(1);
+			pstmt.param(2).setString("x");
+			pstmt.query().rows().col().getString();
+
+			// changing a param after a run must not change the captured params of the run
+			pstmt.param(2).setString("y");
+			pstmt.query().rows().col().getString();
+
+			pstmt.createExecute().run();
+		}
+		finally
+		{
+			Jdbx.removeListener(log);
+		}
+
+		assertEquals(3, entries.size());
+		// preparations are only logged if a threshold is set
+		assertFalse(types.contains(RunInfo.Type.PREPARE));
+		SlowQueryLog.Entry insert = entries.get(0);
+		assertEquals(RunInfo.Type.UPDATE, insert.getType());
+		assertEquals(List.of(1, "a"), insert.getParams());
+		assertEquals(1, insert.getUpdateCount());
+		assertNotNull(insert.getConnection());
+
+		SlowQueryLog.Entry query = entries.get(1);
+		assertEquals(RunInfo.Type.QUERY, query.getType());
+		assertEquals(List.of(1, "x"), query.getParams());
+		assertEquals(1, query.getRows());
+		assertTrue(query.getExecuteNanos() >= 0);
+		assertTrue(query.getFetchNanos() >= 0);
+		assertTrue(query.toString().contains("params: [1, 'x']"), query.toString());
+		assertEquals(List.of(1, "y"), entries.get(2).getParams());
+	}
+}
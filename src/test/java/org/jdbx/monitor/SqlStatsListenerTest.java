@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.monitor;
+
+
+import java.util.List;
+import org.jdbx.Jdbx;
+import org.jdbx.JdbxException;
+import org.jdbx.JdbxTest;
+import org.jdbx.PrepStmt;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+
+public class SqlStatsListenerTest extends JdbxTest
+{
+	@BeforeAll public static void beforeAll()
+	{
+		// the test shares the package of JDBX but is application code
+		CallSites.addApplicationPrefix(SqlStatsListenerTest.class.getName());
+	}
+
+
+	@Test public void testFingerprint()
+	{
+		assertNull(SqlFingerprint.of(null));
+		assertEquals("SELECT * FROM t1 WHERE id = ? AND name = ?", SqlFingerprint.of("SELECT *\n  FROM t1 WHERE id = 42 AND name = 'it''s'"));
+		assertEquals("SELECT a FROM t WHERE x IN (?, ...)", SqlFingerprint.of("SELECT a FROM t WHERE x IN (1, 2, 3) -- comment"));
+		assertEquals("SELECT a FROM t WHERE x IN (?, ...)", SqlFingerprint.of("SELECT a FROM t WHERE x IN (?,?)"));
+		assertEquals("SELECT \"col 1\" FROM t WHERE y > ?", SqlFingerprint.of("SELECT /* hint */ \"col 1\" FROM t WHERE y > 1.5"));
+		assertEquals("INSERT INTO t VALUES (?)", SqlFingerprint.of("INSERT INTO t VALUES (?)"));
+	}
+
+
+	@Test public void testListener() throws Exception
+	{
+		SqlStatsListener stats = new SqlStatsListener();
+		Jdbx.addListener(stats);
+		try
+		{
+			for (int i=1; i<=3; i++)
+				Jdbx.query(con(), "VALUES (" + i + ")").row().col().getInt();
+			try (PrepStmt pstmt = new PrepStmt(con()))
+			{
+				pstmt.init("VALUES (?)");
+				pstmt.params(1).query().row().col().getInt();
+			}
+			assertThrows(JdbxException.class, () -> Jdbx.query(con(), "SELECT x FROM unknown_table WHERE id = 1").row().col().getInt());
+		}
+		finally
+		{
+			Jdbx.removeListener(stats);
+		}
+
+		SqlStatsListener.Snapshot values = stats.getSnapshot("VALUES (7)");
+		assertEquals("VALUES (?)", values.getFingerprint());
+		assertEquals(4, values.getCalls());
+		assertEquals(4, values.getRows());
+		assertEquals(0, values.getErrors());
+		assertTrue(values.getMaxNanos() <= values.getTotalNanos());
+
+		SqlStatsListener.Snapshot failed = stats.getSnapshot("SELECT x FROM unknown_table WHERE id = ?");
+		assertEquals(1, failed.getErrors());
+
+		List<SqlStatsListener.Snapshot> top = stats.getTop(1, SqlStatsListener.Snapshot.BY_CALLS);
+		assertEquals(1, top.size());
+		assertEquals(values.getFingerprint(), top.get(0).getFingerprint());
+
+		stats.reset();
+		assertTrue(stats.getSnapshots().isEmpty());
+	}
+
+
+	@Test public void testCallSites() throws Exception
+	{
+		SqlStatsListener stats = new SqlStatsListener().setCallSiteSampleRate(1.0);
+		assertEquals(1.0, stats.getCallSiteSampleRate());
+		Jdbx.addListener(stats);
+		try
+		{
+			for (int i=0; i<3; i++)
+				runQuery();
+			Jdbx.query(con(), "VALUES (9)").row().col().getInt();
+		}
+		finally
+		{
+			Jdbx.removeListener(stats);
+		}
+
+		List<SqlStatsListener.CallSiteSnapshot> sites = stats.getSnapshot("VALUES (?)").getCallSites();
+		assertEquals(2, sites.size());
+		long runQueryCalls = sites.stream().filter(s -> s.getCallSite().getMethodName().equals("runQuery")).mapToLong(s -> s.getCalls()).sum();
+		assertEquals(3, runQueryCalls);
+		for (SqlStatsListener.CallSiteSnapshot site : sites)
+			assertEquals(getClass().getName(), site.getCallSite().getClassName());
+	}
+
+
+	@Test public void testOverloadedCallSites() throws Exception
+	{
+		SqlStatsListener stats = new SqlStatsListener().setCallSiteSampleRate(1.0);
+		Jdbx.addListener(stats);
+		try
+		{
+			// both overloads call at the same bytecode index
+			runQuery();
+			runQuery(0);
+		}
+		finally
+		{
+			Jdbx.removeListener(stats);
+		}
+
+		List<SqlStatsListener.CallSiteSnapshot> sites = stats.getSnapshot("VALUES (?)").getCallSites();
+		assertEquals(2, sites.size());
+		assertNotEquals(sites.get(0).getCallSite().getLineNumber(), sites.get(1).getCallSite().getLineNumber());
+	}
+
+
+	private static void runQuery()
+	{
+		Jdbx.query(con(), "VALUES (1)").row().col().getInt();
+	}
+
+
+	private static void runQuery(int n)
+	{
+		Jdbx.query(con(), "VALUES (1)").row().col().getInt();
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.replay;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import org.jdbx.Jdbx;
+import org.jdbx.JdbxException;
+import org.jdbx.JdbxTest;
+import org.jdbx.PrepStmt;
+import org.jdbx.StaticStmt;
+import org.junit.jupiter.api.Test;
+
+
+public class WorkloadReplayTest extends JdbxTest
+{
+	@Test public void test() throws Exception
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		List<Object> recorded;
+		try (WorkloadRecorder recorder = new WorkloadRecorder(out);
+			Connection con = recorder.wrap(dataSource("replay").getConnection()))
+		{
+			Jdbx.update(con, "CREATE TABLE replaytest (id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name VARCHAR(30), amount DOUBLE)");
+			recorded = runWorkload(con);
+		}
+
+		WorkloadReplay replay = WorkloadReplay.load(new ByteArrayInputStream(out.toByteArray()));
+		assertEquals(7, replay.getCallCount());
+		try (Connection con = replay.connect())
+		{
+			assertEquals(recorded, runWorkload(con));
+
+			// parameters are matched by value
+			assertEquals("c", Jdbx.query(con, "SELECT name FROM replaytest WHERE id = ?", Long.valueOf(2)).row().col().getString());
+
+			// batches are matched by the parameters of their commands
+			try (PrepStmt pstmt = new PrepStmt(con))
+			{
+				pstmt.init("INSERT INTO replaytest (name, amount) VALUES (?, ?)");
+				pstmt.params("b", 2.5);
+				pstmt.batch().add();
+				pstmt.params("x", null);
+				pstmt.batch().add();
+				assertThrows(JdbxException.class, () -> pstmt.batch().run());
+			}
+
+			JdbxException e = assertThrows(JdbxException.class, () -> Jdbx.update(con, "DELETE FROM replaytest"));
+			assertTrue(e.getCause() instanceof SQLException);
+		}
+	}
+
+
+	private List<Object> runWorkload(Connection con) throws Exception
+	{
+		List<Object> results = new ArrayList<>();
+		try (PrepStmt pstmt = new PrepStmt(con))
+		{
+			pstmt.init().returnAutoKeyCols().sql("INSERT INTO replaytest (name, amount) VALUES (?, ?)");
+			results.add(pstmt.params("a", 1.5).createUpdate().runGetCol(Integer.class).value());
+
+			pstmt.init("INSERT INTO replaytest (name, amount) VALUES (?, ?)");
+			PrepStmt.PrepBatch batch = pstmt.batch();
+			pstmt.params("b", 2.5);
+			batch.add();
+			pstmt.params("c", null);
+			batch.add();
+			results.add(batch.run().size());
+
+			pstmt.init("SELECT name FROM replaytest WHERE id = ?");
+			results.add(pstmt.params(2).query().row().col().getString());
+
+			pstmt.init("SELECT id, name, amount FROM replaytest ORDER BY id");
+			results.add(pstmt.query().rows().cols().toList());
+		}
+		try (StaticStmt stmt = new StaticStmt(con))
+		{
+			results.add(stmt.update("UPDATE replaytest SET amount = 0 WHERE amount IS NULL").count());
+			results.add(stmt.query("SELECT COUNT(*) FROM replaytest").row().col().getInt());
+		}
+		return results;
+	}
+}
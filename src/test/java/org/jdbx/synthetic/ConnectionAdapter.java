@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.synthetic;
+
+
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+
+/**
+ * Implements all methods of {@link Connection} by throwing a SQLFeatureNotSupportedException.
+ * Subclasses override the supported methods.
+ */
+abstract class ConnectionAdapter implements Connection
+{
+	protected static SQLFeatureNotSupportedException unsupported()
+	{
+		return new SQLFeatureNotSupportedException("not supported by the synthetic driver");
+	}
+
+
+	@Override public void abort(Executor arg0) throws SQLException { throw unsupported(); }
+	@Override public void clearWarnings() throws SQLException { throw unsupported(); }
+	@Override public void close() throws SQLException { throw unsupported(); }
+	@Override public void commit() throws SQLException { throw unsupported(); }
+	@Override public Array createArrayOf(String arg0, Object[] arg1) throws SQLException { throw unsupported(); }
+	@Override public Blob createBlob() throws SQLException { throw unsupported(); }
+	@Override public Clob createClob() throws SQLException { throw unsupported(); }
+	@Override public NClob createNClob() throws SQLException { throw unsupported(); }
+	@Override public SQLXML createSQLXML() throws SQLException { throw unsupported(); }
+	@Override public Statement createStatement() throws SQLException { throw unsupported(); }
+	@Override public Statement createStatement(int arg0, int arg1, int arg2) throws SQLException { throw unsupported(); }
+	@Override public Statement createStatement(int arg0, int arg1) throws SQLException { throw unsupported(); }
+	@Override public Struct createStruct(String arg0, Object[] arg1) throws SQLException { throw unsupported(); }
+	@Override public boolean getAutoCommit() throws SQLException { throw unsupported(); }
+	@Override public String getCatalog() throws SQLException { throw unsupported(); }
+	@Override public Properties getClientInfo() throws SQLException { throw unsupported(); }
+	@Override public String getClientInfo(String arg0) throws SQLException { throw unsupported(); }
+	@Override public int getHoldability() throws SQLException { throw unsupported(); }
+	@Override public DatabaseMetaData getMetaData() throws SQLException { throw unsupported(); }
+	@Override public int getNetworkTimeout() throws SQLException { throw unsupported(); }
+	@Override public String getSchema() throws SQLException { throw unsupported(); }
+	@Override public int getTransactionIsolation() throws SQLException { throw unsupported(); }
+	@Override public Map<String,Class<?>> getTypeMap() throws SQLException { throw unsupported(); }
+	@Override public SQLWarning getWarnings() throws SQLException { throw unsupported(); }
+	@Override public boolean isClosed() throws SQLException { throw unsupported(); }
+	@Override public boolean isReadOnly() throws SQLException { throw unsupported(); }
+	@Override public boolean isValid(int arg0) throws SQLException { throw unsupported(); }
+	@Override public boolean isWrapperFor(Class<?> arg0) throws SQLException { throw unsupported(); }
+	@Override public String nativeSQL(String arg0) throws SQLException { throw unsupported(); }
+	@Override public CallableStatement prepareCall(String arg0, int arg1, int arg2, int arg3) throws SQLException { throw unsupported(); }
+	@Override public CallableStatement prepareCall(String arg0, int arg1, int arg2) throws SQLException { throw unsupported(); }
+	@Override public CallableStatement prepareCall(String arg0) throws SQLException { throw unsupported(); }
+	@Override public PreparedStatement prepareStatement(String arg0, int[] arg1) throws SQLException { throw unsupported(); }
+	@Override public PreparedStatement prepareStatement(String arg0, String[] arg1) throws SQLException { throw unsupported(); }
+	@Override public PreparedStatement prepareStatement(String arg0, int arg1, int arg2, int arg3) throws SQLException { throw unsupported(); }
+	@Override public PreparedStatement prepareStatement(String arg0, int arg1, int arg2) throws SQLException { throw unsupported(); }
+	@Override public PreparedStatement prepareStatement(String arg0, int arg1) throws SQLException { throw unsupported(); }
+	@Override public PreparedStatement prepareStatement(String arg0) throws SQLException { throw unsupported(); }
+	@Override public void releaseSavepoint(Savepoint arg0) throws SQLException { throw unsupported(); }
+	@Override public void rollback() throws SQLException { throw unsupported(); }
+	@Override public void rollback(Savepoint arg0) throws SQLException { throw unsupported(); }
+	@Override public void setAutoCommit(boolean arg0) throws SQLException { throw unsupported(); }
+	@Override public void setCatalog(String arg0) throws SQLException { throw unsupported(); }
+	@Override public void setClientInfo(String arg0, String arg1) throws SQLClientInfoException { throw new SQLClientInfoException(); }
+	@Override public void setClientInfo(Properties arg0) throws SQLClientInfoException { throw new SQLClientInfoException(); }
+	@Override public void setHoldability(int arg0) throws SQLException { throw unsupported(); }
+	@Override public void setNetworkTimeout(Executor arg0, int arg1) throws SQLException { throw unsupported(); }
+	@Override public void setReadOnly(boolean arg0) throws SQLException { throw unsupported(); }
+	@Override public Savepoint setSavepoint() throws SQLException { throw unsupported(); }
+	@Override public Savepoint setSavepoint(String arg0) throws SQLException { throw unsupported(); }
+	@Override public void setSchema(String arg0) throws SQLException { throw unsupported(); }
+	@Override public void setTransactionIsolation(int arg0) throws SQLException { throw unsupported(); }
+	@Override public void setTypeMap(Map<String,Class<?>> arg0) throws SQLException { throw unsupported(); }
+	@Override public <T> T unwrap(Class<T> arg0) throws SQLException { throw unsupported(); }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.synthetic;
+
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+
+
+/**
+ * Implements all methods of {@link PreparedStatement} by throwing a SQLFeatureNotSupportedException.
+ * Subclasses override the supported methods.
+ */
+abstract class PreparedStatementAdapter implements PreparedStatement
+{
+	protected static SQLFeatureNotSupportedException unsupported()
+	{
+		return new SQLFeatureNotSupportedException("not supported by the synthetic driver");
+	}
+
+
+	@Override public void addBatch() throws SQLException { throw unsupported(); }
+	@Override public void addBatch(String arg0) throws SQLException { throw unsupported(); }
+	@Override public void cancel() throws SQLException { throw unsupported(); }
+	@Override public void clearBatch() throws SQLException { throw unsupported(); }
+	@Override public void clearParameters() throws SQLException { throw unsupported(); }
+	@Override public void clearWarnings() throws SQLException { throw unsupported(); }
+	@Override public void close() throws SQLException { throw unsupported(); }
+	@Override public void closeOnCompletion() throws SQLException { throw unsupported(); }
+	@Override public boolean execute() throws SQLException { throw unsupported(); }
+	@Override public boolean execute(String arg0, int[] arg1) throws SQLException { throw unsupported(); }
+	@Override public boolean execute(String arg0, String[] arg1) throws SQLException { throw unsupported(); }
+	@Override public boolean execute(String arg0, int arg1) throws SQLException { throw unsupported(); }
+	@Override public boolean execute(String arg0) throws SQLException { throw unsupported(); }
+	@Override public int[] executeBatch() throws SQLException { throw unsupported(); }
+	@Override public ResultSet executeQuery() throws SQLException { throw unsupported(); }
+	@Override public ResultSet executeQuery(String arg0) throws SQLException { throw unsupported(); }
+	@Override public int executeUpdate() throws SQLException { throw unsupported(); }
+	@Override public int executeUpdate(String arg0, int[] arg1) throws SQLException { throw unsupported(); }
+	@Override public int executeUpdate(String arg0, String[] arg1) throws SQLException { throw unsupported(); }
+	@Override public int executeUpdate(String arg0, int arg1) throws SQLException { throw unsupported(); }
+	@Override public int executeUpdate(String arg0) throws SQLException { throw unsupported(); }
+	@Override public Connection getConnection() throws SQLException { throw unsupported(); }
+	@Override public int getFetchDirection() throws SQLException { throw unsupported(); }
+	@Override public int getFetchSize() throws SQLException { throw unsupported(); }
+	@Override public ResultSet getGeneratedKeys() throws SQLException { throw unsupported(); }
+	@Override public int getMaxFieldSize() throws SQLException { throw unsupported(); }
+	@Override public int getMaxRows() throws SQLException { throw unsupported(); }
+	@Override public ResultSetMetaData getMetaData() throws SQLException { throw unsupported(); }
+	@Override public boolean getMoreResults() throws SQLException { throw unsupported(); }
+	@Override public boolean getMoreResults(int arg0) throws SQLException { throw unsupported(); }
+	@Override public ParameterMetaData getParameterMetaData() throws SQLException { throw unsupported(); }
+	@Override public int getQueryTimeout() throws SQLException { throw unsupported(); }
+	@Override public ResultSet getResultSet() throws SQLException { throw unsupported(); }
+	@Override public int getResultSetConcurrency() throws SQLException { throw unsupported(); }
+	@Override public int getResultSetHoldability() throws SQLException { throw unsupported(); }
+	@Override public int getResultSetType() throws SQLException { throw unsupported(); }
+	@Override public int getUpdateCount() throws SQLException { throw unsupported(); }
+	@Override public SQLWarning getWarnings() throws SQLException { throw unsupported(); }
+	@Override public boolean isCloseOnCompletion() throws SQLException { throw unsupported(); }
+	@Override public boolean isClosed() throws SQLException { throw unsupported(); }
+	@Override public boolean isPoolable() throws SQLException { throw unsupported(); }
+	@Override public boolean isWrapperFor(Class<?> arg0) throws SQLException { throw unsupported(); }
+	@Override public void setArray(int arg0, Array arg1) throws SQLException { throw unsupported(); }
+	@Override public void setAsciiStream(int arg0, InputStream arg1, int arg2) throws SQLException { throw unsupported(); }
+	@Override public void setAsciiStream(int arg0, InputStream arg1, long arg2) throws SQLException { throw unsupported(); }
+	@Override public void setAsciiStream(int arg0, InputStream arg1) throws SQLException { throw unsupported(); }
+	@Override public void setBigDecimal(int arg0, BigDecimal arg1) throws SQLException { throw unsupported(); }
+	@Override public void setBinaryStream(int arg0, InputStream arg1, int arg2) throws SQLException { throw unsupported(); }
+	@Override public void setBinaryStream(int arg0, InputStream arg1, long arg2) throws SQLException { throw unsupported(); }
+	@Override public void setBinaryStream(int arg0, InputStream arg1) throws SQLException { throw unsupported(); }
+	@Override public void setBlob(int arg0, InputStream arg1, long arg2) throws SQLException { throw unsupported(); }
+	@Override public void setBlob(int arg0, InputStream arg1) throws SQLException { throw unsupported(); }
+	@Override public void setBlob(int arg0, Blob arg1) throws SQLException { throw unsupported(); }
+	@Override public void setBoolean(int arg0, boolean arg1) throws SQLException { throw unsupported(); }
+	@Override public void setByte(int arg0, byte arg1) throws SQLException { throw unsupported(); }
+	@Override public void setBytes(int arg0, byte[] arg1) throws SQLException { throw unsupported(); }
+	@Override public void setCharacterStream(int arg0, Reader arg1, int arg2) throws SQLException { throw unsupported(); }
+	@Override public void setCharacterStream(int arg0, Reader arg1, long arg2) throws SQLException { throw unsupported(); }
+	@Override public void setCharacterStream(int arg0, Reader arg1) throws SQLException { throw unsupported(); }
+	@Override public void setClob(int arg0, Reader arg1, long arg2) throws SQLException { throw unsupported(); }
+	@Override public void setClob(int arg0, Reader arg1) throws SQLException { throw unsupported(); }
+	@Override public void setClob(int arg0, Clob arg1) throws SQLException { throw unsupported(); }
+	@Override public void setCursorName(String arg0) throws SQLException { throw unsupported(); }
+	@Override public void setDate(int arg0, Date arg1, Calendar arg2) throws SQLException { throw unsupported(); }
+	@Override public void setDate(int arg0, Date arg1) throws SQLException { throw unsupported(); }
+	@Override public void setDouble(int arg0, double arg1) throws SQLException { throw unsupported(); }
+	@Override public void setEscapeProcessing(boolean arg0) throws SQLException { throw unsupported(); }
+	@Override public void setFetchDirection(int arg0) throws SQLException { throw unsupported(); }
+	@Override public void setFetchSize(int arg0) throws SQLException { throw unsupported(); }
+	@Override public void setFloat(int arg0, float arg1) throws SQLException { throw unsupported(); }
+	@Override public void setInt(int arg0, int arg1) throws SQLException { throw unsupported(); }
+	@Override public void setLong(int arg0, long arg1) throws SQLException { throw unsupported(); }
+	@Override public void setMaxFieldSize(int arg0) throws SQLException { throw unsupported(); }
+	@Override public void setMaxRows(int arg0) throws SQLException { throw unsupported(); }
+	@Override public void setNCharacterStream(int arg0, Reader arg1, long arg2) throws SQLException { throw unsupported(); }
+	@Override public void setNCharacterStream(int arg0, Reader arg1) throws SQLException { throw unsupported(); }
+	@Override public void setNClob(int arg0, Reader arg1, long arg2) throws SQLException { throw unsupported(); }
+	@Override public void setNClob(int arg0, Reader arg1) throws SQLException { throw unsupported(); }
+	@Override public void setNClob(int arg0, NClob arg1) throws SQLException { throw unsupported(); }
+	@Override public void setNString(int arg0, String arg1) throws SQLException { throw unsupported(); }
+	@Override public void setNull(int arg0, int arg1, String arg2) throws SQLException { throw unsupported(); }
+	@Override public void setNull(int arg0, int arg1) throws SQLException { throw unsupported(); }
+	@Override public void setObject(int arg0, Object arg1, int arg2, int arg3) throws SQLException { throw unsupported(); }
+	@Override public void setObject(int arg0, Object arg1, int arg2) throws SQLException { throw unsupported(); }
+	@Override public void setObject(int arg0, Object arg1) throws SQLException { throw unsupported(); }
+	@Override public void setPoolable(boolean arg0) throws SQLException { throw unsupported(); }
+	@Override public void setQueryTimeout(int arg0) throws SQLException { throw unsupported(); }
+	@Override public void setRef(int arg0, Ref arg1) throws SQLException { throw unsupported(); }
+	@Override public void setRowId(int arg0, RowId arg1) throws SQLException { throw unsupported(); }
+	@Override public void setSQLXML(int arg0, SQLXML arg1) throws SQLException { throw unsupported(); }
+	@Override public void setShort(int arg0, short arg1) throws SQLException { throw unsupported(); }
+	@Override public void setString(int arg0, String arg1) throws SQLException { throw unsupported(); }
+	@Override public void setTime(int arg0, Time arg1, Calendar arg2) throws SQLException { throw unsupported(); }
+	@Override public void setTime(int arg0, Time arg1) throws SQLException { throw unsupported(); }
+	@Override public void setTimestamp(int arg0, Timestamp arg1, Calendar arg2) throws SQLException { throw unsupported(); }
+	@Override public void setTimestamp(int arg0, Timestamp arg1) throws SQLException { throw unsupported(); }
+	@Override public void setURL(int arg0, URL arg1) throws SQLException { throw unsupported(); }
+	@Deprecated @Override public void setUnicodeStream(int arg0, InputStream arg1, int arg2) throws SQLException { throw unsupported(); }
+	@Override public <T> T unwrap(Class<T> arg0) throws SQLException { throw unsupported(); }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.synthetic;
+
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+
+/**
+ * Implements all methods of {@link ResultSetMetaData} by throwing a SQLFeatureNotSupportedException.
+ * Subclasses override the supported methods.
+ */
+abstract class ResultSetMetaDataAdapter implements ResultSetMetaData
+{
+	protected static SQLFeatureNotSupportedException unsupported()
+	{
+		return new SQLFeatureNotSupportedException("not supported by the synthetic driver");
+	}
+
+
+	@Override public String getCatalogName(int arg0) throws SQLException { throw unsupported(); }
+	@Override public String getColumnClassName(int arg0) throws SQLException { throw unsupported(); }
+	@Override public int getColumnCount() throws SQLException { throw unsupported(); }
+	@Override public int getColumnDisplaySize(int arg0) throws SQLException { throw unsupported(); }
+	@Override public String getColumnLabel(int arg0) throws SQLException { throw unsupported(); }
+	@Override public String getColumnName(int arg0) throws SQLException { throw unsupported(); }
+	@Override public int getColumnType(int arg0) throws SQLException { throw unsupported(); }
+	@Override public String getColumnTypeName(int arg0) throws SQLException { throw unsupported(); }
+	@Override public int getPrecision(int arg0) throws SQLException { throw unsupported(); }
+	@Override public int getScale(int arg0) throws SQLException { throw unsupported(); }
+	@Override public String getSchemaName(int arg0) throws SQLException { throw unsupported(); }
+	@Override public String getTableName(int arg0) throws SQLException { throw unsupported(); }
+	@Override public boolean isAutoIncrement(int arg0) throws SQLException { throw unsupported(); }
+	@Override public boolean isCaseSensitive(int arg0) throws SQLException { throw unsupported(); }
+	@Override public boolean isCurrency(int arg0) throws SQLException { throw unsupported(); }
+	@Override public boolean isDefinitelyWritable(int arg0) throws SQLException { throw unsupported(); }
+	@Override public int isNullable(int arg0) throws SQLException { throw unsupported(); }
+	@Override public boolean isReadOnly(int arg0) throws SQLException { throw unsupported(); }
+	@Override public boolean isSearchable(int arg0) throws SQLException { throw unsupported(); }
+	@Override public boolean isSigned(int arg0) throws SQLException { throw unsupported(); }
+	@Override public boolean isWrapperFor(Class<?> arg0) throws SQLException { throw unsupported(); }
+	@Override public boolean isWritable(int arg0) throws SQLException { throw unsupported(); }
+	@Override public <T> T unwrap(Class<T> arg0) throws SQLException { throw unsupported(); }
+}
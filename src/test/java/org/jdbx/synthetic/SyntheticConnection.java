@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.synthetic;
+
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+
+/**
+ * A connection of the synthetic driver.
+ * @see SyntheticSchema#connect()
+ */
+class SyntheticConnection extends ConnectionAdapter
+{
+	public SyntheticConnection(SyntheticSchema schema)
+	{
+		schema_ = schema;
+	}
+
+
+	SyntheticSchema getSyntheticSchema()
+	{
+		return schema_;
+	}
+
+
+	//------------------------------
+	// statements
+	//------------------------------
+
+
+	@Override public Statement createStatement() throws SQLException
+	{
+		return prepareStatement(null);
+	}
+
+
+	@Override public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException
+	{
+		return prepareStatement(null);
+	}
+
+
+	@Override public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException
+	{
+		return prepareStatement(null);
+	}
+
+
+	@Override public PreparedStatement prepareStatement(String sql) throws SQLException
+	{
+		checkOpen();
+		return new SyntheticStatement(this, sql);
+	}
+
+
+	@Override public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException
+	{
+		return prepareStatement(sql);
+	}
+
+
+	@Override public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException
+	{
+		return prepareStatement(sql);
+	}
+
+
+	@Override public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException
+	{
+		return prepareStatement(sql);
+	}
+
+
+	@Override public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException
+	{
+		return prepareStatement(sql);
+	}
+
+
+	@Override public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException
+	{
+		return prepareStatement(sql);
+	}
+
+
+	//------------------------------
+	// transactions
+	//------------------------------
+
+
+	@Override public boolean getAutoCommit() throws SQLException
+	{
+		return autoCommit_;
+	}
+
+
+	@Override public void setAutoCommit(boolean autoCommit) throws SQLException
+	{
+		autoCommit_ = autoCommit;
+	}
+
+
+	@Override public void commit() throws SQLException
+	{
+		checkOpen();
+		schema_.executeDelay();
+	}
+
+
+	@Override public void rollback() throws SQLException
+	{
+		checkOpen();
+		schema_.executeDelay();
+	}
+
+
+	//------------------------------
+	// state
+	//------------------------------
+
+
+	@Override public boolean isClosed() throws SQLException
+	{
+		return closed_;
+	}
+
+
+	@Override public void close() throws SQLException
+	{
+		closed_ = true;
+	}
+
+
+	@Override public boolean isValid(int timeout) throws SQLException
+	{
+		return !closed_;
+	}
+
+
+	@Override public boolean isWrapperFor(Class<?> iface) throws SQLException
+	{
+		return iface.isInstance(this);
+	}
+
+
+	@Override public <T> T unwrap(Class<T> iface) throws SQLException
+	{
+		return iface.cast(this);
+	}
+
+
+	private void checkOpen() throws SQLException
+	{
+		if (closed_)
+			throw new SQLException("connection is closed");
+	}
+
+
+	private final SyntheticSchema schema_;
+	private boolean autoCommit_ = true;
+	private boolean closed_;
+}
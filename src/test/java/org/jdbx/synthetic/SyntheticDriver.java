@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.synthetic;
+
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+
+/**
+ * A JDBC driver which returns synthetic rows described by a {@link SyntheticSchema}.
+ * It isolates the overhead of JDBX from the cost of a real driver and database engine.
+ * Schemas are registered for a name and can then be opened with the URL <code>jdbc:synthetic:&lt;name&gt;</code>.
+ * Alternatively use {@link SyntheticSchema#connect()} to obtain a connection directly.
+ */
+public class SyntheticDriver implements Driver
+{
+	public static final String URL_PREFIX = "jdbc:synthetic:";
+
+
+	/**
+	 * Registers a schema and the driver.
+	 * @param name the name of the schema
+	 * @param schema the schema
+	 * @return the URL to connect to the schema
+	 */
+	public static synchronized String register(String name, SyntheticSchema schema) throws SQLException
+	{
+		if (!registered_)
+		{
+			DriverManager.registerDriver(INSTANCE);
+			registered_ = true;
+		}
+		SCHEMAS.put(name, schema);
+		return URL_PREFIX + name;
+	}
+
+
+	@Override public boolean acceptsURL(String url)
+	{
+		return (url != null) && url.startsWith(URL_PREFIX);
+	}
+
+
+	@Override public Connection connect(String url, Properties info) throws SQLException
+	{
+		if (!acceptsURL(url))
+			return null;
+		SyntheticSchema schema = SCHEMAS.get(url.substring(URL_PREFIX.length()));
+		if (schema == null)
+			throw new SQLException("no schema registered for " + url);
+		return schema.connect();
+	}
+
+
+	@Override public DriverPropertyInfo[] getPropertyInfo(String url, Properties info)
+	{
+		return new DriverPropertyInfo[0];
+	}
+
+
+	@Override public int getMajorVersion()
+	{
+		return 1;
+	}
+
+
+	@Override public int getMinorVersion()
+	{
+		return 0;
+	}
+
+
+	@Override public boolean jdbcCompliant()
+	{
+		return false;
+	}
+
+
+	@Override public Logger getParentLogger() throws SQLFeatureNotSupportedException
+	{
+		throw new SQLFeatureNotSupportedException();
+	}
+
+
+	private static final SyntheticDriver INSTANCE = new SyntheticDriver();
+	private static final Map<String,SyntheticSchema> SCHEMAS = new ConcurrentHashMap<>();
+	private static boolean registered_;
+}
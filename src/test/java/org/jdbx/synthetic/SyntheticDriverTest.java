@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.synthetic;
+
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import org.jdbx.Jdbx;
+import org.jdbx.JdbxTest;
+import org.jdbx.PrepStmt;
+import org.jdbx.QueryResult;
+import org.jdbx.StaticStmt;
+import org.junit.jupiter.api.Test;
+
+
+public class SyntheticDriverTest extends JdbxTest
+{
+	private static SyntheticSchema schema()
+	{
+		return new SyntheticSchema()
+			.col("id", Types.INTEGER)
+			.col("amount", Types.BIGINT)
+			.col("price", Types.DOUBLE)
+			.col("active", Types.BOOLEAN)
+			.col("name", Types.VARCHAR);
+	}
+
+
+	@Test public void testQuery() throws Exception
+	{
+		try (Connection con = schema().rows(3).connect())
+		{
+			List<Map<String,Object>> rows = Jdbx.query(con, "SELECT * FROM t").rows().cols().toMap();
+			assertEquals(3, rows.size());
+			assertEquals(Integer.valueOf(1), rows.get(0).get("id"));
+			assertEquals(Long.valueOf(2), rows.get(1).get("amount"));
+			assertEquals(Double.valueOf(1.5), rows.get(2).get("price"));
+			assertEquals(Boolean.TRUE, rows.get(1).get("active"));
+			assertEquals("name-3", rows.get(2).get("name"));
+
+			assertEquals(List.of(1, 2, 3), Jdbx.query(con, "SELECT id FROM t").rows().col().getInteger());
+
+			try (PrepStmt pstmt = new PrepStmt(con))
+			{
+				pstmt.init("SELECT id, name FROM t WHERE id > ?");
+				try (QueryResult qr = pstmt.params(0).query().result())
+				{
+					assertTrue(qr.nextRow());
+					assertEquals(1, qr.nextCol().getInt());
+					assertEquals("name-1", qr.col("name").getString());
+				}
+			}
+		}
+	}
+
+
+	@Test public void testUpdates() throws Exception
+	{
+		try (Connection con = schema().connect(); StaticStmt stmt = new StaticStmt(con))
+		{
+			assertEquals(1, stmt.update("UPDATE t SET id = 1").count());
+			stmt.batch().add("INSERT INTO t VALUES (1)").add("INSERT INTO t VALUES (2)").run().requireSize(2);
+			assertThrows(Exception.class, () -> stmt.query("UPDATE t SET id = 1").row().col().getInt());
+		}
+	}
+
+
+	@Test public void testDriverManager() throws Exception
+	{
+		String url = SyntheticDriver.register("test", schema().rows(5));
+		try (Connection con = DriverManager.getConnection(url))
+		{
+			assertEquals(5, Jdbx.query(con, "SELECT * FROM t").rows().cols().toArray().size());
+		}
+	}
+
+
+	@Test public void testLatency() throws Exception
+	{
+		try (Connection con = schema().rows(250).fetchSize(100).executeLatency(2000).fetchLatency(1000).connect())
+		{
+			long start = System.nanoTime();
+			assertEquals(250, Jdbx.query(con, "SELECT * FROM t").rows().cols().toArray().size());
+			// one execution and three fetch batches
+			assertTrue(System.nanoTime() - start >= 5_000_000L);
+		}
+	}
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.synthetic;
+
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.sql.Types;
+
+
+/**
+ * A forward-only ResultSet which generates the rows described by a SyntheticSchema.
+ */
+class SyntheticResultSet extends ResultSetAdapter
+{
+	public SyntheticResultSet(SyntheticStatement stmt, SyntheticSchema schema) throws SQLException
+	{
+		stmt_ 		= stmt;
+		schema_ 	= schema;
+		rows_		= schema.getRows();
+		fetchSize_	= stmt.getFetchSize();
+		colCount_	= schema.getColCount();
+	}
+
+
+	//------------------------------
+	// navigation
+	//------------------------------
+
+
+	@Override public boolean next() throws SQLException
+	{
+		checkOpen();
+		if (row_ >= rows_)
+		{
+			row_ = rows_ + 1;
+			return false;
+		}
+		if (row_ % fetchSize_ == 0)
+			schema_.fetchDelay();
+		row_++;
+		return true;
+	}
+
+
+	@Override public int getRow() throws SQLException
+	{
+		return row_ <= rows_ ? (int)row_ : 0;
+	}
+
+
+	@Override public boolean isBeforeFirst() throws SQLException
+	{
+		return (row_ == 0) && (rows_ > 0);
+	}
+
+
+	@Override public boolean isAfterLast() throws SQLException
+	{
+		return row_ > rows_;
+	}
+
+
+	//------------------------------
+	// values
+	//------------------------------
+
+
+	@Override public boolean wasNull() throws SQLException
+	{
+		return false;
+	}
+
+
+	@Override public int findColumn(String columnLabel) throws SQLException
+	{
+		for (int i=1; i<=colCount_; i++)
+		{
+			if (schema_.getColName(i).equalsIgnoreCase(columnLabel))
+				return i;
+		}
+		throw new SQLException("unknown column " + columnLabel);
+	}
+
+
+	@Override public int getInt(int columnIndex) throws SQLException
+	{
+		return (int)getLong(columnIndex);
+	}
+
+
+	@Override public long getLong(int columnIndex) throws SQLException
+	{
+		switch (type(columnIndex))
+		{
+			case Types.INTEGER:
+			case Types.BIGINT:	return row_;
+			case Types.DOUBLE:	return row_ / 2;
+			case Types.BOOLEAN:	return (row_ & 1) == 0 ? 1L : 0L;
+			default:			throw new SQLException("column " + columnIndex + " is not numeric");
+		}
+	}
+
+
+	@Override public double getDouble(int columnIndex) throws SQLException
+	{
+		return type(columnIndex) == Types.DOUBLE ? row_ / 2.0 : getLong(columnIndex);
+	}
+
+
+	@Override public boolean getBoolean(int columnIndex) throws SQLException
+	{
+		return type(columnIndex) == Types.BOOLEAN ? (row_ & 1) == 0 : getLong(columnIndex) != 0L;
+	}
+
+
+	@Override public String getString(int columnIndex) throws SQLException
+	{
+		return type(columnIndex) == Types.VARCHAR ? schema_.getString(columnIndex, row_) : String.valueOf(getObject(columnIndex));
+	}
+
+
+	@Override public Object getObject(int columnIndex) throws SQLException
+	{
+		switch (type(columnIndex))
+		{
+			case Types.INTEGER:	return Integer.valueOf((int)row_);
+			case Types.BIGINT:	return Long.valueOf(row_);
+			case Types.DOUBLE:	return Double.valueOf(row_ / 2.0);
+			case Types.BOOLEAN:	return Boolean.valueOf((row_ & 1) == 0);
+			default:			return schema_.getString(columnIndex, row_);
+		}
+	}
+
+
+	@Override public int getInt(String columnLabel) throws SQLException
+	{
+		return getInt(findColumn(columnLabel));
+	}
+
+
+	@Override public long getLong(String columnLabel) throws SQLException
+	{
+		return getLong(findColumn(columnLabel));
+	}
+
+
+	@Override public double getDouble(String columnLabel) throws SQLException
+	{
+		return getDouble(findColumn(columnLabel));
+	}
+
+
+	@Override public boolean getBoolean(String columnLabel) throws SQLException
+	{
+		return getBoolean(findColumn(columnLabel));
+	}
+
+
+	@Override public String getString(String columnLabel) throws SQLException
+	{
+		return getString(findColumn(columnLabel));
+	}
+
+
+	@Override public Object getObject(String columnLabel) throws SQLException
+	{
+		return getObject(findColumn(columnLabel));
+	}
+
+
+	private int type(int columnIndex) throws SQLException
+	{
+		checkOpen();
+		if ((row_ == 0) || (row_ > rows_))
+			throw new SQLException("not positioned on a row");
+		if ((columnIndex < 1) || (columnIndex > colCount_))
+			throw new SQLException("invalid column index " + columnIndex);
+		return schema_.getColType(columnIndex);
+	}
+
+
+	//------------------------------
+	// meta data
+	//------------------------------
+
+
+	@Override public ResultSetMetaData getMetaData() throws SQLException
+	{
+		checkOpen();
+		return new MetaData();
+	}
+
+
+	private class MetaData extends ResultSetMetaDataAdapter
+	{
+		@Override public int getColumnCount() throws SQLException
+		{
+			return colCount_;
+		}
+
+
+		@Override public String getColumnName(int column) throws SQLException
+		{
+			return schema_.getColName(column);
+		}
+
+
+		@Override public String getColumnLabel(int column) throws SQLException
+		{
+			return schema_.getColName(column);
+		}
+
+
+		@Override public int getColumnType(int column) throws SQLException
+		{
+			return schema_.getColType(column);
+		}
+
+
+		@Override public String getColumnTypeName(int column) throws SQLException
+		{
+			return schema_.getColTypeName(column);
+		}
+
+
+		@Override public int isNullable(int column) throws SQLException
+		{
+			return ResultSetMetaData.columnNoNulls;
+		}
+	}
+
+
+	//------------------------------
+	// options and state
+	//------------------------------
+
+
+	@Override public int getType() throws SQLException
+	{
+		return ResultSet.TYPE_FORWARD_ONLY;
+	}
+
+
+	@Override public int getConcurrency() throws SQLException
+	{
+		return ResultSet.CONCUR_READ_ONLY;
+	}
+
+
+	@Override public int getFetchSize() throws SQLException
+	{
+		return fetchSize_;
+	}
+
+
+	@Override public void setFetchSize(int rows) throws SQLException
+	{
+		if (rows > 0)
+			fetchSize_ = rows;
+	}
+
+
+	@Override public int getFetchDirection() throws SQLException
+	{
+		return ResultSet.FETCH_FORWARD;
+	}
+
+
+	@Override public void setFetchDirection(int direction) throws SQLException
+	{
+	}
+
+
+	@Override public SQLWarning getWarnings() throws SQLException
+	{
+		return null;
+	}
+
+
+	@Override public void clearWarnings() throws SQLException
+	{
+	}
+
+
+	@Override public Statement getStatement() throws SQLException
+	{
+		return stmt_;
+	}
+
+
+	@Override public boolean isClosed() throws SQLException
+	{
+		return closed_;
+	}
+
+
+	@Override public void close() throws SQLException
+	{
+		closed_ = true;
+	}
+
+
+	@Override public boolean isWrapperFor(Class<?> iface) throws SQLException
+	{
+		return iface.isInstance(this);
+	}
+
+
+	@Override public <T> T unwrap(Class<T> iface) throws SQLException
+	{
+		return iface.cast(this);
+	}
+
+
+	private void checkOpen() throws SQLException
+	{
+		if (closed_)
+			throw new SQLException("result set is closed");
+	}
+
+
+	private final SyntheticStatement stmt_;
+	private final SyntheticSchema schema_;
+	private final long rows_;
+	private final int colCount_;
+	private int fetchSize_;
+	private long row_;
+	private boolean closed_;
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.synthetic;
+
+
+import java.sql.Connection;
+import java.sql.JDBCType;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Describes the rows returned by the synthetic JDBC driver. Every query returns the configured number of rows
+ * whose column values are derived from the row number, without any further cost:
+ * <ul>
+ * <li>INTEGER and BIGINT columns return the row number, starting at 1
+ * <li>DOUBLE columns return the row number / 2
+ * <li>BOOLEAN columns return true for even rows
+ * <li>VARCHAR columns return one of 16 precomputed strings
+ * </ul>
+ * Optionally the driver spins for a configured latency per execution and per fetch batch, to model a remote database.
+ * <pre><code>
+ * Connection con = new SyntheticSchema().col("id", Types.INTEGER).col("name", Types.VARCHAR).rows(1000).connect();
+ * </code></pre>
+ */
+public class SyntheticSchema
+{
+	/**
+	 * Adds a column.
+	 * @param name the column name
+	 * @param sqlType the type, one of Types.INTEGER, BIGINT, DOUBLE, BOOLEAN or VARCHAR
+	 * @return this
+	 */
+	public SyntheticSchema col(String name, int sqlType)
+	{
+		switch (sqlType)
+		{
+			case Types.INTEGER:
+			case Types.BIGINT:
+			case Types.DOUBLE:
+			case Types.BOOLEAN:
+				strings_.add(null);
+				break;
+			case Types.VARCHAR:
+				String[] strings = new String[STRINGS];
+				for (int i=0; i<STRINGS; i++)
+					strings[i] = name + '-' + i;
+				strings_.add(strings);
+				break;
+			default:
+				throw new IllegalArgumentException("unsupported type " + sqlType);
+		}
+		names_.add(name);
+		types_.add(Integer.valueOf(sqlType));
+		return this;
+	}
+
+
+	/**
+	 * Sets the number of rows returned by each query.
+	 * @param rows the number of rows
+	 * @return this
+	 */
+	public SyntheticSchema rows(long rows)
+	{
+		rows_ = rows;
+		return this;
+	}
+
+
+	/**
+	 * Sets the latency of each statement execution.
+	 * @param micros the latency in microseconds
+	 * @return this
+	 */
+	public SyntheticSchema executeLatency(long micros)
+	{
+		executeNanos_ = micros * 1000L;
+		return this;
+	}
+
+
+	/**
+	 * Sets the latency of each fetch batch. A fetch batch is started when the first row
+	 * and every fetch size rows are read.
+	 * @param micros the latency in microseconds
+	 * @return this
+	 */
+	public SyntheticSchema fetchLatency(long micros)
+	{
+		fetchNanos_ = micros * 1000L;
+		return this;
+	}
+
+
+	/**
+	 * Sets the default fetch size, which can be overridden by <code>Statement.setFetchSize</code>.
+	 * @param size the fetch size, &gt;= 1. The default is 100.
+	 * @return this
+	 */
+	public SyntheticSchema fetchSize(int size)
+	{
+		if (size < 1)
+			throw new IllegalArgumentException("fetch size must be >= 1, is " + size);
+		fetchSize_ = size;
+		return this;
+	}
+
+
+	/**
+	 * @return a new connection which returns rows described by this schema
+	 */
+	public Connection connect()
+	{
+		return new SyntheticConnection(this);
+	}
+
+
+	//------------------------------
+	// accessors for the driver
+	//------------------------------
+
+
+	int getColCount()
+	{
+		return names_.size();
+	}
+
+
+	String getColName(int number)
+	{
+		return names_.get(number - 1);
+	}
+
+
+	int getColType(int number)
+	{
+		return types_.get(number - 1).intValue();
+	}
+
+
+	String getColTypeName(int number)
+	{
+		return JDBCType.valueOf(getColType(number)).getName();
+	}
+
+
+	String getString(int number, long row)
+	{
+		return strings_.get(number - 1)[(int)(row & (STRINGS - 1))];
+	}
+
+
+	long getRows()
+	{
+		return rows_;
+	}
+
+
+	int getFetchSize()
+	{
+		return fetchSize_;
+	}
+
+
+	void executeDelay()
+	{
+		delay(executeNanos_);
+	}
+
+
+	void fetchDelay()
+	{
+		delay(fetchNanos_);
+	}
+
+
+	private static void delay(long nanos)
+	{
+		if (nanos > 0L)
+		{
+			long end = System.nanoTime() + nanos;
+			while (System.nanoTime() < end)
+				Thread.onSpinWait();
+		}
+	}
+
+
+	private static final int STRINGS = 16;
+	private final List<String> names_ = new ArrayList<>();
+	private final List<Integer> types_ = new ArrayList<>();
+	private final List<String[]> strings_ = new ArrayList<>();
+	private long rows_;
+	private long executeNanos_;
+	private long fetchNanos_;
+	private int fetchSize_ = 100;
+}
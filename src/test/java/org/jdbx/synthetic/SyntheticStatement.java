@@ -0,0 +1,432 @@
+/*
+ * Copyright (C) 2026 JDBX
+ *
+ * https://github.com/jdlib/JDBX
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jdbx.synthetic;
+
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.util.Arrays;
+
+
+/**
+ * A statement of the synthetic driver. Queries return the rows described by the schema,
+ * all other commands have an update count of 1. Parameter values are ignored.
+ * A command is treated as query if it starts with "SELECT" or "VALUES".
+ */
+class SyntheticStatement extends PreparedStatementAdapter
+{
+	public SyntheticStatement(SyntheticConnection con, String sql)
+	{
+		con_ 		= con;
+		schema_		= con.getSyntheticSchema();
+		sql_ 		= sql;
+		fetchSize_	= schema_.getFetchSize();
+	}
+
+
+	//------------------------------
+	// execute
+	//------------------------------
+
+
+	@Override public ResultSet executeQuery() throws SQLException
+	{
+		return executeQuery(sql_);
+	}
+
+
+	@Override public ResultSet executeQuery(String sql) throws SQLException
+	{
+		if (!execute(sql))
+			throw new SQLException("not a query: " + sql);
+		return resultSet_;
+	}
+
+
+	@Override public int executeUpdate() throws SQLException
+	{
+		return executeUpdate(sql_);
+	}
+
+
+	@Override public int executeUpdate(String sql) throws SQLException
+	{
+		if (execute(sql))
+			throw new SQLException("not an update: " + sql);
+		return (int)updateCount_;
+	}
+
+
+	@Override public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException
+	{
+		return executeUpdate(sql);
+	}
+
+
+	@Override public int executeUpdate(String sql, int[] columnIndexes) throws SQLException
+	{
+		return executeUpdate(sql);
+	}
+
+
+	@Override public int executeUpdate(String sql, String[] columnNames) throws SQLException
+	{
+		return executeUpdate(sql);
+	}
+
+
+	@Override public long executeLargeUpdate() throws SQLException
+	{
+		return executeUpdate(sql_);
+	}
+
+
+	@Override public long executeLargeUpdate(String sql) throws SQLException
+	{
+		return executeUpdate(sql);
+	}
+
+
+	@Override public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException
+	{
+		return executeUpdate(sql);
+	}
+
+
+	@Override public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException
+	{
+		return executeUpdate(sql);
+	}
+
+
+	@Override public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException
+	{
+		return executeUpdate(sql);
+	}
+
+
+	@Override public boolean execute() throws SQLException
+	{
+		return execute(sql_);
+	}
+
+
+	@Override public boolean execute(String sql) throws SQLException
+	{
+		checkOpen();
+		if (sql == null)
+			throw new SQLException("no SQL command");
+		schema_.executeDelay();
+		closeResultSet();
+		if (isQuery(sql))
+		{
+			resultSet_ = new SyntheticResultSet(this, schema_);
+			updateCount_ = -1L;
+			return true;
+		}
+		else
+		{
+			updateCount_ = 1L;
+			return false;
+		}
+	}
+
+
+	@Override public boolean execute(String sql, int autoGeneratedKeys) throws SQLException
+	{
+		return execute(sql);
+	}
+
+
+	@Override public boolean execute(String sql, int[] columnIndexes) throws SQLException
+	{
+		return execute(sql);
+	}
+
+
+	@Override public boolean execute(String sql, String[] columnNames) throws SQLException
+	{
+		return execute(sql);
+	}
+
+
+	private static boolean isQuery(String sql)
+	{
+		String s = sql.stripLeading();
+		return s.regionMatches(true, 0, "SELECT", 0, 6) || s.regionMatches(true, 0, "VALUES", 0, 6);
+	}
+
+
+	//------------------------------
+	// results
+	//------------------------------
+
+
+	@Override public ResultSet getResultSet() throws SQLException
+	{
+		return resultSet_;
+	}
+
+
+	@Override public int getUpdateCount() throws SQLException
+	{
+		return (int)updateCount_;
+	}
+
+
+	@Override public long getLargeUpdateCount() throws SQLException
+	{
+		return updateCount_;
+	}
+
+
+	@Override public boolean getMoreResults() throws SQLException
+	{
+		closeResultSet();
+		updateCount_ = -1L;
+		return false;
+	}
+
+
+	@Override public boolean getMoreResults(int current) throws SQLException
+	{
+		return getMoreResults();
+	}
+
+
+	private void closeResultSet() throws SQLException
+	{
+		if (resultSet_ != null)
+		{
+			resultSet_.close();
+			resultSet_ = null;
+		}
+	}
+
+
+	//------------------------------
+	// batch
+	//------------------------------
+
+
+	@Override public void addBatch() throws SQLException
+	{
+		checkOpen();
+		batchSize_++;
+	}
+
+
+	@Override public void addBatch(String sql) throws SQLException
+	{
+		checkOpen();
+		batchSize_++;
+	}
+
+
+	@Override public void clearBatch() throws SQLException
+	{
+		batchSize_ = 0;
+	}
+
+
+	@Override public int[] executeBatch() throws SQLException
+	{
+		checkOpen();
+		schema_.executeDelay();
+		int[] counts = new int[batchSize_];
+		Arrays.fill(counts, 1);
+		batchSize_ = 0;
+		return counts;
+	}
+
+
+	@Override public long[] executeLargeBatch() throws SQLException
+	{
+		int[] counts = executeBatch();
+		long[] result = new long[counts.length];
+		Arrays.fill(result, 1L);
+		return result;
+	}
+
+
+	//------------------------------
+	// parameters
+	//------------------------------
+
+
+	@Override public void clearParameters() throws SQLException
+	{
+	}
+
+
+	@Override public void setNull(int parameterIndex, int sqlType) throws SQLException
+	{
+	}
+
+
+	@Override public void setBoolean(int parameterIndex, boolean x) throws SQLException
+	{
+	}
+
+
+	@Override public void setInt(int parameterIndex, int x) throws SQLException
+	{
+	}
+
+
+	@Override public void setLong(int parameterIndex, long x) throws SQLException
+	{
+	}
+
+
+	@Override public void setDouble(int parameterIndex, double x) throws SQLException
+	{
+	}
+
+
+	@Override public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException
+	{
+	}
+
+
+	@Override public void setString(int parameterIndex, String x) throws SQLException
+	{
+	}
+
+
+	@Override public void setObject(int parameterIndex, Object x) throws SQLException
+	{
+	}
+
+
+	@Override public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException
+	{
+	}
+
+
+	//------------------------------
+	// options and state
+	//------------------------------
+
+
+	@Override public int getFetchSize() throws SQLException
+	{
+		return fetchSize_;
+	}
+
+
+	@Override public void setFetchSize(int rows) throws SQLException
+	{
+		fetchSize_ = rows > 0 ? rows : schema_.getFetchSize();
+	}
+
+
+	@Override public int getFetchDirection() throws SQLException
+	{
+		return ResultSet.FETCH_FORWARD;
+	}
+
+
+	@Override public void setFetchDirection(int direction) throws SQLException
+	{
+	}
+
+
+	@Override public int getResultSetType() throws SQLException
+	{
+		return ResultSet.TYPE_FORWARD_ONLY;
+	}
+
+
+	@Override public int getResultSetConcurrency() throws SQLException
+	{
+		return ResultSet.CONCUR_READ_ONLY;
+	}
+
+
+	@Override public int getResultSetHoldability() throws SQLException
+	{
+		return ResultSet.CLOSE_CURSORS_AT_COMMIT;
+	}
+
+
+	@Override public SQLWarning getWarnings() throws SQLException
+	{
+		return null;
+	}
+
+
+	@Override public void clearWarnings() throws SQLException
+	{
+	}
+
+
+	@Override public Connection getConnection() throws SQLException
+	{
+		return con_;
+	}
+
+
+	@Override public boolean isClosed() throws SQLException
+	{
+		return closed_;
+	}
+
+
+	@Override public void close() throws SQLException
+	{
+		if (!closed_)
+		{
+			closeResultSet();
+			closed_ = true;
+		}
+	}
+
+
+	@Override public boolean isWrapperFor(Class<?> iface) throws SQLException
+	{
+		return iface.isInstance(this);
+	}
+
+
+	@Override public <T> T unwrap(Class<T> iface) throws SQLException
+	{
+		return iface.cast(this);
+	}
+
+
+	private void checkOpen() throws SQLException
+	{
+		if (closed_)
+			throw new SQLException("statement is closed");
+		if (con_.isClosed())
+			throw new SQLException("connection is closed");
+	}
+
+
+	private final SyntheticConnection con_;
+	private final SyntheticSchema schema_;
+	private final String sql_;
+	private SyntheticResultSet resultSet_;
+	private long updateCount_ = -1L;
+	private int batchSize_;
+	private int fetchSize_;
+	private boolean closed_;
+}